@@ -135,6 +135,8 @@ public class SecurityConfig {
                                 "/dashboard",
                                 "/*.svg",
                                 "/actuator/health",
+                                "/actuator/health/liveness",
+                                "/actuator/health/readiness",
                                 "/api/v1/public/catalog/**",
                                 "/api/v1/public/onboarding/**",
                                 "/api/v1/auth/login"
@@ -1,29 +1,73 @@
 package com.bankengine.catalog.health;
 
+import com.bankengine.config.drools.DroolsKieModuleBuilder;
+import com.bankengine.rules.service.RuleWarmupService;
+import com.bankengine.rules.service.RuleWarmupService.TenantWarmupStatus;
 import org.kie.api.KieServices;
-import org.kie.api.runtime.KieContainer;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reports OUT_OF_SERVICE until the startup rule warm-up has attempted every tenant, so a node only
+ * joins the readiness group once pricing no longer waits for compilation. The per-tenant compile state
+ * and duration are exposed as details, as are the rule compiler in use and how often the executable
+ * model fell back to DRL.
+ */
 @Component
 public class DroolsHealthIndicator implements HealthIndicator {
 
+    private final RuleWarmupService warmupService;
+    private final DroolsKieModuleBuilder moduleBuilder;
+
+    public DroolsHealthIndicator(RuleWarmupService warmupService, DroolsKieModuleBuilder moduleBuilder) {
+        this.warmupService = warmupService;
+        this.moduleBuilder = moduleBuilder;
+    }
+
     @Override
     public Health health() {
         try {
-            KieServices ks = KieServices.Factory.get();
-            KieContainer kieContainer = ks.getKieClasspathContainer();
-
-            if (kieContainer != null) {
-                return Health.up()
-                        .withDetail("engine", "Drools KIE")
-                        .withDetail("version", ks.getClass().getPackage().getImplementationVersion())
-                        .build();
-            }
-            return Health.down().withDetail("reason", "KieContainer not initialized").build();
+            Health.Builder builder = warmupService.isComplete() ? Health.up() : Health.outOfService();
+            Map<String, Object> tenants = new LinkedHashMap<>();
+            warmupService.getTenantStatuses().forEach((bankId, status) -> tenants.put(bankId, toDetail(status)));
+
+            return builder
+                    .withDetail("engine", "Drools KIE")
+                    .withDetail("version", KieServices.Factory.get().getClass().getPackage().getImplementationVersion())
+                    .withDetail("warmup", warmupService.isComplete() ? "COMPLETE" : "IN_PROGRESS")
+                    .withDetail("tenants", tenants)
+                    .withDetail("compiler", compilerDetail())
+                    .build();
         } catch (Exception e) {
             return Health.down(e).build();
         }
     }
-}
\ No newline at end of file
+
+    private Map<String, Object> compilerDetail() {
+        Map<String, Object> detail = new LinkedHashMap<>();
+        detail.put("mode", moduleBuilder.getRuleCompiler());
+        if (moduleBuilder.getRuleCompiler() == DroolsKieModuleBuilder.RuleCompiler.EXECUTABLE_MODEL) {
+            detail.put("fallbacksToDrl", moduleBuilder.getExecutableModelFallbackCount());
+            if (moduleBuilder.getLastFallbackError() != null) {
+                detail.put("lastFallbackError", moduleBuilder.getLastFallbackError());
+            }
+        }
+        return detail;
+    }
+
+    private static Map<String, Object> toDetail(TenantWarmupStatus status) {
+        Map<String, Object> detail = new LinkedHashMap<>();
+        detail.put("state", status.state());
+        if (status.durationMs() != null) {
+            detail.put("durationMs", status.durationMs());
+        }
+        if (status.error() != null) {
+            detail.put("error", status.error());
+        }
+        return detail;
+    }
+}
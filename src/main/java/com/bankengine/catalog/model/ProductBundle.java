@@ -3,6 +3,7 @@ package com.bankengine.catalog.model;
 import com.bankengine.common.annotation.TenantEntity;
 import com.bankengine.common.model.VersionableEntity;
 import com.bankengine.pricing.model.BundlePricingLink;
+import com.bankengine.pricing.service.PricingDataChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -21,6 +22,7 @@ import java.util.List;
 @AllArgsConstructor
 @SuperBuilder
 @TenantEntity
+@EntityListeners(PricingDataChangeListener.class)
 public class ProductBundle extends VersionableEntity {
 
     @Id
@@ -2,8 +2,16 @@ package com.bankengine.catalog.repository;
 
 import com.bankengine.catalog.model.ProductBundle;
 import com.bankengine.common.repository.VersionableRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface ProductBundleRepository extends VersionableRepository<ProductBundle> {
-}
\ No newline at end of file
+
+    @Query("select b.id from ProductBundle b where b.bankId in :bankIds")
+    List<Long> findIdsByBankIdIn(@Param("bankIds") Collection<String> bankIds);
+}
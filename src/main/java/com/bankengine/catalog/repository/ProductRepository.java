@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,4 +17,7 @@ public interface ProductRepository extends VersionableRepository<Product> {
 	@Query("select count(p) > 0 from Product p where p.bankId = :bankId and upper(trim(p.category)) = :normalizedCategory")
 	boolean existsByBankIdAndNormalizedCategory(@Param("bankId") String bankId,
 	                                            @Param("normalizedCategory") String normalizedCategory);
+
+	@Query("select p.id from Product p where p.bankId in :bankIds")
+	List<Long> findIdsByBankIdIn(@Param("bankIds") Collection<String> bankIds);
 }
\ No newline at end of file
@@ -23,6 +23,7 @@ import com.bankengine.pricing.model.PricingComponent;
 import com.bankengine.pricing.model.ProductPricingLink;
 import com.bankengine.pricing.service.BundlePricingService;
 import com.bankengine.pricing.service.PricingAttributeKeys;
+import com.bankengine.pricing.service.PricingExecutor;
 import com.bankengine.pricing.service.ProductPricingService;
 import com.bankengine.web.exception.NotFoundException;
 import lombok.extern.slf4j.Slf4j;
@@ -31,6 +32,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -52,6 +54,12 @@ public class PublicCatalogService extends BaseService {
     private final ProductPricingService productPricingService;
     private final BundlePricingService bundlePricingService;
     private final BankConfigurationRepository bankConfigurationRepository;
+    private final PricingExecutor pricingExecutor;
+
+    /**
+     * A bundle's card without its pricing, and the request it is priced with.
+     */
+    private record BundleListing(BundleCatalogCard card, BundlePriceRequest pricingRequest) {}
 
     private static final String NOT_APPLICABLE_DASH = "—";
     private static final String PRICING_INCLUDED_LABEL = "Included";
@@ -61,13 +69,15 @@ public class PublicCatalogService extends BaseService {
                                 ProductMapper productMapper,
                                 ProductPricingService productPricingService,
                                 BundlePricingService bundlePricingService,
-                                BankConfigurationRepository bankConfigurationRepository) {
+                                BankConfigurationRepository bankConfigurationRepository,
+                                PricingExecutor pricingExecutor) {
         this.productRepository = productRepository;
         this.productBundleRepository = productBundleRepository;
         this.productMapper = productMapper;
         this.productPricingService = productPricingService;
         this.bundlePricingService = bundlePricingService;
         this.bankConfigurationRepository = bankConfigurationRepository;
+        this.pricingExecutor = pricingExecutor;
     }
 
     @Cacheable(value = "publicCatalog",
@@ -131,6 +141,11 @@ public class PublicCatalogService extends BaseService {
                 .build();
     }
 
+    /**
+     * Not transactional: the products are loaded on the pricing executor like their prices, so this thread holds
+     * no connection while it waits for them.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<ProductCatalogCard> getRecommendedProducts(
             String customerSegment,
             BigDecimal estimatedMonthlyBalance) {
@@ -141,52 +156,73 @@ public class PublicCatalogService extends BaseService {
                 (root, query, cb) -> cb.like(root.get("targetCustomerSegments"), "%" + customerSegment + "%")
         );
 
-        List<Product> products = productRepository.findAll(spec);
-
-        return products.stream()
-                .map(product -> {
-                    ProductCatalogCard card = toProductCatalogCard(product);
-
-                    if (estimatedMonthlyBalance != null) {
-                        ProductPriceRequest request = ProductPriceRequest.builder()
-                                .productId(product.getId())
-                                .customAttributes(Map.of(
-                                        PricingAttributeKeys.TRANSACTION_AMOUNT, estimatedMonthlyBalance,
-                                        PricingAttributeKeys.CUSTOMER_SEGMENT, customerSegment,
-                                        PricingAttributeKeys.EFFECTIVE_DATE, LocalDate.now()))
-                                .build();
-
-                        try {
-                            var calculation = productPricingService.getProductPricing(request);
-                            card.getPricingSummary().setMainPriceValue(calculation.getFinalChargeablePrice());
-                            card.getPricingSummary().setPriceDescription("Personalized for your balance");
-                        } catch (Exception e) {
-                            log.error("Failed to calculate personalized pricing for product {}", product.getId(), e);
-                            card.setEligibilityMessage("Pricing currently unavailable");
-                        }
-                    }
-
-                    return card;
-                })
+        List<ProductCatalogCard> cards = pricingExecutor.call(() ->
+                productRepository.findAll(spec).stream().map(this::toProductCatalogCard).toList());
+
+        if (estimatedMonthlyBalance != null) {
+            // Each product is priced on its own virtual thread; the slowest product bounds the latency
+            List<Long> productIds = cards.stream().map(ProductCatalogCard::getProductId).toList();
+            List<BigDecimal> personalizedPrices = pricingExecutor.map(productIds, productId -> {
+                ProductPriceRequest request = ProductPriceRequest.builder()
+                        .productId(productId)
+                        .customAttributes(Map.of(
+                                PricingAttributeKeys.TRANSACTION_AMOUNT, estimatedMonthlyBalance,
+                                PricingAttributeKeys.CUSTOMER_SEGMENT, customerSegment,
+                                PricingAttributeKeys.EFFECTIVE_DATE, LocalDate.now()))
+                        .build();
+                try {
+                    return productPricingService.getProductPricing(request).getFinalChargeablePrice();
+                } catch (Exception e) {
+                    log.error("Failed to calculate personalized pricing for product {}", productId, e);
+                    return null;
+                }
+            });
+
+            for (int i = 0; i < cards.size(); i++) {
+                ProductCatalogCard card = cards.get(i);
+                BigDecimal personalizedPrice = personalizedPrices.get(i);
+                if (personalizedPrice != null) {
+                    card.getPricingSummary().setMainPriceValue(personalizedPrice);
+                    card.getPricingSummary().setPriceDescription("Personalized for your balance");
+                } else {
+                    card.setEligibilityMessage("Pricing currently unavailable");
+                }
+            }
+        }
+
+        return cards.stream()
                 .sorted(java.util.Comparator.comparing(c -> c.getPricingSummary().getMainPriceValue()))
                 .limit(3)
                 .toList();
     }
 
+    /**
+     * Not transactional, for the same reason as {@link #getRecommendedProducts}: the bundle is loaded on the
+     * pricing executor and priced after that task has released its connection.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BundleCatalogCard getPublicBundleDetails(Long bundleId, String segment) {
-        ProductBundle bundle = getByIdSecurely(productBundleRepository, bundleId, "ProductBundle");
-
-        BundlePriceRequest pricingRequest = BundlePriceRequest.builder()
-                .productBundleId(bundleId)
-                .customAttributes(Map.of(
-                        PricingAttributeKeys.CUSTOMER_SEGMENT, segment,
-                        PricingAttributeKeys.EFFECTIVE_DATE, LocalDate.now()))
-                .products(bundle.getContainedProducts().stream()
-                        .map(link -> new BundlePriceRequest.BundleProductItem(link.getProduct().getId(), BigDecimal.ZERO))
-                        .toList())
-                .build();
+        BundleListing listing = pricingExecutor.call(() -> {
+            ProductBundle bundle = getByIdSecurely(productBundleRepository, bundleId, "ProductBundle");
+            BundlePriceRequest pricingRequest = BundlePriceRequest.builder()
+                    .productBundleId(bundleId)
+                    .customAttributes(Map.of(
+                            PricingAttributeKeys.CUSTOMER_SEGMENT, segment,
+                            PricingAttributeKeys.EFFECTIVE_DATE, LocalDate.now()))
+                    .products(bundle.getContainedProducts().stream()
+                            .map(link -> new BundlePriceRequest.BundleProductItem(link.getProduct().getId(), BigDecimal.ZERO))
+                            .toList())
+                    .build();
+            BundleCatalogCard card = BundleCatalogCard.builder()
+                    .bundleId(bundle.getId())
+                    .name(bundle.getName())
+                    .description(bundle.getDescription())
+                    .items(mapItems(bundle.getContainedProducts()))
+                    .build();
+            return new BundleListing(card, pricingRequest);
+        });
 
-        BundlePriceResponse pricing = bundlePricingService.calculateTotalBundlePrice(pricingRequest);
+        BundlePriceResponse pricing = bundlePricingService.calculateTotalBundlePrice(listing.pricingRequest());
 
         List<String> benefits = pricing.getBundleAdjustments().stream()
                 .filter(adj -> adj.getValueType() == ValueType.DISCOUNT_PERCENTAGE ||
@@ -195,17 +231,13 @@ public class PublicCatalogService extends BaseService {
                 .map(adj -> adj.getComponentCode().replace("_", " "))
                 .toList();
 
-        return BundleCatalogCard.builder()
-                .bundleId(bundle.getId())
-                .name(bundle.getName())
-                .description(bundle.getDescription())
-                .items(mapItems(bundle.getContainedProducts()))
-                .pricing(BundleCatalogCard.BundlePricingSummary.builder()
-                        .totalMonthlyFee(pricing.getNetTotalAmount())
-                        .totalSavings(pricing.getGrossTotalAmount().subtract(pricing.getNetTotalAmount()).abs())
-                        .adjustmentLabels(benefits)
-                        .build())
-                .build();
+        BundleCatalogCard card = listing.card();
+        card.setPricing(BundleCatalogCard.BundlePricingSummary.builder()
+                .totalMonthlyFee(pricing.getNetTotalAmount())
+                .totalSavings(pricing.getGrossTotalAmount().subtract(pricing.getNetTotalAmount()).abs())
+                .adjustmentLabels(benefits)
+                .build());
+        return card;
     }
 
     public ProductComparisonView compareProducts(List<Long> productIds) {
@@ -1,5 +1,6 @@
 package com.bankengine.common.dto;
 
+import com.bankengine.common.model.PricingArithmetic;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -20,6 +21,7 @@ public class BankConfigurationRequest {
     private String clientId;
     private String clientSecret;
     private String currencyCode;
+    private PricingArithmetic pricingArithmetic;
     private String adminName;
     private String adminEmail;
 
@@ -20,6 +20,7 @@ public class BankConfigurationResponse {
     private boolean hasClientSecret;
     private boolean allowProductInMultipleBundles;
     private String currencyCode;
+    private String pricingArithmetic;
     private String status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
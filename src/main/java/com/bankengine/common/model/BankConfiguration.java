@@ -1,6 +1,7 @@
 package com.bankengine.common.model;
 
 import com.bankengine.common.annotation.TenantEntity;
+import com.bankengine.pricing.service.PricingDataChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -28,6 +29,7 @@ import java.util.List;
 @AllArgsConstructor
 @SuperBuilder
 @TenantEntity
+@EntityListeners(PricingDataChangeListener.class)
 public class BankConfiguration extends AuditableEntity {
 
     @Id
@@ -42,6 +44,11 @@ public class BankConfiguration extends AuditableEntity {
     @Builder.Default
     private boolean allowProductInMultipleBundles = false;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "pricing_arithmetic", nullable = false)
+    @Builder.Default
+    private PricingArithmetic pricingArithmetic = PricingArithmetic.DECIMAL;
+
     @ElementCollection
     @CollectionTable(name = "bank_category_conflicts", joinColumns = {
             @JoinColumn(name = "config_id", referencedColumnName = "id"),
@@ -0,0 +1,11 @@
+package com.bankengine.common.model;
+
+/**
+ * How a tenant's bundle-level fees and discounts are aggregated.
+ * DECIMAL works on BigDecimal at two decimals; MINOR_UNITS works on long minor units of the
+ * bank's currency and gives the same results for two-decimal currencies.
+ */
+public enum PricingArithmetic {
+    DECIMAL,
+    MINOR_UNITS
+}
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,6 +16,9 @@ public interface BankConfigurationRepository extends TenantRepository<BankConfig
 
     Optional<BankConfiguration> findByBankId(String bankId);
 
+    @Query(value = "SELECT bank_id FROM bank_configuration WHERE status = 'ACTIVE' ORDER BY bank_id", nativeQuery = true)
+    List<String> findActiveBankIdsUnfiltered();
+
     @Query(value = "SELECT * FROM bank_configuration WHERE issuer_url = :issuerUrl AND client_id = :clientId", nativeQuery = true)
     Optional<BankConfiguration> findByIssuerUrlAndClientIdUnfiltered(@Param("issuerUrl") String issuerUrl, @Param("clientId") String clientId);
 
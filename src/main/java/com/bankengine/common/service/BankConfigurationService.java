@@ -90,6 +90,9 @@ public class BankConfigurationService extends BaseService {
         if (request.getAllowProductInMultipleBundles() != null) {
             config.setAllowProductInMultipleBundles(request.getAllowProductInMultipleBundles());
         }
+        if (request.getPricingArithmetic() != null) {
+            config.setPricingArithmetic(request.getPricingArithmetic());
+        }
 
         if (request.getCategoryConflictRules() != null) {
             config.setCategoryConflictRules(toConflictRules(bankId, request.getCategoryConflictRules()));
@@ -269,6 +272,10 @@ public class BankConfigurationService extends BaseService {
             config.setAllowProductInMultipleBundles(request.getAllowProductInMultipleBundles());
         }
 
+        if (request.getPricingArithmetic() != null) {
+            config.setPricingArithmetic(request.getPricingArithmetic());
+        }
+
         if (request.getAdminName() != null) {
             config.setAdminName(request.getAdminName());
         }
@@ -531,6 +538,7 @@ public class BankConfigurationService extends BaseService {
                         .map(r -> new BankConfigurationRequest.CategoryConflictDto(r.getCategoryA(), r.getCategoryB()))
                         .collect(Collectors.toList()))
                 .currencyCode(config.getCurrencyCode())
+                .pricingArithmetic(config.getPricingArithmetic().name())
                 .status(config.getStatus().name())
                 .createdAt(config.getCreatedAt())
                 .updatedAt(config.getUpdatedAt())
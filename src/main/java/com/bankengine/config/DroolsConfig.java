@@ -1,9 +1,16 @@
 package com.bankengine.config;
 
 import com.bankengine.auth.security.TenantContextHolder;
+import com.bankengine.config.drools.CompiledRuleCache;
 import com.bankengine.config.drools.DroolsKieModuleBuilder;
+import com.bankengine.config.drools.RuleBases;
+import com.bankengine.config.drools.SystemRuleModule;
 import com.bankengine.pricing.service.BundleRuleBuilderService;
 import com.bankengine.pricing.service.ProductRuleBuilderService;
+import com.bankengine.rules.service.KieContainerReloadService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.kie.api.KieServices;
 import org.kie.api.builder.ReleaseId;
 import org.kie.api.runtime.KieContainer;
@@ -13,6 +20,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
 
 import java.util.Map;
+import java.util.Optional;
 
 @Configuration
 public class DroolsConfig {
@@ -28,16 +36,24 @@ public class DroolsConfig {
     @Autowired
     private DroolsKieModuleBuilder moduleBuilder;
 
+    @Autowired
+    private CompiledRuleCache ruleCache;
+
+    /**
+     * The system rule bases, served when no tenant is bound. Loaded from the compiled-rule cache when the
+     * generated DRL was compiled before; otherwise compiled once and cached. The container they were compiled
+     * in is handed to the rule registry, which disposes it with the module.
+     */
     @Bean
     @Lazy
-    public KieContainer kieContainer() {
+    public SystemRuleModule systemRuleModule() {
         KieServices kieServices = KieServices.Factory.get();
 
         try {
             TenantContextHolder.setSystemMode(true);
             String productRuleContent = productRuleBuilderService.buildAllRulesForCompilation();
             String bundleRuleContent = bundleRuleBuilderService.buildAllRulesForCompilation();
-            String safePathId = "system";
+            String safePathId = DroolsKieModuleBuilder.toSafePathId(null);
             String productPath = String.format(DroolsKieModuleBuilder.PRODUCT_RULES_PATH, safePathId);
             String bundlePath = String.format(DroolsKieModuleBuilder.BUNDLE_RULES_PATH, safePathId);
 
@@ -45,10 +61,54 @@ public class DroolsConfig {
                     productPath, productRuleContent,
                     bundlePath, bundleRuleContent
             );
-            ReleaseId releaseId = moduleBuilder.buildAndInstallKieModule(drlContent);
-            return kieServices.newKieContainer(releaseId);
+            String fingerprint = ruleCache.fingerprint(drlContent);
+            Optional<RuleBases> cached = ruleCache.load(fingerprint);
+            if (cached.isPresent()) {
+                return new SystemRuleModule(null, cached.get());
+            }
+
+            ReleaseId releaseId = moduleBuilder.buildAndInstallKieModule(moduleBuilder.newReleaseId(safePathId), drlContent);
+            KieContainer kieContainer = kieServices.newKieContainer(releaseId);
+            RuleBases ruleBases = RuleBases.of(kieContainer);
+            // The KieBases and their container are all the registry keeps; the installed kjar is not needed once they are built
+            kieServices.getRepository().removeKieModule(releaseId);
+            ruleCache.store(fingerprint, ruleBases);
+            return new SystemRuleModule(kieContainer, ruleBases);
         } finally {
             TenantContextHolder.clear();
         }
     }
+
+    /**
+     * Exposes the live rule modules and the superseded ones still held by leases, so leaks from superseded
+     * builds that are never evicted show up before they show up as old-gen heap growth.
+     */
+    @Bean
+    public MeterBinder ruleModuleMetrics(@Lazy KieContainerReloadService reloadService) {
+        return registry -> {
+            Gauge.builder("drools.rule.modules.live", reloadService::getLiveModuleCount)
+                    .description("Rule modules currently serving a tenant or the system scope")
+                    .register(registry);
+            Gauge.builder("drools.rule.modules.retained", reloadService::getRetainedModuleCount)
+                    .description("Superseded rule modules kept installed because in-flight sessions still lease them")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Counts reloads that published new rules against reloads skipped because the generated DRL was unchanged.
+     */
+    @Bean
+    public MeterBinder ruleReloadMetrics(@Lazy KieContainerReloadService reloadService) {
+        return registry -> {
+            FunctionCounter.builder("drools.rule.reloads", reloadService, KieContainerReloadService::getExecutedReloadCount)
+                    .description("Rule reloads by outcome")
+                    .tag("outcome", "executed")
+                    .register(registry);
+            FunctionCounter.builder("drools.rule.reloads", reloadService, KieContainerReloadService::getSkippedReloadCount)
+                    .description("Rule reloads by outcome")
+                    .tag("outcome", "skipped")
+                    .register(registry);
+        };
+    }
 }
\ No newline at end of file
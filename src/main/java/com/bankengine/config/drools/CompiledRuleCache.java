@@ -0,0 +1,257 @@
+package com.bankengine.config.drools;
+
+import com.bankengine.pricing.model.PriceValue;
+import com.bankengine.rules.model.AttributeValues;
+import com.bankengine.rules.model.BundlePricingInput;
+import com.bankengine.rules.model.PricingInput;
+import lombok.extern.slf4j.Slf4j;
+import org.kie.api.KieServices;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * On-disk cache of compiled rule bases, so a node restart or a reload that regenerates DRL already
+ * compiled before can skip Drools compilation entirely.
+ * Entries are keyed by a SHA-256 over the generated DRL resources, the kmodule configuration, the Drools
+ * version, the application version and the fields and method signatures of the classes the rules are compiled
+ * against; a method body is not covered, so a release that only changes one relies on its new version.
+ * The cache is disabled when {@code drools.rule-path} is not set or the rules are built with the executable model. The directory must only be writable by the application, since
+ * entries are read back with Java deserialization.
+ */
+@Component
+@Slf4j
+public class CompiledRuleCache {
+
+    private static final String FILE_SUFFIX = ".kbase";
+    private static final List<Class<?>> FACT_TYPES = List.of(PricingInput.class, BundlePricingInput.class, PriceValue.class);
+    // Called from rule consequences and the generated Bind_ rules rather than inserted as facts
+    private static final List<Class<?>> HELPER_TYPES = List.of(AttributeValues.class);
+
+    private final Path cacheDirectory;
+    private final int maxEntries;
+    private final String environmentFingerprint;
+
+    public CompiledRuleCache(@Value("${drools.rule-path:}") String rulePath,
+                             @Value("${drools.rule-cache.max-entries:200}") int maxEntries,
+                             DroolsKieModuleBuilder moduleBuilder) {
+        this.cacheDirectory = rulePath == null || rulePath.isBlank() || !moduleBuilder.supportsSerializedRuleBases()
+                ? null
+                : Paths.get(rulePath);
+        this.maxEntries = maxEntries;
+        this.environmentFingerprint = describeEnvironment(moduleBuilder);
+    }
+
+    public boolean isEnabled() {
+        return cacheDirectory != null;
+    }
+
+    /**
+     * Computes the cache key of a set of DRL resources (path to content). Resource order does not matter.
+     */
+    public String fingerprint(Map<String, String> drlContent) {
+        MessageDigest digest = sha256();
+        digest.update(environmentFingerprint.getBytes(StandardCharsets.UTF_8));
+        new TreeMap<>(drlContent).forEach((path, content) -> {
+            digest.update(path.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(content.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        });
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Returns the rule bases compiled from the DRL with the given fingerprint, if they were cached before.
+     * A corrupt or incompatible entry is deleted and reported as a miss.
+     */
+    public Optional<RuleBases> load(String fingerprint) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        Path file = entryPath(fingerprint);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        try (ObjectInputStream in = new ApplicationObjectInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            RuleBases ruleBases = (RuleBases) in.readObject();
+            touch(file);
+            log.info("Loaded compiled rule base {} from {}", fingerprint, cacheDirectory);
+            return Optional.of(ruleBases);
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            log.warn("Discarding unreadable compiled rule base {}: {}", file, e.getMessage());
+            deleteQuietly(file);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Serializes freshly compiled rule bases. Failures are logged and never fail the reload.
+     */
+    public void store(String fingerprint, RuleBases ruleBases) {
+        if (!isEnabled()) {
+            return;
+        }
+        Path file = entryPath(fingerprint);
+        Path tempFile = null;
+        try {
+            Files.createDirectories(cacheDirectory);
+            tempFile = Files.createTempFile(cacheDirectory, fingerprint, ".tmp");
+            try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeObject(ruleBases);
+            }
+            // Readers must never see a half-written entry
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            prune();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not cache compiled rule base {}: {}", fingerprint, e.getMessage());
+            if (tempFile != null) {
+                deleteQuietly(tempFile);
+            }
+        }
+    }
+
+    /**
+     * Keeps the most recently used entries only; every configuration change produces a new one.
+     */
+    private void prune() throws IOException {
+        List<Path> entries;
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            entries = files.filter(path -> path.getFileName().toString().endsWith(FILE_SUFFIX))
+                    .sorted(Comparator.comparing(CompiledRuleCache::lastModified).reversed())
+                    .toList();
+        }
+        entries.stream().skip(maxEntries).forEach(CompiledRuleCache::deleteQuietly);
+    }
+
+    private Path entryPath(String fingerprint) {
+        return cacheDirectory.resolve(fingerprint + FILE_SUFFIX);
+    }
+
+    private static String describeEnvironment(DroolsKieModuleBuilder moduleBuilder) {
+        StringBuilder description = new StringBuilder();
+        description.append("drools=").append(droolsVersion()).append('\n');
+        description.append("application=").append(applicationVersion()).append('\n');
+        description.append("compiler=").append(moduleBuilder.getRuleCompiler()).append('\n');
+        description.append("kmodule=").append(moduleBuilder.getKieModuleXml()).append('\n');
+        // Compiled rules bind to these classes; a changed field or signature invalidates every entry
+        for (Class<?> factType : FACT_TYPES) {
+            description.append(factType.getName()).append('{');
+            Arrays.stream(factType.getDeclaredFields())
+                    .map(field -> field.getName() + ":" + field.getType().getName())
+                    .sorted()
+                    .forEach(field -> description.append(field).append(';'));
+            describeMethods(factType, description);
+            description.append("}\n");
+        }
+        for (Class<?> helperType : HELPER_TYPES) {
+            description.append(helperType.getName()).append('{');
+            describeMethods(helperType, description);
+            description.append("}\n");
+        }
+        return description.toString();
+    }
+
+    private static void describeMethods(Class<?> type, StringBuilder description) {
+        Arrays.stream(type.getDeclaredMethods())
+                .filter(method -> !method.isSynthetic())
+                .map(CompiledRuleCache::signature)
+                .sorted()
+                .forEach(method -> description.append(method).append(';'));
+    }
+
+    private static String signature(Method method) {
+        StringJoiner parameters = new StringJoiner(",", method.getName() + "(", ")");
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            parameters.add(parameterType.getName());
+        }
+        return method.getModifiers() + " " + parameters + ":" + method.getReturnType().getName();
+    }
+
+    /**
+     * The Implementation-Version of the application jar; unknown when running from classes, e.g. in tests.
+     */
+    private static String applicationVersion() {
+        String version = CompiledRuleCache.class.getPackage().getImplementationVersion();
+        return version != null ? version : "unknown";
+    }
+
+    private static String droolsVersion() {
+        String version = KieServices.Factory.get().getClass().getPackage().getImplementationVersion();
+        if (version != null) {
+            return version;
+        }
+        try (InputStream in = CompiledRuleCache.class.getResourceAsStream("/META-INF/maven/org.kie/kie-api/pom.properties")) {
+            if (in != null) {
+                Properties properties = new Properties();
+                properties.load(in);
+                return properties.getProperty("version", "unknown");
+            }
+        } catch (IOException e) {
+            log.debug("Could not read kie-api version", e);
+        }
+        return "unknown";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            log.debug("Could not touch {}", file, e);
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not delete {}", file, e);
+        }
+    }
+
+    /**
+     * Resolves classes against the application class loader rather than the caller's, which differs
+     * inside the Spring Boot launcher.
+     */
+    private static final class ApplicationObjectInputStream extends ObjectInputStream {
+
+        private ApplicationObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            try {
+                return Class.forName(desc.getName(), false, CompiledRuleCache.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                return super.resolveClass(desc);
+            }
+        }
+    }
+}
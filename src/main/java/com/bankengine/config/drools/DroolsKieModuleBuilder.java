@@ -1,5 +1,10 @@
 package com.bankengine.config.drools;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.drools.model.codegen.ExecutableModelProject;
 import org.kie.api.KieServices;
 import org.kie.api.builder.*;
 import org.kie.api.builder.model.KieBaseModel;
@@ -7,9 +12,15 @@ import org.kie.api.builder.model.KieModuleModel;
 import org.kie.api.builder.model.KieSessionModel;
 import org.kie.api.conf.EqualityBehaviorOption;
 import org.kie.api.conf.EventProcessingOption;
+import org.kie.internal.builder.IncrementalResults;
+import org.kie.internal.builder.InternalKieBuilder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Encapsulates the core logic for programmatically creating, building, and installing a KieModule.
@@ -17,49 +28,156 @@ import java.util.Map;
  * use identical configuration and build processes.
  */
 @Component
-public class DroolsKieModuleBuilder {
+@Slf4j
+public class DroolsKieModuleBuilder implements MeterBinder {
+
+    public static final String COMPILER_FALLBACK_METRIC = "drools.rule.compiler.fallback";
+
+    /**
+     * How generated DRL is turned into a KieModule.
+     * DRL parses the rules and compiles MVEL constraints at runtime; EXECUTABLE_MODEL translates them
+     * into Java lambdas at build time, so the KieBase is created without runtime MVEL and evaluates faster.
+     * The executable model trades build time for that: every build also generates and compiles Java
+     * sources, component edits rebuild the whole tenant instead of one resource, and the serialized
+     * rule base cache is off. Modules it rejects are built as DRL and counted as fallbacks.
+     */
+    public enum RuleCompiler {
+        DRL,
+        EXECUTABLE_MODEL
+    }
 
     // --- Shared Constants ---
     public static final String GROUP_ID = "com.bankengine";
     public static final String ARTIFACT_ID = "plexus-rules";
     public static final String VERSION = "1.0.0";
-    public static final String KBASE_NAME = "KBase1";
-    public static final String KSESSION_NAME = "KSession1";
     public static final String PRODUCT_RULES_PATH = "src/main/resources/bankengine/pricing/rules/%s/product_rules.drl";
     public static final String BUNDLE_RULES_PATH = "src/main/resources/bankengine/bundle/rules/%s/bundle_rules.drl";
 
+    // --- Incremental layout: one header resource plus one resource per PricingComponent ---
+    public static final String PRODUCT_HEADER_PATH = "src/main/resources/bankengine/pricing/rules/%s/package.drl";
+    public static final String BUNDLE_HEADER_PATH = "src/main/resources/bankengine/bundle/rules/%s/package.drl";
+    public static final String PRODUCT_COMPONENT_RULES_PATH = "src/main/resources/bankengine/pricing/rules/%s/component_%d.drl";
+    public static final String BUNDLE_COMPONENT_RULES_PATH = "src/main/resources/bankengine/bundle/rules/%s/component_%d.drl";
+
+    // The KieRepository is JVM-wide, so build numbers must be unique across builder instances
+    private static final AtomicLong BUILD_SEQUENCE = new AtomicLong();
+
     private final KieServices kieServices = KieServices.Factory.get();
-    private final ReleaseId releaseId = kieServices.newReleaseId(GROUP_ID, ARTIFACT_ID, VERSION);
+    private final AtomicLong executableModelFallbacks = new AtomicLong();
+    private volatile String lastFallbackError;
+
+    @Value("${app.rules.compiler:DRL}")
+    private RuleCompiler ruleCompiler = RuleCompiler.DRL;
+
+    public RuleCompiler getRuleCompiler() {
+        return ruleCompiler;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(COMPILER_FALLBACK_METRIC, executableModelFallbacks, AtomicLong::get)
+                .description("Modules the executable model compiler rejected and that were built as DRL instead")
+                .register(registry);
+    }
+
+    /**
+     * Number of builds on this node that the executable model compiler rejected and that fell back to DRL.
+     */
+    public long getExecutableModelFallbackCount() {
+        return executableModelFallbacks.get();
+    }
+
+    /**
+     * The build errors of the most recent fallback to DRL, or null if there was none.
+     */
+    public String getLastFallbackError() {
+        return lastFallbackError;
+    }
+
+    /**
+     * Whether resources of a built module can be recompiled one by one through {@link #buildIncrementally}.
+     * Executable-model modules are always rebuilt as a whole.
+     */
+    public boolean supportsIncrementalBuild() {
+        return ruleCompiler == RuleCompiler.DRL;
+    }
+
+    /**
+     * Every tenant owns its own artifact so that its KieBase can be compiled and swapped
+     * without touching the rule bases of other tenants. Every call yields a new version
+     * (e.g. 1.0.0-42), so a rebuild never overwrites a module that in-flight sessions still use
+     * and the superseded module can be removed from the repository on its own.
+     *
+     * @param safePathId The sanitized tenant identifier (see {@link #toSafePathId(String)}).
+     */
+    public ReleaseId newReleaseId(String safePathId) {
+        return kieServices.newReleaseId(GROUP_ID, ARTIFACT_ID + "-" + safePathId,
+                VERSION + "-" + BUILD_SEQUENCE.incrementAndGet());
+    }
+
+    /**
+     * Normalizes a bank id into the form used for DRL package names, resource paths and artifact ids.
+     * A null bank id maps to the shared "system" scope.
+     */
+    public static String toSafePathId(String bankId) {
+        return (bankId != null)
+                ? bankId.toLowerCase().replaceAll("[^a-z0-9]", "")
+                : "system";
+    }
 
     /**
      * Programmatically creates the kmodule.xml equivalent configuration.
-     * This ensures the KIE Base and Session are defined identically for initial load and reload.
+     * Every {@link RulePackage} gets its own KIE Base and Session over its own DRL packages, defined
+     * identically for initial load and reload.
      */
     private KieModuleModel createKieModuleModel() {
         KieModuleModel kModuleModel = kieServices.newKieModuleModel();
 
-        // Define a default KIE Base
-        KieBaseModel kBaseModel = kModuleModel.newKieBaseModel(KBASE_NAME)
-                .setDefault(true)
-                .addPackage("*")
-                .setEqualsBehavior(EqualityBehaviorOption.EQUALITY)
-                .setEventProcessingMode(EventProcessingOption.CLOUD);
+        for (RulePackage rulePackage : RulePackage.values()) {
+            KieBaseModel kBaseModel = kModuleModel.newKieBaseModel(rulePackage.getKieBaseName())
+                    .addPackage(rulePackage.getPackagePattern())
+                    .setEqualsBehavior(EqualityBehaviorOption.EQUALITY)
+                    .setEventProcessingMode(EventProcessingOption.CLOUD);
 
-        // Define a default KIE Session within that base
-        kBaseModel.newKieSessionModel(KSESSION_NAME)
-                .setDefault(true)
-                .setType(KieSessionModel.KieSessionType.STATEFUL);
+            kBaseModel.newKieSessionModel(rulePackage.getKieSessionName())
+                    .setType(KieSessionModel.KieSessionType.STATEFUL);
+        }
 
         return kModuleModel;
     }
 
+    /**
+     * The kmodule.xml every module is built with; part of the compiled-rule cache key.
+     */
+    public String getKieModuleXml() {
+        return createKieModuleModel().toXML();
+    }
+
+    /**
+     * Executable-model rule bases reference lambda classes generated into the build's own class loader,
+     * which a serialized copy cannot resolve in another JVM.
+     */
+    public boolean supportsSerializedRuleBases() {
+        return ruleCompiler == RuleCompiler.DRL;
+    }
+
     /**
      * Builds and installs a new KieModule using the provided DRL content.
+     * @param releaseId The tenant-specific ReleaseId under which the module is installed.
      * @param drlContent A map where key is the DRL file path and value is the content.
      * @return The ReleaseId of the newly installed KieModule.
      * @throws RuntimeException if Drools compilation fails.
      */
-    public ReleaseId buildAndInstallKieModule(Map<String, String> drlContent) {
+    public ReleaseId buildAndInstallKieModule(ReleaseId releaseId, Map<String, String> drlContent) {
+        buildAndInstallKieModule(newKieFileSystem(releaseId, drlContent));
+        return releaseId;
+    }
+
+    /**
+     * Creates the virtual file system holding kmodule.xml, the tenant POM and the given DRL resources.
+     * Callers that want to apply later edits incrementally keep this file system alongside its KieBuilder.
+     */
+    public KieFileSystem newKieFileSystem(ReleaseId releaseId, Map<String, String> drlContent) {
         // 1. Setup the virtual file system (KieFileSystem)
         KieFileSystem kieFileSystem = kieServices.newKieFileSystem();
 
@@ -70,28 +188,59 @@ public class DroolsKieModuleBuilder {
         // 3. Write all DRL content to the file system
         drlContent.forEach(kieFileSystem::write);
 
-        // 4. Define the release ID and write the POM
+        // 4. Write the POM for the tenant release
         kieFileSystem.generateAndWritePomXML(releaseId);
+        return kieFileSystem;
+    }
 
-        // 5. Build the KieModule
+    /**
+     * Runs a full build of the file system and registers the resulting KieModule in the repository.
+     * With the executable model selected, rules the model compiler rejects are built as plain DRL instead.
+     * @return The KieBuilder, which can be reused for {@link #buildIncrementally(KieBuilder, Collection)}.
+     * @throws RuntimeException if Drools compilation fails.
+     */
+    public KieBuilder buildAndInstallKieModule(KieFileSystem kieFileSystem) {
         KieBuilder kieBuilder = kieServices.newKieBuilder(kieFileSystem);
-        kieBuilder.buildAll();
+        if (ruleCompiler == RuleCompiler.EXECUTABLE_MODEL) {
+            kieBuilder.buildAll(ExecutableModelProject.class);
+            if (kieBuilder.getResults().hasMessages(Message.Level.ERROR)) {
+                executableModelFallbacks.incrementAndGet();
+                lastFallbackError = kieBuilder.getResults().getMessages(Message.Level.ERROR).toString();
+                log.warn("Executable model build failed, falling back to DRL compilation:\n{}", kieBuilder.getResults());
+                kieBuilder = kieServices.newKieBuilder(kieFileSystem);
+                kieBuilder.buildAll();
+            }
+        } else {
+            kieBuilder.buildAll();
+        }
 
-        // 6. Check for errors
         if (kieBuilder.getResults().hasMessages(Message.Level.ERROR)) {
             // Propagate exception to fail application startup or reload operation
             throw new RuntimeException("Drools build errors during KieModule generation:\n"
                     + kieBuilder.getResults().toString());
         }
 
-        // 7. Register the new KieModule in the repository
         KieModule kieModule = kieBuilder.getKieModule();
         kieServices.getRepository().addKieModule(kieModule);
-
-        return releaseId;
+        return kieBuilder;
     }
 
-    public ReleaseId getReleaseId() {
-        return releaseId;
+    /**
+     * Recompiles only the given resources of an already built module. The resources must already be
+     * written to (or deleted from) the KieFileSystem the builder was created from; containers pick the
+     * change up through {@code KieContainer.updateToVersion}.
+     * @throws RuntimeException if the changed resources do not compile.
+     */
+    public void buildIncrementally(KieBuilder kieBuilder, Collection<String> changedPaths) {
+        IncrementalResults results = ((InternalKieBuilder) kieBuilder)
+                .createFileSet(changedPaths.toArray(String[]::new))
+                .build();
+
+        List<Message> errors = results.getAddedMessages().stream()
+                .filter(message -> message.getLevel() == Message.Level.ERROR)
+                .toList();
+        if (!errors.isEmpty()) {
+            throw new RuntimeException("Drools build errors during incremental compilation:\n" + errors);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+package com.bankengine.config.drools;
+
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieContainer;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * The KieBases built from one tenant module, one per {@link RulePackage}.
+ * Serializable so the compiled-rule cache can store both as a single entry.
+ */
+public record RuleBases(KieBase pricing, KieBase bundle) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static RuleBases of(KieContainer kieContainer) {
+        return new RuleBases(kieContainer.getKieBase(RulePackage.PRICING.getKieBaseName()),
+                kieContainer.getKieBase(RulePackage.BUNDLE.getKieBaseName()));
+    }
+
+    public KieBase get(RulePackage rulePackage) {
+        return switch (rulePackage) {
+            case PRICING -> pricing;
+            case BUNDLE -> bundle;
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.bankengine.config.drools;
+
+/**
+ * The rule packages a tenant module is split into. Each package is compiled into its own KieBase,
+ * so a pricing session never carries bundle rules in its Rete network and vice versa.
+ */
+public enum RulePackage {
+    PRICING("PricingKBase", "PricingKSession", "bankengine.pricing.rules.*"),
+    BUNDLE("BundleKBase", "BundleKSession", "bankengine.bundle.rules.*");
+
+    private final String kieBaseName;
+    private final String kieSessionName;
+    private final String packagePattern;
+
+    RulePackage(String kieBaseName, String kieSessionName, String packagePattern) {
+        this.kieBaseName = kieBaseName;
+        this.kieSessionName = kieSessionName;
+        this.packagePattern = packagePattern;
+    }
+
+    public String getKieBaseName() {
+        return kieBaseName;
+    }
+
+    public String getKieSessionName() {
+        return kieSessionName;
+    }
+
+    /**
+     * The DRL packages (and therefore resource folders) that belong to this KieBase.
+     */
+    public String getPackagePattern() {
+        return packagePattern;
+    }
+}
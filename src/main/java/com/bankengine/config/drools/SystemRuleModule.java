@@ -0,0 +1,11 @@
+package com.bankengine.config.drools;
+
+import org.kie.api.runtime.KieContainer;
+
+/**
+ * The system rule bases and the KieContainer they were built in. The container is null when the rule bases
+ * were loaded from the compiled-rule cache. The rule registry disposes it like any tenant container, once the
+ * system rule base is superseded or the application shuts down.
+ */
+public record SystemRuleModule(KieContainer kieContainer, RuleBases ruleBases) {
+}
@@ -1,10 +1,19 @@
 package com.bankengine.pricing.controller;
 
+import com.bankengine.pricing.dto.BatchPriceRequest;
+import com.bankengine.pricing.dto.BatchPriceResponse;
+import com.bankengine.pricing.dto.BundlePriceProjectionResponse;
 import com.bankengine.pricing.dto.BundlePriceRequest;
 import com.bankengine.pricing.dto.BundlePriceResponse;
+import com.bankengine.pricing.dto.PriceSimulationRequest;
+import com.bankengine.pricing.dto.PriceSimulationResponse;
+import com.bankengine.pricing.dto.ProductPriceProjectionResponse;
 import com.bankengine.pricing.dto.ProductPriceRequest;
 import com.bankengine.pricing.dto.ProductPricingCalculationResult;
+import com.bankengine.pricing.service.BatchPricingService;
 import com.bankengine.pricing.service.BundlePricingService;
+import com.bankengine.pricing.service.PriceProjectionService;
+import com.bankengine.pricing.service.PriceSimulationService;
 import com.bankengine.pricing.service.ProductPricingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,6 +27,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @Tag(name = "Pricing Calculation", description = "Dynamic price retrieval for products and bundles.")
@@ -28,6 +38,9 @@ public class PricingController {
 
     private final ProductPricingService productPricingService;
     private final BundlePricingService bundlePricingService;
+    private final BatchPricingService batchPricingService;
+    private final PriceSimulationService priceSimulationService;
+    private final PriceProjectionService priceProjectionService;
 
     @Operation(summary = "Calculate all pricing components for a single product ID",
             description = "Evaluates all fixed and rules-driven components. Returns the final price and breakdown.")
@@ -42,6 +55,64 @@ public class PricingController {
         return ResponseEntity.ok(result);
     }
 
+    @Operation(summary = "Calculate pricing for a batch of product quotes",
+            description = "Prices every request of the batch. Results are returned in request order; an item that fails "
+                    + "carries the status and error code of the equivalent single-product call instead of failing the batch.")
+    @ApiResponse(responseCode = "200", description = "Batch priced; check each item's status for failures.",
+            content = @Content(schema = @Schema(implementation = BatchPriceResponse.class)))
+    @PostMapping("/calculate/batch")
+    @PreAuthorize("hasAnyAuthority('pricing:calculate:read', 'pricing:simulation:read')")
+    public ResponseEntity<BatchPriceResponse> calculateBatchPrice(
+            @Valid @RequestBody BatchPriceRequest request) {
+
+        BatchPriceResponse response = batchPricingService.calculateBatch(request.getRequests());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Simulate a product's price curve over a range of transaction amounts",
+            description = "Prices the product at every amount of the range, once per segment. Rules are evaluated once per "
+                    + "interval between tier thresholds; each curve is returned as pieces on which the same tiers apply.")
+    @ApiResponse(responseCode = "200", description = "Successfully simulated pricing.",
+            content = @Content(schema = @Schema(implementation = PriceSimulationResponse.class)))
+    @PostMapping("/simulate/product")
+    @PreAuthorize("hasAuthority('pricing:simulation:read')")
+    public ResponseEntity<PriceSimulationResponse> simulateProductPrice(
+            @Valid @RequestBody PriceSimulationRequest request) {
+
+        PriceSimulationResponse response = priceSimulationService.simulate(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Project a product's charges over the coming billing cycles",
+            description = "Prices the product for each of the next cycles, starting with the one containing the effective date. "
+                    + "Pricing links and rule outcomes are resolved once per configuration window and reused across cycles.")
+    @ApiResponse(responseCode = "200", description = "Successfully projected pricing.",
+            content = @Content(schema = @Schema(implementation = ProductPriceProjectionResponse.class)))
+    @PostMapping("/project/product")
+    @PreAuthorize("hasAnyAuthority('pricing:calculate:read', 'pricing:simulation:read')")
+    public ResponseEntity<ProductPriceProjectionResponse> projectProductPrice(
+            @Valid @RequestBody ProductPriceRequest request,
+            @RequestParam(defaultValue = "12") int cycles) {
+
+        ProductPriceProjectionResponse response = priceProjectionService.projectProductPrice(request, cycles);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Project a bundle's charges over the coming billing cycles",
+            description = "Prices the bundle for each of the next cycles, starting with the one containing the effective date. "
+                    + "Constituent products are projected once, and bundle rules fire once per configuration window and fee pool.")
+    @ApiResponse(responseCode = "200", description = "Successfully projected bundle pricing.",
+            content = @Content(schema = @Schema(implementation = BundlePriceProjectionResponse.class)))
+    @PostMapping("/project/bundle")
+    @PreAuthorize("hasAuthority('pricing:bundle:calculate:read')")
+    public ResponseEntity<BundlePriceProjectionResponse> projectBundlePrice(
+            @Valid @RequestBody BundlePriceRequest request,
+            @RequestParam(defaultValue = "12") int cycles) {
+
+        BundlePriceProjectionResponse response = priceProjectionService.projectBundlePrice(request, cycles);
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Calculate the total price for a product bundle")
     @ApiResponse(responseCode = "200", description = "Successfully calculated bundle pricing.")
     @PostMapping("/calculate/bundle")
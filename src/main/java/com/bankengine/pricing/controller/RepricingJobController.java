@@ -0,0 +1,53 @@
+package com.bankengine.pricing.controller;
+
+import com.bankengine.pricing.dto.RepricingJobRequest;
+import com.bankengine.pricing.dto.RepricingJobResponse;
+import com.bankengine.pricing.service.repricing.RepricingJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "Portfolio Re-pricing", description = "File-based re-pricing of whole account portfolios.")
+@RestController
+@RequestMapping("/api/v1/pricing/repricing-jobs")
+@RequiredArgsConstructor
+public class RepricingJobController {
+
+    private final RepricingJobService repricingJobService;
+
+    @Operation(summary = "Start re-pricing an input file",
+            description = "Streams an NDJSON or CSV file from the tenant's re-pricing directory through batch pricing "
+                    + "and writes one NDJSON result per row, in input order, next to it.")
+    @ApiResponse(responseCode = "202", description = "Job started; poll it for progress.",
+            content = @Content(schema = @Schema(implementation = RepricingJobResponse.class)))
+    @PostMapping
+    @PreAuthorize("hasAuthority('pricing:repricing:write')")
+    public ResponseEntity<RepricingJobResponse> startJob(@Valid @RequestBody RepricingJobRequest request) {
+        return ResponseEntity.accepted().body(repricingJobService.startJob(request));
+    }
+
+    @Operation(summary = "Get the progress of a re-pricing job")
+    @ApiResponse(responseCode = "200", description = "Job found.",
+            content = @Content(schema = @Schema(implementation = RepricingJobResponse.class)))
+    @GetMapping("/{jobId}")
+    @PreAuthorize("hasAnyAuthority('pricing:repricing:read', 'pricing:repricing:write')")
+    public ResponseEntity<RepricingJobResponse> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(repricingJobService.getJob(jobId));
+    }
+
+    @Operation(summary = "Resume a failed or interrupted re-pricing job from its last checkpoint")
+    @ApiResponse(responseCode = "202", description = "Job resumed; poll it for progress.",
+            content = @Content(schema = @Schema(implementation = RepricingJobResponse.class)))
+    @PostMapping("/{jobId}/resume")
+    @PreAuthorize("hasAuthority('pricing:repricing:write')")
+    public ResponseEntity<RepricingJobResponse> resumeJob(@PathVariable String jobId) {
+        return ResponseEntity.accepted().body(repricingJobService.resumeJob(jobId));
+    }
+}
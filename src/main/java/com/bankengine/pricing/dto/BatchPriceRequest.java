@@ -0,0 +1,20 @@
+package com.bankengine.pricing.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPriceRequest {
+
+    // Items are validated one by one, so an invalid item fails on its own instead of rejecting the batch
+    @NotEmpty(message = "A batch must contain at least one product price request.")
+    private List<ProductPriceRequest> requests;
+}
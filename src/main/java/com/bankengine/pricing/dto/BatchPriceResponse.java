@@ -0,0 +1,32 @@
+package com.bankengine.pricing.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BatchPriceResponse {
+    private int totalCount;
+    private int successCount;
+    private int failureCount;
+
+    // One entry per request, in request order
+    private List<BatchPriceItemResult> results;
+
+    @Data
+    @Builder
+    public static class BatchPriceItemResult {
+        private int index;
+        private Long productId;
+
+        // Set when the item was priced
+        private ProductPricingCalculationResult result;
+
+        // Set when the item failed; same status and code an individual /calculate/product call would return
+        private Integer status;
+        private String code;
+        private String message;
+    }
+}
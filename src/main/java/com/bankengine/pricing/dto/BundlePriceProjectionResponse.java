@@ -0,0 +1,31 @@
+package com.bankengine.pricing.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+public class BundlePriceProjectionResponse {
+
+    private Long productBundleId;
+
+    // Sum of the priced cycles' net totals
+    private BigDecimal totalNetAmount;
+
+    private List<CycleResult> cycles;
+
+    @Data
+    @Builder
+    public static class CycleResult {
+        private LocalDate cycleStart;
+        private LocalDate cycleEnd;
+        private LocalDate effectiveDate;
+
+        // Null when a product of the bundle has no pricing configuration in the cycle
+        private BundlePriceResponse result;
+    }
+}
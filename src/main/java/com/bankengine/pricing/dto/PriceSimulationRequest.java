@@ -0,0 +1,57 @@
+package com.bankengine.pricing.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceSimulationRequest {
+
+    @NotNull(message = "Product ID is mandatory.")
+    private Long productId;
+
+    private LocalDate enrollmentDate;
+
+    // Attributes shared by every point of the simulation, e.g. EFFECTIVE_DATE
+    private Map<String, Object> customAttributes;
+
+    @Valid
+    @NotNull(message = "Amount range is mandatory.")
+    private AmountRange amountRange;
+
+    // One curve per value; defaults to CUSTOMER_SEGMENT. Without values a single curve is priced.
+    private String segmentAttribute;
+    private List<Object> segments;
+
+    /**
+     * The TRANSACTION_AMOUNT values from {@code from} to {@code to}, both inclusive, every {@code step}.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AmountRange {
+
+        @NotNull(message = "Range start is mandatory.")
+        private BigDecimal from;
+
+        @NotNull(message = "Range end is mandatory.")
+        private BigDecimal to;
+
+        @NotNull(message = "Range step is mandatory.")
+        @Positive(message = "Range step must be positive.")
+        private BigDecimal step;
+    }
+}
@@ -0,0 +1,52 @@
+package com.bankengine.pricing.dto;
+
+import com.bankengine.pricing.dto.ProductPricingCalculationResult.PriceComponentDetail;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+public class PriceSimulationResponse {
+
+    private Long productId;
+    private String segmentAttribute;
+
+    // Priced points over all curves, and the rule evaluations it took to price them
+    private int pointCount;
+    private int evaluationCount;
+
+    private List<SegmentCurve> curves;
+
+    @Data
+    @Builder
+    public static class SegmentCurve {
+        // Null for the curve of a simulation without segments
+        private Object segment;
+        private List<CurvePiece> pieces;
+    }
+
+    /**
+     * A stretch of the curve on which the same tiers apply; prices within it only vary with the amount itself.
+     */
+    @Data
+    @Builder
+    public static class CurvePiece {
+        private BigDecimal fromAmount;
+        private BigDecimal toAmount;
+
+        // The components priced at fromAmount
+        private List<PriceComponentDetail> componentBreakdown;
+
+        private List<PricePoint> points;
+    }
+
+    @Data
+    @Builder
+    public static class PricePoint {
+        private BigDecimal amount;
+        private BigDecimal finalChargeablePrice;
+    }
+}
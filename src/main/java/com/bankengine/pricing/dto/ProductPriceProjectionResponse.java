@@ -0,0 +1,31 @@
+package com.bankengine.pricing.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+public class ProductPriceProjectionResponse {
+
+    private Long productId;
+
+    // Sum of the priced cycles
+    private BigDecimal totalChargeablePrice;
+
+    private List<CycleResult> cycles;
+
+    @Data
+    @Builder
+    public static class CycleResult {
+        private LocalDate cycleStart;
+        private LocalDate cycleEnd;
+        private LocalDate effectiveDate;
+
+        // Null when the product has no pricing configuration in the cycle
+        private ProductPricingCalculationResult result;
+    }
+}
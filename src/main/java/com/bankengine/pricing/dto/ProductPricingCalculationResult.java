@@ -11,7 +11,7 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @Schema(description = "Comprehensive breakdown of product costs and applied rules")
 public class ProductPricingCalculationResult {
 
@@ -22,7 +22,7 @@ public class ProductPricingCalculationResult {
     private List<PriceComponentDetail> componentBreakdown;
 
     @Data
-    @Builder
+    @Builder(toBuilder = true)
     public static class PriceComponentDetail {
         @Schema(example = "SAV_MAINT_FEE")
         private String componentCode;
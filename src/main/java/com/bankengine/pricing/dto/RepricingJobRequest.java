@@ -0,0 +1,22 @@
+package com.bankengine.pricing.dto;
+
+import com.bankengine.pricing.model.RepricingInputFormat;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepricingJobRequest {
+
+    // Relative to the tenant's re-pricing directory
+    @NotBlank(message = "Input file is mandatory.")
+    private String inputFile;
+
+    // Inferred from the file extension (.csv, .ndjson, .jsonl) when omitted
+    private RepricingInputFormat format;
+}
@@ -0,0 +1,38 @@
+package com.bankengine.pricing.dto;
+
+import com.bankengine.pricing.model.RepricingInputFormat;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class RepricingJobResponse {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        // Stopped by an error or a shutdown; can be resumed from its last checkpoint
+        FAILED
+    }
+
+    private String jobId;
+    private Status status;
+    private RepricingInputFormat format;
+
+    // Relative to the tenant's re-pricing directory
+    private String inputFile;
+    private String outputFile;
+
+    // Rows written to the output file, failed ones included
+    private long rowsWritten;
+    private long rowsFailed;
+
+    // Share of the input file whose results are written, 0-100
+    private int percentComplete;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private String error;
+}
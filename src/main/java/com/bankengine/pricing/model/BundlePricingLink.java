@@ -3,6 +3,7 @@ package com.bankengine.pricing.model;
 import com.bankengine.catalog.model.ProductBundle;
 import com.bankengine.common.annotation.TenantEntity;
 import com.bankengine.common.model.AuditableEntity;
+import com.bankengine.pricing.service.PricingDataChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -22,6 +23,7 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @SuperBuilder
 @TenantEntity
+@EntityListeners(PricingDataChangeListener.class)
 public class BundlePricingLink extends AuditableEntity {
 
     @Id
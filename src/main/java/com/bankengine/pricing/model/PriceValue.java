@@ -2,6 +2,7 @@ package com.bankengine.pricing.model;
 
 import com.bankengine.common.annotation.TenantEntity;
 import com.bankengine.common.model.AuditableEntity;
+import com.bankengine.pricing.service.PricingDataChangeListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -17,6 +18,7 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 @SuperBuilder
 @TenantEntity
+@EntityListeners(PricingDataChangeListener.class)
 public class PriceValue extends AuditableEntity {
 
     @Id
@@ -51,4 +53,7 @@ public class PriceValue extends AuditableEntity {
 
     @Transient
     private String componentCode;
+
+    @Transient
+    private Long productId;
 }
\ No newline at end of file
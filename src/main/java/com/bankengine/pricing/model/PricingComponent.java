@@ -2,6 +2,7 @@ package com.bankengine.pricing.model;
 
 import com.bankengine.common.annotation.TenantEntity;
 import com.bankengine.common.model.VersionableEntity;
+import com.bankengine.pricing.service.PricingDataChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -34,6 +35,7 @@ import java.util.Set;
         }
 )
 @TenantEntity
+@EntityListeners(PricingDataChangeListener.class)
 public class PricingComponent extends VersionableEntity {
 
     @Id
@@ -3,6 +3,7 @@ package com.bankengine.pricing.model;
 import com.bankengine.catalog.model.Product;
 import com.bankengine.common.annotation.TenantEntity;
 import com.bankengine.common.model.AuditableEntity;
+import com.bankengine.pricing.service.PricingDataChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -18,6 +19,7 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @TenantEntity
+@EntityListeners(PricingDataChangeListener.class)
 public class ProductPricingLink extends AuditableEntity {
 
     @Id
@@ -0,0 +1,23 @@
+package com.bankengine.pricing.model;
+
+import java.util.Locale;
+
+/**
+ * Layout of a portfolio re-pricing input file. NDJSON holds one product price request object per line;
+ * CSV has a header row with productId, an optional enrollmentDate and one column per custom attribute.
+ */
+public enum RepricingInputFormat {
+    NDJSON,
+    CSV;
+
+    public static RepricingInputFormat fromFileName(String fileName) {
+        String lowerCase = fileName.toLowerCase(Locale.ROOT);
+        if (lowerCase.endsWith(".csv")) {
+            return CSV;
+        }
+        if (lowerCase.endsWith(".ndjson") || lowerCase.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot infer the input format of '" + fileName + "'; specify NDJSON or CSV.");
+    }
+}
@@ -20,4 +20,10 @@ public interface BundlePricingLinkRepository extends TenantRepository<BundlePric
     List<BundlePricingLink> findByBundleIdOverlappingCycle(@Param("bundleId") Long bundleId,
                                                            @Param("cycleStart") LocalDate cycleStart,
                                                            @Param("cycleEnd") LocalDate cycleEnd);
+
+    @Query("SELECT DISTINCT b FROM BundlePricingLink b " +
+            "JOIN FETCH b.pricingComponent c " +
+            "LEFT JOIN FETCH c.pricingTiers t " +
+            "WHERE b.bankId = :bankId")
+    List<BundlePricingLink> findAllWithComponentsByBankId(@Param("bankId") String bankId);
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import com.bankengine.pricing.model.PricingComponent.ComponentType;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface PricingComponentRepository extends VersionableRepository<PricingComponent> {
@@ -16,4 +17,8 @@ public interface PricingComponentRepository extends VersionableRepository<Pricin
     @EntityGraph(value = "component-with-tiers-values-conditions", type = EntityGraph.EntityGraphType.LOAD)
     @Query("SELECT DISTINCT pc FROM PricingComponent pc WHERE pc.type IN :types")
     List<PricingComponent> findByTypeIn(List<ComponentType> types);
+
+    @EntityGraph(value = "component-with-tiers-values-conditions", type = EntityGraph.EntityGraphType.LOAD)
+    @Query("SELECT DISTINCT pc FROM PricingComponent pc WHERE pc.id IN :ids")
+    List<PricingComponent> findAllWithDetailsByIdIn(Collection<Long> ids);
 }
\ No newline at end of file
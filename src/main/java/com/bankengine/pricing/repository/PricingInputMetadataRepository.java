@@ -14,6 +14,7 @@ public interface PricingInputMetadataRepository extends TenantRepository<Pricing
     List<PricingInputMetadata> findByAttributeKeyIn(Set<String> attributeKeys);
     void deleteByAttributeKey(String attributeKey);
 
+    List<PricingInputMetadata> findByBankIdAndSourceType(String bankId, PricingInputMetadata.AttributeSourceType sourceType);
     Optional<PricingInputMetadata> findByBankIdAndAttributeKey(String bankId, String attributeKey);
     List<PricingInputMetadata> findByBankIdAndAttributeKeyIn(String bankId, Set<String> attributeKeys);
     void deleteByBankIdAndAttributeKey(String bankId, String attributeKey);
@@ -24,6 +24,12 @@ public interface ProductPricingLinkRepository extends TenantRepository<ProductPr
 
     List<ProductPricingLink> findByProductId(Long productId);
 
+    @Query("SELECT DISTINCT l FROM ProductPricingLink l " +
+            "JOIN FETCH l.pricingComponent c " +
+            "LEFT JOIN FETCH c.pricingTiers t " +
+            "WHERE l.bankId = :bankId")
+    List<ProductPricingLink> findAllWithComponentsByBankId(@Param("bankId") String bankId);
+
     long countByPricingComponentId(Long pricingComponentId);
 
     @Modifying
@@ -3,18 +3,26 @@ package com.bankengine.pricing.service;
 import com.bankengine.auth.security.TenantContextHolder;
 import com.bankengine.common.service.BaseService;
 import com.bankengine.pricing.model.PricingComponent;
+import com.bankengine.pricing.model.PricingDataType;
 import com.bankengine.pricing.model.PricingInputMetadata;
 import com.bankengine.pricing.model.PricingTier;
 import com.bankengine.pricing.model.TierCondition;
 import com.bankengine.pricing.repository.PricingComponentRepository;
 import com.bankengine.pricing.service.drl.DroolsExpressionBuilder;
-import com.bankengine.rules.service.KieContainerReloadService;
+import com.bankengine.rules.service.RuleExecutionTelemetry;
+import com.bankengine.rules.service.RuleReloadScheduler;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -26,7 +34,15 @@ public abstract class AbstractRuleBuilderService extends BaseService {
 
     @Autowired
     @Lazy
-    protected KieContainerReloadService kieContainerReloadService;
+    protected RuleReloadScheduler ruleReloadScheduler;
+
+    /**
+     * When on, every custom attribute in the tenant's metadata registry becomes a typed field of a declared
+     * fact the pricing input is bound into once, and tier conditions constrain that fact instead of
+     * casting customAttributes entries.
+     */
+    @Value("${app.rules.typed-attributes.enabled:true}")
+    protected boolean typedAttributesEnabled;
 
     public AbstractRuleBuilderService(
             PricingComponentRepository pricingComponentRepository,
@@ -43,48 +59,103 @@ public abstract class AbstractRuleBuilderService extends BaseService {
     protected abstract List<PricingComponent> fetchComponents();
 
     public void rebuildRules() {
-        kieContainerReloadService.reloadKieContainer(getSafeBankIdForDrl());
+        ruleReloadScheduler.requestFullReload(getSafeBankIdForDrl());
     }
 
     public String buildAllRulesForCompilation() {
         StringBuilder drl = new StringBuilder();
         drl.append(getDrlHeader());
 
-        List<PricingComponent> allComponents = fetchComponents();
+        List<PricingComponent> components = distinctComponents(fetchComponents());
+        Map<String, PricingInputMetadata> typedAttributes = loadTypedAttributes();
+        drl.append(buildAttributeDeclarations(typedAttributes));
+
+        for (PricingComponent component : components) {
+            drl.append(buildComponentRules(component, typedAttributes)).append("\n\n");
+        }
+
+        String finalDrl = components.isEmpty() ? buildPlaceholderRules() : drl.toString();
+        logGeneratedDrl(finalDrl);
+        return finalDrl;
+    }
+
+    /**
+     * Header-only resource (package, imports, global, declared attribute fact) used by the incremental
+     * build layout, where every component's rules live in their own DRL resource next to it.
+     */
+    public String buildPackageHeaderForCompilation() {
+        return getDrlHeader() + buildAttributeDeclarations(loadTypedAttributes());
+    }
+
+    /**
+     * Generates one self-contained DRL resource per component of this package, keyed by component id.
+     */
+    public Map<Long, String> buildComponentRulesForCompilation() {
+        return toComponentResources(distinctComponents(fetchComponents()));
+    }
+
+    /**
+     * Generates the DRL resources of the given components only.
+     * Ids that no longer exist, or that do not belong to this package, are absent from the result
+     * so the caller can drop their resources from the KieModule.
+     */
+    public Map<Long, String> buildComponentRulesForCompilation(Collection<Long> componentIds) {
+        if (componentIds.isEmpty()) {
+            return Map.of();
+        }
+        List<PricingComponent> components = pricingComponentRepository.findAllWithDetailsByIdIn(componentIds).stream()
+                .filter(this::includesComponent)
+                .toList();
+        return toComponentResources(distinctComponents(components));
+    }
+
+    /**
+     * Whether a component contributes rules to this package. Must agree with {@link #fetchComponents()}.
+     */
+    protected boolean includesComponent(PricingComponent component) {
+        return true;
+    }
 
-        List<PricingComponent> components = allComponents.stream()
+    private Map<Long, String> toComponentResources(List<PricingComponent> components) {
+        Map<Long, String> resources = new LinkedHashMap<>();
+        String header = getDrlHeader();
+        Map<String, PricingInputMetadata> typedAttributes = loadTypedAttributes();
+        for (PricingComponent component : components) {
+            resources.put(component.getId(), header + buildComponentRules(component, typedAttributes) + "\n");
+        }
+        log.debug("Generated {} component DRL resource(s) for package {}", resources.size(), getPackageSubPath());
+        return resources;
+    }
+
+    private List<PricingComponent> distinctComponents(List<PricingComponent> allComponents) {
+        return allComponents.stream()
                 .collect(Collectors.toMap(
                         c -> c.getCode() + ":" + c.getVersion(),
                         c -> c,
                         (existing, replacement) -> existing,
-                        java.util.LinkedHashMap::new
+                        LinkedHashMap::new
                 ))
                 .values()
                 .stream()
                 .toList();
+    }
 
-        for (PricingComponent component : components) {
-            List<PricingTier> tiers = component.getPricingTiers() == null ? List.of() :
-                component.getPricingTiers().stream()
-                    .collect(Collectors.toMap(
-                        t -> t.getCode(),
-                        t -> t,
-                        (existing, replacement) -> existing,
-                        java.util.LinkedHashMap::new
-                    ))
-                    .values()
-                    .stream()
-                    .toList();
-
-            String body = tiers.stream()
-                .map(tier -> buildSingleRule(component, tier))
-                .collect(Collectors.joining("\n\n"));
-            drl.append(body).append("\n\n");
-        }
+    private String buildComponentRules(PricingComponent component, Map<String, PricingInputMetadata> typedAttributes) {
+        List<PricingTier> tiers = component.getPricingTiers() == null ? List.of() :
+            component.getPricingTiers().stream()
+                .collect(Collectors.toMap(
+                    t -> t.getCode(),
+                    t -> t,
+                    (existing, replacement) -> existing,
+                    LinkedHashMap::new
+                ))
+                .values()
+                .stream()
+                .toList();
 
-        String finalDrl = components.isEmpty() ? buildPlaceholderRules() : drl.toString();
-        logGeneratedDrl(finalDrl);
-        return finalDrl;
+        return tiers.stream()
+            .map(tier -> buildSingleRule(component, tier, typedAttributes))
+            .collect(Collectors.joining("\n\n"));
     }
 
     private void logGeneratedDrl(String drl) {
@@ -95,25 +166,29 @@ public abstract class AbstractRuleBuilderService extends BaseService {
         log.info("========================================================");
     }
 
-    private String buildSingleRule(PricingComponent component, PricingTier tier) {
+    private String buildSingleRule(PricingComponent component, PricingTier tier,
+                                   Map<String, PricingInputMetadata> typedAttributes) {
         String ruleName = String.format("%s_%s_%s_V%d_Tier_%s",
                 getPackageSubPath().toUpperCase(), getSafeBankIdForDrl(),
                 component.getCode(), component.getVersion(), tier.getCode());
 
-        String rhsWithLogging = String.format("""
-                log.info("🔥 Rule Fired: %s");
-                %s
-                """, ruleName, buildRHSAction(component, tier));
-
+        // Rule firings are observed by RuleExecutionTelemetry through this metadata rather than logged from the RHS
         return String.format("""
                 rule "%s"
+                    @%s("%s")
+                    @%s("%s")
                     no-loop true
                     salience %d
                     when
                 %s
                     then
                 %s
-                end""", ruleName, tier.getPriority(), buildLHSCondition(tier, component.getCode(), component.getVersion()), rhsWithLogging);
+                end""", ruleName,
+                RuleExecutionTelemetry.COMPONENT_METADATA, component.getCode(),
+                RuleExecutionTelemetry.TIER_METADATA, tier.getCode(),
+                tier.getPriority(),
+                buildLHSCondition(tier, component.getCode(), component.getVersion(), typedAttributes),
+                buildRHSAction(component, tier));
     }
 
     protected String getSafeBankIdForDrl() {
@@ -150,6 +225,15 @@ public abstract class AbstractRuleBuilderService extends BaseService {
     }
 
     protected String buildLHSCondition(PricingTier tier, String componentCode, Integer componentVersion) {
+        return buildLHSCondition(tier, componentCode, componentVersion, Map.of());
+    }
+
+    /**
+     * @param typedAttributes Custom attributes declared on the tenant's attribute fact, keyed by attribute key.
+     *                        A tier whose conditions all reference such attributes is matched against that fact.
+     */
+    protected String buildLHSCondition(PricingTier tier, String componentCode, Integer componentVersion,
+                                       Map<String, PricingInputMetadata> typedAttributes) {
         String bankId = tier.getBankId() != null ? tier.getBankId() : getSafeBankIdForDrl();
         String factFqn = getFactType();
         String factName = factFqn.substring(factFqn.lastIndexOf(".") + 1);
@@ -175,22 +259,117 @@ public abstract class AbstractRuleBuilderService extends BaseService {
             conditionBuilder.append(String.format(", %s <= new java.math.BigDecimal(\"%s\")", amountExpression, tier.getMaxThreshold().toPlainString()));
         }
 
-        if (tier.getConditions() != null && !tier.getConditions().isEmpty()) {
-            conditionBuilder.append(", ");
-            Iterator<TierCondition> it = tier.getConditions().iterator();
-            while (it.hasNext()) {
-                TierCondition cond = it.next();
-                PricingInputMetadata metadata = metadataService.getMetadataEntityByKey(cond.getAttributeName(), bankId);
-                conditionBuilder.append(droolsExpressionBuilder.buildExpression(cond, metadata, factName));
-                if (it.hasNext()) {
-                    String connector = cond.getConnector() != null ? cond.getConnector().name() : "AND";
-                    conditionBuilder.append(connector.equalsIgnoreCase("OR") ? " || " : " && ");
-                }
-            }
+        boolean hasConditions = tier.getConditions() != null && !tier.getConditions().isEmpty();
+        boolean typed = hasConditions && tier.getConditions().stream()
+                .allMatch(cond -> typedAttributes.containsKey(cond.getAttributeName()));
+        if (hasConditions && !typed) {
+            conditionBuilder.append(", ").append(buildConditionExpression(tier, cond ->
+                    droolsExpressionBuilder.buildExpression(cond,
+                            metadataService.getMetadataEntityByKey(cond.getAttributeName(), bankId), factName)));
         }
 
         String mainPattern = String.format("        $input : %s ( %s )", factName, conditionBuilder.toString());
-        return "PricingInput".equals(factName) ? mainPattern + String.format("\n        not PriceValue(componentCode == \"%s\")", componentCode) : mainPattern;
+        if (typed) {
+            mainPattern += String.format("\n        %s ( input == $input, %s )", getAttributesFactName(),
+                    buildConditionExpression(tier, cond ->
+                            droolsExpressionBuilder.buildTypedExpression(cond, typedAttributes.get(cond.getAttributeName()))));
+        }
+        // A component is priced once per input; the productId keeps inputs of one batched session apart
+        return "PricingInput".equals(factName)
+                ? mainPattern + String.format("\n        not PriceValue(componentCode == \"%s\", productId == $input.productId)", componentCode)
+                : mainPattern;
+    }
+
+    private String buildConditionExpression(PricingTier tier, Function<TierCondition, String> expression) {
+        StringBuilder conditionBuilder = new StringBuilder();
+        Iterator<TierCondition> it = tier.getConditions().iterator();
+        while (it.hasNext()) {
+            TierCondition cond = it.next();
+            conditionBuilder.append(expression.apply(cond));
+            if (it.hasNext()) {
+                String connector = cond.getConnector() != null ? cond.getConnector().name() : "AND";
+                conditionBuilder.append(connector.equalsIgnoreCase("OR") ? " || " : " && ");
+            }
+        }
+        return conditionBuilder.toString();
+    }
+
+    /**
+     * The tenant's custom attributes with a supported data type, keyed by attribute key.
+     * Sorted so the generated DRL, and therefore its fingerprint, does not depend on query order.
+     */
+    private Map<String, PricingInputMetadata> loadTypedAttributes() {
+        if (!typedAttributesEnabled) {
+            return Map.of();
+        }
+        Map<String, PricingInputMetadata> typedAttributes = new TreeMap<>();
+        for (PricingInputMetadata metadata : metadataService.getCustomAttributeMetadata(getSafeBankIdForDrl())) {
+            try {
+                PricingDataType.fromString(metadata.getDataType());
+                typedAttributes.put(metadata.getAttributeKey(), metadata);
+            } catch (IllegalArgumentException e) {
+                log.warn("Attribute '{}' has an unsupported data type and stays untyped: {}", metadata.getAttributeKey(), e.getMessage());
+            }
+        }
+        return typedAttributes;
+    }
+
+    private String getAttributesFactName() {
+        String factFqn = getFactType();
+        return factFqn.substring(factFqn.lastIndexOf(".") + 1) + "Attributes";
+    }
+
+    /**
+     * Declares the tenant's attribute fact and the rule that binds each input fact into it once,
+     * converting every registered custom attribute to its declared type. The binding runs before any tier
+     * rule, so tiers with and without typed conditions compete on priority alone.
+     */
+    private String buildAttributeDeclarations(Map<String, PricingInputMetadata> typedAttributes) {
+        if (typedAttributes.isEmpty()) {
+            return "";
+        }
+        String attributesFact = getAttributesFactName();
+        Map<String, PricingInputMetadata> fields = new TreeMap<>();
+        typedAttributes.values().forEach(metadata ->
+                fields.putIfAbsent(DroolsExpressionBuilder.typedFieldName(metadata), metadata));
+
+        StringBuilder declaration = new StringBuilder();
+        declaration.append(String.format("declare %s\n    input : %s\n", attributesFact, getFactType()));
+        fields.forEach((field, metadata) ->
+                declaration.append(String.format("    %s : %s\n", field, metadata.getFqnType())));
+        declaration.append("end\n\n");
+
+        StringBuilder bindings = new StringBuilder();
+        fields.forEach((field, metadata) -> bindings.append(String.format(
+                "        attributes.set%s%s(com.bankengine.rules.model.AttributeValues.%s($input.getCustomAttributes().get(\"%s\")));\n",
+                Character.toUpperCase(field.charAt(0)), field.substring(1),
+                converterFor(PricingDataType.fromString(metadata.getDataType())), metadata.getResolvedSourceField())));
+
+        declaration.append(String.format("""
+                rule "Bind_%s"
+                    salience 2147483647
+                    when
+                        $input : %s ( )
+                        not %s ( input == $input )
+                    then
+                        %s attributes = new %s();
+                        attributes.setInput($input);
+                %s        insert(attributes);
+                end
+
+                """, attributesFact, getFactType().substring(getFactType().lastIndexOf(".") + 1), attributesFact,
+                attributesFact, attributesFact, bindings));
+        return declaration.toString();
+    }
+
+    private static String converterFor(PricingDataType type) {
+        return switch (type) {
+            case STRING -> "toText";
+            case DECIMAL -> "toDecimal";
+            case LONG -> "toLong";
+            case BOOLEAN -> "toBoolean";
+            case DATE -> "toDate";
+        };
     }
 
     protected String buildPlaceholderRules() {
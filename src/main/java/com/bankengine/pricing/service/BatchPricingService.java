@@ -0,0 +1,146 @@
+package com.bankengine.pricing.service;
+
+import com.bankengine.pricing.dto.BatchPriceResponse;
+import com.bankengine.pricing.dto.BatchPriceResponse.BatchPriceItemResult;
+import com.bankengine.pricing.dto.ProductPriceRequest;
+import com.bankengine.pricing.dto.ProductPricingCalculationResult;
+import com.bankengine.web.exception.NotFoundException;
+import com.bankengine.web.exception.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Prices large lists of product quotes in one call.
+ * Requests are grouped by product and billing cycle, so each group resolves its product access, pricing
+ * links and rule base lease once. Groups are priced in parallel on the PricingExecutor. Every item gets either
+ * a result or the error an individual /calculate/product call would have returned; one failing item
+ * never fails the batch.
+ */
+@Service
+@Slf4j
+public class BatchPricingService {
+
+    private record GroupKey(Long productId, LocalDate cycleStart) {
+    }
+
+    private final ProductPricingService productPricingService;
+    private final PricingExecutor pricingExecutor;
+
+    @Value("${app.pricing.batch.max-size:10000}")
+    private int maxBatchSize;
+
+    public BatchPricingService(ProductPricingService productPricingService, PricingExecutor pricingExecutor) {
+        this.productPricingService = productPricingService;
+        this.pricingExecutor = pricingExecutor;
+    }
+
+    public BatchPriceResponse calculateBatch(List<ProductPriceRequest> requests) {
+        if (requests.size() > maxBatchSize) {
+            throw new ValidationException("A batch may contain at most " + maxBatchSize + " requests.");
+        }
+
+        BatchPriceItemResult[] results = new BatchPriceItemResult[requests.size()];
+        Map<GroupKey, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ProductPriceRequest request = requests.get(i);
+            if (request == null || request.getProductId() == null) {
+                results[i] = failure(i, request, HttpStatus.BAD_REQUEST, "VALIDATION_ERROR", "Product ID is mandatory.");
+                continue;
+            }
+            groups.computeIfAbsent(new GroupKey(request.getProductId(), productPricingService.resolveCycleStart(request)),
+                    key -> new ArrayList<>()).add(i);
+        }
+
+        List<CompletableFuture<Void>> pricedGroups = groups.values().stream()
+                .map(indexes -> pricingExecutor.submit(() -> {
+                    priceGroup(requests, indexes, results);
+                    return (Void) null;
+                }))
+                .toList();
+        pricedGroups.forEach(pricingExecutor::join);
+
+        List<BatchPriceItemResult> ordered = Arrays.asList(results);
+        int successCount = (int) ordered.stream().filter(item -> item.getResult() != null).count();
+        log.debug("Priced batch of {} request(s) in {} group(s): {} succeeded.", requests.size(), groups.size(), successCount);
+        return BatchPriceResponse.builder()
+                .totalCount(requests.size())
+                .successCount(successCount)
+                .failureCount(requests.size() - successCount)
+                .results(ordered)
+                .build();
+    }
+
+    /**
+     * Prices one group in a single call. If that fails for a reason that is not shared by the whole group
+     * (the product and its links are), the items are priced one by one to find the failing ones.
+     */
+    private void priceGroup(List<ProductPriceRequest> requests, List<Integer> indexes, BatchPriceItemResult[] results) {
+        List<ProductPriceRequest> groupRequests = indexes.stream().map(requests::get).toList();
+        try {
+            List<ProductPricingCalculationResult> priced = productPricingService.getProductPricingBatch(groupRequests);
+            for (int i = 0; i < indexes.size(); i++) {
+                results[indexes.get(i)] = success(indexes.get(i), groupRequests.get(i), priced.get(i));
+            }
+        } catch (NotFoundException | AccessDeniedException e) {
+            indexes.forEach(index -> results[index] = failure(index, requests.get(index), e));
+        } catch (RuntimeException e) {
+            if (indexes.size() == 1) {
+                results[indexes.getFirst()] = failure(indexes.getFirst(), requests.get(indexes.getFirst()), e);
+                return;
+            }
+            for (Integer index : indexes) {
+                try {
+                    results[index] = success(index, requests.get(index), productPricingService.getProductPricing(requests.get(index)));
+                } catch (RuntimeException itemError) {
+                    results[index] = failure(index, requests.get(index), itemError);
+                }
+            }
+        }
+    }
+
+    private static BatchPriceItemResult success(int index, ProductPriceRequest request, ProductPricingCalculationResult result) {
+        return BatchPriceItemResult.builder()
+                .index(index)
+                .productId(request.getProductId())
+                .result(result)
+                .build();
+    }
+
+    /**
+     * Maps an item failure to the status and code GlobalExceptionHandler would use for it.
+     */
+    private static BatchPriceItemResult failure(int index, ProductPriceRequest request, RuntimeException e) {
+        if (e instanceof ValidationException validation) {
+            return failure(index, request, HttpStatus.UNPROCESSABLE_ENTITY, validation.getCode(), e.getMessage());
+        }
+        if (e instanceof NotFoundException) {
+            return failure(index, request, HttpStatus.NOT_FOUND, "RESOURCE_NOT_FOUND", e.getMessage());
+        }
+        if (e instanceof AccessDeniedException) {
+            return failure(index, request, HttpStatus.FORBIDDEN, "ACCESS_DENIED", e.getMessage());
+        }
+        if (e instanceof IllegalArgumentException) {
+            return failure(index, request, HttpStatus.BAD_REQUEST, "VALIDATION_ERROR", e.getMessage());
+        }
+        log.error("Batch item {} (product {}) failed to price.", index, request.getProductId(), e);
+        return failure(index, request, HttpStatus.INTERNAL_SERVER_ERROR, "PRICING_ERROR", e.getMessage());
+    }
+
+    private static BatchPriceItemResult failure(int index, ProductPriceRequest request, HttpStatus status,
+                                                String code, String message) {
+        return BatchPriceItemResult.builder()
+                .index(index)
+                .productId(request != null ? request.getProductId() : null)
+                .status(status.value())
+                .code(code)
+                .message(message)
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.bankengine.pricing.service;
 
+import com.bankengine.auth.security.TenantContextHolder;
 import com.bankengine.catalog.repository.ProductBundleRepository;
 import com.bankengine.common.service.BaseService;
 import com.bankengine.pricing.dto.BundlePriceRequest;
@@ -8,9 +9,7 @@ import com.bankengine.pricing.dto.BundlePriceResponse.ProductPricingResult;
 import com.bankengine.pricing.dto.ProductPriceRequest;
 import com.bankengine.pricing.dto.ProductPricingCalculationResult;
 import com.bankengine.pricing.dto.ProductPricingCalculationResult.PriceComponentDetail;
-import com.bankengine.pricing.model.BundlePricingLink;
 import com.bankengine.pricing.model.PriceValue;
-import com.bankengine.pricing.model.PricingTier;
 import com.bankengine.pricing.repository.BundlePricingLinkRepository;
 import com.bankengine.rules.model.BundlePricingInput;
 import com.bankengine.rules.service.BundleRulesEngineService;
@@ -19,11 +18,11 @@ import com.bankengine.web.exception.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -33,11 +32,28 @@ public class BundlePricingService extends BaseService {
 
     private record BundleLinkContext(LocalDate effectiveDate, LocalDate expiryDate, boolean proRataApplicable) {}
 
+    /**
+     * The bundle links in force and the fee pool they see; cycles with the same window share their rule outcome.
+     * A window with a date-conditioned tier is keyed by its cycle's date as well, so it is evaluated per cycle.
+     */
+    private record RuleWindow(List<Long> linkIds, BigDecimal feePool, LocalDate cycleDate) {
+
+        static RuleWindow of(List<PricingLinkSnapshot.Link> activeLinks, BigDecimal feePool, LocalDate effectiveDate) {
+            boolean dateConditioned = activeLinks.stream()
+                    .anyMatch(link -> link.useRulesEngine() && link.dateConditioned());
+            return new RuleWindow(activeLinks.stream().map(PricingLinkSnapshot.Link::id).toList(),
+                    feePool.stripTrailingZeros(), dateConditioned ? effectiveDate : null);
+        }
+    }
+
     private final ProductPricingService productPricingService;
     private final BundleRulesEngineService bundleRulesEngineService;
     private final ProductBundleRepository productBundleRepository;
     private final BundlePricingLinkRepository bundlePricingLinkRepository;
     private final PriceAggregator priceAggregator;
+    private final PricingExecutor pricingExecutor;
+    private final PricingLinkSnapshotService pricingLinkSnapshotService;
+    private final PricingRequestCoalescer pricingRequestCoalescer;
 
     /**
      * Calculates the total price for a bundle.
@@ -45,23 +61,43 @@ public class BundlePricingService extends BaseService {
      * 1. Product Discovery
      * 2. Component Assembly (DB + Rules)
      * 3. Mathematical Aggregation
+     * Identical requests of the same tenant that arrive while one is being priced share its computation and
+     * its response (see {@link PricingRequestCoalescer}), which callers must therefore not modify.
      */
-    @Transactional(readOnly = true)
     public BundlePriceResponse calculateTotalBundlePrice(BundlePriceRequest bundlePriceRequest) {
         // 0. Fail Fast: Validate input presence
         validateRequest(bundlePriceRequest);
+        PricingRequestCoalescer.Key key = pricingRequestCoalescer.keyFor(getCurrentBankId(), "bundle",
+                TenantContextHolder.isSystemMode(),
+                bundlePriceRequest.getProductBundleId(),
+                bundlePriceRequest.getEnrollmentDate(),
+                bundlePriceRequest.getCustomAttributes(),
+                bundlePriceRequest.getProducts().stream()
+                        .map(item -> Arrays.asList(item.getProductId(), item.getTransactionAmount()))
+                        .toList());
+        return pricingRequestCoalescer.execute(key, () -> priceBundle(bundlePriceRequest));
+    }
+
+    private BundlePriceResponse priceBundle(BundlePriceRequest bundlePriceRequest) {
         LocalDate effectiveDate = resolveEffectiveDate(bundlePriceRequest);
 
-        // 1. Calculate Individual Product Prices (The Base Fee Pool)
-        List<ProductPricingResult> productPricingResults = calculateIndividualProductFee(bundlePriceRequest);
-        BigDecimal existingFeePool = aggregatedProductsFee(productPricingResults);
+        // 1. Calculate Individual Product Prices (The Base Fee Pool) while the bundle itself is loaded
+        CompletableFuture<List<ProductPricingResult>> productPricing =
+                pricingExecutor.submit(() -> calculateIndividualProductFee(bundlePriceRequest));
 
-        // 2. Fetch Bundle and Active Temporal Links
-        verifyBundleExists(bundlePriceRequest.getProductBundleId());
-        LocalDate cycleStart = effectiveDate.withDayOfMonth(1);
-        LocalDate cycleEnd = effectiveDate.withDayOfMonth(effectiveDate.lengthOfMonth());
-        List<BundlePricingLink> activeLinks = bundlePricingLinkRepository
-                .findByBundleIdOverlappingCycle(bundlePriceRequest.getProductBundleId(), cycleStart, cycleEnd);
+        // 2. Fetch Bundle and Active Temporal Links, also on the executor so this thread holds no connection
+        List<PricingLinkSnapshot.Link> activeLinks;
+        try {
+            activeLinks = pricingExecutor.call(() -> {
+                verifyBundleExists(bundlePriceRequest.getProductBundleId());
+                return getLinksByCycle(bundlePriceRequest.getProductBundleId(), effectiveDate);
+            });
+        } catch (RuntimeException e) {
+            productPricing.cancel(true);
+            throw e;
+        }
+        List<ProductPricingResult> productPricingResults = pricingExecutor.join(productPricing);
+        BigDecimal existingFeePool = aggregatedProductsFee(productPricingResults);
 
         // 3. Assemble Components (Fixed from DB + Dynamic from Rules)
         List<PriceComponentDetail> bundleAdjustments = assembleBundleComponents(bundlePriceRequest, activeLinks, existingFeePool);
@@ -80,6 +116,89 @@ public class BundlePricingService extends BaseService {
                 existingFeePool, netBundleImpact);
     }
 
+    /**
+     * Prices the bundle for {@code cycles} consecutive billing cycles, the first one containing the request's
+     * effective date and each later one priced as of the same day of its month.
+     * Each constituent product is projected once over the whole horizon (see
+     * {@link ProductPricingService#getProductPricingProjection}), the bundle links of the horizon are fetched at
+     * once, and the bundle rules fire once per distinct window of links in force and product fee pool, or once per
+     * cycle for a window with a tier condition on a date.
+     *
+     * Not transactional: the products and the links are loaded on the pricing executor, and a transaction held
+     * here would keep a connection while waiting for them.
+     *
+     * @return One priced cycle per cycle, in cycle order, with the date it was priced as of; its response is null
+     * for a cycle in which a product has no pricing configuration.
+     */
+    public List<PricedCycle<BundlePriceResponse>> projectTotalBundlePrice(BundlePriceRequest bundlePriceRequest, int cycles) {
+        validateRequest(bundlePriceRequest);
+        LocalDate firstDate = resolveEffectiveDate(bundlePriceRequest);
+        List<LocalDate> cycleDates = PricedCycle.effectiveDates(firstDate, cycles);
+        LocalDate lastDate = cycleDates.getLast();
+
+        CompletableFuture<List<PricingLinkSnapshot.Link>> linkLookup = pricingExecutor.submit(() -> {
+            verifyBundleExists(bundlePriceRequest.getProductBundleId());
+            return getLinksOverlapping(bundlePriceRequest.getProductBundleId(),
+                    firstDate.withDayOfMonth(1), lastDate.withDayOfMonth(lastDate.lengthOfMonth()));
+        });
+        List<List<PricedCycle<ProductPricingCalculationResult>>> productProjections;
+        try {
+            productProjections = pricingExecutor.map(bundlePriceRequest.getProducts(),
+                    item -> productPricingService.getProductPricingProjection(productRequest(bundlePriceRequest, item, firstDate), cycles));
+        } catch (RuntimeException e) {
+            linkLookup.cancel(true);
+            throw e;
+        }
+        List<PricingLinkSnapshot.Link> horizonLinks = pricingExecutor.join(linkLookup);
+
+        Map<RuleWindow, BundlePricingInput> rulesByWindow = new HashMap<>();
+        List<PricedCycle<BundlePriceResponse>> responses = new ArrayList<>(cycles);
+        for (int cycle = 0; cycle < cycles; cycle++) {
+            LocalDate effectiveDate = cycleDates.get(cycle);
+            List<ProductPricingResult> productResults = new ArrayList<>();
+            for (int i = 0; i < productProjections.size(); i++) {
+                ProductPricingCalculationResult productResult = productProjections.get(i).get(cycle).result();
+                if (productResult == null) {
+                    break;
+                }
+                productResults.add(toProductPricingResult(bundlePriceRequest.getProducts().get(i).getProductId(), productResult));
+            }
+            if (productResults.size() < productProjections.size()) {
+                responses.add(new PricedCycle<>(effectiveDate, null));
+                continue;
+            }
+
+            BundlePriceRequest cycleRequest = atEffectiveDate(bundlePriceRequest, effectiveDate);
+            LocalDate cycleStart = effectiveDate.withDayOfMonth(1);
+            LocalDate cycleEnd = effectiveDate.withDayOfMonth(effectiveDate.lengthOfMonth());
+            List<PricingLinkSnapshot.Link> activeLinks = horizonLinks.stream()
+                    .filter(link -> link.overlaps(cycleStart, cycleEnd))
+                    .toList();
+            BigDecimal existingFeePool = aggregatedProductsFee(productResults);
+
+            BundlePricingInput rulesOutput = rulesByWindow.computeIfAbsent(
+                    RuleWindow.of(activeLinks, existingFeePool, effectiveDate),
+                    window -> fireRulesEngine(cycleRequest, activeLinks, existingFeePool));
+            List<PriceComponentDetail> bundleAdjustments = new ArrayList<>();
+            activeLinks.stream()
+                    .filter(link -> !link.useRulesEngine() && link.fixedValue() != null)
+                    .forEach(link -> bundleAdjustments.add(mapFixedLinkToDetail(link)));
+            bundleAdjustments.addAll(convertRulesToDetail(rulesOutput.getAdjustments(), activeLinks));
+
+            BigDecimal netBundleImpact = priceAggregator.calculateBundleImpact(
+                    bundleAdjustments,
+                    BigDecimal.ZERO,
+                    existingFeePool,
+                    bundlePriceRequest.getEnrollmentDate(),
+                    effectiveDate);
+            responses.add(new PricedCycle<>(effectiveDate,
+                    buildResponse(cycleRequest, productResults, bundleAdjustments, existingFeePool, netBundleImpact)));
+        }
+        log.debug("Projected bundle {} over {} cycle(s) with {} rule evaluation(s).",
+                bundlePriceRequest.getProductBundleId(), cycles, rulesByWindow.size());
+        return responses;
+    }
+
     // -----------------------------------------------------------------------------------
     // PRIVATE HELPER METHODS (Internal Logic Steps)
     // -----------------------------------------------------------------------------------
@@ -90,67 +209,117 @@ public class BundlePricingService extends BaseService {
         }
     }
 
+    /**
+     * Prices all constituent products in one batch, so their rule-based components share a single KieSession.
+     * Runs on the pricing executor, so it must not return entities of its own transaction.
+     */
     private List<ProductPricingResult> calculateIndividualProductFee(BundlePriceRequest request) {
-        List<ProductPricingResult> results = new ArrayList<>();
         LocalDate effectiveDate = resolveEffectiveDate(request);
 
+        List<ProductPriceRequest> pricingRequests = new ArrayList<>();
         for (BundlePriceRequest.BundleProductItem productReq : request.getProducts()) {
-            Map<String, Object> productAttributes = new HashMap<>();
-            if (request.getCustomAttributes() != null) {
-                productAttributes.putAll(request.getCustomAttributes());
-            }
-            productAttributes.put(PricingAttributeKeys.PRODUCT_ID, productReq.getProductId());
-            productAttributes.put(PricingAttributeKeys.TRANSACTION_AMOUNT,
-                    productReq.getTransactionAmount() != null ? productReq.getTransactionAmount() : BigDecimal.ZERO);
-            productAttributes.put(PricingAttributeKeys.EFFECTIVE_DATE, effectiveDate);
-
-            ProductPriceRequest singlePricingRequest = ProductPriceRequest.builder()
-                    .productId(productReq.getProductId())
-                    .enrollmentDate(request.getEnrollmentDate())
-                    .customAttributes(productAttributes)
-                    .build();
+            pricingRequests.add(productRequest(request, productReq, effectiveDate));
+        }
 
-            ProductPricingCalculationResult calcResult = productPricingService.getProductPricing(singlePricingRequest);
+        List<ProductPricingCalculationResult> calcResults = productPricingService.getProductPricingBatch(pricingRequests);
+
+        List<ProductPricingResult> results = new ArrayList<>();
+        for (int i = 0; i < pricingRequests.size(); i++) {
+            Long productId = pricingRequests.get(i).getProductId();
+            ProductPricingCalculationResult calcResult = calcResults != null && i < calcResults.size() ? calcResults.get(i) : null;
 
             if (calcResult == null) {
-                log.error("Pricing service returned null for product ID: {}", productReq.getProductId());
-                throw new IllegalStateException("Could not calculate price for product: " + productReq.getProductId());
+                log.error("Pricing service returned null for product ID: {}", productId);
+                throw new IllegalStateException("Could not calculate price for product: " + productId);
             }
 
-            BigDecimal productPrice = calcResult.getFinalChargeablePrice() != null ?
-                    calcResult.getFinalChargeablePrice() : BigDecimal.ZERO;
-
-            results.add(ProductPricingResult.builder()
-                    .productId(productReq.getProductId())
-                    .productTotalFee(productPrice)
-                    .pricingComponents(calcResult.getComponentBreakdown())
-                    .build());
+            results.add(toProductPricingResult(productId, calcResult));
         }
         return results;
     }
 
+    private ProductPriceRequest productRequest(BundlePriceRequest request, BundlePriceRequest.BundleProductItem productReq,
+                                               LocalDate effectiveDate) {
+        Map<String, Object> productAttributes = new HashMap<>();
+        if (request.getCustomAttributes() != null) {
+            productAttributes.putAll(request.getCustomAttributes());
+        }
+        productAttributes.put(PricingAttributeKeys.PRODUCT_ID, productReq.getProductId());
+        productAttributes.put(PricingAttributeKeys.TRANSACTION_AMOUNT,
+                productReq.getTransactionAmount() != null ? productReq.getTransactionAmount() : BigDecimal.ZERO);
+        productAttributes.put(PricingAttributeKeys.EFFECTIVE_DATE, effectiveDate);
+
+        return ProductPriceRequest.builder()
+                .productId(productReq.getProductId())
+                .enrollmentDate(request.getEnrollmentDate())
+                .customAttributes(productAttributes)
+                .build();
+    }
+
+    private ProductPricingResult toProductPricingResult(Long productId, ProductPricingCalculationResult calcResult) {
+        BigDecimal productPrice = calcResult.getFinalChargeablePrice() != null ?
+                calcResult.getFinalChargeablePrice() : BigDecimal.ZERO;
+
+        return ProductPricingResult.builder()
+                .productId(productId)
+                .productTotalFee(productPrice)
+                .pricingComponents(calcResult.getComponentBreakdown())
+                .build();
+    }
+
+    private BundlePriceRequest atEffectiveDate(BundlePriceRequest request, LocalDate effectiveDate) {
+        Map<String, Object> attributes = new HashMap<>();
+        if (request.getCustomAttributes() != null) {
+            attributes.putAll(request.getCustomAttributes());
+        }
+        attributes.put(PricingAttributeKeys.EFFECTIVE_DATE, effectiveDate);
+        return new BundlePriceRequest(request.getProductBundleId(), request.getProducts(), request.getEnrollmentDate(), attributes);
+    }
+
     private BigDecimal aggregatedProductsFee(List<ProductPricingResult> results) {
         return results.stream()
                 .map(ProductPricingResult::getProductTotalFee)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
+    /**
+     * Served from the tenant's {@link PricingLinkSnapshot} when one is available, from the database otherwise.
+     */
     private void verifyBundleExists(Long bundleId) {
-        productBundleRepository.findById(bundleId)
-                .orElseThrow(() -> new NotFoundException("Product Bundle not found with ID: " + bundleId));
+        Optional<PricingLinkSnapshot> snapshot = pricingLinkSnapshotService.current();
+        boolean exists = snapshot.isPresent()
+                ? snapshot.get().containsBundle(bundleId)
+                : productBundleRepository.findById(bundleId).isPresent();
+        if (!exists) {
+            throw new NotFoundException("Product Bundle not found with ID: " + bundleId);
+        }
+    }
+
+    private List<PricingLinkSnapshot.Link> getLinksByCycle(Long bundleId, LocalDate effectiveDate) {
+        return getLinksOverlapping(bundleId, effectiveDate.withDayOfMonth(1),
+                effectiveDate.withDayOfMonth(effectiveDate.lengthOfMonth()));
+    }
+
+    private List<PricingLinkSnapshot.Link> getLinksOverlapping(Long bundleId, LocalDate cycleStart, LocalDate cycleEnd) {
+        return pricingLinkSnapshotService.current()
+                .map(snapshot -> snapshot.bundleLinksOverlapping(bundleId, cycleStart, cycleEnd))
+                .orElseGet(() -> bundlePricingLinkRepository.findByBundleIdOverlappingCycle(bundleId, cycleStart, cycleEnd)
+                        .stream()
+                        .map(PricingLinkSnapshot.Link::of)
+                        .toList());
     }
 
     /**
      * Orchestrates the gathering of all bundle-level adjustment definitions.
      */
     private List<PriceComponentDetail> assembleBundleComponents(BundlePriceRequest request,
-                                                                List<BundlePricingLink> activeLinks,
+                                                                List<PricingLinkSnapshot.Link> activeLinks,
                                                                 BigDecimal existingFeePool) {
         List<PriceComponentDetail> adjustments = new ArrayList<>();
 
         // Add Fixed Adjustments (DB)
         activeLinks.stream()
-                .filter(link -> !link.isUseRulesEngine() && link.getFixedValue() != null)
+                .filter(link -> !link.useRulesEngine() && link.fixedValue() != null)
                 .forEach(link -> adjustments.add(mapFixedLinkToDetail(link)));
 
         // Add Dynamic Adjustments (Drools)
@@ -160,47 +329,43 @@ public class BundlePricingService extends BaseService {
         return adjustments;
     }
 
-    private PriceComponentDetail mapFixedLinkToDetail(BundlePricingLink link) {
-        PriceValue.ValueType type = link.getFixedValueType() != null ?
-                link.getFixedValueType() : PriceValue.ValueType.FEE_ABSOLUTE;
-
-        // Determine if any associated tier has the full breach flag set
-        boolean isFullBreach = link.getPricingComponent().getPricingTiers().stream()
-                .anyMatch(PricingTier::isApplyChargeOnFullBreach);
+    private PriceComponentDetail mapFixedLinkToDetail(PricingLinkSnapshot.Link link) {
+        PriceValue.ValueType type = link.fixedValueType() != null ?
+                link.fixedValueType() : PriceValue.ValueType.FEE_ABSOLUTE;
 
         return PriceComponentDetail.builder()
-                .componentCode(link.getPricingComponent().getCode())
-                .rawValue(link.getFixedValue())
+                .componentCode(link.componentCode())
+                .rawValue(link.fixedValue())
                 .valueType(type)
                 .sourceType("FIXED_VALUE")
-                .applyChargeOnFullBreach(isFullBreach)
-                .proRataApplicable(link.getPricingComponent().isProRataApplicable())
-                .effectiveDate(link.getEffectiveDate())
-                .expiryDate(link.getExpiryDate())
+                // Set if any associated tier has the full breach flag set
+                .applyChargeOnFullBreach(link.applyChargeOnFullBreach())
+                .proRataApplicable(link.proRataApplicable())
+                .effectiveDate(link.effectiveDate())
+                .expiryDate(link.expiryDate())
                 .build();
     }
 
-    private BundlePricingInput fireRulesEngine(BundlePriceRequest request, List<BundlePricingLink> activeLinks, BigDecimal productBaseFee) {
+    private BundlePricingInput fireRulesEngine(BundlePriceRequest request, List<PricingLinkSnapshot.Link> activeLinks, BigDecimal productBaseFee) {
         Map<String, Object> normalizedAttributes = buildNormalizedCustomAttributes(request, productBaseFee);
 
         BundlePricingInput inputFact = new BundlePricingInput();
         inputFact.setBankId(getCurrentBankId());
 
         // 1. Filter links that require the Rules Engine
-        List<BundlePricingLink> ruleLinks = activeLinks.stream()
-                .filter(BundlePricingLink::isUseRulesEngine)
+        List<PricingLinkSnapshot.Link> ruleLinks = activeLinks.stream()
+                .filter(PricingLinkSnapshot.Link::useRulesEngine)
                 .toList();
 
         // 2. Identify Target Component Codes and Versions
         Set<String> targetComponentCodes = ruleLinks.stream()
-                .map(link -> link.getPricingComponent().getCode() + ":" + link.getPricingComponent().getVersion())
+                .map(PricingLinkSnapshot.Link::componentKey)
                 .collect(Collectors.toSet());
         inputFact.setTargetPricingComponentCodes(targetComponentCodes);
 
         // 3. Harvest Tier Codes directly from the active component links.
         Set<String> activeTierCodes = ruleLinks.stream()
-                .flatMap(link -> link.getPricingComponent().getPricingTiers().stream())
-                .map(PricingTier::getCode)
+                .flatMap(link -> link.tierCodes().stream())
                 .collect(Collectors.toSet());
         inputFact.setActivePricingTierCodes(activeTierCodes);
 
@@ -242,16 +407,16 @@ public class BundlePricingService extends BaseService {
     }
 
     private List<PriceComponentDetail> convertRulesToDetail(Map<String, BundlePricingInput.BundleAdjustment> adjustments,
-                                                            List<BundlePricingLink> activeLinks) {
+                                                            List<PricingLinkSnapshot.Link> activeLinks) {
         if (adjustments == null) return new ArrayList<>();
 
         Map<String, BundleLinkContext> linkContextByComponentCode = activeLinks.stream()
                 .collect(Collectors.toMap(
-                        link -> link.getPricingComponent().getCode(),
+                        PricingLinkSnapshot.Link::componentCode,
                         link -> new BundleLinkContext(
-                                link.getEffectiveDate(),
-                                link.getExpiryDate(),
-                                link.getPricingComponent().isProRataApplicable()
+                                link.effectiveDate(),
+                                link.expiryDate(),
+                                link.proRataApplicable()
                         ),
                         (existing, replacement) -> existing,
                         HashMap::new
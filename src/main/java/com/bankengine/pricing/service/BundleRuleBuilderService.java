@@ -12,6 +12,9 @@ import java.util.List;
 @Service
 public class BundleRuleBuilderService extends AbstractRuleBuilderService {
 
+    private static final List<PricingComponent.ComponentType> BUNDLE_COMPONENT_TYPES =
+            List.of(PricingComponent.ComponentType.WAIVER, PricingComponent.ComponentType.DISCOUNT);
+
     public BundleRuleBuilderService(
             PricingComponentRepository componentRepository,
             PricingInputMetadataService metadataService,
@@ -31,9 +34,12 @@ public class BundleRuleBuilderService extends AbstractRuleBuilderService {
 
     @Override
     protected List<PricingComponent> fetchComponents() {
-        return pricingComponentRepository.findByTypeIn(
-                List.of(PricingComponent.ComponentType.WAIVER, PricingComponent.ComponentType.DISCOUNT)
-        );
+        return pricingComponentRepository.findByTypeIn(BUNDLE_COMPONENT_TYPES);
+    }
+
+    @Override
+    protected boolean includesComponent(PricingComponent component) {
+        return BUNDLE_COMPONENT_TYPES.contains(component.getType());
     }
 
     @Override
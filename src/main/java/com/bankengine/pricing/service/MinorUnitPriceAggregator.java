@@ -0,0 +1,207 @@
+package com.bankengine.pricing.service;
+
+import com.bankengine.pricing.dto.ProductPricingCalculationResult.PriceComponentDetail;
+import com.bankengine.pricing.model.PriceValue;
+import com.bankengine.pricing.service.PriceAggregator.ActiveWindow;
+import com.bankengine.pricing.service.PriceAggregator.BillingCycle;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.bankengine.pricing.service.PriceAggregator.*;
+
+/**
+ * Fixed-point counterpart of the BigDecimal aggregation in {@link PriceAggregator}. Charged amounts are longs
+ * in minor units of the tenant's currency; full-cycle amounts, daily rates, percentages and uncapped discounts
+ * are longs at {@link #EXTRA_DIGITS} more decimals ("internal units"). Every rounding is an explicit half-up
+ * integer division placed where the BigDecimal engine rounds, so for two-decimal currencies both engines
+ * return the same amounts.
+ * Inputs with more decimals than internal units hold, and results that overflow a long, raise
+ * {@link ArithmeticException}; the caller then prices the call with BigDecimal.
+ */
+final class MinorUnitPriceAggregator {
+
+    /** Decimals kept beyond the minor unit; PriceAggregator's INTERNAL_SCALE minus its SCALE. */
+    static final int EXTRA_DIGITS = 4;
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private static final long INTERNAL_PER_MINOR = POWERS_OF_TEN[EXTRA_DIGITS];
+
+    private record FeeContext(long fullCycleAmount, ActiveWindow activeWindow, boolean isProRata) {
+        private long amountForOverlap(ActiveWindow discountWindow, int cycleDays) {
+            if (!isProRata) {
+                return toMinor(fullCycleAmount);
+            }
+            return prorate(fullCycleAmount, activeWindow.overlapDays(discountWindow), cycleDays);
+        }
+    }
+
+    BigDecimal calculateBundleImpact(List<PriceComponentDetail> components,
+                                     BigDecimal principalAmount,
+                                     BigDecimal existingFeePool,
+                                     LocalDate enrollmentDate,
+                                     LocalDate effectiveDate,
+                                     int minorUnitScale) {
+        int internalScale = minorUnitScale + EXTRA_DIGITS;
+        long principal = toInternal(principalAmount, internalScale);
+        long externalPool = toInternal(existingFeePool, internalScale);
+        BillingCycle billingCycle = BillingCycle.from(effectiveDate);
+
+        BigDecimal zero = BigDecimal.valueOf(0, minorUnitScale);
+        components.forEach(c -> c.setCalculatedAmount(zero));
+
+        long totalFees = 0;
+        Map<String, List<FeeContext>> feeContexts = new HashMap<>();
+        for (PriceComponentDetail detail : components) {
+            if (isFee(detail.getValueType())) {
+                long fullCycleFee = detail.getValueType() == PriceValue.ValueType.FEE_PERCENTAGE
+                        ? percentageOf(principal, getRaw(detail))
+                        : Math.absExact(toInternal(getRaw(detail), internalScale));
+                ActiveWindow activeWindow = resolveActiveWindow(detail, enrollmentDate, billingCycle);
+                boolean prorateFlag = shouldProrate(detail);
+
+                applyProRataMetadata(detail, activeWindow, billingCycle, prorateFlag);
+
+                long fee = prorateFlag
+                        ? prorate(fullCycleFee, activeWindow.activeDays(), billingCycle.totalDays())
+                        : Math.absExact(toMinor(fullCycleFee));
+                detail.setCalculatedAmount(BigDecimal.valueOf(fee, minorUnitScale));
+                totalFees = Math.addExact(totalFees, fee);
+
+                feeContexts.computeIfAbsent(detail.getComponentCode(), ignored -> new ArrayList<>())
+                        .add(new FeeContext(Math.absExact(fullCycleFee), activeWindow, prorateFlag));
+            }
+        }
+
+        long totalDiscounts = 0;
+        for (PriceComponentDetail detail : components) {
+            if (isDiscount(detail.getValueType())) {
+                long discount = discountAmount(detail, externalPool, feeContexts, enrollmentDate, billingCycle, internalScale);
+                detail.setCalculatedAmount(BigDecimal.valueOf(-toMinor(discount), minorUnitScale));
+                totalDiscounts = Math.addExact(totalDiscounts, discount);
+            }
+        }
+
+        long netImpact = Math.subtractExact(Math.multiplyExact(totalFees, INTERNAL_PER_MINOR), totalDiscounts);
+        return BigDecimal.valueOf(toMinor(netImpact), minorUnitScale);
+    }
+
+    /**
+     * The discount in internal units, capped at the fee pool it applies to.
+     */
+    private long discountAmount(PriceComponentDetail detail,
+                                long externalPool,
+                                Map<String, List<FeeContext>> feeContexts,
+                                LocalDate enrollmentDate,
+                                BillingCycle billingCycle,
+                                int internalScale) {
+        ActiveWindow discountWindow = resolveActiveWindow(detail, enrollmentDate, billingCycle);
+        boolean prorateFlag = shouldProrate(detail);
+        int cycleDays = billingCycle.totalDays();
+
+        applyProRataMetadata(detail, discountWindow, billingCycle, prorateFlag);
+
+        long capPool = 0;
+        for (FeeContext context : feeContextsInScope(detail, feeContexts)) {
+            capPool = Math.addExact(capPool, context.amountForOverlap(discountWindow, cycleDays));
+        }
+        if (!hasTarget(detail)) {
+            long externalFeePool = prorateFlag
+                    ? prorate(externalPool, discountWindow.activeDays(), cycleDays)
+                    : toMinor(Math.absExact(externalPool));
+            capPool = Math.addExact(capPool, externalFeePool);
+        }
+        long capPoolInternal = Math.multiplyExact(capPool, INTERNAL_PER_MINOR);
+
+        long amount;
+        if (detail.getValueType() == PriceValue.ValueType.DISCOUNT_PERCENTAGE) {
+            amount = percentageOf(capPoolInternal, getRaw(detail));
+        } else {
+            long rawDiscount = Math.absExact(toInternal(getRaw(detail), internalScale));
+            int discountDays = prorateFlag
+                    ? (hasTarget(detail) ? targetOverlapDays(detail, feeContexts, discountWindow) : discountWindow.activeDays())
+                    : cycleDays;
+            long absoluteDiscount = prorateFlag ? prorate(rawDiscount, discountDays, cycleDays) : toMinor(rawDiscount);
+            amount = Math.multiplyExact(absoluteDiscount, INTERNAL_PER_MINOR);
+        }
+        return Math.min(amount, capPoolInternal);
+    }
+
+    private static List<FeeContext> feeContextsInScope(PriceComponentDetail detail,
+                                                       Map<String, List<FeeContext>> feeContexts) {
+        if (hasTarget(detail)) {
+            return feeContexts.getOrDefault(detail.getTargetComponentCode(), List.of());
+        }
+        return feeContexts.values().stream().flatMap(List::stream).toList();
+    }
+
+    private static int targetOverlapDays(PriceComponentDetail detail,
+                                         Map<String, List<FeeContext>> feeContexts,
+                                         ActiveWindow discountWindow) {
+        int days = 0;
+        for (FeeContext context : feeContexts.getOrDefault(detail.getTargetComponentCode(), List.of())) {
+            days = Math.max(days, context.activeWindow().overlapDays(discountWindow));
+        }
+        return days;
+    }
+
+    /**
+     * Pro-rates an internal-unit amount to minor units: the daily rate is rounded in internal units,
+     * the pro-rated amount to the minor unit.
+     */
+    private static long prorate(long amount, int activeDays, int cycleDays) {
+        if (amount == 0 || activeDays <= 0 || cycleDays <= 0) {
+            return 0;
+        }
+        long dailyRate = divideHalfUp(Math.absExact(amount), cycleDays);
+        return toMinor(Math.multiplyExact(dailyRate, activeDays));
+    }
+
+    /**
+     * {@code base * percent / 100} in internal units for a base in internal units.
+     */
+    private static long percentageOf(long base, BigDecimal percent) {
+        int percentScale = Math.max(percent.scale(), 0);
+        if (percentScale + 2 >= POWERS_OF_TEN.length) {
+            throw new ArithmeticException("Percentage has too many decimals: " + percent);
+        }
+        long unscaledPercent = percent.setScale(percentScale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+        return divideHalfUp(Math.multiplyExact(base, unscaledPercent), POWERS_OF_TEN[percentScale + 2]);
+    }
+
+    private static long toMinor(long internalAmount) {
+        return divideHalfUp(internalAmount, INTERNAL_PER_MINOR);
+    }
+
+    private static long toInternal(BigDecimal amount, int internalScale) {
+        if (amount == null) {
+            return 0;
+        }
+        return amount.setScale(internalScale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Integer division rounding ties away from zero, as {@link RoundingMode#HALF_UP} does; {@code divisor} is positive.
+     */
+    static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        if (remainder >= divisor - remainder) {
+            quotient += Long.signum(dividend);
+        }
+        return quotient;
+    }
+}
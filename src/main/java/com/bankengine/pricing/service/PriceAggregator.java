@@ -1,7 +1,10 @@
 package com.bankengine.pricing.service;
 
+import com.bankengine.common.model.PricingArithmetic;
 import com.bankengine.pricing.dto.ProductPricingCalculationResult.PriceComponentDetail;
 import com.bankengine.pricing.model.PriceValue;
+import com.bankengine.pricing.service.PricingArithmeticResolver.TenantArithmetic;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -14,13 +17,21 @@ import java.util.List;
 import java.util.Map;
 
 @Component
+@Slf4j
 public class PriceAggregator {
     private static final BigDecimal HUNDRED = new BigDecimal("100");
     private static final int SCALE = 2;
     private static final int INTERNAL_SCALE = 6;
 
-    private record BillingCycle(LocalDate referenceDate, LocalDate startDate, LocalDate endDate, int totalDays) {
-        private static BillingCycle from(LocalDate effectiveDate) {
+    private final PricingArithmeticResolver arithmeticResolver;
+    private final MinorUnitPriceAggregator minorUnitAggregator = new MinorUnitPriceAggregator();
+
+    public PriceAggregator(PricingArithmeticResolver arithmeticResolver) {
+        this.arithmeticResolver = arithmeticResolver;
+    }
+
+    record BillingCycle(LocalDate referenceDate, LocalDate startDate, LocalDate endDate, int totalDays) {
+        static BillingCycle from(LocalDate effectiveDate) {
             LocalDate reference = effectiveDate != null ? effectiveDate : LocalDate.now();
             return new BillingCycle(
                     reference,
@@ -31,12 +42,12 @@ public class PriceAggregator {
         }
     }
 
-    private record ActiveWindow(LocalDate startDate, LocalDate endDate, int activeDays) {
+    record ActiveWindow(LocalDate startDate, LocalDate endDate, int activeDays) {
         private static ActiveWindow empty() {
             return new ActiveWindow(null, null, 0);
         }
 
-        private int overlapDays(ActiveWindow other) {
+        int overlapDays(ActiveWindow other) {
             if (other == null || this.activeDays <= 0 || other.activeDays <= 0) {
                 return 0;
             }
@@ -64,11 +75,32 @@ public class PriceAggregator {
 
     private record DiscountCalculation(BigDecimal amount, BigDecimal capPool) {}
 
+    /**
+     * Net bundle-level impact (fees minus discounts) of the given components, using the arithmetic the
+     * current tenant selected. Minor-unit aggregation falls back to BigDecimal for inputs it cannot hold exactly.
+     */
     public BigDecimal calculateBundleImpact(List<PriceComponentDetail> components,
                                             BigDecimal principalAmount,
                                             BigDecimal existingFeePool,
                                             LocalDate enrollmentDate,
                                             LocalDate effectiveDate) {
+        TenantArithmetic arithmetic = arithmeticResolver.current();
+        if (arithmetic.arithmetic() == PricingArithmetic.MINOR_UNITS) {
+            try {
+                return minorUnitAggregator.calculateBundleImpact(components, principalAmount, existingFeePool,
+                        enrollmentDate, effectiveDate, arithmetic.minorUnitScale());
+            } catch (ArithmeticException e) {
+                log.debug("Minor-unit aggregation not exact ({}); using BigDecimal arithmetic.", e.getMessage());
+            }
+        }
+        return calculateDecimalBundleImpact(components, principalAmount, existingFeePool, enrollmentDate, effectiveDate);
+    }
+
+    BigDecimal calculateDecimalBundleImpact(List<PriceComponentDetail> components,
+                                            BigDecimal principalAmount,
+                                            BigDecimal existingFeePool,
+                                            LocalDate enrollmentDate,
+                                            LocalDate effectiveDate) {
 
         BillingCycle billingCycle = BillingCycle.from(effectiveDate);
 
@@ -208,7 +240,7 @@ public class PriceAggregator {
                 .orElse(0);
     }
 
-    private ActiveWindow resolveActiveWindow(PriceComponentDetail detail,
+    static ActiveWindow resolveActiveWindow(PriceComponentDetail detail,
                                              LocalDate enrollmentDate,
                                              BillingCycle billingCycle) {
         LocalDate activeStart = billingCycle.startDate();
@@ -250,15 +282,15 @@ public class PriceAggregator {
                 : amount.abs().setScale(SCALE, RoundingMode.HALF_UP);
     }
 
-    private boolean shouldProrate(PriceComponentDetail detail) {
+    static boolean shouldProrate(PriceComponentDetail detail) {
         return detail.isProRataApplicable();
     }
 
-    private boolean hasTarget(PriceComponentDetail detail) {
+    static boolean hasTarget(PriceComponentDetail detail) {
         return detail.getTargetComponentCode() != null && !detail.getTargetComponentCode().isBlank();
     }
 
-    private void applyProRataMetadata(PriceComponentDetail detail,
+    static void applyProRataMetadata(PriceComponentDetail detail,
                                       ActiveWindow activeWindow,
                                       BillingCycle billingCycle,
                                       boolean prorated) {
@@ -269,15 +301,15 @@ public class PriceAggregator {
         detail.setBillingCycleDays(billingCycle.totalDays());
     }
 
-    private BigDecimal getRaw(PriceComponentDetail detail) {
+    static BigDecimal getRaw(PriceComponentDetail detail) {
         return detail.getRawValue() != null ? detail.getRawValue() : BigDecimal.ZERO;
     }
 
-    private boolean isFee(PriceValue.ValueType type) {
+    static boolean isFee(PriceValue.ValueType type) {
         return type == PriceValue.ValueType.FEE_ABSOLUTE || type == PriceValue.ValueType.FEE_PERCENTAGE;
     }
 
-    private boolean isDiscount(PriceValue.ValueType type) {
+    static boolean isDiscount(PriceValue.ValueType type) {
         return type == PriceValue.ValueType.DISCOUNT_ABSOLUTE || type == PriceValue.ValueType.DISCOUNT_PERCENTAGE;
     }
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.bankengine.pricing.service;
+
+import com.bankengine.pricing.dto.BundlePriceProjectionResponse;
+import com.bankengine.pricing.dto.BundlePriceRequest;
+import com.bankengine.pricing.dto.BundlePriceResponse;
+import com.bankengine.pricing.dto.ProductPriceProjectionResponse;
+import com.bankengine.pricing.dto.ProductPriceRequest;
+import com.bankengine.pricing.dto.ProductPricingCalculationResult;
+import com.bankengine.web.exception.ValidationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Projects the charges of a product or bundle over the coming billing cycles in one call, instead of one
+ * quote per cycle. Links and rule outcomes are resolved once per configuration window by
+ * {@link ProductPricingService#getProductPricingProjection} and {@link BundlePricingService#projectTotalBundlePrice};
+ * this service validates the horizon and sums the priced cycles.
+ */
+@Service
+public class PriceProjectionService {
+
+    private final ProductPricingService productPricingService;
+    private final BundlePricingService bundlePricingService;
+
+    @Value("${app.pricing.projection.max-cycles:36}")
+    private int maxCycles;
+
+    public PriceProjectionService(ProductPricingService productPricingService, BundlePricingService bundlePricingService) {
+        this.productPricingService = productPricingService;
+        this.bundlePricingService = bundlePricingService;
+    }
+
+    public ProductPriceProjectionResponse projectProductPrice(ProductPriceRequest request, int cycles) {
+        validateCycles(cycles);
+        List<PricedCycle<ProductPricingCalculationResult>> pricedCycles =
+                productPricingService.getProductPricingProjection(request, cycles);
+
+        return ProductPriceProjectionResponse.builder()
+                .productId(request.getProductId())
+                .totalChargeablePrice(pricedCycles.stream()
+                        .map(PricedCycle::result)
+                        .filter(Objects::nonNull)
+                        .map(ProductPricingCalculationResult::getFinalChargeablePrice)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add))
+                .cycles(pricedCycles.stream()
+                        .map(cycle -> ProductPriceProjectionResponse.CycleResult.builder()
+                                .cycleStart(cycle.cycleStart())
+                                .cycleEnd(cycle.cycleEnd())
+                                .effectiveDate(cycle.effectiveDate())
+                                .result(cycle.result())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    public BundlePriceProjectionResponse projectBundlePrice(BundlePriceRequest request, int cycles) {
+        validateCycles(cycles);
+        List<PricedCycle<BundlePriceResponse>> pricedCycles = bundlePricingService.projectTotalBundlePrice(request, cycles);
+
+        return BundlePriceProjectionResponse.builder()
+                .productBundleId(request.getProductBundleId())
+                .totalNetAmount(pricedCycles.stream()
+                        .map(PricedCycle::result)
+                        .filter(Objects::nonNull)
+                        .map(BundlePriceResponse::getNetTotalAmount)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add))
+                .cycles(pricedCycles.stream()
+                        .map(cycle -> BundlePriceProjectionResponse.CycleResult.builder()
+                                .cycleStart(cycle.cycleStart())
+                                .cycleEnd(cycle.cycleEnd())
+                                .effectiveDate(cycle.effectiveDate())
+                                .result(cycle.result())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    private void validateCycles(int cycles) {
+        if (cycles < 1 || cycles > maxCycles) {
+            throw new ValidationException("A projection must cover between 1 and " + maxCycles + " billing cycles.");
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.bankengine.pricing.service;
+
+import com.bankengine.pricing.dto.PriceSimulationRequest;
+import com.bankengine.pricing.dto.PriceSimulationRequest.AmountRange;
+import com.bankengine.pricing.dto.PriceSimulationResponse;
+import com.bankengine.pricing.dto.PriceSimulationResponse.CurvePiece;
+import com.bankengine.pricing.dto.PriceSimulationResponse.PricePoint;
+import com.bankengine.pricing.dto.PriceSimulationResponse.SegmentCurve;
+import com.bankengine.pricing.dto.ProductPriceRequest;
+import com.bankengine.pricing.service.ProductPricingService.PricedInterval;
+import com.bankengine.web.exception.ValidationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Prices a product over a grid of transaction amounts and segments, e.g. for price curves in the admin
+ * simulation tool. Instead of one quote per point, every segment's sweep evaluates the rules once per
+ * interval between tier breakpoints (see {@link ProductPricingService#getProductPricingSweep}), and the
+ * segments are priced in parallel on the PricingExecutor.
+ */
+@Service
+public class PriceSimulationService {
+
+    private final ProductPricingService productPricingService;
+    private final PricingExecutor pricingExecutor;
+
+    @Value("${app.pricing.simulation.max-points:10000}")
+    private int maxPoints;
+
+    public PriceSimulationService(ProductPricingService productPricingService, PricingExecutor pricingExecutor) {
+        this.productPricingService = productPricingService;
+        this.pricingExecutor = pricingExecutor;
+    }
+
+    public PriceSimulationResponse simulate(PriceSimulationRequest request) {
+        String segmentAttribute = request.getSegmentAttribute() != null && !request.getSegmentAttribute().isBlank()
+                ? request.getSegmentAttribute()
+                : PricingAttributeKeys.CUSTOMER_SEGMENT;
+        List<Object> segments = request.getSegments() == null || request.getSegments().isEmpty()
+                ? Collections.singletonList(null)
+                : request.getSegments();
+        List<BigDecimal> amounts = amountGrid(request.getAmountRange(), segments.size());
+
+        List<List<PricedInterval>> sweeps = pricingExecutor.map(segments,
+                segment -> productPricingService.getProductPricingSweep(pointRequest(request, segmentAttribute, segment), amounts));
+
+        List<SegmentCurve> curves = new ArrayList<>(segments.size());
+        int evaluationCount = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            curves.add(SegmentCurve.builder()
+                    .segment(segments.get(i))
+                    .pieces(sweeps.get(i).stream().map(PriceSimulationService::toPiece).toList())
+                    .build());
+            evaluationCount += sweeps.get(i).size();
+        }
+        return PriceSimulationResponse.builder()
+                .productId(request.getProductId())
+                .segmentAttribute(segmentAttribute)
+                .pointCount(amounts.size() * segments.size())
+                .evaluationCount(evaluationCount)
+                .curves(curves)
+                .build();
+    }
+
+    private List<BigDecimal> amountGrid(AmountRange range, int segmentCount) {
+        if (range.getTo().compareTo(range.getFrom()) < 0) {
+            throw new ValidationException("The amount range must not end before it starts.");
+        }
+        BigDecimal steps = range.getTo().subtract(range.getFrom()).divideToIntegralValue(range.getStep());
+        if (steps.add(BigDecimal.ONE).multiply(BigDecimal.valueOf(segmentCount)).compareTo(BigDecimal.valueOf(maxPoints)) > 0) {
+            throw new ValidationException("A simulation may price at most " + maxPoints + " points.");
+        }
+
+        int count = steps.intValueExact() + 1;
+        List<BigDecimal> amounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            amounts.add(range.getFrom().add(range.getStep().multiply(BigDecimal.valueOf(i))));
+        }
+        return amounts;
+    }
+
+    private static ProductPriceRequest pointRequest(PriceSimulationRequest request, String segmentAttribute, Object segment) {
+        Map<String, Object> attributes = new HashMap<>();
+        if (request.getCustomAttributes() != null) {
+            attributes.putAll(request.getCustomAttributes());
+        }
+        if (segment != null) {
+            attributes.put(segmentAttribute, segment);
+        }
+        return ProductPriceRequest.builder()
+                .productId(request.getProductId())
+                .enrollmentDate(request.getEnrollmentDate())
+                .customAttributes(attributes)
+                .build();
+    }
+
+    private static CurvePiece toPiece(PricedInterval interval) {
+        List<PricePoint> points = new ArrayList<>(interval.amounts().size());
+        for (int i = 0; i < interval.amounts().size(); i++) {
+            points.add(PricePoint.builder()
+                    .amount(interval.amounts().get(i))
+                    .finalChargeablePrice(interval.results().get(i).getFinalChargeablePrice())
+                    .build());
+        }
+        return CurvePiece.builder()
+                .fromAmount(interval.amounts().getFirst())
+                .toAmount(interval.amounts().getLast())
+                .componentBreakdown(interval.results().getFirst().getComponentBreakdown())
+                .points(points)
+                .build();
+    }
+}
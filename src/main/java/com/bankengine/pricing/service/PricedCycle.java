@@ -0,0 +1,32 @@
+package com.bankengine.pricing.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One billing cycle of a projection and the date it was priced as of.
+ *
+ * @param result Null when the product or bundle has no pricing configuration in the cycle.
+ */
+public record PricedCycle<T>(LocalDate effectiveDate, T result) {
+
+    public LocalDate cycleStart() {
+        return effectiveDate.withDayOfMonth(1);
+    }
+
+    public LocalDate cycleEnd() {
+        return effectiveDate.withDayOfMonth(effectiveDate.lengthOfMonth());
+    }
+
+    /**
+     * The effective date of each cycle: the first date, then the same day of each following month.
+     */
+    static List<LocalDate> effectiveDates(LocalDate firstDate, int cycles) {
+        List<LocalDate> dates = new ArrayList<>(cycles);
+        for (int i = 0; i < cycles; i++) {
+            dates.add(firstDate.plusMonths(i));
+        }
+        return dates;
+    }
+}
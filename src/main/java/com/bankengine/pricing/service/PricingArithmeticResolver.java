@@ -0,0 +1,83 @@
+package com.bankengine.pricing.service;
+
+import com.bankengine.auth.security.TenantContextHolder;
+import com.bankengine.common.model.BankConfiguration;
+import com.bankengine.common.model.PricingArithmetic;
+import com.bankengine.common.repository.BankConfigurationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Currency;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves which {@link PricingArithmetic} the current tenant's bundle aggregation runs on and how many
+ * decimals its currency's minor unit has. Settings are read once per tenant and dropped by
+ * {@link PricingDataChangeListener} when the bank configuration changes.
+ */
+@Component
+@Slf4j
+public class PricingArithmeticResolver {
+
+    static final int DEFAULT_MINOR_UNIT_SCALE = 2;
+
+    public record TenantArithmetic(PricingArithmetic arithmetic, int minorUnitScale) {
+        static final TenantArithmetic DEFAULT = new TenantArithmetic(PricingArithmetic.DECIMAL, DEFAULT_MINOR_UNIT_SCALE);
+    }
+
+    private final BankConfigurationRepository bankConfigurationRepository;
+    private final Map<String, TenantArithmetic> settings = new ConcurrentHashMap<>();
+
+    public PricingArithmeticResolver(BankConfigurationRepository bankConfigurationRepository) {
+        this.bankConfigurationRepository = bankConfigurationRepository;
+    }
+
+    public TenantArithmetic current() {
+        String bankId = TenantContextHolder.getBankId();
+        if (bankId == null) {
+            return TenantArithmetic.DEFAULT;
+        }
+        TenantArithmetic arithmetic = settings.get(bankId);
+        if (arithmetic == null) {
+            arithmetic = load(bankId);
+            settings.put(bankId, arithmetic);
+        }
+        return arithmetic;
+    }
+
+    public void invalidate(String bankId) {
+        settings.remove(bankId);
+    }
+
+    /**
+     * Decimals of the currency's minor unit (2 for USD, 0 for JPY, 3 for KWD). Codes that are not
+     * ISO 4217 currencies, such as the NO_CURR placeholder, and currencies without a minor unit use two.
+     */
+    static int minorUnitScale(String currencyCode) {
+        if (currencyCode == null) {
+            return DEFAULT_MINOR_UNIT_SCALE;
+        }
+        try {
+            int digits = Currency.getInstance(currencyCode.trim().toUpperCase()).getDefaultFractionDigits();
+            return digits >= 0 ? digits : DEFAULT_MINOR_UNIT_SCALE;
+        } catch (IllegalArgumentException e) {
+            return DEFAULT_MINOR_UNIT_SCALE;
+        }
+    }
+
+    private TenantArithmetic load(String bankId) {
+        TenantArithmetic arithmetic = bankConfigurationRepository.findByBankIdUnfiltered(bankId)
+                .map(PricingArithmeticResolver::toTenantArithmetic)
+                .orElse(TenantArithmetic.DEFAULT);
+        log.debug("Tenant '{}' aggregates bundle pricing with {} arithmetic at scale {}.",
+                bankId, arithmetic.arithmetic(), arithmetic.minorUnitScale());
+        return arithmetic;
+    }
+
+    private static TenantArithmetic toTenantArithmetic(BankConfiguration config) {
+        PricingArithmetic arithmetic = config.getPricingArithmetic() != null
+                ? config.getPricingArithmetic() : PricingArithmetic.DECIMAL;
+        return new TenantArithmetic(arithmetic, minorUnitScale(config.getCurrencyCode()));
+    }
+}
@@ -16,7 +16,7 @@ import com.bankengine.pricing.model.TierCondition;
 import com.bankengine.pricing.repository.PricingComponentRepository;
 import com.bankengine.pricing.repository.PricingTierRepository;
 import com.bankengine.pricing.repository.ProductPricingLinkRepository;
-import com.bankengine.rules.service.KieContainerReloadService;
+import com.bankengine.rules.service.RuleReloadScheduler;
 import com.bankengine.web.exception.DependencyViolationException;
 import com.bankengine.web.exception.NotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +27,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
@@ -43,7 +44,7 @@ public class PricingComponentService extends BaseService {
     private final PriceValueMapper priceValueMapper;
     private final TierConditionMapper tierConditionMapper;
     private final ProductPricingLinkRepository productPricingLinkRepository;
-    private final KieContainerReloadService reloadService;
+    private final RuleReloadScheduler reloadScheduler;
 
     // --- READ OPERATIONS ---
 
@@ -82,7 +83,7 @@ public class PricingComponentService extends BaseService {
         validateComponentAndValueType(component);
 
         PricingComponent saved = pricingComponentRepository.save(component);
-        reloadService.reloadKieContainer();
+        reloadComponentRules(saved.getId());
         return pricingComponentMapper.toResponseDto(saved);
     }
 
@@ -112,7 +113,7 @@ public class PricingComponentService extends BaseService {
             productPricingLinkRepository.updateComponentReference(source.getId(), saved);
         }
 
-        reloadService.reloadKieContainer();
+        reloadComponentRules(saved.getId());
         return pricingComponentMapper.toResponseDto(saved);
     }
 
@@ -130,7 +131,7 @@ public class PricingComponentService extends BaseService {
         synchronizePricingTiers(component, requestDto.getPricingTiers());
         validateComponentAndValueType(component);
         PricingComponent updated = pricingComponentRepository.save(component);
-        reloadService.reloadKieContainer();
+        reloadComponentRules(id);
         return pricingComponentMapper.toResponseDto(updated);
     }
 
@@ -165,7 +166,7 @@ public class PricingComponentService extends BaseService {
             component.setActivationDate(activationDate != null ? activationDate : LocalDate.now());
         }
         PricingComponent saved = pricingComponentRepository.save(component);
-        reloadService.reloadKieContainer();
+        reloadComponentRules(id);
         return pricingComponentMapper.toResponseDto(saved);
     }
 
@@ -178,7 +179,7 @@ public class PricingComponentService extends BaseService {
         }
         component.setStatus(VersionableEntity.EntityStatus.ARCHIVED);
         PricingComponent saved = pricingComponentRepository.save(component);
-        reloadService.reloadKieContainer();
+        reloadComponentRules(id);
         return pricingComponentMapper.toResponseDto(saved);
     }
 
@@ -198,7 +199,14 @@ public class PricingComponentService extends BaseService {
         }
 
         pricingComponentRepository.delete(component);
-        reloadService.reloadKieContainer();
+        reloadComponentRules(id);
+    }
+
+    /**
+     * Schedules recompilation of only the edited component's rules once the transaction commits.
+     */
+    private void reloadComponentRules(Long componentId) {
+        reloadScheduler.requestComponentReload(Collections.singletonList(componentId));
     }
 
     // --- INTERNAL CLONING & MAPPING LOGIC ---
@@ -311,7 +319,7 @@ public class PricingComponentService extends BaseService {
         validateComponentAndValueType(component);
 
         PricingTier saved = tierRepository.save(tier);
-        reloadService.reloadKieContainer();
+        reloadComponentRules(componentId);
 
         return priceValueMapper.toDetailDto(saved.getPriceValues().iterator().next());
     }
@@ -360,7 +368,7 @@ public class PricingComponentService extends BaseService {
 
         validateComponentAndValueType(component);
         PricingTier updated = tierRepository.save(tier);
-        reloadService.reloadKieContainer();
+        reloadComponentRules(componentId);
 
         return priceValueMapper.toDetailDto(updated.getPriceValues().iterator().next());
     }
@@ -375,7 +383,7 @@ public class PricingComponentService extends BaseService {
                 .orElseThrow(() -> new NotFoundException("Tier " + tierId + " not found for component " + componentId));
 
         tierRepository.delete(tier);
-        reloadService.reloadKieContainer();
+        reloadComponentRules(componentId);
     }
 
     // --- HELPER VALIDATIONS ---
@@ -0,0 +1,87 @@
+package com.bankengine.pricing.service;
+
+import com.bankengine.common.model.AuditableEntity;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * JPA listener on the entities a quote is derived from besides the rules (products, bundles, their pricing
+ * links, pricing components, tiers with their conditions and values, and the bank configuration). Conditions
+ * and values are watched themselves, since editing one leaves its tier row unchanged.
+ * Once the changing transaction completes, the tenant's {@link PricingLinkSnapshot}, arithmetic settings and cached pricing results are dropped, so a concurrent request that still
+ * reads the old rows cannot repopulate them.
+ * Bulk JPQL updates bypass entity listeners and are not seen here.
+ * Hibernate instantiates this listener while the EntityManagerFactory is built, so the services it notifies
+ * (which depend on repositories) are only looked up when an entity actually changes.
+ */
+@Component
+public class PricingDataChangeListener {
+
+    private static final Object PENDING_TENANTS = PricingDataChangeListener.class.getName() + ".pendingTenants";
+
+    private final ObjectProvider<PricingResultCache> pricingResultCacheProvider;
+    private final ObjectProvider<PricingLinkSnapshotService> linkSnapshotServiceProvider;
+    private final ObjectProvider<PricingArithmeticResolver> arithmeticResolverProvider;
+
+    public PricingDataChangeListener(ObjectProvider<PricingResultCache> pricingResultCacheProvider,
+                                     ObjectProvider<PricingLinkSnapshotService> linkSnapshotServiceProvider,
+                                     ObjectProvider<PricingArithmeticResolver> arithmeticResolverProvider) {
+        this.pricingResultCacheProvider = pricingResultCacheProvider;
+        this.linkSnapshotServiceProvider = linkSnapshotServiceProvider;
+        this.arithmeticResolverProvider = arithmeticResolverProvider;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onPricingDataChange(AuditableEntity entity) {
+        if (entity.getBankId() == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(entity.getBankId());
+            return;
+        }
+
+        // One invalidation per tenant and transaction, however many rows it touched
+        @SuppressWarnings("unchecked")
+        Set<String> pendingTenants = (Set<String>) TransactionSynchronizationManager.getResource(PENDING_TENANTS);
+        if (pendingTenants == null) {
+            Set<String> tenants = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(PENDING_TENANTS, tenants);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_TENANTS);
+                    // Also on rollback: reads inside the transaction may have cached its uncommitted rows
+                    tenants.forEach(PricingDataChangeListener.this::invalidate);
+                }
+            });
+            pendingTenants = tenants;
+        }
+        pendingTenants.add(entity.getBankId());
+    }
+
+    private void invalidate(String bankId) {
+        PricingLinkSnapshotService linkSnapshotService = linkSnapshotServiceProvider.getIfAvailable();
+        if (linkSnapshotService != null) {
+            linkSnapshotService.invalidate(bankId);
+        }
+        PricingArithmeticResolver arithmeticResolver = arithmeticResolverProvider.getIfAvailable();
+        if (arithmeticResolver != null) {
+            arithmeticResolver.invalidate(bankId);
+        }
+        PricingResultCache pricingResultCache = pricingResultCacheProvider.getIfAvailable();
+        if (pricingResultCache != null && pricingResultCache.isEnabled()) {
+            pricingResultCache.invalidate(bankId);
+        }
+    }
+}
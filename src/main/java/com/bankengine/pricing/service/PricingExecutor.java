@@ -0,0 +1,171 @@
+package com.bankengine.pricing.service;
+
+import com.bankengine.auth.security.TenantContextHolder;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs pricing fan-outs (bundle constituents, catalog recommendations, batch groups) on virtual threads.
+ * Each task runs with the submitting request's tenant, system mode and SecurityContext, inside its own
+ * read-only transaction, since none of these cross threads on their own: the Hibernate tenant filter,
+ * the product access checks and lazy loading would otherwise see an empty context. Tasks must therefore
+ * return DTOs, not entities attached to their transaction.
+ * The number of tasks running at once is capped by {@code app.pricing.executor.max-concurrency} and by half
+ * of the Hikari pool, so a large fan-out cannot drain the connection pool. A caller must not hold a
+ * connection while it waits for its tasks: fan-out entry points are not transactional and load their own
+ * data through {@link #call}, since with open-in-view a request thread keeps the first connection it uses
+ * until the request ends.
+ */
+@Component
+@Slf4j
+public class PricingExecutor {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore permits;
+
+    private final int maxConcurrency;
+
+    @Autowired
+    public PricingExecutor(PlatformTransactionManager transactionManager, DataSource dataSource,
+                           @Value("${app.pricing.executor.max-concurrency:16}") int maxConcurrency) {
+        this(transactionManager, Math.min(maxConcurrency, connectionLimit(dataSource, maxConcurrency)));
+        log.info("Pricing executor runs at most {} task(s) at once.", this.maxConcurrency);
+    }
+
+    public PricingExecutor(PlatformTransactionManager transactionManager, int maxConcurrency) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.permits = new Semaphore(this.maxConcurrency);
+    }
+
+    /**
+     * Half of the Hikari pool, leaving the other half to request threads, including those that loaded their
+     * data before fanning out. Other pools are left to the configured limit.
+     */
+    static int connectionLimit(DataSource dataSource, int fallback) {
+        try {
+            if (dataSource != null && dataSource.isWrapperFor(HikariDataSource.class)) {
+                return Math.max(1, dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize() / 2);
+            }
+        } catch (SQLException e) {
+            log.warn("Could not read the connection pool size; pricing tasks are capped by configuration only", e);
+        }
+        return fallback;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Starts the task on a virtual thread under the caller's tenant, security context and a read-only
+     * transaction of its own.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        Supplier<T> contextualTask = withCallerContext(() -> readOnlyTransaction.execute(status -> task.get()));
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for a pricing slot");
+            }
+            try {
+                return contextualTask.get();
+            } finally {
+                permits.release();
+            }
+        }, executor);
+    }
+
+    /**
+     * Runs the task like {@link #submit} and waits for it. For the database reads a fan-out entry point needs
+     * before it fans out, so the request thread itself never takes a connection it would then hold while
+     * waiting for its tasks.
+     */
+    public <T> T call(Supplier<T> task) {
+        return join(submit(task));
+    }
+
+    /**
+     * Wraps the task so that it runs under the caller's tenant, system mode and SecurityContext on whichever
+     * thread executes it, and clears them from that thread afterwards. For long-running work that fans out
+     * through {@link #submit} itself and so must not hold one of its slots.
+     */
+    public <T> Supplier<T> withCallerContext(Supplier<T> task) {
+        String bankId = TenantContextHolder.getBankId();
+        boolean systemMode = TenantContextHolder.isSystemMode();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+
+        return () -> {
+            try {
+                TenantContextHolder.setBankId(bankId);
+                TenantContextHolder.setSystemMode(systemMode);
+                SecurityContextHolder.setContext(securityContext);
+                return task.get();
+            } finally {
+                SecurityContextHolder.clearContext();
+                TenantContextHolder.clear();
+            }
+        };
+    }
+
+    /**
+     * Applies the task to every item concurrently and waits for all of them.
+     *
+     * @return One result per item, in item order.
+     */
+    public <I, R> List<R> map(List<I> items, Function<? super I, ? extends R> task) {
+        List<CompletableFuture<? extends R>> futures = new ArrayList<>(items.size());
+        for (I item : items) {
+            futures.add(submit(() -> task.apply(item)));
+        }
+        List<R> results = new ArrayList<>(items.size());
+        for (CompletableFuture<? extends R> future : futures) {
+            results.add(join(future));
+        }
+        return results;
+    }
+
+    /**
+     * Waits for the task and rethrows its own exception, so callers and GlobalExceptionHandler see the same
+     * NotFoundException or ValidationException a sequential call would have thrown.
+     */
+    public <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -9,7 +9,7 @@ import com.bankengine.pricing.model.PricingInputMetadata;
 import com.bankengine.pricing.model.PricingInputMetadata.AttributeSourceType;
 import com.bankengine.pricing.repository.PricingInputMetadataRepository;
 import com.bankengine.pricing.repository.TierConditionRepository;
-import com.bankengine.rules.service.KieContainerReloadService;
+import com.bankengine.rules.service.RuleReloadScheduler;
 import com.bankengine.web.exception.DependencyViolationException;
 import com.bankengine.web.exception.NotFoundException;
 import com.bankengine.web.exception.ValidationException;
@@ -30,7 +30,7 @@ public class PricingInputMetadataService extends BaseService {
     private final PricingInputMetadataRepository pricingInputMetadataRepository;
     private final TierConditionRepository tierConditionRepository;
     private final PricingInputMetadataMapper mapper;
-    private final KieContainerReloadService reloadService;
+    private final RuleReloadScheduler reloadScheduler;
 
     private static final String NOT_FOUND_MESSAGE = "Pricing Input Metadata not found with key: ";
 
@@ -42,12 +42,12 @@ public class PricingInputMetadataService extends BaseService {
             PricingInputMetadataRepository pricingInputMetadataRepository,
             TierConditionRepository tierConditionRepository,
             PricingInputMetadataMapper mapper,
-            @Lazy KieContainerReloadService reloadService
+            @Lazy RuleReloadScheduler reloadScheduler
     ) {
         this.pricingInputMetadataRepository = pricingInputMetadataRepository;
         this.tierConditionRepository = tierConditionRepository;
         this.mapper = mapper;
-        this.reloadService = reloadService;
+        this.reloadScheduler = reloadScheduler;
     }
 
     /**
@@ -76,6 +76,14 @@ public class PricingInputMetadataService extends BaseService {
         return pricingInputMetadataRepository.findByBankIdAndAttributeKeyIn(getCurrentBankId(), attributeKeys);
     }
 
+    /**
+     * All custom-attribute metadata of a bank; these become the typed fields of its declared attribute facts.
+     */
+    @Transactional(readOnly = true)
+    public List<PricingInputMetadata> getCustomAttributeMetadata(String bankId) {
+        return pricingInputMetadataRepository.findByBankIdAndSourceType(bankId, AttributeSourceType.CUSTOM_ATTRIBUTE);
+    }
+
     @Transactional(readOnly = true)
     public List<PricingMetadataResponse> findAllMetadata() {
         return pricingInputMetadataRepository.findAll().stream()
@@ -114,7 +122,7 @@ public class PricingInputMetadataService extends BaseService {
         entity.setBankId(bankId);
         PricingInputMetadata savedEntity = pricingInputMetadataRepository.save(entity);
 
-        reloadService.reloadKieContainer();
+        reloadScheduler.requestFullReload();
 
         return mapper.toResponse(savedEntity);
     }
@@ -137,7 +145,7 @@ public class PricingInputMetadataService extends BaseService {
         entity.setSourceField(resolveSourceField(dto.getAttributeKey(), dto.getSourceField()));
 
         PricingInputMetadata updatedEntity = pricingInputMetadataRepository.save(entity);
-        reloadService.reloadKieContainer();
+        reloadScheduler.requestFullReload();
 
         return mapper.toResponse(updatedEntity);
     }
@@ -188,6 +196,6 @@ public class PricingInputMetadataService extends BaseService {
             );
         }
         pricingInputMetadataRepository.deleteByBankIdAndAttributeKey(bankId, attributeKey);
-        reloadService.reloadKieContainer();
+        reloadScheduler.requestFullReload();
     }
 }
@@ -0,0 +1,207 @@
+package com.bankengine.pricing.service;
+
+import com.bankengine.pricing.model.BundlePricingLink;
+import com.bankengine.pricing.model.PriceValue;
+import com.bankengine.pricing.model.PricingComponent;
+import com.bankengine.pricing.model.PricingTier;
+import com.bankengine.pricing.model.ProductPricingLink;
+import com.bankengine.pricing.model.TierCondition;
+import com.bankengine.pricing.service.evaluator.ThresholdIndex;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Immutable copy of one tenant's pricing links with their components and tiers, plus the ids of the
+ * products and bundles the tenant can price. Built once by {@link PricingLinkSnapshotService} and replaced
+ * as a whole when the underlying data changes, so it can be read concurrently without locking.
+ */
+public final class PricingLinkSnapshot {
+
+    /**
+     * Everything the quote path reads from a product or bundle pricing link, detached from JPA.
+     *
+     * @param amountBreakpoints Amounts at which the component's tier selection can change: its tier thresholds
+     *                          and the numeric values of tier conditions on the amount the thresholds apply to.
+     * @param tierRanges        The component's tiers indexed by their [minThreshold, maxThreshold] amount range.
+     * @param dateConditioned   Whether a tier condition compares a date, e.g. the effective date, so the rule
+     *                          outcome can differ between billing cycles with the same links in force.
+     */
+    public record Link(Long id,
+                       String componentCode,
+                       Integer componentVersion,
+                       boolean proRataApplicable,
+                       boolean applyChargeOnFullBreach,
+                       Set<String> tierCodes,
+                       boolean useRulesEngine,
+                       BigDecimal fixedValue,
+                       PriceValue.ValueType fixedValueType,
+                       String targetComponentCode,
+                       LocalDate effectiveDate,
+                       LocalDate expiryDate,
+                       NavigableSet<BigDecimal> amountBreakpoints,
+                       ThresholdIndex<TierRange> tierRanges,
+                       boolean dateConditioned) {
+
+        public static Link of(ProductPricingLink link) {
+            return of(link.getId(), link.getPricingComponent(), link.isUseRulesEngine(), link.getFixedValue(),
+                    link.getFixedValueType(), link.getTargetComponentCode(), link.getEffectiveDate(), link.getExpiryDate(),
+                    PricingAttributeKeys.TRANSACTION_AMOUNT);
+        }
+
+        public static Link of(BundlePricingLink link) {
+            return of(link.getId(), link.getPricingComponent(), link.isUseRulesEngine(), link.getFixedValue(),
+                    link.getFixedValueType(), null, link.getEffectiveDate(), link.getExpiryDate(),
+                    PricingAttributeKeys.GROSS_TOTAL_AMOUNT);
+        }
+
+        private static Link of(Long id, PricingComponent component, boolean useRulesEngine, BigDecimal fixedValue,
+                               PriceValue.ValueType fixedValueType, String targetComponentCode,
+                               LocalDate effectiveDate, LocalDate expiryDate, String amountAttribute) {
+            Set<PricingTier> tiers = component.getPricingTiers() != null ? component.getPricingTiers() : Set.of();
+            return new Link(id,
+                    component.getCode(),
+                    component.getVersion(),
+                    component.isProRataApplicable(),
+                    tiers.stream().anyMatch(PricingTier::isApplyChargeOnFullBreach),
+                    tiers.stream().map(PricingTier::getCode).filter(Objects::nonNull)
+                            .collect(Collectors.toUnmodifiableSet()),
+                    useRulesEngine, fixedValue, fixedValueType, targetComponentCode, effectiveDate, expiryDate,
+                    amountBreakpoints(tiers, amountAttribute),
+                    new ThresholdIndex<>(tiers.stream()
+                            .filter(tier -> tier.getCode() != null)
+                            .map(tier -> new TierRange(tier.getCode(), tier.getMinThreshold(), tier.getMaxThreshold()))
+                            .toList(), TierRange::minThreshold, TierRange::maxThreshold),
+                    tiers.stream().anyMatch(Link::isDateConditioned));
+        }
+
+        /**
+         * Codes of the tiers whose threshold range contains the amount; only these can match it.
+         */
+        public Stream<String> tierCodesCovering(BigDecimal amount) {
+            return tierRanges.candidates(amount).stream().map(TierRange::code);
+        }
+
+        private static NavigableSet<BigDecimal> amountBreakpoints(Set<PricingTier> tiers, String amountAttribute) {
+            TreeSet<BigDecimal> breakpoints = new TreeSet<>();
+            for (PricingTier tier : tiers) {
+                if (tier.getMinThreshold() != null) breakpoints.add(tier.getMinThreshold());
+                if (tier.getMaxThreshold() != null) breakpoints.add(tier.getMaxThreshold());
+                if (tier.getConditions() == null) {
+                    continue;
+                }
+                for (TierCondition condition : tier.getConditions()) {
+                    if (amountAttribute.equals(condition.getAttributeName()) && condition.getAttributeValue() != null) {
+                        for (String value : condition.getAttributeValue().split(",")) {
+                            try {
+                                breakpoints.add(new BigDecimal(value.trim()));
+                            } catch (NumberFormatException ignored) {
+                                // Not a number; the condition cannot split the amount axis
+                            }
+                        }
+                    }
+                }
+            }
+            return Collections.unmodifiableNavigableSet(breakpoints);
+        }
+
+        /**
+         * A condition on the effective date, or on any attribute compared with a date literal, which covers
+         * custom DATE attributes sourced from the effective date without looking up their metadata.
+         */
+        private static boolean isDateConditioned(PricingTier tier) {
+            if (tier.getConditions() == null) {
+                return false;
+            }
+            for (TierCondition condition : tier.getConditions()) {
+                if (PricingAttributeKeys.EFFECTIVE_DATE.equals(condition.getAttributeName())) {
+                    return true;
+                }
+                if (condition.getAttributeValue() == null) {
+                    continue;
+                }
+                for (String value : condition.getAttributeValue().split(",")) {
+                    try {
+                        LocalDate.parse(value.trim());
+                        return true;
+                    } catch (DateTimeParseException ignored) {
+                        // Not a date literal
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * The component key rules are compiled under, e.g. {@code MONTHLY_FEE:2}.
+         */
+        public String componentKey() {
+            return componentCode + ":" + componentVersion;
+        }
+
+        public boolean overlaps(LocalDate cycleStart, LocalDate cycleEnd) {
+            return (effectiveDate == null || !effectiveDate.isAfter(cycleEnd))
+                    && (expiryDate == null || !expiryDate.isBefore(cycleStart));
+        }
+    }
+
+    public record TierRange(String code, BigDecimal minThreshold, BigDecimal maxThreshold) {
+    }
+
+    private final Set<Long> productIds;
+    private final Set<Long> bundleIds;
+    private final Map<Long, List<Link>> productLinks;
+    private final Map<Long, List<Link>> bundleLinks;
+
+    public PricingLinkSnapshot(Collection<Long> productIds, Collection<Long> bundleIds,
+                               Map<Long, List<Link>> productLinks, Map<Long, List<Link>> bundleLinks) {
+        this.productIds = Set.copyOf(productIds);
+        this.bundleIds = Set.copyOf(bundleIds);
+        this.productLinks = copy(productLinks);
+        this.bundleLinks = copy(bundleLinks);
+    }
+
+    public boolean containsProduct(Long productId) {
+        return productIds.contains(productId);
+    }
+
+    public boolean containsBundle(Long bundleId) {
+        return bundleIds.contains(bundleId);
+    }
+
+    /**
+     * The product's links that are in force at any point of the given billing cycle.
+     */
+    public List<Link> productLinksOverlapping(Long productId, LocalDate cycleStart, LocalDate cycleEnd) {
+        return overlapping(productLinks.get(productId), cycleStart, cycleEnd);
+    }
+
+    /**
+     * The bundle's links that are in force at any point of the given billing cycle.
+     */
+    public List<Link> bundleLinksOverlapping(Long bundleId, LocalDate cycleStart, LocalDate cycleEnd) {
+        return overlapping(bundleLinks.get(bundleId), cycleStart, cycleEnd);
+    }
+
+    public int linkCount() {
+        return productLinks.values().stream().mapToInt(List::size).sum()
+                + bundleLinks.values().stream().mapToInt(List::size).sum();
+    }
+
+    private static List<Link> overlapping(List<Link> links, LocalDate cycleStart, LocalDate cycleEnd) {
+        if (links == null) {
+            return List.of();
+        }
+        return links.stream().filter(link -> link.overlaps(cycleStart, cycleEnd)).toList();
+    }
+
+    private static Map<Long, List<Link>> copy(Map<Long, List<Link>> links) {
+        Map<Long, List<Link>> copy = new HashMap<>();
+        links.forEach((ownerId, ownerLinks) -> copy.put(ownerId, List.copyOf(ownerLinks)));
+        return Collections.unmodifiableMap(copy);
+    }
+}
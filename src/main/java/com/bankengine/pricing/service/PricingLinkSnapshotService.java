@@ -0,0 +1,126 @@
+package com.bankengine.pricing.service;
+
+import com.bankengine.auth.security.TenantContextHolder;
+import com.bankengine.catalog.repository.ProductBundleRepository;
+import com.bankengine.catalog.repository.ProductRepository;
+import com.bankengine.pricing.repository.BundlePricingLinkRepository;
+import com.bankengine.pricing.repository.ProductPricingLinkRepository;
+import com.bankengine.pricing.service.PricingLinkSnapshot.Link;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds one {@link PricingLinkSnapshot} per tenant, so product and bundle quotes resolve access and pricing
+ * links without a database round-trip. A tenant's snapshot is built on its first quote, in the caller's
+ * transaction, and dropped by {@link PricingDataChangeListener} when a transaction that changed its products,
+ * bundles, links, components or tiers completes; the next quote builds the replacement. A build that raced
+ * such a change is used for that one quote but not kept.
+ * Products and bundles of the system bank are included, as the single-entity lookups they replace accept them.
+ */
+@Service
+@Slf4j
+public class PricingLinkSnapshotService {
+
+    private final ProductRepository productRepository;
+    private final ProductBundleRepository productBundleRepository;
+    private final ProductPricingLinkRepository productPricingLinkRepository;
+    private final BundlePricingLinkRepository bundlePricingLinkRepository;
+
+    private final Map<String, PricingLinkSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Map<String, Object> tenantLocks = new ConcurrentHashMap<>();
+
+    @Value("${app.pricing.link-snapshot.enabled:true}")
+    private boolean enabled;
+
+    public PricingLinkSnapshotService(ProductRepository productRepository,
+                                      ProductBundleRepository productBundleRepository,
+                                      ProductPricingLinkRepository productPricingLinkRepository,
+                                      BundlePricingLinkRepository bundlePricingLinkRepository) {
+        this.productRepository = productRepository;
+        this.productBundleRepository = productBundleRepository;
+        this.productPricingLinkRepository = productPricingLinkRepository;
+        this.bundlePricingLinkRepository = bundlePricingLinkRepository;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The snapshot of the tenant bound to the current thread, built if needed. Empty when snapshots are
+     * disabled, no tenant is bound or the thread runs in system mode, in which case callers query the database.
+     */
+    public Optional<PricingLinkSnapshot> current() {
+        String bankId = TenantContextHolder.getBankId();
+        if (!enabled || bankId == null || TenantContextHolder.isSystemMode()) {
+            return Optional.empty();
+        }
+        PricingLinkSnapshot snapshot = snapshots.get(bankId);
+        if (snapshot != null) {
+            return Optional.of(snapshot);
+        }
+
+        synchronized (tenantLocks.computeIfAbsent(bankId, key -> new Object())) {
+            snapshot = snapshots.get(bankId);
+            if (snapshot != null) {
+                return Optional.of(snapshot);
+            }
+            long generation = generationOf(bankId).get();
+            snapshot = build(bankId);
+            if (generation == generationOf(bankId).get()) {
+                snapshots.put(bankId, snapshot);
+            }
+            return Optional.of(snapshot);
+        }
+    }
+
+    /**
+     * Drops the tenant's snapshot; the next quote builds a fresh one. A change to the system bank drops
+     * every snapshot, since all of them include its products and bundles.
+     */
+    public void invalidate(String bankId) {
+        if (bankId == null) {
+            return;
+        }
+        generationOf(bankId).incrementAndGet();
+        if (bankId.equals(TenantContextHolder.getSystemBankId())) {
+            generations.values().forEach(AtomicLong::incrementAndGet);
+            snapshots.clear();
+            log.debug("Dropped all pricing link snapshots after a system bank change.");
+        } else if (snapshots.remove(bankId) != null) {
+            log.debug("Dropped pricing link snapshot of tenant '{}'.", bankId);
+        }
+    }
+
+    private PricingLinkSnapshot build(String bankId) {
+        long started = System.nanoTime();
+        Set<String> visibleBankIds = new LinkedHashSet<>();
+        visibleBankIds.add(bankId);
+        visibleBankIds.add(TenantContextHolder.getSystemBankId());
+
+        Map<Long, List<Link>> productLinks = new HashMap<>();
+        productPricingLinkRepository.findAllWithComponentsByBankId(bankId).forEach(link ->
+                productLinks.computeIfAbsent(link.getProduct().getId(), key -> new ArrayList<>()).add(Link.of(link)));
+        Map<Long, List<Link>> bundleLinks = new HashMap<>();
+        bundlePricingLinkRepository.findAllWithComponentsByBankId(bankId).forEach(link ->
+                bundleLinks.computeIfAbsent(link.getProductBundle().getId(), key -> new ArrayList<>()).add(Link.of(link)));
+
+        PricingLinkSnapshot snapshot = new PricingLinkSnapshot(
+                productRepository.findIdsByBankIdIn(visibleBankIds),
+                productBundleRepository.findIdsByBankIdIn(visibleBankIds),
+                productLinks, bundleLinks);
+        log.info("Built pricing link snapshot of tenant '{}' with {} link(s) in {} ms.",
+                bankId, snapshot.linkCount(), (System.nanoTime() - started) / 1_000_000);
+        return snapshot;
+    }
+
+    private AtomicLong generationOf(String bankId) {
+        return generations.computeIfAbsent(bankId, key -> new AtomicLong());
+    }
+}
@@ -0,0 +1,115 @@
+package com.bankengine.pricing.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Lets identical pricing requests that arrive while one of them is still being priced share that single
+ * computation, e.g. the bursts of equal bundle quotes the public catalog sees during a campaign.
+ * The first caller of a key computes the result on its own thread, outside any transaction: the computations
+ * load their data on the {@link PricingExecutor}, whose tasks open their own. Callers arriving with the same key
+ * before it finishes wait for it without taking a connection, and receive the same result or the same exception. A caller that joins is therefore served a result computed from the data
+ * as of the first caller's start, which may predate its own arrival and miss a change committed in between.
+ * Nothing is kept once the computation finishes. Shared results must not be modified.
+ */
+@Component
+public class PricingRequestCoalescer {
+
+    public static final String COALESCING_METRIC = "pricing.request.coalescing";
+
+    /**
+     * Identifies one in-flight computation: the tenant, the kind of request and a SHA-256 over its canonical form.
+     */
+    public record Key(String bankId, String operation, String requestHash) {
+    }
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Counter computed;
+    private final Counter coalesced;
+
+    @Value("${app.pricing.coalescing.enabled:true}")
+    private boolean enabled = true;
+
+    public PricingRequestCoalescer(MeterRegistry meterRegistry) {
+        this.computed = Counter.builder(COALESCING_METRIC).tag("result", "computed")
+                .description("Pricing requests by whether they computed or joined an identical in-flight request")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder(COALESCING_METRIC).tag("result", "coalesced")
+                .description("Pricing requests by whether they computed or joined an identical in-flight request")
+                .register(meterRegistry);
+        Gauge.builder(COALESCING_METRIC + ".in-flight", inFlight, Map::size)
+                .description("Distinct pricing requests currently being computed on this node").register(meterRegistry);
+    }
+
+    /**
+     * Builds the key of a request from its parts. Map order and the scale of numbers do not matter; the order
+     * of lists and the type of a value do, as in {@link PricingResultCache#keyFor}.
+     */
+    public Key keyFor(String bankId, String operation, Object... parts) {
+        MessageDigest digest = sha256();
+        for (Object part : parts) {
+            digest.update(PricingResultCache.canonical(part).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return new Key(bankId, operation, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    /**
+     * Returns the result of the in-flight computation for the key, or computes it on the calling thread
+     * if there is none. A failure is rethrown to every caller that shared the computation.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Key key, Supplier<T> computation) {
+        if (!enabled) {
+            return computation.get();
+        }
+
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            coalesced.increment();
+            try {
+                return (T) running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        computed.increment();
+        try {
+            T result = computation.get();
+            own.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.bankengine.pricing.service;
+
+import com.bankengine.auth.security.TenantContextHolder;
+import com.bankengine.pricing.dto.ProductPricingCalculationResult;
+import com.bankengine.rules.service.KieContainerReloadService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Opt-in, size-bounded cache of single-product pricing results on this node.
+ * Entries are keyed by tenant, product, billing cycle, a SHA-256 over the normalized request attributes,
+ * the tenant's live rules version and the tenant's pricing-data generation. A rule base swap bumps the
+ * rules version and a change to pricing links, components or products bumps the generation, so entries
+ * computed before either can never be served again; the generation bump also drops them right away.
+ * Both are captured before the result is computed, so a result that raced a change is stored under a key
+ * nobody looks up anymore. Every hit returns a copy of the cached result, so callers may modify what they get.
+ */
+@Component
+@Slf4j
+public class PricingResultCache {
+
+    public static final String CACHE_METRIC = "pricing.result.cache";
+
+    /**
+     * Identifies one cached pricing result.
+     */
+    public record Key(String bankId, Long productId, LocalDate cycleStart, String attributesHash,
+                      long rulesVersion, long dataGeneration) {
+    }
+
+    private final KieContainerReloadService kieContainerReloadService;
+    private final Map<String, AtomicLong> dataGenerations = new ConcurrentHashMap<>();
+    private final Map<Key, ProductPricingCalculationResult> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Value("${app.pricing.result-cache.enabled:false}")
+    private boolean enabled;
+
+    public PricingResultCache(KieContainerReloadService kieContainerReloadService, MeterRegistry meterRegistry,
+                              @Value("${app.pricing.result-cache.max-entries:10000}") int maxEntries) {
+        this.kieContainerReloadService = kieContainerReloadService;
+        int capacity = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ProductPricingCalculationResult> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.hits = Counter.builder(CACHE_METRIC).tag("result", "hit")
+                .description("Pricing result cache lookups by result").register(meterRegistry);
+        this.misses = Counter.builder(CACHE_METRIC).tag("result", "miss")
+                .description("Pricing result cache lookups by result").register(meterRegistry);
+        Gauge.builder(CACHE_METRIC + ".size", this, PricingResultCache::size)
+                .description("Pricing results currently cached on this node").register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Builds the key of a pricing request from its normalized attributes. Attribute order and the scale of
+     * numbers do not matter; the type of a value does, so "100" and 100 hash differently.
+     */
+    public Key keyFor(String bankId, Long productId, LocalDate cycleStart, LocalDate enrollmentDate,
+                      Map<String, Object> normalizedAttributes) {
+        MessageDigest digest = sha256();
+        update(digest, "enrollmentDate=" + canonical(enrollmentDate));
+        new TreeMap<>(normalizedAttributes).forEach((name, value) -> update(digest, name + "=" + canonical(value)));
+        return new Key(bankId, productId, cycleStart, HexFormat.of().formatHex(digest.digest()),
+                kieContainerReloadService.getRulesVersion(bankId), generationOf(bankId).get());
+    }
+
+    /**
+     * Returns the cached result for the key, or computes and caches it. Concurrent misses on the same key
+     * each compute; the result is the same either way.
+     */
+    public ProductPricingCalculationResult computeIfAbsent(Key key, Supplier<ProductPricingCalculationResult> loader) {
+        ProductPricingCalculationResult cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached != null) {
+            hits.increment();
+            return copyOf(cached);
+        }
+
+        misses.increment();
+        ProductPricingCalculationResult result = loader.get();
+        if (result != null && key.dataGeneration() == generationOf(key.bankId()).get()) {
+            synchronized (entries) {
+                entries.put(key, copyOf(result));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drops every cached result of the tenant, e.g. after its pricing links or components changed. A change to
+     * the system bank drops every tenant's results, since their quotes may use its products and components.
+     */
+    public void invalidate(String bankId) {
+        if (bankId == null) {
+            return;
+        }
+        generationOf(bankId).incrementAndGet();
+        if (bankId.equals(TenantContextHolder.getSystemBankId())) {
+            dataGenerations.values().forEach(AtomicLong::incrementAndGet);
+            synchronized (entries) {
+                entries.clear();
+            }
+            log.debug("Invalidated all cached pricing results after a system bank change.");
+            return;
+        }
+        int removed;
+        synchronized (entries) {
+            int before = entries.size();
+            entries.keySet().removeIf(key -> bankId.equals(key.bankId()));
+            removed = before - entries.size();
+        }
+        if (removed > 0) {
+            log.debug("Invalidated {} cached pricing result(s) of tenant '{}'.", removed, bankId);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static ProductPricingCalculationResult copyOf(ProductPricingCalculationResult result) {
+        List<ProductPricingCalculationResult.PriceComponentDetail> breakdown = result.getComponentBreakdown();
+        return result.toBuilder()
+                .componentBreakdown(breakdown == null ? null : breakdown.stream()
+                        .map(detail -> detail.toBuilder().build())
+                        .collect(Collectors.toCollection(ArrayList::new)))
+                .build();
+    }
+
+    private AtomicLong generationOf(String bankId) {
+        return dataGenerations.computeIfAbsent(bankId, key -> new AtomicLong());
+    }
+
+    static String canonical(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof BigDecimal || value instanceof Number) {
+            try {
+                return "n:" + new BigDecimal(value.toString()).stripTrailingZeros().toPlainString();
+            } catch (NumberFormatException e) {
+                return "n:" + value;
+            }
+        }
+        if (value instanceof CharSequence) {
+            return "s:" + value;
+        }
+        if (value instanceof Map<?, ?> map) {
+            StringJoiner joiner = new StringJoiner(",", "{", "}");
+            map.entrySet().stream()
+                    .map(entry -> canonical(entry.getKey()) + "=" + canonical(entry.getValue()))
+                    .sorted()
+                    .forEach(joiner::add);
+            return joiner.toString();
+        }
+        if (value instanceof Set<?> set) {
+            StringJoiner joiner = new StringJoiner(",", "[", "]");
+            set.stream().map(PricingResultCache::canonical).sorted().forEach(joiner::add);
+            return joiner.toString();
+        }
+        if (value instanceof Collection<?> collection) {
+            StringJoiner joiner = new StringJoiner(",", "(", ")");
+            collection.forEach(element -> joiner.add(canonical(element)));
+            return joiner.toString();
+        }
+        return value.getClass().getSimpleName() + ":" + value;
+    }
+
+    private static void update(MessageDigest digest, String part) {
+        digest.update(part.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
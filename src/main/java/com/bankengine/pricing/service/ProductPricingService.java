@@ -2,15 +2,17 @@ package com.bankengine.pricing.service;
 
 import com.bankengine.catalog.repository.ProductRepository;
 import com.bankengine.common.service.BaseService;
+import com.bankengine.config.drools.RulePackage;
 import com.bankengine.pricing.dto.ProductPriceRequest;
 import com.bankengine.pricing.dto.ProductPricingCalculationResult;
 import com.bankengine.pricing.dto.ProductPricingCalculationResult.PriceComponentDetail;
 import com.bankengine.pricing.model.PriceValue;
-import com.bankengine.pricing.model.PricingTier;
-import com.bankengine.pricing.model.ProductPricingLink;
 import com.bankengine.pricing.repository.ProductPricingLinkRepository;
+import com.bankengine.pricing.service.evaluator.TierDecisionTable;
 import com.bankengine.rules.model.PricingInput;
 import com.bankengine.rules.service.KieContainerReloadService;
+import com.bankengine.rules.service.RuleBaseLease;
+import com.bankengine.rules.service.RuleReplayGate;
 import com.bankengine.web.exception.NotFoundException;
 import com.bankengine.web.exception.ValidationException;
 import lombok.RequiredArgsConstructor;
@@ -39,34 +41,306 @@ public class ProductPricingService extends BaseService {
     private final ProductRepository productRepository;
     private final ProductPricingLinkRepository productPricingLinkRepository;
     private final PriceAggregator priceAggregator;
+    private final RuleReplayGate ruleReplayGate;
+    private final PricingResultCache pricingResultCache;
+    private final PricingLinkSnapshotService pricingLinkSnapshotService;
 
     private record PricingLinkContext(String targetComponentCode, LocalDate effectiveDate, LocalDate expiryDate) {
     }
 
+    private record CycleKey(Long productId, LocalDate cycleStart) {
+    }
+
+    /**
+     * The rule-based components and tiers in force for a plan; cycles with the same window share their rule outcome.
+     * A window with a date-conditioned tier is keyed by its cycle's date as well, so it is evaluated per cycle.
+     */
+    private record RuleWindow(Set<String> componentCodes, Set<String> activeTierCodes, LocalDate cycleDate) {
+
+        static RuleWindow of(PricingPlan plan) {
+            boolean dateConditioned = plan.ruleLinks().stream().anyMatch(PricingLinkSnapshot.Link::dateConditioned);
+            return new RuleWindow(plan.componentCodes(), plan.activeTierCodes(), dateConditioned ? plan.requestedDate() : null);
+        }
+    }
+
+    /**
+     * What one pricing call already resolved: products that passed the access check, and their links per cycle.
+     */
+    private record PlanningContext(Set<Long> verifiedProductIds, Map<CycleKey, List<PricingLinkSnapshot.Link>> linksByCycle) {
+        PlanningContext() {
+            this(new HashSet<>(), new HashMap<>());
+        }
+    }
+
+    /**
+     * Everything resolved from the database for one request, before any rule is evaluated.
+     */
+    private record PricingPlan(ProductPriceRequest request,
+                               Map<String, Object> normalizedAttributes,
+                               LocalDate requestedDate,
+                               List<PricingLinkSnapshot.Link> fixedLinks,
+                               List<PricingLinkSnapshot.Link> ruleLinks,
+                               Set<String> componentCodes,
+                               Set<String> activeTierCodes,
+                               Map<String, PricingLinkContext> linkContextByComponentCode) {
+
+        boolean usesRulesEngine() {
+            return !componentCodes.isEmpty();
+        }
+
+        PricingPlan atTransactionAmount(BigDecimal amount) {
+            Map<String, Object> attributes = new HashMap<>(normalizedAttributes);
+            attributes.put(ATTR_TRANSACTION_AMOUNT, amount);
+            return new PricingPlan(request, attributes, requestedDate, fixedLinks, ruleLinks,
+                    componentCodes, activeTierCodes, linkContextByComponentCode);
+        }
+    }
+
+    /**
+     * The amounts between two consecutive rule breakpoints, or a breakpoint itself; every tier threshold and
+     * amount condition gives the same answer for all amounts of one region.
+     */
+    private record AmountRegion(BigDecimal breakpoint, boolean atBreakpoint) {
+
+        static AmountRegion of(NavigableSet<BigDecimal> breakpoints, BigDecimal amount) {
+            if (breakpoints.contains(amount)) {
+                return new AmountRegion(breakpoints.ceiling(amount), true);
+            }
+            return new AmountRegion(breakpoints.floor(amount), false);
+        }
+    }
+
+    /**
+     * Consecutive amounts of a sweep that fall into one region and so share a single rule evaluation.
+     *
+     * @param results One result per amount, in amount order.
+     */
+    public record PricedInterval(List<BigDecimal> amounts, List<ProductPricingCalculationResult> results) {
+    }
+
+    /**
+     * Prices one product. With {@code app.pricing.result-cache.enabled}, identical quotes are served from
+     * the {@link PricingResultCache} until the tenant's rules or pricing data change.
+     */
     @Transactional(readOnly = true)
     public ProductPricingCalculationResult getProductPricing(ProductPriceRequest request) {
+        String bankId = getCurrentBankId();
+        if (!pricingResultCache.isEnabled() || bankId == null || request.getCustomAttributes() == null) {
+            return priceProduct(request);
+        }
+
+        Map<String, Object> normalizedAttributes = buildNormalizedCustomAttributes(request);
+        LocalDate requestedDate = extractLocalDate(normalizedAttributes.get(ATTR_EFFECTIVE_DATE), LocalDate.now());
+        PricingResultCache.Key key = pricingResultCache.keyFor(bankId, request.getProductId(),
+                requestedDate.withDayOfMonth(1), request.getEnrollmentDate(), normalizedAttributes);
+        return pricingResultCache.computeIfAbsent(key, () -> priceProduct(request));
+    }
+
+    private ProductPricingCalculationResult priceProduct(ProductPriceRequest request) {
+        PricingPlan plan = planPricing(request, new PlanningContext());
+        return calculate(plan, determinePrices(List.of(plan)).getFirst());
+    }
+
+    /**
+     * Prices several products at once, e.g. the constituents of a bundle. The rule-based components of all
+     * requests are evaluated in a single KieSession, one PricingInput fact per product, and the resulting
+     * PriceValues are correlated back by productId. Product access and pricing links are resolved once per
+     * product and billing cycle, however many requests share them.
+     *
+     * @return One result per request, in request order.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductPricingCalculationResult> getProductPricingBatch(List<ProductPriceRequest> requests) {
+        PlanningContext context = new PlanningContext();
+        List<PricingPlan> plans = requests.stream().map(request -> planPricing(request, context)).toList();
+        List<List<PriceValue>> facts = determinePrices(plans);
+        List<ProductPricingCalculationResult> results = new ArrayList<>(plans.size());
+        for (int i = 0; i < plans.size(); i++) {
+            results.add(calculate(plans.get(i), facts.get(i)));
+        }
+        return results;
+    }
+
+    /**
+     * Prices one product at each of the given transaction amounts. The amount axis is cut at the breakpoints
+     * of the product's rule-based components (tier thresholds and amount conditions); the rules are evaluated
+     * once per region the amounts fall into, and only the aggregation, which scales with the amount, runs
+     * per amount. A sweep over thousands of amounts therefore costs one evaluation per distinct tier range.
+     *
+     * @param amounts Transaction amounts in ascending order; they replace the request's own amount.
+     * @return The amounts in order, cut into the intervals that were evaluated together.
+     */
+    @Transactional(readOnly = true)
+    public List<PricedInterval> getProductPricingSweep(ProductPriceRequest request, List<BigDecimal> amounts) {
+        PricingPlan plan = planPricing(request, new PlanningContext());
+        NavigableSet<BigDecimal> breakpoints = new TreeSet<>();
+        plan.ruleLinks().forEach(link -> breakpoints.addAll(link.amountBreakpoints()));
+
+        List<List<BigDecimal>> intervals = new ArrayList<>();
+        AmountRegion currentRegion = null;
+        for (BigDecimal amount : amounts) {
+            AmountRegion region = AmountRegion.of(breakpoints, amount);
+            if (intervals.isEmpty() || !region.equals(currentRegion)) {
+                intervals.add(new ArrayList<>());
+                currentRegion = region;
+            }
+            intervals.getLast().add(amount);
+        }
+
+        List<List<PriceValue>> facts = determinePrices(intervals.stream()
+                .map(interval -> plan.atTransactionAmount(interval.getFirst()))
+                .toList());
+        List<PricedInterval> priced = new ArrayList<>(intervals.size());
+        for (int i = 0; i < intervals.size(); i++) {
+            List<PriceValue> intervalFacts = facts.get(i);
+            priced.add(new PricedInterval(List.copyOf(intervals.get(i)), intervals.get(i).stream()
+                    .map(amount -> calculate(plan.atTransactionAmount(amount), intervalFacts))
+                    .toList()));
+        }
+        log.debug("Priced product {} at {} amount(s) with {} evaluation(s).", request.getProductId(), amounts.size(), priced.size());
+        return priced;
+    }
+
+    /**
+     * Prices the product for {@code cycles} consecutive billing cycles, the first one containing the request's
+     * effective date and each later one priced as of the same day of its month. The links of the whole horizon
+     * are fetched at once and split per cycle in memory; rules are evaluated once per distinct configuration
+     * window (the rule-based components and tiers in force) and their outcome reused by every cycle of the
+     * window, so only the aggregation, with its pro-rata, runs per cycle. Components with a tier condition on a
+     * date are evaluated for every cycle, since the date moves with it.
+     *
+     * @return One priced cycle per cycle, in cycle order, with the date it was priced as of; its result is null
+     * for a cycle without any pricing configuration.
+     */
+    @Transactional(readOnly = true)
+    public List<PricedCycle<ProductPricingCalculationResult>> getProductPricingProjection(ProductPriceRequest request, int cycles) {
         if (request.getCustomAttributes() == null) {
             throw new ValidationException("Custom attributes map must not be null (it can be empty).");
         }
+        LocalDate firstDate = extractLocalDate(buildNormalizedCustomAttributes(request).get(ATTR_EFFECTIVE_DATE), LocalDate.now());
+        List<LocalDate> cycleDates = PricedCycle.effectiveDates(firstDate, cycles);
+
+        PlanningContext context = new PlanningContext();
         verifyProductAccess(request.getProductId());
+        context.verifiedProductIds().add(request.getProductId());
+        LocalDate lastDate = cycleDates.getLast();
+        List<PricingLinkSnapshot.Link> horizonLinks = getLinksOverlapping(request.getProductId(),
+                firstDate.withDayOfMonth(1), lastDate.withDayOfMonth(lastDate.lengthOfMonth()));
+        for (LocalDate date : cycleDates) {
+            LocalDate cycleStart = date.withDayOfMonth(1);
+            LocalDate cycleEnd = date.withDayOfMonth(date.lengthOfMonth());
+            context.linksByCycle().put(new CycleKey(request.getProductId(), cycleStart),
+                    horizonLinks.stream().filter(link -> link.overlaps(cycleStart, cycleEnd)).toList());
+        }
+
+        List<PricingPlan> plans = new ArrayList<>(cycles);
+        Map<RuleWindow, Integer> windowIndexes = new LinkedHashMap<>();
+        List<PricingPlan> windowPlans = new ArrayList<>();
+        for (LocalDate date : cycleDates) {
+            if (context.linksByCycle().get(new CycleKey(request.getProductId(), date.withDayOfMonth(1))).isEmpty()) {
+                plans.add(null);
+                continue;
+            }
+            Map<String, Object> attributes = new HashMap<>(request.getCustomAttributes());
+            attributes.put(ATTR_EFFECTIVE_DATE, date);
+            PricingPlan plan = planPricing(new ProductPriceRequest(request.getProductId(), request.getEnrollmentDate(), attributes), context);
+            plans.add(plan);
+            if (windowIndexes.putIfAbsent(RuleWindow.of(plan), windowPlans.size()) == null) {
+                windowPlans.add(plan);
+            }
+        }
+
+        List<List<PriceValue>> facts = determinePrices(windowPlans);
+        List<PricedCycle<ProductPricingCalculationResult>> results = new ArrayList<>(cycles);
+        for (int i = 0; i < cycles; i++) {
+            PricingPlan plan = plans.get(i);
+            results.add(new PricedCycle<>(cycleDates.get(i),
+                    plan == null ? null : calculate(plan, facts.get(windowIndexes.get(RuleWindow.of(plan))))));
+        }
+        log.debug("Projected product {} over {} cycle(s) with {} configuration window(s).",
+                request.getProductId(), cycles, windowPlans.size());
+        return results;
+    }
+
+    /**
+     * First day of the billing cycle the request is priced in; requests of one product in the same cycle
+     * share their pricing links.
+     */
+    public LocalDate resolveCycleStart(ProductPriceRequest request) {
+        Object effectiveDate = request.getCustomAttributes() != null
+                ? request.getCustomAttributes().get(ATTR_EFFECTIVE_DATE)
+                : null;
+        return extractLocalDate(effectiveDate, LocalDate.now()).withDayOfMonth(1);
+    }
+
+    private PricingPlan planPricing(ProductPriceRequest request, PlanningContext context) {
+        if (request.getCustomAttributes() == null) {
+            throw new ValidationException("Custom attributes map must not be null (it can be empty).");
+        }
 
         Map<String, Object> normalizedAttributes = buildNormalizedCustomAttributes(request);
         LocalDate requestedDate = extractLocalDate(normalizedAttributes.get(ATTR_EFFECTIVE_DATE), LocalDate.now());
 
-        List<ProductPricingLink> linksInCycle = getLinksByCycle(request.getProductId(), requestedDate);
+        CycleKey cycleKey = new CycleKey(request.getProductId(), requestedDate.withDayOfMonth(1));
+        if (context.verifiedProductIds().add(request.getProductId())) {
+            verifyProductAccess(request.getProductId());
+        }
+        List<PricingLinkSnapshot.Link> linksInCycle = context.linksByCycle().computeIfAbsent(cycleKey,
+                key -> getLinksByCycle(key.productId(), requestedDate));
         if (linksInCycle.isEmpty()) {
             throw new NotFoundException("No active pricing configuration found for product: " + request.getProductId());
         }
 
-        List<PriceComponentDetail> priceComponentDetails = assemblePricingComponents(linksInCycle, requestedDate, normalizedAttributes);
+        List<PricingLinkSnapshot.Link> eligibleLinks = linksInCycle.stream()
+                .filter(l -> isLinkEligibleForDate(l, requestedDate))
+                .toList();
+
+        // Fixed Links
+        List<PricingLinkSnapshot.Link> fixedLinks = eligibleLinks.stream()
+                .filter(link -> !link.useRulesEngine() && link.fixedValue() != null)
+                .toList();
+
+        // Rules Engine Links
+        List<PricingLinkSnapshot.Link> ruleLinks = eligibleLinks.stream()
+                .filter(PricingLinkSnapshot.Link::useRulesEngine)
+                .toList();
+
+        Set<String> componentCodes = ruleLinks.stream()
+                .map(PricingLinkSnapshot.Link::componentKey)
+                .collect(Collectors.toSet());
+
+        Set<String> activeTierCodes = ruleLinks.stream()
+                .flatMap(l -> l.tierCodes().stream())
+                .collect(Collectors.toSet());
 
-        BigDecimal transactionAmount = extractBigDecimal(normalizedAttributes.get(ATTR_TRANSACTION_AMOUNT), BigDecimal.ZERO);
+        Map<String, PricingLinkContext> linkContextByComponentCode = ruleLinks.stream()
+                .collect(Collectors.toMap(
+                        PricingLinkSnapshot.Link::componentCode,
+                        l -> new PricingLinkContext(l.targetComponentCode(), l.effectiveDate(), l.expiryDate()),
+                        (existing, replacement) -> existing
+                ));
+
+        return new PricingPlan(request, normalizedAttributes, requestedDate, fixedLinks, ruleLinks,
+                componentCodes, activeTierCodes, linkContextByComponentCode);
+    }
+
+    private ProductPricingCalculationResult calculate(PricingPlan plan, Collection<PriceValue> facts) {
+        // Fresh details on every call: the aggregator writes the calculated amounts into them
+        List<PriceComponentDetail> priceComponentDetails = new ArrayList<>();
+        plan.fixedLinks().stream()
+                .map(this::mapFixedLinkToDetail)
+                .forEach(priceComponentDetails::add);
+        facts.stream()
+                .map(fact -> mapFactToDetail(fact, plan.linkContextByComponentCode().get(fact.getComponentCode())))
+                .forEach(priceComponentDetails::add);
+
+        BigDecimal transactionAmount = extractBigDecimal(plan.normalizedAttributes().get(ATTR_TRANSACTION_AMOUNT), BigDecimal.ZERO);
         BigDecimal netImpact = priceAggregator.calculateBundleImpact(
                 priceComponentDetails,
                 transactionAmount,
                 BigDecimal.ZERO,
-                request.getEnrollmentDate(),
-                requestedDate);
+                plan.request().getEnrollmentDate(),
+                plan.requestedDate());
 
         return ProductPricingCalculationResult.builder()
                 .finalChargeablePrice(netImpact)
@@ -74,108 +348,155 @@ public class ProductPricingService extends BaseService {
                 .build();
     }
 
+    /**
+     * Served from the tenant's {@link PricingLinkSnapshot} when it holds the product. Otherwise the database
+     * decides, so a product of another tenant is still denied (403) rather than reported as not found (404).
+     */
     private void verifyProductAccess(Long productId) {
-        getByIdSecurely(productRepository, productId, "Product");
+        Optional<PricingLinkSnapshot> snapshot = pricingLinkSnapshotService.current();
+        if (snapshot.isEmpty() || !snapshot.get().containsProduct(productId)) {
+            getByIdSecurely(productRepository, productId, "Product");
+        }
     }
 
-    private List<ProductPricingLink> getLinksByCycle(Long productId, LocalDate requestedDate) {
-        LocalDate cycleStart = requestedDate.withDayOfMonth(1);
-        LocalDate cycleEnd = requestedDate.withDayOfMonth(requestedDate.lengthOfMonth());
-        return productPricingLinkRepository.findByProductIdOverlappingCycle(productId, cycleStart, cycleEnd);
+    private List<PricingLinkSnapshot.Link> getLinksByCycle(Long productId, LocalDate requestedDate) {
+        return getLinksOverlapping(productId, requestedDate.withDayOfMonth(1),
+                requestedDate.withDayOfMonth(requestedDate.lengthOfMonth()));
     }
 
-    private List<PriceComponentDetail> assemblePricingComponents(List<ProductPricingLink> links,
-                                                                 LocalDate requestedDate,
-                                                                 Map<String, Object> normalizedAttributes) {
-        List<ProductPricingLink> eligibleLinks = links.stream()
-                .filter(l -> isLinkEligibleForDate(l, requestedDate))
-                .toList();
-
-        List<PriceComponentDetail> components = new ArrayList<>();
-
-        // Fixed Links
-        eligibleLinks.stream()
-                .filter(link -> !link.isUseRulesEngine() && link.getFixedValue() != null)
-                .map(this::mapFixedLinkToDetail)
-                .forEach(components::add);
-
-        // Rules Engine Links
-        List<ProductPricingLink> ruleBasedLinks = eligibleLinks.stream()
-                .filter(ProductPricingLink::isUseRulesEngine)
-                .toList();
-
-        if (!ruleBasedLinks.isEmpty()) {
-            components.addAll(retrieveDynamicComponents(ruleBasedLinks, requestedDate, normalizedAttributes));
-        }
-
-        return components;
+    private List<PricingLinkSnapshot.Link> getLinksOverlapping(Long productId, LocalDate cycleStart, LocalDate cycleEnd) {
+        return pricingLinkSnapshotService.current()
+                .map(snapshot -> snapshot.productLinksOverlapping(productId, cycleStart, cycleEnd))
+                .orElseGet(() -> productPricingLinkRepository.findByProductIdOverlappingCycle(productId, cycleStart, cycleEnd)
+                        .stream()
+                        .map(PricingLinkSnapshot.Link::of)
+                        .toList());
     }
 
-    private boolean isLinkEligibleForDate(ProductPricingLink link, LocalDate requestedDate) {
-        if (link.getEffectiveDate() == null) {
-            log.warn("Pricing link {} ignored: Missing Effective Date", link.getId());
+    private boolean isLinkEligibleForDate(PricingLinkSnapshot.Link link, LocalDate requestedDate) {
+        if (link.effectiveDate() == null) {
+            log.warn("Pricing link {} ignored: Missing Effective Date", link.id());
             return false;
         }
 
-        boolean isActiveNow = !link.getEffectiveDate().isAfter(requestedDate)
-                && (link.getExpiryDate() == null || !link.getExpiryDate().isBefore(requestedDate));
+        boolean isActiveNow = !link.effectiveDate().isAfter(requestedDate)
+                && (link.expiryDate() == null || !link.expiryDate().isBefore(requestedDate));
 
         if (isActiveNow) {
             return true;
         }
 
-        boolean proRata = link.getPricingComponent().isProRataApplicable();
-        boolean fullBreach = link.getPricingComponent().getPricingTiers().stream()
-                .anyMatch(PricingTier::isApplyChargeOnFullBreach);
-
-        return proRata || fullBreach;
+        return link.proRataApplicable() || link.applyChargeOnFullBreach();
     }
 
-    private List<PriceComponentDetail> retrieveDynamicComponents(List<ProductPricingLink> ruleLinks,
-                                                                 LocalDate requestedDate,
-                                                                 Map<String, Object> normalizedAttributes) {
-        Set<String> componentCodes = ruleLinks.stream()
-                .map(l -> l.getPricingComponent().getCode() + ":" + l.getPricingComponent().getVersion())
-                .collect(Collectors.toSet());
-
-        Set<String> activeTierCodes = ruleLinks.stream()
-                .flatMap(l -> l.getPricingComponent().getPricingTiers().stream())
-                .map(PricingTier::getCode)
-                .collect(Collectors.toSet());
+    /**
+     * Prices the simple components straight from the leased decision table and only opens a KieSession
+     * for the components the table cannot resolve. Both come from the same lease, so they always agree
+     * on the rules version.
+     *
+     * @return The rule-based price values of each plan, in plan order.
+     */
+    private List<List<PriceValue>> determinePrices(List<PricingPlan> plans) {
+        List<List<PriceValue>> facts = new ArrayList<>(plans.size());
+        plans.forEach(plan -> facts.add(new ArrayList<>()));
+        if (plans.stream().noneMatch(PricingPlan::usesRulesEngine)) {
+            return facts;
+        }
 
-        Map<String, PricingLinkContext> linkContextByComponentCode = ruleLinks.stream()
-                .collect(Collectors.toMap(
-                        l -> l.getPricingComponent().getCode(),
-                        l -> new PricingLinkContext(l.getTargetComponentCode(), l.getEffectiveDate(), l.getExpiryDate()),
-                        (existing, replacement) -> existing
-                ));
+        try (RuleBaseLease lease = kieContainerReloadService.acquire(getCurrentBankId(), RulePackage.PRICING)) {
+            TierDecisionTable decisionTable = lease.getDecisionTable();
+            Map<Integer, Set<String>> unresolvedByPlan = new LinkedHashMap<>();
+            for (int i = 0; i < plans.size(); i++) {
+                PricingPlan plan = plans.get(i);
+                if (!plan.usesRulesEngine()) {
+                    continue;
+                }
+                ruleReplayGate.capture(getCurrentBankId(), plan.request().getProductId(), plan.componentCodes(),
+                        candidateTierCodes(plan), plan.normalizedAttributes());
+                if (decisionTable == null) {
+                    unresolvedByPlan.put(i, plan.componentCodes());
+                    continue;
+                }
+
+                TierDecisionTable.Evaluation evaluation = decisionTable.evaluate(
+                        getCurrentBankId(), plan.componentCodes(), plan.activeTierCodes(), plan.normalizedAttributes());
+                facts.get(i).addAll(evaluation.priceValues());
+                if (!evaluation.unresolvedComponentKeys().isEmpty()) {
+                    unresolvedByPlan.put(i, evaluation.unresolvedComponentKeys());
+                }
+            }
 
-        return determinePriceWithDrools(componentCodes, activeTierCodes, normalizedAttributes).stream()
-                .map(fact -> mapFactToDetail(fact, linkContextByComponentCode.get(fact.getComponentCode())))
-                .toList();
+            if (!unresolvedByPlan.isEmpty()) {
+                determinePricesWithDrools(lease, plans, unresolvedByPlan, facts);
+            }
+        }
+        return facts;
     }
 
-    private Collection<PriceValue> determinePriceWithDrools(Set<String> componentCodes,
-                                                            Set<String> activeTierCodes,
-                                                            Map<String, Object> normalizedAttributes) {
-        KieSession kieSession = kieContainerReloadService.getKieContainer().newKieSession();
-        try {
-            PricingInput input = new PricingInput();
-            input.setBankId(getCurrentBankId());
-            input.setTargetPricingComponentCodes(componentCodes);
-            input.setActivePricingTierCodes(activeTierCodes);
-            input.setRuleFired(false);
-            input.getCustomAttributes().putAll(normalizedAttributes);
+    /**
+     * Fires the unresolved components of all plans in as few sessions as possible: one session per group
+     * of plans with distinct productIds, which is a single session unless a product is priced twice.
+     */
+    private void determinePricesWithDrools(RuleBaseLease lease,
+                                           List<PricingPlan> plans,
+                                           Map<Integer, Set<String>> unresolvedByPlan,
+                                           List<List<PriceValue>> facts) {
+        List<Integer> pending = new ArrayList<>(unresolvedByPlan.keySet());
+        while (!pending.isEmpty()) {
+            Map<Long, Integer> planByProductId = new LinkedHashMap<>();
+            List<Integer> deferred = new ArrayList<>();
+            for (Integer planIndex : pending) {
+                if (planByProductId.putIfAbsent(plans.get(planIndex).request().getProductId(), planIndex) != null) {
+                    deferred.add(planIndex);
+                }
+            }
 
-            kieSession.setGlobal("log", log);
-            kieSession.insert(input);
-            kieSession.fireAllRules();
+            KieSession kieSession = lease.openSession();
+            try {
+                kieSession.setGlobal("log", log);
+                planByProductId.forEach((productId, planIndex) -> {
+                    PricingPlan plan = plans.get(planIndex);
+                    PricingInput input = new PricingInput();
+                    input.setBankId(getCurrentBankId());
+                    input.setProductId(productId);
+                    input.setTargetPricingComponentCodes(unresolvedByPlan.get(planIndex));
+                    input.setActivePricingTierCodes(candidateTierCodes(plan));
+                    input.setRuleFired(false);
+                    input.getCustomAttributes().putAll(plan.normalizedAttributes());
+                    kieSession.insert(input);
+                });
+                kieSession.fireAllRules();
+
+                Integer onlyPlan = planByProductId.size() == 1 ? planByProductId.values().iterator().next() : null;
+                for (Object object : kieSession.getObjects(new ClassObjectFilter(PriceValue.class))) {
+                    PriceValue priceValue = (PriceValue) object;
+                    // The only input of a session owns every PriceValue in it
+                    Integer planIndex = onlyPlan != null ? onlyPlan : planByProductId.get(priceValue.getProductId());
+                    if (planIndex != null) {
+                        facts.get(planIndex).add(priceValue);
+                    }
+                }
+            } finally {
+                lease.releaseSession(kieSession);
+            }
+            pending = deferred;
+        }
+    }
 
-            return kieSession.getObjects(new ClassObjectFilter(PriceValue.class))
-                    .stream().map(PriceValue.class::cast).toList();
-        } finally {
-            kieSession.dispose();
+    /**
+     * The plan's tier codes whose threshold range contains the transaction amount, from each link's
+     * {@link com.bankengine.pricing.service.evaluator.ThresholdIndex}. Every other tier fails its range
+     * constraint anyway, so leaving it out of the fact lets the rule engine reject it on the tier code
+     * instead of evaluating the BigDecimal range of each of hundreds of tiers.
+     */
+    private static Set<String> candidateTierCodes(PricingPlan plan) {
+        if (!(plan.normalizedAttributes().get(ATTR_TRANSACTION_AMOUNT) instanceof BigDecimal amount)) {
+            // The rules cast the amount; leave other types for them to decide
+            return plan.activeTierCodes();
         }
+        Set<String> candidates = new HashSet<>();
+        plan.ruleLinks().forEach(link -> link.tierCodesCovering(amount).forEach(candidates::add));
+        return candidates;
     }
 
     private Map<String, Object> buildNormalizedCustomAttributes(ProductPriceRequest request) {
@@ -211,17 +532,17 @@ public class ProductPricingService extends BaseService {
         }
     }
 
-    private PriceComponentDetail mapFixedLinkToDetail(ProductPricingLink link) {
+    private PriceComponentDetail mapFixedLinkToDetail(PricingLinkSnapshot.Link link) {
         return PriceComponentDetail.builder()
-                .componentCode(link.getPricingComponent().getCode())
-                .rawValue(link.getFixedValue())
-                .valueType(link.getFixedValueType())
+                .componentCode(link.componentCode())
+                .rawValue(link.fixedValue())
+                .valueType(link.fixedValueType())
                 .sourceType("FIXED_VALUE")
-                .targetComponentCode(link.getTargetComponentCode())
-                .proRataApplicable(link.getPricingComponent().isProRataApplicable())
+                .targetComponentCode(link.targetComponentCode())
+                .proRataApplicable(link.proRataApplicable())
                 .applyChargeOnFullBreach(false)
-                .effectiveDate(link.getEffectiveDate())
-                .expiryDate(link.getExpiryDate())
+                .effectiveDate(link.effectiveDate())
+                .expiryDate(link.expiryDate())
                 .build();
     }
 
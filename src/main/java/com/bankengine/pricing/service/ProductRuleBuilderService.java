@@ -44,6 +44,7 @@ public class ProductRuleBuilderService extends AbstractRuleBuilderService {
                     priceValueFact.setValueType(PriceValue.ValueType.%s);
                     priceValueFact.setComponentCode("%s");
                     priceValueFact.setBankId("%s");
+                    priceValueFact.setProductId($input.getProductId());
                     insert(priceValueFact);""",
                 tier.getId(),
                 tier.getCode(),
@@ -8,6 +8,7 @@ import com.bankengine.pricing.model.TierCondition.Operator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.stream.Collectors;
 
@@ -23,7 +24,6 @@ public class DroolsExpressionBuilder {
 
         PricingDataType type = PricingDataType.fromString(metadata.getDataType());
         String fqn = type.getFqn();
-        boolean quoted = type.isQuoted();
 
         String sourceField = metadata.getResolvedSourceField();
         if (sourceField == null || sourceField.isBlank()) {
@@ -37,7 +37,32 @@ public class DroolsExpressionBuilder {
                 ? String.format("((%s) %s)", fqn, access)
                 : access;
 
+        return renderComparison(path, type, op, val, false);
+    }
+
+    /**
+     * Builds a constraint on a field of the tenant's declared attribute fact (see {@link #typedFieldName}).
+     * Fields are already typed, so no map lookup or cast is needed, and equality and range tests against
+     * literals are left to Drools' native operators so the Rete network can index them.
+     */
+    public String buildTypedExpression(TierCondition condition, PricingInputMetadata metadata) {
+        String val = condition.getAttributeValue();
+        if (val == null || val.trim().isEmpty()) return "true";
+
+        PricingDataType type = PricingDataType.fromString(metadata.getDataType());
+        return renderComparison(typedFieldName(metadata), type, condition.getOperator(), val, true);
+    }
+
+    /**
+     * Name of the declared fact field holding the given custom attribute.
+     * The prefix keeps every name a valid, lower-case led Java identifier.
+     */
+    public static String typedFieldName(PricingInputMetadata metadata) {
+        return "attr_" + metadata.getResolvedSourceField().replaceAll("[^A-Za-z0-9_]", "_");
+    }
 
+    private String renderComparison(String path, PricingDataType type, Operator op, String val, boolean typed) {
+        boolean quoted = type.isQuoted();
 
         if (op == Operator.IN) {
             String list = Arrays.stream(val.split(","))
@@ -47,6 +72,15 @@ public class DroolsExpressionBuilder {
             return String.format("%s in ( %s )", path, list);
         }
 
+        if (typed && type == PricingDataType.DECIMAL && op != Operator.EQ && op != Operator.NE) {
+            // Range tests on a BigDecimal literal are null-safe and indexable; equality keeps compareTo (scale-insensitive)
+            return String.format("%s %s %sB", path, symbol(op), new BigDecimal(val.trim()).toPlainString());
+        }
+
+        if (typed && (type == PricingDataType.DECIMAL || type == PricingDataType.DATE)) {
+            return String.format("(%s != null && %s)", path, renderComparison(path, type, op, val, false));
+        }
+
         if (type == PricingDataType.DECIMAL) {
             String rhs = "new java.math.BigDecimal(\"" + val.trim() + "\")";
             return switch (op) {
@@ -73,7 +107,12 @@ public class DroolsExpressionBuilder {
             };
         }
 
-        String symbol = switch (op) {
+        String finalVal = quoted ? "\"" + val.trim() + "\"" : val.trim();
+        return String.format("%s %s %s", path, symbol(op), finalVal);
+    }
+
+    private static String symbol(Operator op) {
+        return switch (op) {
             case EQ -> "==";
             case NE -> "!=";
             case GT -> ">";
@@ -82,8 +121,5 @@ public class DroolsExpressionBuilder {
             case LE -> "<=";
             default -> throw new IllegalStateException("Bad Op: " + op);
         };
-
-        String finalVal = quoted ? "\"" + val.trim() + "\"" : val.trim();
-        return String.format("%s %s %s", path, symbol, finalVal);
     }
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.bankengine.pricing.service.evaluator;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Immutable interval index over inclusive [min, max] amount ranges (either bound may be open).
+ * Entries are kept once, sorted by their lower bound, with a max-of-upper-bounds tree over that order: a
+ * lookup narrows to the entries starting at or below the amount by binary search and descends only into
+ * subtrees that reach the amount. Building takes O(n log n) time and O(n) memory however the ranges overlap;
+ * a lookup takes O(log n) for disjoint tiers and O((k + 1) log n) when k ranges cover the amount.
+ * Keys compare with compareTo, so 100 and 100.00 are the same bound.
+ */
+public final class ThresholdIndex<T> {
+
+    private final List<T> entries;
+    private final int[] inputOrder;
+    private final BigDecimal[] mins;
+    // Null stands for an open bound: below every amount for mins, above every amount for maxima
+    private final BigDecimal[] subtreeMax;
+
+    public ThresholdIndex(List<T> entries, Function<T, BigDecimal> minOf, Function<T, BigDecimal> maxOf) {
+        List<Integer> kept = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            BigDecimal min = minOf.apply(entries.get(i));
+            BigDecimal max = maxOf.apply(entries.get(i));
+            if (min == null || max == null || min.compareTo(max) <= 0) {
+                kept.add(i);
+            }
+        }
+        kept.sort(Comparator.comparing(i -> minOf.apply(entries.get(i)), Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        int size = kept.size();
+        List<T> sorted = new ArrayList<>(size);
+        this.inputOrder = new int[size];
+        this.mins = new BigDecimal[size];
+        BigDecimal[] maxs = new BigDecimal[size];
+        for (int i = 0; i < size; i++) {
+            T entry = entries.get(kept.get(i));
+            sorted.add(entry);
+            inputOrder[i] = kept.get(i);
+            mins[i] = minOf.apply(entry);
+            maxs[i] = maxOf.apply(entry);
+        }
+        this.entries = List.copyOf(sorted);
+        this.subtreeMax = new BigDecimal[Math.max(1, 4 * size)];
+        if (size > 0) {
+            build(1, 0, size, maxs);
+        }
+    }
+
+    /**
+     * The entries whose range contains the given amount, in input order.
+     */
+    public List<T> candidates(BigDecimal amount) {
+        int startingAtOrBelow = countMinsAtOrBelow(amount);
+        if (startingAtOrBelow == 0) {
+            return List.of();
+        }
+        List<Integer> covering = new ArrayList<>();
+        collect(1, 0, entries.size(), startingAtOrBelow, amount, covering);
+        if (covering.isEmpty()) {
+            return List.of();
+        }
+        covering.sort(Comparator.comparingInt(i -> inputOrder[i]));
+        List<T> result = new ArrayList<>(covering.size());
+        covering.forEach(i -> result.add(entries.get(i)));
+        return result;
+    }
+
+    private void build(int node, int from, int to, BigDecimal[] maxs) {
+        if (to - from == 1) {
+            subtreeMax[node] = maxs[from];
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        build(2 * node, from, middle, maxs);
+        build(2 * node + 1, middle, to, maxs);
+        BigDecimal left = subtreeMax[2 * node];
+        BigDecimal right = subtreeMax[2 * node + 1];
+        subtreeMax[node] = left == null || right == null ? null : left.max(right);
+    }
+
+    /**
+     * Adds the positions below {@code limit} in the node's span whose range reaches up to the amount.
+     */
+    private void collect(int node, int from, int to, int limit, BigDecimal amount, List<Integer> covering) {
+        if (from >= limit || (subtreeMax[node] != null && subtreeMax[node].compareTo(amount) < 0)) {
+            return;
+        }
+        if (to - from == 1) {
+            covering.add(from);
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        collect(2 * node, from, middle, limit, amount, covering);
+        collect(2 * node + 1, middle, to, limit, amount, covering);
+    }
+
+    /**
+     * Number of leading entries (in min order) whose lower bound is open or at most the amount.
+     */
+    private int countMinsAtOrBelow(BigDecimal amount) {
+        int low = 0;
+        int high = mins.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (mins[middle] == null || mins[middle].compareTo(amount) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
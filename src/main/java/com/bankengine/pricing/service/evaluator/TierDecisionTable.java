@@ -0,0 +1,176 @@
+package com.bankengine.pricing.service.evaluator;
+
+import com.bankengine.pricing.model.PriceValue;
+import com.bankengine.pricing.model.PricingDataType;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Immutable, Drools-free evaluator for the pricing components of one tenant whose tiers only use amount
+ * thresholds and EQ/IN conditions. It reproduces what the generated product rules do: for each requested
+ * component the highest-priority matching tier with a price value produces the component's PriceValue.
+ * Whenever that outcome is not certain to match the rule engine (unsupported attribute value types, or two
+ * matching tiers with the same priority, where the agenda order decides) the component is reported back
+ * as unresolved so the caller evaluates it with Drools.
+ */
+public final class TierDecisionTable {
+
+    public static final TierDecisionTable EMPTY = new TierDecisionTable(Map.of());
+
+    private final Map<String, CompiledComponent> componentsByKey;
+
+    TierDecisionTable(Map<String, CompiledComponent> componentsByKey) {
+        this.componentsByKey = Map.copyOf(componentsByKey);
+    }
+
+    /**
+     * Number of components (keyed by code:version) this table can evaluate natively.
+     */
+    public int size() {
+        return componentsByKey.size();
+    }
+
+    /**
+     * Returns a copy in which every component with one of the given ids is replaced by its entry in
+     * {@code recompiled}, or dropped when it has none.
+     */
+    public TierDecisionTable withComponents(Collection<Long> componentIds, TierDecisionTable recompiled) {
+        Map<String, CompiledComponent> merged = new HashMap<>(componentsByKey);
+        merged.values().removeIf(component -> componentIds.contains(component.componentId()));
+        merged.putAll(recompiled.componentsByKey);
+        return new TierDecisionTable(merged);
+    }
+
+    /**
+     * @param bankId           Tenant of the request; tiers of other banks never match.
+     * @param componentKeys    The requested components as code:version.
+     * @param activeTierCodes  Tier codes the request allows, as passed to the rule engine.
+     * @param attributes       The normalized request attributes.
+     */
+    public Evaluation evaluate(String bankId, Set<String> componentKeys, Set<String> activeTierCodes,
+                               Map<String, Object> attributes) {
+        List<PriceValue> priceValues = new ArrayList<>();
+        Set<String> unresolved = new HashSet<>();
+
+        // Rules block on the component code alone, so two versions of one code must go through Drools together
+        Map<String, Long> keysPerCode = new HashMap<>();
+        componentKeys.forEach(key -> keysPerCode.merge(codeOf(key), 1L, Long::sum));
+
+        for (String key : componentKeys) {
+            CompiledComponent component = componentsByKey.get(key);
+            if (component == null || keysPerCode.get(codeOf(key)) > 1) {
+                unresolved.add(key);
+                continue;
+            }
+            Optional<CompiledTier> winner = component.resolve(bankId, activeTierCodes, attributes);
+            if (winner == null) {
+                unresolved.add(key);
+            } else {
+                winner.ifPresent(tier -> priceValues.add(tier.toPriceValue(component.code())));
+            }
+        }
+        return new Evaluation(priceValues, unresolved);
+    }
+
+    private static String codeOf(String componentKey) {
+        int separator = componentKey.lastIndexOf(':');
+        return separator < 0 ? componentKey : componentKey.substring(0, separator);
+    }
+
+    /**
+     * @param priceValues             One PriceValue per natively matched component, as the rules would insert.
+     * @param unresolvedComponentKeys Components that must still be evaluated by the rule engine.
+     */
+    public record Evaluation(List<PriceValue> priceValues, Set<String> unresolvedComponentKeys) {
+    }
+
+    /**
+     * @param tierIndex        The component's priced tiers by amount range, highest priority first.
+     * @param amountAttribute  The attribute thresholds are compared against.
+     */
+    record CompiledComponent(Long componentId, String code, ThresholdIndex<CompiledTier> tierIndex,
+                             String amountAttribute) {
+
+        /**
+         * @return The winning tier, empty when no tier matches, or null when only the rule engine can tell.
+         */
+        Optional<CompiledTier> resolve(String bankId, Set<String> activeTierCodes, Map<String, Object> attributes) {
+            Object rawAmount = attributes.get(amountAttribute);
+            if (rawAmount != null && !(rawAmount instanceof BigDecimal)) {
+                return null;
+            }
+            BigDecimal amount = rawAmount != null ? (BigDecimal) rawAmount : BigDecimal.ZERO;
+
+            CompiledTier winner = null;
+            for (CompiledTier tier : tierIndex.candidates(amount)) {
+                if (winner != null && tier.priority() < winner.priority()) {
+                    break;
+                }
+                if (!activeTierCodes.contains(tier.code()) || !tier.bankId().equals(bankId)) {
+                    continue;
+                }
+                Boolean matches = tier.matches(attributes);
+                if (matches == null) {
+                    return null;
+                }
+                if (matches) {
+                    if (winner != null) {
+                        // Same salience: the agenda, not the configuration, would pick one
+                        return null;
+                    }
+                    winner = tier;
+                }
+            }
+            return Optional.ofNullable(winner);
+        }
+    }
+
+    record CompiledTier(Long id, String code, int priority, String bankId, BigDecimal minThreshold,
+                        BigDecimal maxThreshold, List<AttributeTest> tests, BigDecimal rawValue,
+                        PriceValue.ValueType valueType, String resultBankId) {
+
+        /**
+         * @return Whether every condition holds, or null if an attribute has a type the rules would coerce.
+         */
+        Boolean matches(Map<String, Object> attributes) {
+            for (AttributeTest test : tests) {
+                Boolean result = test.matches(attributes.get(test.attributeKey()));
+                if (result == null) {
+                    return null;
+                }
+                if (!result) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        PriceValue toPriceValue(String componentCode) {
+            PriceValue priceValue = new PriceValue();
+            priceValue.setMatchedTierId(id);
+            priceValue.setMatchedTierCode(code);
+            priceValue.setRawValue(rawValue);
+            priceValue.setValueType(valueType);
+            priceValue.setComponentCode(componentCode);
+            priceValue.setBankId(resultBankId);
+            return priceValue;
+        }
+    }
+
+    /**
+     * An EQ or IN condition: the attribute must equal one of the accepted values.
+     */
+    record AttributeTest(String attributeKey, PricingDataType type, Set<Object> acceptedValues) {
+
+        Boolean matches(Object value) {
+            if (value == null) {
+                return false;
+            }
+            if (!type.getFqn().equals(value.getClass().getName())) {
+                return null;
+            }
+            return acceptedValues.contains(value);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.bankengine.pricing.service.evaluator;
+
+import com.bankengine.pricing.model.PriceValue;
+import com.bankengine.pricing.model.PricingComponent;
+import com.bankengine.pricing.model.PricingDataType;
+import com.bankengine.pricing.model.PricingInputMetadata;
+import com.bankengine.pricing.model.PricingInputMetadata.AttributeSourceType;
+import com.bankengine.pricing.model.PricingTier;
+import com.bankengine.pricing.model.TierCondition;
+import com.bankengine.pricing.model.TierCondition.LogicalConnector;
+import com.bankengine.pricing.model.TierCondition.Operator;
+import com.bankengine.pricing.repository.PricingComponentRepository;
+import com.bankengine.pricing.service.PricingAttributeKeys;
+import com.bankengine.pricing.service.PricingInputMetadataService;
+import com.bankengine.pricing.service.evaluator.TierDecisionTable.AttributeTest;
+import com.bankengine.pricing.service.evaluator.TierDecisionTable.CompiledComponent;
+import com.bankengine.pricing.service.evaluator.TierDecisionTable.CompiledTier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles the product pricing components of a tenant into a {@link TierDecisionTable}.
+ * Only components whose every tier can be evaluated exactly like its generated rule are included:
+ * at most one price value, and conditions that are AND-ed EQ/IN tests of STRING, LONG or BOOLEAN custom
+ * attributes against well-formed literals. Everything else (OR connectors, range operators, decimals,
+ * dates, fact fields) stays with Drools.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class TierDecisionTableCompiler {
+
+    private static final Pattern LONG_LITERAL = Pattern.compile("-?(0|[1-9][0-9]*)");
+    private static final Set<PricingDataType> SUPPORTED_TYPES =
+            EnumSet.of(PricingDataType.STRING, PricingDataType.LONG, PricingDataType.BOOLEAN);
+
+    private final PricingComponentRepository pricingComponentRepository;
+    private final PricingInputMetadataService metadataService;
+
+    /**
+     * Compiles every product pricing component visible to the given tenant.
+     */
+    public TierDecisionTable compileAll(String bankId) {
+        return compile(bankId, pricingComponentRepository.findAllWithDetailsBy());
+    }
+
+    /**
+     * Compiles the given components only, for merging into a live table via
+     * {@link TierDecisionTable#withComponents}.
+     */
+    public TierDecisionTable compile(String bankId, Collection<Long> componentIds) {
+        if (componentIds.isEmpty()) {
+            return TierDecisionTable.EMPTY;
+        }
+        return compile(bankId, pricingComponentRepository.findAllWithDetailsByIdIn(componentIds));
+    }
+
+    private TierDecisionTable compile(String bankId, List<PricingComponent> components) {
+        Map<String, CompiledComponent> compiled = new HashMap<>();
+        // Mirrors the rule builder: the first component of a code:version wins
+        Map<String, PricingComponent> distinct = components.stream()
+                .collect(Collectors.toMap(c -> c.getCode() + ":" + c.getVersion(), c -> c,
+                        (existing, replacement) -> existing, LinkedHashMap::new));
+
+        distinct.forEach((key, component) -> compileComponent(bankId, component)
+                .ifPresent(compiledComponent -> compiled.put(key, compiledComponent)));
+
+        log.debug("Compiled {} of {} pricing component(s) of tenant '{}' into the decision table.",
+                compiled.size(), distinct.size(), bankId);
+        return new TierDecisionTable(compiled);
+    }
+
+    private Optional<CompiledComponent> compileComponent(String bankId, PricingComponent component) {
+        Collection<PricingTier> tiers = component.getPricingTiers() == null ? List.of() :
+                component.getPricingTiers().stream()
+                        .collect(Collectors.toMap(PricingTier::getCode, t -> t,
+                                (existing, replacement) -> existing, LinkedHashMap::new))
+                        .values();
+
+        List<CompiledTier> pricedTiers = new ArrayList<>();
+        for (PricingTier tier : tiers) {
+            if (tier.getPriceValues() != null && tier.getPriceValues().size() > 1) {
+                return Optional.empty();
+            }
+            String tierBankId = tier.getBankId() != null ? tier.getBankId() : bankId;
+            Optional<List<AttributeTest>> tests = compileConditions(tier, tierBankId);
+            if (tests.isEmpty()) {
+                return Optional.empty();
+            }
+            // A tier without a price value fires without inserting anything, so it never decides the result
+            if (tier.getPriceValues() == null || tier.getPriceValues().isEmpty()) {
+                continue;
+            }
+            PriceValue priceValue = tier.getPriceValues().iterator().next();
+            if (priceValue.getRawValue() == null) {
+                return Optional.empty();
+            }
+            pricedTiers.add(new CompiledTier(tier.getId(), tier.getCode(), tier.getPriority(), tierBankId,
+                    tier.getMinThreshold(), tier.getMaxThreshold(), tests.get(),
+                    new BigDecimal(priceValue.getRawValue().toString()),
+                    priceValue.getValueType() != null ? priceValue.getValueType() : PriceValue.ValueType.FEE_ABSOLUTE,
+                    bankId));
+        }
+
+        pricedTiers.sort(Comparator.comparingInt(CompiledTier::priority).reversed());
+        return Optional.of(new CompiledComponent(component.getId(), component.getCode(),
+                new ThresholdIndex<>(pricedTiers, CompiledTier::minThreshold, CompiledTier::maxThreshold),
+                PricingAttributeKeys.TRANSACTION_AMOUNT));
+    }
+
+    private Optional<List<AttributeTest>> compileConditions(PricingTier tier, String tierBankId) {
+        if (tier.getConditions() == null || tier.getConditions().isEmpty()) {
+            return Optional.of(List.of());
+        }
+        List<TierCondition> conditions = List.copyOf(tier.getConditions());
+        List<AttributeTest> tests = new ArrayList<>();
+        for (int i = 0; i < conditions.size(); i++) {
+            TierCondition condition = conditions.get(i);
+            boolean last = i == conditions.size() - 1;
+            if (!last && condition.getConnector() == LogicalConnector.OR) {
+                return Optional.empty();
+            }
+            if (condition.getAttributeValue() == null || condition.getAttributeValue().trim().isEmpty()) {
+                // Renders as "true" in the rule
+                continue;
+            }
+            Optional<AttributeTest> test = compileCondition(condition, tierBankId);
+            if (test.isEmpty()) {
+                return Optional.empty();
+            }
+            tests.add(test.get());
+        }
+        return Optional.of(List.copyOf(tests));
+    }
+
+    private Optional<AttributeTest> compileCondition(TierCondition condition, String tierBankId) {
+        PricingInputMetadata metadata;
+        PricingDataType type;
+        try {
+            metadata = metadataService.getMetadataEntityByKey(condition.getAttributeName(), tierBankId);
+            type = PricingDataType.fromString(metadata.getDataType());
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (metadata.getSourceType() != AttributeSourceType.CUSTOM_ATTRIBUTE || !SUPPORTED_TYPES.contains(type)) {
+            return Optional.empty();
+        }
+
+        List<String> literals;
+        if (condition.getOperator() == Operator.EQ) {
+            literals = List.of(condition.getAttributeValue().trim());
+        } else if (condition.getOperator() == Operator.IN && type != PricingDataType.BOOLEAN) {
+            literals = Arrays.stream(condition.getAttributeValue().split(","))
+                    .map(String::trim).filter(s -> !s.isEmpty())
+                    .toList();
+        } else {
+            return Optional.empty();
+        }
+        if (literals.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Set<Object> accepted = new HashSet<>();
+        for (String literal : literals) {
+            Object value = parseLiteral(type, literal);
+            if (value == null) {
+                return Optional.empty();
+            }
+            accepted.add(value);
+        }
+        return Optional.of(new AttributeTest(metadata.getResolvedSourceField(), type, Set.copyOf(accepted)));
+    }
+
+    /**
+     * Parses a condition literal the way it would read as DRL source, or returns null when the rule
+     * text could mean something else (escapes, octal-looking numbers, non-lowercase booleans).
+     */
+    private static Object parseLiteral(PricingDataType type, String literal) {
+        return switch (type) {
+            case STRING -> literal.contains("\"") || literal.contains("\\") ? null : literal;
+            case LONG -> {
+                if (!LONG_LITERAL.matcher(literal).matches()) yield null;
+                try {
+                    yield Long.valueOf(literal);
+                } catch (NumberFormatException e) {
+                    yield null;
+                }
+            }
+            case BOOLEAN -> "true".equals(literal) || "false".equals(literal) ? Boolean.valueOf(literal) : null;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.bankengine.pricing.service.repricing;
+
+import com.bankengine.pricing.dto.RepricingJobResponse.Status;
+import com.bankengine.pricing.model.RepricingInputFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a re-pricing job, written next to its output after every chunk. The output file holds exactly
+ * {@code outputBytes} bytes of results for the first {@code linesConsumed} input lines; a resumed job truncates
+ * the output to that length and continues reading after those lines.
+ */
+record RepricingCheckpoint(String jobId,
+                           String bankId,
+                           String inputFile,
+                           RepricingInputFormat format,
+                           Status status,
+                           long linesConsumed,
+                           long bytesConsumed,
+                           long inputBytes,
+                           long outputBytes,
+                           long rowsWritten,
+                           long rowsFailed,
+                           LocalDateTime startedAt,
+                           LocalDateTime updatedAt,
+                           String error) {
+
+    static RepricingCheckpoint started(String jobId, String bankId, String inputFile,
+                                       RepricingInputFormat format, long inputBytes) {
+        LocalDateTime now = LocalDateTime.now();
+        return new RepricingCheckpoint(jobId, bankId, inputFile, format, Status.RUNNING,
+                0, 0, inputBytes, 0, 0, 0, now, now, null);
+    }
+
+    RepricingCheckpoint advance(long linesConsumed, long bytesConsumed, long outputBytes, int written, int failed) {
+        return new RepricingCheckpoint(jobId, bankId, inputFile, format, Status.RUNNING,
+                linesConsumed, bytesConsumed, inputBytes, outputBytes, rowsWritten + written, rowsFailed + failed,
+                startedAt, LocalDateTime.now(), null);
+    }
+
+    RepricingCheckpoint withStatus(Status newStatus, String newError) {
+        return new RepricingCheckpoint(jobId, bankId, inputFile, format, newStatus,
+                linesConsumed, newStatus == Status.COMPLETED ? inputBytes : bytesConsumed, inputBytes, outputBytes,
+                rowsWritten, rowsFailed, startedAt, LocalDateTime.now(), newError);
+    }
+
+    int percentComplete() {
+        if (status == Status.COMPLETED || inputBytes <= 0) {
+            return status == Status.COMPLETED ? 100 : 0;
+        }
+        return (int) Math.min(99, bytesConsumed * 100 / inputBytes);
+    }
+}
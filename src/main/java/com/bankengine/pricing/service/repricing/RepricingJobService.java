@@ -0,0 +1,334 @@
+package com.bankengine.pricing.service.repricing;
+
+import com.bankengine.auth.security.TenantContextHolder;
+import com.bankengine.pricing.dto.BatchPriceResponse;
+import com.bankengine.pricing.dto.BatchPriceResponse.BatchPriceItemResult;
+import com.bankengine.pricing.dto.ProductPriceRequest;
+import com.bankengine.pricing.dto.RepricingJobRequest;
+import com.bankengine.pricing.dto.RepricingJobResponse;
+import com.bankengine.pricing.dto.RepricingJobResponse.Status;
+import com.bankengine.pricing.model.RepricingInputFormat;
+import com.bankengine.pricing.service.BatchPricingService;
+import com.bankengine.pricing.service.PricingExecutor;
+import com.bankengine.pricing.service.repricing.RepricingRowReader.Row;
+import com.bankengine.web.exception.NotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Re-prices whole account portfolios from files, e.g. after a tenant publishes new pricing component versions.
+ * <p>
+ * Input files are NDJSON or CSV rows of (productId, enrollmentDate, custom attributes) under
+ * {@code <app.pricing.repricing.directory>/<bankId>/}; each job writes one NDJSON line per row to
+ * {@code <jobId>.results.ndjson} next to them, in input order, in the shape of a batch pricing item whose
+ * index is the input line number.
+ * <p>
+ * The job thread streams the input in chunks and prices up to {@code max-in-flight-chunks} of them at once
+ * through {@link BatchPricingService}, whose groups share the PricingExecutor's concurrency limit. When the
+ * window is full, reading waits for the oldest chunk to be written, so memory stays bounded however large
+ * the file. After every written chunk the output is forced to disk and {@code <jobId>.checkpoint.json}
+ * records how far it got; a job that failed or was interrupted by a shutdown is resumed from there.
+ * Jobs run with the tenant and security context of the user who started or resumed them.
+ */
+@Service
+@Slf4j
+public class RepricingJobService {
+
+    private static final String RESULTS_SUFFIX = ".results.ndjson";
+    private static final String CHECKPOINT_SUFFIX = ".checkpoint.json";
+
+    private record PricedChunk(List<BatchPriceItemResult> items, long linesConsumed, long bytesConsumed) {
+    }
+
+    private final BatchPricingService batchPricingService;
+    private final PricingExecutor pricingExecutor;
+    private final ObjectMapper objectMapper;
+    private final Path baseDirectory;
+    private final int chunkSize;
+    private final int maxInFlightChunks;
+    private final int maxConcurrentJobs;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    // Latest checkpoint of every job started or resumed on this node
+    private final Map<String, RepricingCheckpoint> jobs = new ConcurrentHashMap<>();
+
+    public RepricingJobService(BatchPricingService batchPricingService,
+                               PricingExecutor pricingExecutor,
+                               ObjectMapper objectMapper,
+                               @Value("${app.pricing.repricing.directory:}") String directory,
+                               @Value("${app.pricing.repricing.chunk-size:1000}") int chunkSize,
+                               @Value("${app.pricing.repricing.max-in-flight-chunks:4}") int maxInFlightChunks,
+                               @Value("${app.pricing.repricing.max-concurrent-jobs:2}") int maxConcurrentJobs) {
+        this.batchPricingService = batchPricingService;
+        this.pricingExecutor = pricingExecutor;
+        this.objectMapper = objectMapper;
+        this.baseDirectory = directory == null || directory.isBlank() ? null : Paths.get(directory).toAbsolutePath().normalize();
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxInFlightChunks = Math.max(1, maxInFlightChunks);
+        this.maxConcurrentJobs = Math.max(1, maxConcurrentJobs);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Interrupted jobs are recorded as FAILED and keep their last checkpoint
+        executor.shutdownNow();
+    }
+
+    public RepricingJobResponse startJob(RepricingJobRequest request) {
+        Path tenantDirectory = tenantDirectory();
+        Path input = tenantDirectory.resolve(request.getInputFile()).normalize();
+        if (!input.startsWith(tenantDirectory)) {
+            throw new IllegalArgumentException("Input file must be inside the tenant's re-pricing directory.");
+        }
+        if (!Files.isRegularFile(input)) {
+            throw new NotFoundException("Input file not found: " + request.getInputFile());
+        }
+        RepricingInputFormat format = request.getFormat() != null
+                ? request.getFormat()
+                : RepricingInputFormat.fromFileName(input.getFileName().toString());
+
+        // Rejects an unusable CSV header now rather than in the background
+        try (RepricingRowReader ignored = RepricingRowReader.open(input, format, objectMapper, 0)) {
+            RepricingCheckpoint checkpoint = RepricingCheckpoint.started(UUID.randomUUID().toString(),
+                    TenantContextHolder.getBankId(), tenantDirectory.relativize(input).toString(), format, Files.size(input));
+            writeCheckpoint(tenantDirectory, checkpoint);
+            return launch(tenantDirectory, checkpoint);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start re-pricing of " + request.getInputFile(), e);
+        }
+    }
+
+    /**
+     * Continues a failed or interrupted job, on this or another node, from its last checkpoint.
+     */
+    public RepricingJobResponse resumeJob(String jobId) {
+        Path tenantDirectory = tenantDirectory();
+        RepricingCheckpoint checkpoint = findCheckpoint(tenantDirectory, jobId);
+        if (checkpoint.status() == Status.COMPLETED) {
+            throw new IllegalStateException("Re-pricing job " + jobId + " has already completed.");
+        }
+        return launch(tenantDirectory, checkpoint.withStatus(Status.RUNNING, null));
+    }
+
+    public RepricingJobResponse getJob(String jobId) {
+        return toResponse(findCheckpoint(tenantDirectory(), jobId));
+    }
+
+    private synchronized RepricingJobResponse launch(Path tenantDirectory, RepricingCheckpoint checkpoint) {
+        RepricingCheckpoint current = jobs.get(checkpoint.jobId());
+        if (current != null && current.status() == Status.RUNNING) {
+            throw new IllegalStateException("Re-pricing job " + checkpoint.jobId() + " is already running.");
+        }
+        long running = jobs.values().stream().filter(job -> job.status() == Status.RUNNING).count();
+        if (running >= maxConcurrentJobs) {
+            throw new IllegalStateException("At most " + maxConcurrentJobs + " re-pricing job(s) may run at once.");
+        }
+
+        jobs.put(checkpoint.jobId(), checkpoint);
+        executor.submit(pricingExecutor.withCallerContext(() -> {
+            run(tenantDirectory, checkpoint);
+            return null;
+        })::get);
+        log.info("Re-pricing job {} of tenant '{}' started on {} from line {}.",
+                checkpoint.jobId(), checkpoint.bankId(), checkpoint.inputFile(), checkpoint.linesConsumed() + 1);
+        return toResponse(checkpoint);
+    }
+
+    private void run(Path tenantDirectory, RepricingCheckpoint start) {
+        RepricingCheckpoint checkpoint = start;
+        Path input = tenantDirectory.resolve(start.inputFile());
+        Path output = tenantDirectory.resolve(start.jobId() + RESULTS_SUFFIX);
+
+        try (RepricingRowReader reader = RepricingRowReader.open(input, start.format(), objectMapper, start.linesConsumed());
+             FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // Drops results written after the last checkpoint; their rows are read again
+            channel.truncate(start.outputBytes());
+            channel.position(start.outputBytes());
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+
+            Deque<Future<PricedChunk>> inFlight = new ArrayDeque<>();
+            List<Row> chunk;
+            while (!(chunk = readChunk(reader)).isEmpty()) {
+                inFlight.addLast(priceChunk(chunk, reader.linesConsumed(), reader.bytesRead()));
+                if (inFlight.size() >= maxInFlightChunks) {
+                    checkpoint = writeChunk(tenantDirectory, checkpoint, inFlight.removeFirst().get(), out, channel);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                checkpoint = writeChunk(tenantDirectory, checkpoint, inFlight.removeFirst().get(), out, channel);
+            }
+            checkpoint = checkpoint.withStatus(Status.COMPLETED, null);
+            log.info("Re-pricing job {} completed: {} row(s) written, {} failed.",
+                    checkpoint.jobId(), checkpoint.rowsWritten(), checkpoint.rowsFailed());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            checkpoint = checkpoint.withStatus(Status.FAILED, "Interrupted; resume to continue.");
+            log.warn("Re-pricing job {} interrupted at line {}.", checkpoint.jobId(), checkpoint.linesConsumed());
+        } catch (Exception e) {
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            checkpoint = checkpoint.withStatus(Status.FAILED, cause.getMessage());
+            log.error("Re-pricing job {} failed at line {}.", checkpoint.jobId(), checkpoint.linesConsumed(), cause);
+        }
+
+        try {
+            writeCheckpoint(tenantDirectory, checkpoint);
+        } catch (IOException e) {
+            log.error("Could not record the final state of re-pricing job {}.", checkpoint.jobId(), e);
+        }
+        jobs.put(checkpoint.jobId(), checkpoint);
+    }
+
+    private List<Row> readChunk(RepricingRowReader reader) throws IOException {
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        Row row;
+        while (chunk.size() < chunkSize && (row = reader.next()) != null) {
+            chunk.add(row);
+        }
+        return chunk;
+    }
+
+    private Future<PricedChunk> priceChunk(List<Row> rows, long linesConsumed, long bytesConsumed) {
+        // Not on the PricingExecutor: the batch fans out through it and must not wait for its own slots
+        return executor.submit(pricingExecutor.withCallerContext(() -> {
+            List<ProductPriceRequest> requests = rows.stream()
+                    .filter(row -> row.error() == null)
+                    .map(Row::request)
+                    .toList();
+            Iterator<BatchPriceItemResult> priced = requests.isEmpty()
+                    ? Collections.emptyIterator()
+                    : batchPricingService.calculateBatch(requests).getResults().iterator();
+
+            List<BatchPriceItemResult> items = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                BatchPriceItemResult item = row.error() == null ? priced.next() : unreadable(row);
+                item.setIndex(Math.toIntExact(row.line()));
+                items.add(item);
+            }
+            return new PricedChunk(items, linesConsumed, bytesConsumed);
+        })::get);
+    }
+
+    private RepricingCheckpoint writeChunk(Path tenantDirectory, RepricingCheckpoint checkpoint, PricedChunk chunk,
+                                           OutputStream out, FileChannel channel) throws IOException {
+        long outputBytes = checkpoint.outputBytes();
+        int failed = 0;
+        for (BatchPriceItemResult item : chunk.items()) {
+            byte[] line = objectMapper.writeValueAsBytes(item);
+            out.write(line);
+            out.write('\n');
+            outputBytes += line.length + 1;
+            if (item.getResult() == null) {
+                failed++;
+            }
+        }
+        out.flush();
+        // The checkpoint must never point past results that a crash could still lose
+        channel.force(false);
+
+        RepricingCheckpoint next = checkpoint.advance(chunk.linesConsumed(), chunk.bytesConsumed(), outputBytes,
+                chunk.items().size(), failed);
+        writeCheckpoint(tenantDirectory, next);
+        jobs.put(next.jobId(), next);
+        return next;
+    }
+
+    private static BatchPriceItemResult unreadable(Row row) {
+        return BatchPriceItemResult.builder()
+                .status(HttpStatus.BAD_REQUEST.value())
+                .code("VALIDATION_ERROR")
+                .message(row.error())
+                .build();
+    }
+
+    private RepricingCheckpoint findCheckpoint(Path tenantDirectory, String jobId) {
+        try {
+            UUID.fromString(jobId);
+        } catch (IllegalArgumentException e) {
+            throw new NotFoundException("Re-pricing job not found: " + jobId);
+        }
+        RepricingCheckpoint current = jobs.get(jobId);
+        if (current != null) {
+            if (!current.bankId().equals(TenantContextHolder.getBankId())) {
+                throw new NotFoundException("Re-pricing job not found: " + jobId);
+            }
+            return current;
+        }
+
+        // Jobs of an earlier run of this node, or of another node sharing the directory
+        Path file = tenantDirectory.resolve(jobId + CHECKPOINT_SUFFIX);
+        if (!Files.isRegularFile(file)) {
+            throw new NotFoundException("Re-pricing job not found: " + jobId);
+        }
+        try {
+            RepricingCheckpoint checkpoint = objectMapper.readValue(file.toFile(), RepricingCheckpoint.class);
+            // A job the file still shows as running was cut off without recording its end
+            return checkpoint.status() == Status.RUNNING
+                    ? checkpoint.withStatus(Status.FAILED, "Stopped without completing; resume to continue.")
+                    : checkpoint;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read checkpoint of re-pricing job " + jobId, e);
+        }
+    }
+
+    private void writeCheckpoint(Path tenantDirectory, RepricingCheckpoint checkpoint) throws IOException {
+        Path file = tenantDirectory.resolve(checkpoint.jobId() + CHECKPOINT_SUFFIX);
+        Path tempFile = Files.createTempFile(tenantDirectory, checkpoint.jobId(), ".tmp");
+        try {
+            objectMapper.writeValue(tempFile.toFile(), checkpoint);
+            // A crash must leave either the previous or the new checkpoint, never half of one
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private Path tenantDirectory() {
+        if (baseDirectory == null) {
+            throw new IllegalStateException("Portfolio re-pricing is not enabled: app.pricing.repricing.directory is not set.");
+        }
+        String bankId = TenantContextHolder.getBankId();
+        if (bankId == null) {
+            throw new IllegalStateException("Portfolio re-pricing requires a tenant.");
+        }
+        Path tenantDirectory = baseDirectory.resolve(bankId).normalize();
+        if (!tenantDirectory.getParent().equals(baseDirectory)) {
+            throw new IllegalArgumentException("Invalid bank ID for re-pricing: " + bankId);
+        }
+        try {
+            Files.createDirectories(tenantDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create re-pricing directory " + tenantDirectory, e);
+        }
+        return tenantDirectory;
+    }
+
+    private static RepricingJobResponse toResponse(RepricingCheckpoint checkpoint) {
+        return RepricingJobResponse.builder()
+                .jobId(checkpoint.jobId())
+                .status(checkpoint.status())
+                .format(checkpoint.format())
+                .inputFile(checkpoint.inputFile())
+                .outputFile(checkpoint.jobId() + RESULTS_SUFFIX)
+                .rowsWritten(checkpoint.rowsWritten())
+                .rowsFailed(checkpoint.rowsFailed())
+                .percentComplete(checkpoint.percentComplete())
+                .startedAt(checkpoint.startedAt())
+                .updatedAt(checkpoint.updatedAt())
+                .error(checkpoint.error())
+                .build();
+    }
+}
@@ -0,0 +1,238 @@
+package com.bankengine.pricing.service.repricing;
+
+import com.bankengine.pricing.dto.ProductPriceRequest;
+import com.bankengine.pricing.model.RepricingInputFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Streams the rows of a re-pricing input file, one line at a time, so a file of millions of accounts
+ * never has to fit in memory. A row that cannot be parsed is returned with an error instead of a request,
+ * so it fails on its own. Blank lines are skipped.
+ */
+final class RepricingRowReader implements Closeable {
+
+    private static final String PRODUCT_ID_COLUMN = "productId";
+    private static final String ENROLLMENT_DATE_COLUMN = "enrollmentDate";
+    private static final Pattern DECIMAL = Pattern.compile("-?\\d+(\\.\\d+)?");
+
+    /**
+     * @param line Physical line number in the input file, starting at 1.
+     */
+    record Row(long line, ProductPriceRequest request, String error) {
+    }
+
+    private final RepricingInputFormat format;
+    private final ObjectMapper objectMapper;
+    private final CountingInputStream input;
+    private final BufferedReader reader;
+    private List<String> header;
+    private long linesConsumed;
+
+    private RepricingRowReader(Path file, RepricingInputFormat format, ObjectMapper objectMapper) throws IOException {
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.input = new CountingInputStream(Files.newInputStream(file));
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    /**
+     * Opens the file and positions it after {@code linesToSkip} lines (the header included), which is where
+     * a job resumes from its checkpoint.
+     */
+    static RepricingRowReader open(Path file, RepricingInputFormat format, ObjectMapper objectMapper,
+                                   long linesToSkip) throws IOException {
+        RepricingRowReader rowReader = new RepricingRowReader(file, format, objectMapper);
+        try {
+            if (format == RepricingInputFormat.CSV) {
+                rowReader.readHeader();
+            }
+            while (rowReader.linesConsumed < linesToSkip && rowReader.readLine() != null) {
+                // Rows before the checkpoint already have their results written
+            }
+            return rowReader;
+        } catch (IOException | RuntimeException e) {
+            rowReader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The next row, or null at the end of the file.
+     */
+    Row next() throws IOException {
+        String line;
+        do {
+            line = readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        return format == RepricingInputFormat.CSV ? parseCsvRow(line) : parseJsonRow(line);
+    }
+
+    long linesConsumed() {
+        return linesConsumed;
+    }
+
+    /**
+     * Bytes taken from the file so far; runs slightly ahead of {@link #linesConsumed} by the read buffer.
+     */
+    long bytesRead() {
+        return input.count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String readLine() throws IOException {
+        String line = reader.readLine();
+        if (line != null) {
+            linesConsumed++;
+        }
+        return line;
+    }
+
+    private void readHeader() throws IOException {
+        String line = readLine();
+        if (line == null) {
+            throw new IllegalArgumentException("CSV input is empty; expected a header row.");
+        }
+        header = splitCsvLine(stripByteOrderMark(line)).stream().map(String::trim).toList();
+        if (!header.contains(PRODUCT_ID_COLUMN)) {
+            throw new IllegalArgumentException("CSV header must contain a '" + PRODUCT_ID_COLUMN + "' column.");
+        }
+    }
+
+    private Row parseJsonRow(String line) {
+        try {
+            ProductPriceRequest request = objectMapper.readValue(stripByteOrderMark(line), ProductPriceRequest.class);
+            return request != null
+                    ? new Row(linesConsumed, request, null)
+                    : new Row(linesConsumed, null, "Row is not a JSON object.");
+        } catch (JsonProcessingException e) {
+            return new Row(linesConsumed, null, "Unreadable row: " + e.getOriginalMessage());
+        }
+    }
+
+    private Row parseCsvRow(String line) {
+        List<String> values = splitCsvLine(line);
+        if (values.size() != header.size()) {
+            return new Row(linesConsumed, null,
+                    "Row has " + values.size() + " column(s); the header has " + header.size() + ".");
+        }
+
+        ProductPriceRequest request = new ProductPriceRequest();
+        Map<String, Object> customAttributes = new LinkedHashMap<>();
+        try {
+            for (int i = 0; i < header.size(); i++) {
+                String column = header.get(i);
+                String value = values.get(i).trim();
+                if (value.isEmpty()) {
+                    continue;
+                }
+                switch (column) {
+                    case PRODUCT_ID_COLUMN -> request.setProductId(Long.parseLong(value));
+                    case ENROLLMENT_DATE_COLUMN -> request.setEnrollmentDate(LocalDate.parse(value));
+                    default -> customAttributes.put(column, toAttributeValue(value));
+                }
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            return new Row(linesConsumed, null, "Unreadable row: " + e.getMessage());
+        }
+        request.setCustomAttributes(customAttributes);
+        return new Row(linesConsumed, request, null);
+    }
+
+    /**
+     * Numbers become BigDecimal and true/false booleans; anything else stays a string.
+     */
+    private static Object toAttributeValue(String value) {
+        if (DECIMAL.matcher(value).matches()) {
+            return new BigDecimal(value);
+        }
+        if ("true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value)) {
+            return Boolean.parseBoolean(value);
+        }
+        return value;
+    }
+
+    /**
+     * Splits one RFC 4180 line: fields may be double-quoted, with "" standing for a quote inside them.
+     * Quoted line breaks are not supported; every row must be on one line.
+     */
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String stripByteOrderMark(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
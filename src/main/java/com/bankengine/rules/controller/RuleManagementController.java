@@ -1,11 +1,20 @@
 package com.bankengine.rules.controller;
 
-import com.bankengine.rules.service.KieContainerReloadService;
+import com.bankengine.auth.security.TenantContextHolder;
+import com.bankengine.rules.dto.RuleReloadStatusResponse;
+import com.bankengine.rules.dto.RuleTelemetrySettings;
+import com.bankengine.rules.service.RuleExecutionTelemetry;
+import com.bankengine.rules.service.RuleReloadScheduler;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @Tag(name = "Rule Management", description = "Endpoints for dynamic control and reloading of the Drools ruleset.")
@@ -13,10 +22,14 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/v1/rules")
 public class RuleManagementController {
 
-    private final KieContainerReloadService reloadService;
+    private static final long MAX_AWAIT_MS = 30_000;
 
-    public RuleManagementController(KieContainerReloadService reloadService) {
-        this.reloadService = reloadService;
+    private final RuleReloadScheduler reloadScheduler;
+    private final RuleExecutionTelemetry ruleExecutionTelemetry;
+
+    public RuleManagementController(RuleReloadScheduler reloadScheduler, RuleExecutionTelemetry ruleExecutionTelemetry) {
+        this.reloadScheduler = reloadScheduler;
+        this.ruleExecutionTelemetry = ruleExecutionTelemetry;
     }
 
     /**
@@ -27,7 +40,57 @@ public class RuleManagementController {
             description = "Fetches the latest PricingComponent configuration from the database, generates the DRL, compiles the new KieContainer, and swaps it into the running application. Use this after configuration changes.")
     @PostMapping("/reload")
     public ResponseEntity<String> reloadRules() {
-        reloadService.reloadKieContainer();
+        reloadScheduler.reloadNow();
         return ResponseEntity.ok("✅ Drools KieContainer reloaded successfully with latest database rules.");
     }
-}
\ No newline at end of file
+
+    /**
+     * GET /api/v1/rules/status
+     * Reports the rules version live for the caller's bank and whether committed changes are still compiling.
+     */
+    @Operation(summary = "Returns the rule reload status of the current bank",
+            description = "rulesVersion is the highest committed change already compiled into the live rules; requestedVersion is the highest change committed so far. "
+                    + "Pass awaitVersion to wait (up to timeoutMs, max 30s) until that version is live.")
+    @GetMapping("/status")
+    public ResponseEntity<RuleReloadStatusResponse> getStatus(
+            @RequestParam(required = false) Long awaitVersion,
+            @RequestParam(defaultValue = "10000") long timeoutMs) throws InterruptedException {
+        if (awaitVersion == null) {
+            return ResponseEntity.ok(reloadScheduler.getStatus());
+        }
+        long boundedTimeout = Math.max(0, Math.min(timeoutMs, MAX_AWAIT_MS));
+        return ResponseEntity.ok(reloadScheduler.awaitVersion(TenantContextHolder.getBankId(), awaitVersion, boundedTimeout));
+    }
+
+    /**
+     * GET /api/v1/rules/telemetry
+     * Reports whether rule firings are currently recorded into metrics, and for which share of evaluations.
+     */
+    @Operation(summary = "Returns the rule execution telemetry settings of this node")
+    @GetMapping("/telemetry")
+    @PreAuthorize("hasAuthority('system:stats:read')")
+    public ResponseEntity<RuleTelemetrySettings> getTelemetry() {
+        return ResponseEntity.ok(currentTelemetrySettings());
+    }
+
+    /**
+     * PUT /api/v1/rules/telemetry
+     * Switches rule execution telemetry on or off and sets its sample rate, without a restart.
+     */
+    @Operation(summary = "Updates the rule execution telemetry settings of this node",
+            description = "When enabled, the given share (0 to 1) of rule evaluations records per-rule fire counts and match-to-fire latency "
+                    + "as the drools.rule.fired and drools.rule.match.latency metrics.")
+    @PutMapping("/telemetry")
+    @PreAuthorize("hasAuthority('system:bank:write')")
+    public ResponseEntity<RuleTelemetrySettings> updateTelemetry(@RequestBody RuleTelemetrySettings settings) {
+        ruleExecutionTelemetry.configure(settings.isEnabled(), settings.getSampleRate());
+        return ResponseEntity.ok(currentTelemetrySettings());
+    }
+
+    private RuleTelemetrySettings currentTelemetrySettings() {
+        return RuleTelemetrySettings.builder()
+                .enabled(ruleExecutionTelemetry.isEnabled())
+                .sampleRate(ruleExecutionTelemetry.getSampleRate())
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.bankengine.rules.dto;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder
+@Jacksonized
+public class RuleReloadStatusResponse {
+    private String bankId;
+    /** Highest change sequence already compiled into the live rule base. Never decreases. */
+    private long rulesVersion;
+    /** Highest change sequence committed so far; the rule base is current once rulesVersion reaches it. */
+    private long requestedVersion;
+    private State state;
+    private LocalDateTime lastReloadedAt;
+    private String lastError;
+
+    public enum State {
+        IDLE,
+        PENDING,
+        FAILED
+    }
+}
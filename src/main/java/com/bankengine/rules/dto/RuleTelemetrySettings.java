@@ -0,0 +1,14 @@
+package com.bankengine.rules.dto;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@Jacksonized
+public class RuleTelemetrySettings {
+    private boolean enabled;
+    /** Share of rule evaluations whose firings are recorded, from 0 to 1. */
+    private double sampleRate;
+}
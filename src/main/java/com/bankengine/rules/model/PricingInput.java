@@ -10,6 +10,8 @@ import java.util.Set;
 @Data
 public class PricingInput {
     private String bankId;
+    // Correlates the PriceValue facts inserted for this input when several products are priced in one session
+    private Long productId;
     private Set<String> targetPricingComponentCodes;
     private Set<String> activePricingTierCodes;
     private Map<String, Object> customAttributes = new HashMap<>();
@@ -1,5 +1,7 @@
 package com.bankengine.rules.service;
 
+import com.bankengine.auth.security.TenantContextHolder;
+import com.bankengine.config.drools.RulePackage;
 import com.bankengine.rules.model.BundlePricingInput;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,26 +17,25 @@ public class BundleRulesEngineService {
 
     /**
      * Executes the dedicated Bundle Rules Engine to find adjustments (waivers, discounts).
+     * Sessions are opened on the tenant's bundle KieBase, which holds no product pricing rules.
      */
     public BundlePricingInput determineBundleAdjustments(BundlePricingInput inputFact) {
-
-        // Note: In a real system, you would load a *different* KieContainer/KieSession here
-        // dedicated only to "BUNDLE_ADJUSTMENT" rules. For simplicity, we reuse the reloader.
-        KieSession kieSession = kieContainerReloadService.getKieContainer().newKieSession();
-
-        try {
-            // 1. Insert the input fact
-            kieSession.setGlobal("log", log);
-            kieSession.insert(inputFact);
-
-            // 2. Fire all bundle-specific rules
-            kieSession.fireAllRules();
-
-            // The input object is updated by the rules
-            return inputFact;
-
-        } finally {
-            kieSession.dispose();
+        try (RuleBaseLease lease = kieContainerReloadService.acquire(TenantContextHolder.getBankId(), RulePackage.BUNDLE)) {
+            KieSession kieSession = lease.openSession();
+            try {
+                // 1. Insert the input fact
+                kieSession.setGlobal("log", log);
+                kieSession.insert(inputFact);
+
+                // 2. Fire all bundle-specific rules
+                kieSession.fireAllRules();
+
+                // The input object is updated by the rules
+                return inputFact;
+
+            } finally {
+                lease.releaseSession(kieSession);
+            }
         }
     }
 }
\ No newline at end of file
@@ -1,27 +1,70 @@
 package com.bankengine.rules.service;
 
 import com.bankengine.auth.security.TenantContextHolder;
+import com.bankengine.config.drools.CompiledRuleCache;
 import com.bankengine.config.drools.DroolsKieModuleBuilder;
+import com.bankengine.config.drools.RuleBases;
+import com.bankengine.config.drools.RulePackage;
+import com.bankengine.config.drools.SystemRuleModule;
 import com.bankengine.pricing.service.BundleRuleBuilderService;
 import com.bankengine.pricing.service.ProductRuleBuilderService;
+import com.bankengine.pricing.service.evaluator.TierDecisionTable;
+import com.bankengine.pricing.service.evaluator.TierDecisionTableCompiler;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.kie.api.KieBase;
 import org.kie.api.KieServices;
-import org.kie.api.builder.ReleaseId;
+import org.kie.api.builder.*;
 import org.kie.api.runtime.KieContainer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Map;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Registry of compiled rule bases, keyed by bankId.
+ * Each tenant owns its own KieModule/ReleaseId, so a reload for one bank never recompiles or swaps the
+ * rule base another bank is currently pricing against. A module holds one KieBase per {@link RulePackage},
+ * and sessions are only ever opened on the KieBase of the package the caller evaluates.
+ * Every full build is installed under a fresh ReleaseId version; the module it replaces is removed
+ * from the KieRepository as soon as the last {@link RuleBaseLease} on it is closed.
+ * Full builds consult the {@link CompiledRuleCache} first and only compile DRL that was never compiled before.
+ * A reload whose generated DRL is identical to the live rule base is skipped altogether.
+ * Alongside each tenant rule base a {@link TierDecisionTable} is compiled for the tiers simple enough to
+ * be priced without a KieSession; it is published and leased together with the rule base.
+ * Before a new pricing rule base replaces a live one, the {@link RuleReplayGate} replays recently captured
+ * evaluations against both and may refuse the swap.
+ */
 @Service
 @Slf4j
 public class KieContainerReloadService {
 
-    private final AtomicReference<KieContainer> activeKieContainer;
+    public static final String SYSTEM_SCOPE = "system";
+
+    private final Map<String, RuleModule> tenantModules = new ConcurrentHashMap<>();
+    private final Set<RuleModule> retainedModules = ConcurrentHashMap.newKeySet();
+    private final Map<String, TenantRuleBuild> tenantBuilds = new ConcurrentHashMap<>();
+    private final Map<String, Object> tenantLocks = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> rulesVersions = new ConcurrentHashMap<>();
+    private final AtomicLong executedReloads = new AtomicLong();
+    private final AtomicLong skippedReloads = new AtomicLong();
+
+    @Value("${app.rules.incremental-build.enabled:true}")
+    private boolean incrementalBuildEnabled;
+
+    @Value("${app.rules.session-pool.max-idle:16}")
+    private int sessionPoolMaxIdle;
+
+    @Value("${app.pricing.native-evaluator.enabled:true}")
+    private boolean nativeEvaluatorEnabled;
 
     @Autowired
     @Lazy
@@ -30,55 +73,420 @@ public class KieContainerReloadService {
     private final ProductRuleBuilderService productRuleBuilderService;
     private final BundleRuleBuilderService bundleRuleBuilderService;
     private final DroolsKieModuleBuilder moduleBuilder;
+    private final CompiledRuleCache ruleCache;
+    private final TierDecisionTableCompiler decisionTableCompiler;
+    private final RuleExecutionTelemetry telemetry;
+    private final RuleReplayGate replayGate;
 
     @Autowired
-    public KieContainerReloadService(KieContainer initialKieContainer,
+    public KieContainerReloadService(SystemRuleModule systemRuleModule,
                                      ProductRuleBuilderService productRuleBuilderService,
                                      BundleRuleBuilderService bundleRuleBuilderService,
-                                     DroolsKieModuleBuilder moduleBuilder) {
-        this.activeKieContainer = new AtomicReference<>(initialKieContainer);
+                                     DroolsKieModuleBuilder moduleBuilder,
+                                     CompiledRuleCache ruleCache,
+                                     TierDecisionTableCompiler decisionTableCompiler,
+                                     RuleExecutionTelemetry telemetry,
+                                     RuleReplayGate replayGate) {
+        publish(SYSTEM_SCOPE, new RuleModule(null, systemRuleModule.kieContainer(), systemRuleModule.ruleBases(), null, null));
         this.productRuleBuilderService = productRuleBuilderService;
         this.bundleRuleBuilderService = bundleRuleBuilderService;
         this.moduleBuilder = moduleBuilder;
+        this.ruleCache = ruleCache;
+        this.decisionTableCompiler = decisionTableCompiler;
+        this.telemetry = telemetry;
+        this.replayGate = replayGate;
+    }
+
+    /**
+     * Returns the KieBase of the given package for the bank bound to the current thread.
+     */
+    public KieBase getKieBase(RulePackage rulePackage) {
+        return getKieBase(TenantContextHolder.getBankId(), rulePackage);
+    }
+
+    /**
+     * Returns the KieBase of the given package compiled for the given bank.
+     * Callers that create sessions should use {@link #acquire(String, RulePackage)} instead, so the module
+     * is not evicted while the session is still running.
+     *
+     * @param bankId The tenant to resolve, or null for the shared system rule base.
+     */
+    public KieBase getKieBase(String bankId, RulePackage rulePackage) {
+        return resolveModule(bankId).ruleBases().get(rulePackage);
+    }
+
+    /**
+     * The ReleaseId the bank's live rule base was built under; empty when it was loaded from the compiled-rule cache.
+     */
+    public Optional<ReleaseId> getReleaseId(String bankId) {
+        return Optional.ofNullable(resolveModule(bankId).releaseId());
+    }
+
+    /**
+     * Counter bumped every time the bank's live rules change, whether by a swap or an in-place incremental
+     * update; 0 until the bank's rule base is first published on this node. Does not compile anything.
+     */
+    public long getRulesVersion(String bankId) {
+        AtomicLong version = rulesVersions.get(resolveScope(bankId));
+        return version != null ? version.get() : 0;
+    }
+
+    /**
+     * Leases the current rule base of the given bank for the duration of one evaluation.
+     * If a reload swaps the rule base meanwhile, the leased module stays installed until the lease is closed.
+     *
+     * @param bankId      The tenant to resolve, or null for the shared system rule base.
+     * @param rulePackage The package whose KieBase sessions of this lease are opened on.
+     */
+    public RuleBaseLease acquire(String bankId, RulePackage rulePackage) {
+        while (true) {
+            RuleModule module = resolveModule(bankId);
+            if (module.tryAcquire()) {
+                // The decision table only covers product pricing tiers
+                TierDecisionTable decisionTable = rulePackage == RulePackage.PRICING ? module.decisionTable() : null;
+                return new RuleBaseLease(module.ruleBases().get(rulePackage), module.sessionPool(rulePackage),
+                        decisionTable, telemetry, rulePackage, module::releaseLease);
+            }
+            // Lost a race with a reload; the replacement is already published
+        }
+    }
+
+    /**
+     * Compiles the rule base of the given bank unless it is already loaded on this node,
+     * so the first evaluation for that bank does not wait for the compilation.
+     *
+     * @param bankId The tenant to load, or null for the shared system rule base.
+     */
+    public void warmUp(String bankId) {
+        resolveModule(bankId);
     }
 
-    public KieContainer getKieContainer() {
-        return activeKieContainer.get();
+    /**
+     * Number of superseded rule modules that are still installed because in-flight sessions lease them.
+     * Each is evicted when its last lease is closed, so a count that keeps growing points at leaked leases.
+     */
+    public int getRetainedModuleCount() {
+        return retainedModules.size();
+    }
+
+    /**
+     * Number of rule modules currently published, one per loaded tenant plus the system scope.
+     */
+    public int getLiveModuleCount() {
+        return tenantModules.size();
+    }
+
+    /**
+     * Releases every module on shutdown: session pools are closed, containers (the system one included)
+     * disposed and installed modules removed from the KieRepository.
+     */
+    @PreDestroy
+    void shutdown() {
+        tenantModules.values().forEach(RuleModule::close);
+        retainedModules.forEach(RuleModule::close);
+    }
+
+    /**
+     * Reloads that published new rules, whether compiled or loaded from the compiled-rule cache.
+     */
+    public long getExecutedReloadCount() {
+        return executedReloads.get();
+    }
+
+    /**
+     * Reloads skipped because the generated DRL was identical to the live rule base.
+     */
+    public long getSkippedReloadCount() {
+        return skippedReloads.get();
     }
 
     /**
-     * Fetches rules from the DB, compiles the DRL, and swaps the active KieContainer.
+     * A tenant that has not been compiled on this node yet is compiled on demand; concurrent
+     * callers for the same tenant wait for that single compilation instead of racing it.
+     */
+    private RuleModule resolveModule(String bankId) {
+        String scope = resolveScope(bankId);
+        RuleModule module = tenantModules.get(scope);
+        if (module != null) {
+            return module;
+        }
+
+        synchronized (lockFor(scope)) {
+            module = tenantModules.get(scope);
+            if (module == null) {
+                log.info("No rule base loaded for tenant '{}' yet. Compiling on demand.", scope);
+                reloadKieContainer(bankId);
+                module = tenantModules.get(scope);
+            }
+        }
+        return module;
+    }
+
+    /**
+     * Fetches rules from the DB, compiles the DRL, and swaps the KieContainer of the current tenant.
      * Throws RuntimeException if compilation fails.
      */
     @Transactional(readOnly = true)
     @CacheEvict(value = {"publicCatalog", "productDetails", "productPricingLinks"}, allEntries = true)
     public void reloadKieContainer() {
-        KieServices kieServices = KieServices.Factory.get();
+        String bankId = TenantContextHolder.getBankId();
+        String scope = resolveScope(bankId);
 
         try {
-            String productRuleContent = productRuleBuilderService.buildAllRulesForCompilation();
-            String bundleRuleContent = bundleRuleBuilderService.buildAllRulesForCompilation();
+            synchronized (lockFor(scope)) {
+                rebuild(scope, DroolsKieModuleBuilder.toSafePathId(bankId));
+            }
+            log.info("✅ Drools KieContainer successfully reloaded for tenant '{}'.", scope);
 
-            Map<String, String> drlContent = getDrlContent(productRuleContent, bundleRuleContent);
+        } catch (RuntimeException e) {
+            log.error("❌ DROOLS COMPILATION ERROR during reload for tenant '{}'!", scope);
+            throw e;
+        }
+    }
 
-            ReleaseId releaseId = moduleBuilder.buildAndInstallKieModule(drlContent);
-            KieContainer newContainer = kieServices.newKieContainer(releaseId);
-            activeKieContainer.set(newContainer);
+    /**
+     * Recompiles only the rules of the given components for the current tenant.
+     * Each component lives in its own DRL resource, so the KieBuilder recompiles just those resources
+     * and the live container is patched in place via updateToVersion. Components that no longer exist
+     * have their resource removed. Falls back to a full reload when incremental builds are disabled or
+     * the tenant has not been compiled in the component layout yet.
+     */
+    @Transactional(readOnly = true)
+    @CacheEvict(value = {"publicCatalog", "productDetails", "productPricingLinks"}, allEntries = true)
+    public void reloadComponents(Collection<Long> componentIds) {
+        String bankId = TenantContextHolder.getBankId();
+        String scope = resolveScope(bankId);
+
+        if (!isIncrementalBuildActive()) {
+            reloadKieContainer();
+            return;
+        }
 
-            log.info("✅ Drools KieContainer successfully reloaded.");
+        synchronized (lockFor(scope)) {
+            TenantRuleBuild build = tenantBuilds.get(scope);
+            RuleModule module = tenantModules.get(scope);
+            if (build == null || module == null) {
+                reloadKieContainer();
+                return;
+            }
 
-        } catch (RuntimeException e) {
-            log.error("❌ DROOLS COMPILATION ERROR during reload!");
+            try {
+                applyComponentChanges(scope, build, module, componentIds);
+            } catch (RuleReplayRejectedException e) {
+                // Refused before the shared build was touched; it still matches the live rule base
+                throw e;
+            } catch (RuntimeException e) {
+                // The file system now holds the rejected sources; the next reload must start from scratch.
+                tenantBuilds.remove(scope);
+                log.error("❌ DROOLS COMPILATION ERROR during incremental reload for tenant '{}'!", scope);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Overload to execute an incremental component reload within a specific bank context.
+     */
+    public void reloadComponents(String bankId, Collection<Long> componentIds) {
+        runInTenantContext(bankId, () -> self.reloadComponents(componentIds));
+    }
+
+    /**
+     * Generates the tenant's DRL and publishes a rule base for it, compiling only on a cache miss.
+     * In incremental mode the KieFileSystem/KieBuilder pair is kept so later component edits can patch it.
+     */
+    private void rebuild(String scope, String safeBankId) {
+        Map<String, String> resources = incrementalBuildEnabled
+                ? generateComponentLayout(safeBankId)
+                : generateMonolithicLayout(safeBankId);
+
+        String fingerprint = ruleCache.fingerprint(resources);
+        RuleModule current = tenantModules.get(scope);
+        if (current != null && fingerprint.equals(current.fingerprint())) {
+            skippedReloads.incrementAndGet();
+            log.info("Generated rules of tenant '{}' are unchanged ({}). Skipping compile and swap.", scope, fingerprint);
+            return;
+        }
+
+        executedReloads.incrementAndGet();
+        Optional<RuleBases> cached = ruleCache.load(fingerprint);
+        if (cached.isPresent()) {
+            verifyCandidate(scope, current, cached.get().pricing());
+            // No build state: the next component edit of this tenant falls back to a full build
+            tenantBuilds.remove(scope);
+            publish(scope, new RuleModule(null, null, cached.get(), fingerprint, compileDecisionTable(scope)));
+            return;
+        }
+
+        ReleaseId releaseId = moduleBuilder.newReleaseId(safeBankId);
+        KieFileSystem kieFileSystem = moduleBuilder.newKieFileSystem(releaseId, resources);
+        KieBuilder kieBuilder = moduleBuilder.buildAndInstallKieModule(kieFileSystem);
+        KieContainer kieContainer = KieServices.Factory.get().newKieContainer(releaseId);
+        RuleBases ruleBases = RuleBases.of(kieContainer);
+        try {
+            verifyCandidate(scope, current, ruleBases.pricing());
+        } catch (RuleReplayRejectedException e) {
+            kieContainer.dispose();
+            KieServices.Factory.get().getRepository().removeKieModule(releaseId);
             throw e;
         }
+
+        if (isIncrementalBuildActive()) {
+            tenantBuilds.put(scope, new TenantRuleBuild(releaseId, kieFileSystem, kieBuilder, new HashMap<>(resources)));
+        } else {
+            tenantBuilds.remove(scope);
+        }
+        publish(scope, new RuleModule(releaseId, kieContainer, ruleBases, fingerprint, compileDecisionTable(scope)));
+        ruleCache.store(fingerprint, ruleBases);
     }
 
-    private static Map<String, String> getDrlContent(String productRuleContent, String bundleRuleContent) {
-        String bankId = TenantContextHolder.getBankId();
-        String safeBankId = (bankId != null)
-                ? bankId.toLowerCase().replaceAll("[^a-z0-9]", "")
-                : "system";
+    private Map<String, String> generateMonolithicLayout(String safeBankId) {
+        String productRuleContent = productRuleBuilderService.buildAllRulesForCompilation();
+        String bundleRuleContent = bundleRuleBuilderService.buildAllRulesForCompilation();
+        return getDrlContent(safeBankId, productRuleContent, bundleRuleContent);
+    }
+
+    private Map<String, String> generateComponentLayout(String safeBankId) {
+        Map<String, String> resources = new HashMap<>();
+        resources.put(String.format(DroolsKieModuleBuilder.PRODUCT_HEADER_PATH, safeBankId),
+                productRuleBuilderService.buildPackageHeaderForCompilation());
+        resources.put(String.format(DroolsKieModuleBuilder.BUNDLE_HEADER_PATH, safeBankId),
+                bundleRuleBuilderService.buildPackageHeaderForCompilation());
+        productRuleBuilderService.buildComponentRulesForCompilation().forEach((componentId, drl) ->
+                resources.put(String.format(DroolsKieModuleBuilder.PRODUCT_COMPONENT_RULES_PATH, safeBankId, componentId), drl));
+        bundleRuleBuilderService.buildComponentRulesForCompilation().forEach((componentId, drl) ->
+                resources.put(String.format(DroolsKieModuleBuilder.BUNDLE_COMPONENT_RULES_PATH, safeBankId, componentId), drl));
+        return resources;
+    }
+
+    private void applyComponentChanges(String scope, TenantRuleBuild build, RuleModule module,
+                                       Collection<Long> componentIds) {
+        String safeBankId = DroolsKieModuleBuilder.toSafePathId(TenantContextHolder.getBankId());
+        Map<Long, String> productRules = productRuleBuilderService.buildComponentRulesForCompilation(componentIds);
+        Map<Long, String> bundleRules = bundleRuleBuilderService.buildComponentRulesForCompilation(componentIds);
+
+        // Changes are staged on a copy first, so a candidate the replay gate refuses never reaches the shared build
+        Map<String, String> candidateResources = new HashMap<>(build.resources());
+        List<String> changedPaths = new ArrayList<>();
+        for (Long componentId : componentIds) {
+            stageResource(candidateResources, String.format(DroolsKieModuleBuilder.PRODUCT_COMPONENT_RULES_PATH, safeBankId, componentId),
+                    productRules.get(componentId), changedPaths);
+        }
+        boolean pricingRulesChanged = !changedPaths.isEmpty();
+        for (Long componentId : componentIds) {
+            stageResource(candidateResources, String.format(DroolsKieModuleBuilder.BUNDLE_COMPONENT_RULES_PATH, safeBankId, componentId),
+                    bundleRules.get(componentId), changedPaths);
+        }
+
+        if (changedPaths.isEmpty()) {
+            skippedReloads.incrementAndGet();
+            log.info("Rules of components {} are unchanged for tenant '{}'. Nothing to recompile.", componentIds, scope);
+            return;
+        }
+
+        executedReloads.incrementAndGet();
+        if (pricingRulesChanged && replayGate.isArmed(scope)) {
+            verifyCandidateModule(scope, module, safeBankId, candidateResources);
+        }
+
+        for (String path : changedPaths) {
+            String content = candidateResources.get(path);
+            if (content == null) {
+                build.kieFileSystem().delete(path);
+            } else {
+                build.kieFileSystem().write(path, content);
+            }
+        }
+        build.resources().clear();
+        build.resources().putAll(candidateResources);
+        moduleBuilder.buildIncrementally(build.kieBuilder(), changedPaths);
+        Results results = module.kieContainer().updateToVersion(build.releaseId());
+        if (results.hasMessages(Message.Level.ERROR)) {
+            throw new RuntimeException("Drools errors while updating KieContainer:\n" + results);
+        }
+        bumpRulesVersion(scope);
+        log.info("✅ Incrementally recompiled {} rule resource(s) for tenant '{}'.", changedPaths.size(), scope);
+        String fingerprint = ruleCache.fingerprint(build.resources());
+        module.updateFingerprint(fingerprint);
+        module.updateDecisionTable(mergeDecisionTable(scope, module.decisionTable(), componentIds));
+        ruleCache.store(fingerprint, module.ruleBases());
+    }
+
+    /**
+     * Compiles the staged resources into a throwaway module of their own and replays against it. The live
+     * container is patched in place, so the gate cannot look at the shared build before deciding.
+     */
+    private void verifyCandidateModule(String scope, RuleModule live, String safeBankId, Map<String, String> resources) {
+        ReleaseId candidateId = moduleBuilder.newReleaseId(safeBankId);
+        KieContainer candidate = null;
+        try {
+            moduleBuilder.buildAndInstallKieModule(candidateId, resources);
+            candidate = KieServices.Factory.get().newKieContainer(candidateId);
+            verifyCandidate(scope, live, candidate.getKieBase(RulePackage.PRICING.getKieBaseName()));
+        } finally {
+            if (candidate != null) {
+                candidate.dispose();
+            }
+            KieServices.Factory.get().getRepository().removeKieModule(candidateId);
+        }
+    }
+
+    /**
+     * Replays captured evaluations against the candidate pricing rule base before it replaces the live one.
+     * Throws {@link RuleReplayRejectedException} when the gate refuses the swap.
+     */
+    private void verifyCandidate(String scope, RuleModule live, KieBase candidate) {
+        if (live == null || SYSTEM_SCOPE.equals(scope)) {
+            return;
+        }
+        replayGate.verify(scope, live.ruleBases().pricing(), candidate);
+    }
+
+    /**
+     * Compiles the natively evaluable tiers of a tenant. A failure only disables native evaluation
+     * for that rule base; Drools remains authoritative.
+     */
+    private TierDecisionTable compileDecisionTable(String scope) {
+        if (!nativeEvaluatorEnabled || SYSTEM_SCOPE.equals(scope)) {
+            return null;
+        }
+        try {
+            return decisionTableCompiler.compileAll(scope);
+        } catch (RuntimeException e) {
+            log.warn("Could not compile the pricing decision table of tenant '{}'; pricing uses Drools only.", scope, e);
+            return null;
+        }
+    }
 
+    private TierDecisionTable mergeDecisionTable(String scope, TierDecisionTable current, Collection<Long> componentIds) {
+        if (current == null) {
+            return compileDecisionTable(scope);
+        }
+        try {
+            return current.withComponents(componentIds, decisionTableCompiler.compile(scope, componentIds));
+        } catch (RuntimeException e) {
+            log.warn("Could not update the pricing decision table of tenant '{}'; pricing uses Drools only.", scope, e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes, replaces or deletes a single component resource and records its path when the content changed.
+     */
+    private static void stageResource(Map<String, String> resources, String path, String newContent, List<String> changedPaths) {
+        String currentContent = resources.get(path);
+        if (Objects.equals(currentContent, newContent)) {
+            return;
+        }
+        if (newContent == null) {
+            resources.remove(path);
+        } else {
+            resources.put(path, newContent);
+        }
+        changedPaths.add(path);
+    }
+
+    private static Map<String, String> getDrlContent(String safeBankId, String productRuleContent, String bundleRuleContent) {
         String productPath = String.format(DroolsKieModuleBuilder.PRODUCT_RULES_PATH, safeBankId);
         String bundlePath = String.format(DroolsKieModuleBuilder.BUNDLE_RULES_PATH, safeBankId);
 
@@ -88,6 +496,14 @@ public class KieContainerReloadService {
         );
     }
 
+    private boolean isIncrementalBuildActive() {
+        return incrementalBuildEnabled && moduleBuilder.supportsIncrementalBuild();
+    }
+
+    private static String resolveScope(String bankId) {
+        return bankId != null ? bankId : SYSTEM_SCOPE;
+    }
+
     /**
      * Overload to execute rule reload within a specific bank context.
      * Changed return type to void to match the worker method.
@@ -95,18 +511,173 @@ public class KieContainerReloadService {
      * @param bankId The bankId to use for the rule compilation database read.
      */
     public void reloadKieContainer(String bankId) {
+        runInTenantContext(bankId, () -> self.reloadKieContainer());
+    }
+
+    /**
+     * Swaps in a newly built module and retires the one it replaces.
+     */
+    private void publish(String scope, RuleModule module) {
+        RuleModule previous = tenantModules.put(scope, module);
+        bumpRulesVersion(scope);
+        if (previous != null) {
+            retainedModules.add(previous);
+            previous.retire();
+        }
+    }
+
+    private void bumpRulesVersion(String scope) {
+        rulesVersions.computeIfAbsent(scope, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    private void evict(RuleModule module) {
+        if (module.releaseId() != null) {
+            KieServices.Factory.get().getRepository().removeKieModule(module.releaseId());
+        }
+        module.closeSessionPools();
+        if (module.kieContainer() != null) {
+            module.kieContainer().dispose();
+        }
+        retainedModules.remove(module);
+        log.info("Evicted rule module {}.", module.releaseId());
+    }
+
+    private Object lockFor(String scope) {
+        return tenantLocks.computeIfAbsent(scope, key -> new Object());
+    }
+
+    private static void runInTenantContext(String bankId, Runnable action) {
         if (bankId == null) {
-            self.reloadKieContainer();
+            action.run();
             return;
         }
 
         String previousBankId = TenantContextHolder.getBankId();
         try {
             TenantContextHolder.setBankId(bankId);
-            // Use 'self' proxy to ensure @Transactional on the worker method is honored
-            self.reloadKieContainer();
+            // Actions go through the 'self' proxy so @Transactional on the worker methods is honored
+            action.run();
         } finally {
             TenantContextHolder.setBankId(previousBankId);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * A published rule base, reference counted by open leases. Modules built on this node carry their
+     * ReleaseId and KieContainer; modules loaded from the compiled-rule cache only have the KieBases.
+     * Once retired (superseded by a newer build) it is evicted when the last lease is released.
+     */
+    private final class RuleModule {
+        private final ReleaseId releaseId;
+        private final KieContainer kieContainer;
+        private final RuleBases ruleBases;
+        private volatile String fingerprint;
+        private volatile TierDecisionTable decisionTable;
+        private final Map<RulePackage, RuleSessionPool> sessionPools = new EnumMap<>(RulePackage.class);
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicBoolean evicted = new AtomicBoolean();
+        private volatile boolean retired;
+
+        private RuleModule(ReleaseId releaseId, KieContainer kieContainer, RuleBases ruleBases, String fingerprint,
+                           TierDecisionTable decisionTable) {
+            this.releaseId = releaseId;
+            this.kieContainer = kieContainer;
+            this.ruleBases = ruleBases;
+            this.fingerprint = fingerprint;
+            this.decisionTable = decisionTable;
+        }
+
+        ReleaseId releaseId() {
+            return releaseId;
+        }
+
+        KieContainer kieContainer() {
+            return kieContainer;
+        }
+
+        RuleBases ruleBases() {
+            return ruleBases;
+        }
+
+        /**
+         * Fingerprint of the DRL resources this rule base was compiled from; null when unknown.
+         */
+        String fingerprint() {
+            return fingerprint;
+        }
+
+        void updateFingerprint(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        /**
+         * Decision table compiled from the same configuration as the rule base; null when unavailable.
+         */
+        TierDecisionTable decisionTable() {
+            return decisionTable;
+        }
+
+        void updateDecisionTable(TierDecisionTable decisionTable) {
+            this.decisionTable = decisionTable;
+        }
+
+        /**
+         * Idle sessions of the given package's KieBase, created on first use; null when pooling is disabled.
+         */
+        synchronized RuleSessionPool sessionPool(RulePackage rulePackage) {
+            if (sessionPoolMaxIdle <= 0) {
+                return null;
+            }
+            return sessionPools.computeIfAbsent(rulePackage,
+                    key -> new RuleSessionPool(ruleBases.get(key), sessionPoolMaxIdle));
+        }
+
+        synchronized void closeSessionPools() {
+            sessionPools.values().forEach(RuleSessionPool::close);
+        }
+
+        boolean tryAcquire() {
+            inFlight.incrementAndGet();
+            if (retired) {
+                releaseLease();
+                return false;
+            }
+            return true;
+        }
+
+        void releaseLease() {
+            if (inFlight.decrementAndGet() == 0 && retired) {
+                evictIfIdle();
+            }
+        }
+
+        void retire() {
+            retired = true;
+            evictIfIdle();
+        }
+
+        private void evictIfIdle() {
+            if (inFlight.get() == 0 && evicted.compareAndSet(false, true)) {
+                evict(this);
+            }
+        }
+
+        /**
+         * Evicts the module regardless of open leases; only for shutdown.
+         */
+        void close() {
+            retired = true;
+            if (evicted.compareAndSet(false, true)) {
+                evict(this);
+            }
+        }
+    }
+
+    /**
+     * Build state kept per tenant so later component edits can be compiled incrementally
+     * against the same KieFileSystem/KieBuilder pair.
+     */
+    private record TenantRuleBuild(ReleaseId releaseId, KieFileSystem kieFileSystem, KieBuilder kieBuilder,
+                                   Map<String, String> resources) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.bankengine.rules.service;
+
+import com.bankengine.config.drools.RulePackage;
+import com.bankengine.pricing.service.evaluator.TierDecisionTable;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pins the rule base a caller is evaluating against. While any lease on a superseded KieModule is open
+ * the module stays installed; closing the last lease lets the registry evict it from the KieRepository.
+ * Sessions opened from a lease must be released before the lease is closed.
+ */
+public final class RuleBaseLease implements AutoCloseable {
+
+    private final KieBase kieBase;
+    private final RuleSessionPool sessionPool;
+    private final TierDecisionTable decisionTable;
+    private final RuleExecutionTelemetry telemetry;
+    private final RulePackage rulePackage;
+    private final Runnable onClose;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    public RuleBaseLease(KieBase kieBase, Runnable onClose) {
+        this(kieBase, null, null, null, null, onClose);
+    }
+
+    RuleBaseLease(KieBase kieBase, RuleSessionPool sessionPool, TierDecisionTable decisionTable,
+                  RuleExecutionTelemetry telemetry, RulePackage rulePackage, Runnable onClose) {
+        this.kieBase = kieBase;
+        this.sessionPool = sessionPool;
+        this.decisionTable = decisionTable;
+        this.telemetry = telemetry;
+        this.rulePackage = rulePackage;
+        this.onClose = onClose;
+    }
+
+    public KieBase getKieBase() {
+        return kieBase;
+    }
+
+    /**
+     * The natively evaluable pricing tiers compiled alongside the leased rule base; null when none were compiled.
+     */
+    public TierDecisionTable getDecisionTable() {
+        return decisionTable;
+    }
+
+    public KieSession newKieSession() {
+        return kieBase.newKieSession();
+    }
+
+    /**
+     * Opens a session on the leased rule base, reusing an idle pooled session when pooling is enabled.
+     * Must be handed back through {@link #releaseSession(KieSession)}.
+     */
+    public KieSession openSession() {
+        KieSession kieSession = sessionPool != null ? sessionPool.borrow() : kieBase.newKieSession();
+        if (telemetry != null) {
+            telemetry.attach(kieSession, rulePackage);
+        }
+        return kieSession;
+    }
+
+    /**
+     * Returns a session obtained from {@link #openSession()} to the pool, or disposes it when pooling is off.
+     */
+    public void releaseSession(KieSession kieSession) {
+        if (telemetry != null) {
+            telemetry.detach(kieSession);
+        }
+        if (sessionPool != null) {
+            sessionPool.release(kieSession);
+        } else {
+            kieSession.dispose();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            onClose.run();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.bankengine.rules.service;
+
+import com.bankengine.auth.security.TenantContextHolder;
+import com.bankengine.config.drools.RulePackage;
+import com.bankengine.web.exception.ValidationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.kie.api.event.rule.AfterMatchFiredEvent;
+import org.kie.api.event.rule.DefaultAgendaEventListener;
+import org.kie.api.event.rule.MatchCancelledEvent;
+import org.kie.api.event.rule.MatchCreatedEvent;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.Match;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records which generated rules fire, and how long each match waited on the agenda, into Micrometer.
+ * Replaces per-rule RHS logging: a listener is only attached to the sessions of a sampled share of
+ * evaluations, so with telemetry off a session runs without any listener at all.
+ * Both the switch and the sample rate can be changed at runtime.
+ * Meters are tagged with bankId, package and component, taken from the rule's metadata. Meters are never
+ * removed, so the tier is only added as a tag when {@code app.rules.telemetry.tier-tag.enabled} is set:
+ * every tier version a tenant publishes would otherwise add meters to the registry and the scrape.
+ */
+@Component
+@Slf4j
+public class RuleExecutionTelemetry {
+
+    public static final String RULES_FIRED_METRIC = "drools.rule.fired";
+    public static final String MATCH_LATENCY_METRIC = "drools.rule.match.latency";
+    public static final String COMPONENT_METADATA = "component";
+    public static final String TIER_METADATA = "tier";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.rules.telemetry.enabled:false}")
+    private volatile boolean enabled;
+
+    @Value("${app.rules.telemetry.sample-rate:0.01}")
+    private volatile double sampleRate;
+
+    @Value("${app.rules.telemetry.tier-tag.enabled:false}")
+    private boolean tierTagEnabled;
+
+    public RuleExecutionTelemetry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Switches telemetry at runtime. Takes effect for sessions opened afterwards.
+     *
+     * @param sampleRate Share of evaluations to record, from 0 (none) to 1 (all).
+     */
+    public void configure(boolean enabled, double sampleRate) {
+        if (Double.isNaN(sampleRate) || sampleRate < 0 || sampleRate > 1) {
+            throw new ValidationException("Sample rate must be between 0 and 1.");
+        }
+        this.sampleRate = sampleRate;
+        this.enabled = enabled;
+        log.info("Rule execution telemetry {} (sample rate {}).", enabled ? "enabled" : "disabled", sampleRate);
+    }
+
+    /**
+     * Starts recording the given session's rule firings if this evaluation is sampled.
+     */
+    void attach(KieSession session, RulePackage rulePackage) {
+        if (!enabled || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        String bankId = TenantContextHolder.getBankId();
+        session.addEventListener(new RuleFiringListener(meterRegistry,
+                bankId != null ? bankId : KieContainerReloadService.SYSTEM_SCOPE, rulePackage, tierTagEnabled));
+    }
+
+    /**
+     * Removes any listener {@link #attach} added, before the session is reset or disposed.
+     */
+    void detach(KieSession session) {
+        List<RuleFiringListener> listeners = session.getAgendaEventListeners().stream()
+                .filter(RuleFiringListener.class::isInstance)
+                .map(RuleFiringListener.class::cast)
+                .toList();
+        listeners.forEach(session::removeEventListener);
+    }
+
+    /**
+     * Listener for a single sampled evaluation. Sessions fire on the calling thread, so its state needs
+     * no synchronization.
+     */
+    private static final class RuleFiringListener extends DefaultAgendaEventListener {
+
+        private final MeterRegistry meterRegistry;
+        private final String bankId;
+        private final RulePackage rulePackage;
+        private final boolean tierTagEnabled;
+        private final Map<Match, Long> createdAt = new IdentityHashMap<>();
+
+        private RuleFiringListener(MeterRegistry meterRegistry, String bankId, RulePackage rulePackage,
+                                   boolean tierTagEnabled) {
+            this.meterRegistry = meterRegistry;
+            this.bankId = bankId;
+            this.rulePackage = rulePackage;
+            this.tierTagEnabled = tierTagEnabled;
+        }
+
+        @Override
+        public void matchCreated(MatchCreatedEvent event) {
+            createdAt.put(event.getMatch(), System.nanoTime());
+        }
+
+        @Override
+        public void matchCancelled(MatchCancelledEvent event) {
+            createdAt.remove(event.getMatch());
+        }
+
+        @Override
+        public void afterMatchFired(AfterMatchFiredEvent event) {
+            Long created = createdAt.remove(event.getMatch());
+            Map<String, Object> metadata = event.getMatch().getRule().getMetaData();
+            Object component = metadata.get(COMPONENT_METADATA);
+            if (component == null) {
+                // Infrastructure rules (attribute binding, placeholders) are not pricing tiers
+                return;
+            }
+
+            Tags tags = Tags.of(
+                    "bankId", bankId,
+                    "package", rulePackage.name().toLowerCase(),
+                    "component", unquote(component));
+            if (tierTagEnabled) {
+                tags = tags.and("tier", unquote(metadata.getOrDefault(TIER_METADATA, "")));
+            }
+            meterRegistry.counter(RULES_FIRED_METRIC, tags).increment();
+            if (created != null) {
+                meterRegistry.timer(MATCH_LATENCY_METRIC, tags).record(System.nanoTime() - created, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private static String unquote(Object value) {
+            String text = String.valueOf(value);
+            return text.length() >= 2 && text.startsWith("\"") && text.endsWith("\"")
+                    ? text.substring(1, text.length() - 1)
+                    : text;
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.bankengine.rules.service;
+
+import com.bankengine.auth.security.TenantContextHolder;
+import com.bankengine.rules.dto.RuleReloadStatusResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Moves rule compilation off the admin write path.
+ * Reload requests are queued once the surrounding transaction commits and debounced per tenant,
+ * so a burst of edits is compiled into the live rule base in a single pass. Every committed request
+ * gets a sequence number; the tenant's rules version is the highest sequence already compiled.
+ * With {@code app.rules.reload.async.enabled=false} requests compile synchronously in the caller.
+ */
+@Service
+@Slf4j
+public class RuleReloadScheduler {
+
+    private final KieContainerReloadService reloadService;
+    private final Map<String, TenantReloadState> tenantStates = new ConcurrentHashMap<>();
+
+    @Value("${app.rules.reload.async.enabled:true}")
+    private boolean asyncEnabled;
+
+    @Value("${app.rules.reload.debounce-ms:500}")
+    private long debounceMs;
+
+    @Value("${app.rules.reload.worker-threads:2}")
+    private int workerThreads;
+
+    private ScheduledExecutorService executor;
+
+    public RuleReloadScheduler(KieContainerReloadService reloadService) {
+        this.reloadService = reloadService;
+    }
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newScheduledThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "rule-reload-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Schedules recompilation of the given components for the current tenant.
+     */
+    public void requestComponentReload(Collection<Long> componentIds) {
+        request(TenantContextHolder.getBankId(), List.copyOf(componentIds), false);
+    }
+
+    /**
+     * Schedules a full rebuild of the current tenant's rule base.
+     */
+    public void requestFullReload() {
+        requestFullReload(TenantContextHolder.getBankId());
+    }
+
+    /**
+     * Schedules a full rebuild of the given tenant's rule base.
+     *
+     * @param bankId The tenant to rebuild, or null for the shared system rule base.
+     */
+    public void requestFullReload(String bankId) {
+        request(bankId, List.of(), true);
+    }
+
+    /**
+     * Rebuilds the current tenant's rule base synchronously, folding in every change queued so far.
+     */
+    public RuleReloadStatusResponse reloadNow() {
+        String bankId = TenantContextHolder.getBankId();
+        TenantReloadState state = stateFor(bankId);
+        long targetVersion;
+        synchronized (state) {
+            targetVersion = ++state.requestedVersion;
+        }
+        try {
+            reloadService.reloadKieContainer(bankId);
+        } catch (RuntimeException e) {
+            markFailed(state, targetVersion, e);
+            throw e;
+        }
+        markApplied(state, targetVersion);
+        return getStatus(bankId);
+    }
+
+    public RuleReloadStatusResponse getStatus() {
+        return getStatus(TenantContextHolder.getBankId());
+    }
+
+    public RuleReloadStatusResponse getStatus(String bankId) {
+        TenantReloadState state = stateFor(bankId);
+        synchronized (state) {
+            RuleReloadStatusResponse.State status = state.lastError != null
+                    ? RuleReloadStatusResponse.State.FAILED
+                    : state.appliedVersion < state.requestedVersion
+                        ? RuleReloadStatusResponse.State.PENDING
+                        : RuleReloadStatusResponse.State.IDLE;
+            return RuleReloadStatusResponse.builder()
+                    .bankId(state.scope)
+                    .rulesVersion(state.appliedVersion)
+                    .requestedVersion(state.requestedVersion)
+                    .state(status)
+                    .lastReloadedAt(state.lastReloadedAt)
+                    .lastError(state.lastError)
+                    .build();
+        }
+    }
+
+    /**
+     * Blocks until the tenant's rules version reaches {@code version} or the timeout elapses.
+     *
+     * @return The status at the time the wait ended.
+     */
+    public RuleReloadStatusResponse awaitVersion(String bankId, long version, long timeoutMs) throws InterruptedException {
+        TenantReloadState state = stateFor(bankId);
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        synchronized (state) {
+            long remaining = timeoutMs;
+            while (state.appliedVersion < version && state.failedVersion < version && remaining > 0) {
+                state.wait(remaining);
+                remaining = deadline - System.currentTimeMillis();
+            }
+        }
+        return getStatus(bankId);
+    }
+
+    private void request(String bankId, List<Long> componentIds, boolean fullReload) {
+        if (!asyncEnabled) {
+            reloadSynchronously(bankId, componentIds, fullReload);
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Compiling before commit would read uncommitted (or later rolled back) configuration
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(bankId, componentIds, fullReload);
+                }
+            });
+        } else {
+            enqueue(bankId, componentIds, fullReload);
+        }
+    }
+
+    private void reloadSynchronously(String bankId, List<Long> componentIds, boolean fullReload) {
+        TenantReloadState state = stateFor(bankId);
+        long targetVersion;
+        boolean rebuild;
+        synchronized (state) {
+            targetVersion = ++state.requestedVersion;
+            rebuild = fullReload || state.rebuildRequired;
+        }
+        try {
+            if (rebuild) {
+                reloadService.reloadKieContainer(bankId);
+            } else {
+                reloadService.reloadComponents(bankId, componentIds);
+            }
+        } catch (RuntimeException e) {
+            markFailed(state, targetVersion, e);
+            throw e;
+        }
+        markApplied(state, targetVersion);
+    }
+
+    private void enqueue(String bankId, List<Long> componentIds, boolean fullReload) {
+        TenantReloadState state = stateFor(bankId);
+        synchronized (state) {
+            state.requestedVersion++;
+            if (fullReload) {
+                state.fullReloadPending = true;
+                state.pendingComponentIds.clear();
+            } else if (!state.fullReloadPending) {
+                state.pendingComponentIds.addAll(componentIds);
+            }
+
+            // A drain that is already scheduled or running picks this change up; never run two per tenant.
+            if (!state.drainScheduled) {
+                state.drainScheduled = true;
+                executor.schedule(() -> drain(bankId, state), debounceMs, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void drain(String bankId, TenantReloadState state) {
+        Set<Long> componentIds;
+        boolean fullReload;
+        long targetVersion;
+        synchronized (state) {
+            componentIds = new LinkedHashSet<>(state.pendingComponentIds);
+            // After a failed batch only a full rebuild is guaranteed to cover the changes it dropped
+            fullReload = state.fullReloadPending || state.rebuildRequired;
+            targetVersion = state.requestedVersion;
+            state.pendingComponentIds.clear();
+            state.fullReloadPending = false;
+        }
+
+        try {
+            // Pool threads inherit whatever tenant context the thread that created them had
+            TenantContextHolder.clear();
+            if (fullReload) {
+                reloadService.reloadKieContainer(bankId);
+            } else if (!componentIds.isEmpty()) {
+                reloadService.reloadComponents(bankId, componentIds);
+            }
+            markApplied(state, targetVersion);
+            log.info("Rules version {} is live for tenant '{}'.", targetVersion, state.scope);
+        } catch (RuntimeException e) {
+            log.error("Background rule reload failed for tenant '{}': {}", state.scope, e.getMessage());
+            markFailed(state, targetVersion, e);
+        } finally {
+            TenantContextHolder.clear();
+            synchronized (state) {
+                if (state.fullReloadPending || !state.pendingComponentIds.isEmpty()) {
+                    executor.schedule(() -> drain(bankId, state), debounceMs, TimeUnit.MILLISECONDS);
+                } else {
+                    state.drainScheduled = false;
+                }
+            }
+        }
+    }
+
+    private static void markApplied(TenantReloadState state, long targetVersion) {
+        synchronized (state) {
+            state.appliedVersion = Math.max(state.appliedVersion, targetVersion);
+            state.lastReloadedAt = LocalDateTime.now();
+            state.lastError = null;
+            state.rebuildRequired = false;
+            state.notifyAll();
+        }
+    }
+
+    /**
+     * Records a failed reload so status reports FAILED and waiters for the version return instead of timing out.
+     */
+    private static void markFailed(TenantReloadState state, long targetVersion, RuntimeException e) {
+        synchronized (state) {
+            state.lastError = e.getMessage();
+            state.failedVersion = Math.max(state.failedVersion, targetVersion);
+            // After a failed batch only a full rebuild is guaranteed to cover the changes it dropped
+            state.rebuildRequired = true;
+            state.notifyAll();
+        }
+    }
+
+    private TenantReloadState stateFor(String bankId) {
+        String scope = bankId != null ? bankId : KieContainerReloadService.SYSTEM_SCOPE;
+        return tenantStates.computeIfAbsent(scope, TenantReloadState::new);
+    }
+
+    /**
+     * Mutable per-tenant bookkeeping; every field is guarded by the instance monitor.
+     */
+    private static final class TenantReloadState {
+        private final String scope;
+        private final Set<Long> pendingComponentIds = new LinkedHashSet<>();
+        private boolean fullReloadPending;
+        private boolean drainScheduled;
+        private boolean rebuildRequired;
+        private long requestedVersion;
+        private long appliedVersion;
+        private long failedVersion;
+        private LocalDateTime lastReloadedAt;
+        private String lastError;
+
+        private TenantReloadState(String scope) {
+            this.scope = scope;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.bankengine.rules.service;
+
+import com.bankengine.pricing.model.PriceValue;
+import com.bankengine.rules.model.PricingInput;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.ClassObjectFilter;
+import org.kie.api.runtime.KieSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Shadow-evaluates a freshly compiled pricing rule base before it replaces the live one.
+ * A sampled share of production pricing evaluations is captured per tenant (the rule inputs only,
+ * so replaying needs no database). Before a swap the captured inputs are fired against both the live
+ * and the candidate KieBase, and the p50/p99 latencies and results are compared.
+ * In FLAG mode a p99 regression beyond the budget is logged and counted; in ENFORCE mode the swap is
+ * refused and the live rule base stays in place. Changed results are reported but never gate a swap,
+ * since changing results is what a reload is for.
+ */
+@Component
+@Slf4j
+public class RuleReplayGate {
+
+    public static final String REPLAY_METRIC = "drools.rule.replay";
+
+    public enum Mode { OFF, FLAG, ENFORCE }
+
+    /**
+     * Rule inputs of one captured pricing evaluation.
+     */
+    public record Sample(String bankId, Long productId, Set<String> componentCodes, Set<String> activeTierCodes,
+                         Map<String, Object> attributes) {
+    }
+
+    /**
+     * Outcome of replaying the captured samples of a tenant against the live and candidate rule bases.
+     */
+    public record Report(int samples, long liveP50Micros, long liveP99Micros, long candidateP50Micros,
+                         long candidateP99Micros, int changedResults, boolean regressed) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, SampleBuffer> buffers = new ConcurrentHashMap<>();
+
+    @Value("${app.rules.replay.mode:FLAG}")
+    private Mode mode;
+
+    @Value("${app.rules.replay.capture-rate:0.05}")
+    private double captureRate;
+
+    @Value("${app.rules.replay.sample-size:100}")
+    private int sampleSize;
+
+    @Value("${app.rules.replay.max-p99-regression-percent:50}")
+    private int maxP99RegressionPercent;
+
+    @Value("${app.rules.replay.latency-noise-floor-micros:500}")
+    private long latencyNoiseFloorMicros;
+
+    public RuleReplayGate(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Records the rule inputs of a pricing evaluation if it is sampled, as they are inserted into the
+     * production session. Only the most recent {@code sample-size} samples of each tenant are kept.
+     */
+    public void capture(String bankId, Long productId, Set<String> componentCodes, Set<String> activeTierCodes,
+                        Map<String, Object> attributes) {
+        if (mode == Mode.OFF || bankId == null || ThreadLocalRandom.current().nextDouble() >= captureRate) {
+            return;
+        }
+        Sample sample = new Sample(bankId, productId,
+                Collections.unmodifiableSet(new HashSet<>(componentCodes)),
+                Collections.unmodifiableSet(new HashSet<>(activeTierCodes)),
+                Collections.unmodifiableMap(new HashMap<>(attributes)));
+        buffers.computeIfAbsent(bankId, key -> new SampleBuffer(sampleSize)).add(sample);
+    }
+
+    /**
+     * Whether a candidate rule base of the given tenant would be replayed, so callers can skip building
+     * a separate candidate container when it would not.
+     */
+    public boolean isArmed(String bankId) {
+        SampleBuffer buffer = buffers.get(bankId);
+        return mode != Mode.OFF && buffer != null && !buffer.isEmpty();
+    }
+
+    /**
+     * Replays the tenant's captured samples against both rule bases and decides whether the candidate
+     * may be published.
+     *
+     * @return The replay report; empty when the gate is off or nothing was captured yet.
+     * @throws RuleReplayRejectedException In ENFORCE mode, when the candidate's p99 latency regressed past the budget.
+     */
+    public Optional<Report> verify(String bankId, KieBase live, KieBase candidate) {
+        SampleBuffer buffer = buffers.get(bankId);
+        if (mode == Mode.OFF || live == null || live == candidate || buffer == null) {
+            return Optional.empty();
+        }
+        List<Sample> samples = buffer.snapshot();
+        if (samples.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Report report = replay(samples, live, candidate);
+        if (!report.regressed()) {
+            log.info("Replay of {} sample(s) for tenant '{}' passed: p50 {}µs -> {}µs, p99 {}µs -> {}µs, {} changed result(s).",
+                    report.samples(), bankId, report.liveP50Micros(), report.candidateP50Micros(),
+                    report.liveP99Micros(), report.candidateP99Micros(), report.changedResults());
+            count(bankId, "passed");
+            return Optional.of(report);
+        }
+
+        String message = String.format(
+                "Candidate rule base of tenant '%s' regressed p99 latency from %dµs to %dµs over %d replayed sample(s) (budget +%d%%).",
+                bankId, report.liveP99Micros(), report.candidateP99Micros(), report.samples(), maxP99RegressionPercent);
+        if (mode == Mode.ENFORCE) {
+            count(bankId, "rejected");
+            throw new RuleReplayRejectedException(message, report);
+        }
+        count(bankId, "flagged");
+        log.warn("⚠️ {} Publishing anyway (replay mode FLAG).", message);
+        return Optional.of(report);
+    }
+
+    private Report replay(List<Sample> samples, KieBase live, KieBase candidate) {
+        // One untimed pass each, so class loading and JIT do not count against whichever base runs first
+        for (Sample sample : samples) {
+            fire(live, sample);
+            fire(candidate, sample);
+        }
+
+        long[] liveNanos = new long[samples.size()];
+        long[] candidateNanos = new long[samples.size()];
+        int changedResults = 0;
+        for (int i = 0; i < samples.size(); i++) {
+            Sample sample = samples.get(i);
+            long started = System.nanoTime();
+            List<String> liveResult = fire(live, sample);
+            liveNanos[i] = System.nanoTime() - started;
+
+            started = System.nanoTime();
+            List<String> candidateResult = fire(candidate, sample);
+            candidateNanos[i] = System.nanoTime() - started;
+
+            if (!liveResult.equals(candidateResult)) {
+                changedResults++;
+            }
+        }
+
+        long liveP99 = percentileMicros(liveNanos, 0.99);
+        long candidateP99 = percentileMicros(candidateNanos, 0.99);
+        boolean regressed = candidateP99 - liveP99 > latencyNoiseFloorMicros
+                && candidateP99 * 100 > liveP99 * (100L + maxP99RegressionPercent);
+        return new Report(samples.size(), percentileMicros(liveNanos, 0.5), liveP99,
+                percentileMicros(candidateNanos, 0.5), candidateP99, changedResults, regressed);
+    }
+
+    /**
+     * Fires one sample on a fresh session and returns its price values in a comparable form.
+     */
+    private static List<String> fire(KieBase kieBase, Sample sample) {
+        KieSession kieSession = kieBase.newKieSession();
+        try {
+            PricingInput input = new PricingInput();
+            input.setBankId(sample.bankId());
+            input.setProductId(sample.productId());
+            input.setTargetPricingComponentCodes(new HashSet<>(sample.componentCodes()));
+            input.setActivePricingTierCodes(new HashSet<>(sample.activeTierCodes()));
+            input.setRuleFired(false);
+            input.getCustomAttributes().putAll(sample.attributes());
+
+            kieSession.setGlobal("log", log);
+            kieSession.insert(input);
+            kieSession.fireAllRules();
+
+            return kieSession.getObjects(new ClassObjectFilter(PriceValue.class)).stream()
+                    .map(PriceValue.class::cast)
+                    .map(value -> value.getComponentCode() + "|" + value.getMatchedTierCode() + "|"
+                            + (value.getRawValue() != null ? value.getRawValue().stripTrailingZeros().toPlainString() : null)
+                            + "|" + value.getValueType())
+                    .sorted()
+                    .toList();
+        } finally {
+            kieSession.dispose();
+        }
+    }
+
+    private static long percentileMicros(long[] nanos, double percentile) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        int index = Math.max(0, (int) Math.ceil(percentile * sorted.length) - 1);
+        return sorted[index] / 1_000;
+    }
+
+    private void count(String bankId, String outcome) {
+        meterRegistry.counter(REPLAY_METRIC, "bankId", bankId, "outcome", outcome).increment();
+    }
+
+    /**
+     * Fixed-size ring of the most recent samples of one tenant.
+     */
+    private static final class SampleBuffer {
+        private final Sample[] samples;
+        private int next;
+        private int size;
+
+        private SampleBuffer(int capacity) {
+            this.samples = new Sample[Math.max(1, capacity)];
+        }
+
+        synchronized void add(Sample sample) {
+            samples[next] = sample;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+        }
+
+        synchronized boolean isEmpty() {
+            return size == 0;
+        }
+
+        synchronized List<Sample> snapshot() {
+            List<Sample> snapshot = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                snapshot.add(samples[(next - size + i + samples.length) % samples.length]);
+            }
+            return snapshot;
+        }
+    }
+}
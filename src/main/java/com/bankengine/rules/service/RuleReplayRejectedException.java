@@ -0,0 +1,19 @@
+package com.bankengine.rules.service;
+
+/**
+ * Thrown when a candidate rule base is refused because replaying captured evaluations against it
+ * regressed latency past the configured budget. The live rule base is left in place.
+ */
+public class RuleReplayRejectedException extends RuntimeException {
+
+    private final RuleReplayGate.Report report;
+
+    public RuleReplayRejectedException(String message, RuleReplayGate.Report report) {
+        super(message);
+        this.report = report;
+    }
+
+    public RuleReplayGate.Report getReport() {
+        return report;
+    }
+}
@@ -0,0 +1,74 @@
+package com.bankengine.rules.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps idle stateful sessions of one rule base for reuse, so a pricing call does not pay for
+ * session creation and disposal. A returned session is emptied (every fact deleted, which also
+ * cancels any pending activation) before the next caller gets it; a session that cannot be
+ * emptied, or that does not fit into the pool, is disposed instead.
+ */
+@Slf4j
+final class RuleSessionPool {
+
+    private final KieBase kieBase;
+    private final BlockingQueue<KieSession> idleSessions;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    RuleSessionPool(KieBase kieBase, int maxIdle) {
+        this.kieBase = kieBase;
+        this.idleSessions = new ArrayBlockingQueue<>(maxIdle);
+    }
+
+    KieSession borrow() {
+        KieSession session = idleSessions.poll();
+        return session != null ? session : kieBase.newKieSession();
+    }
+
+    void release(KieSession session) {
+        if (closed.get() || !reset(session) || !idleSessions.offer(session)) {
+            session.dispose();
+            return;
+        }
+        // Lost a race with close(); nobody will drain this session anymore
+        if (closed.get() && idleSessions.remove(session)) {
+            session.dispose();
+        }
+    }
+
+    int getIdleCount() {
+        return idleSessions.size();
+    }
+
+    /**
+     * Disposes every idle session. Sessions still borrowed are disposed when they are released.
+     */
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            List<KieSession> sessions = new ArrayList<>();
+            idleSessions.drainTo(sessions);
+            sessions.forEach(KieSession::dispose);
+        }
+    }
+
+    private static boolean reset(KieSession session) {
+        try {
+            for (FactHandle handle : new ArrayList<>(session.getFactHandles())) {
+                session.delete(handle);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Discarding rule session that could not be reset: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.bankengine.rules.service;
+
+import com.bankengine.common.repository.BankConfigurationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compiles the rule base of every active tenant once the application has started, so the first
+ * pricing request of a bank after a deploy does not wait for its compilation.
+ * Tenants are compiled in parallel on a small dedicated pool, bounded because compilation is CPU and
+ * heap intensive. The node reports itself not ready until every tenant has been attempted; a tenant
+ * that fails to compile does not block readiness and is compiled on demand later, as before.
+ * With {@code app.rules.warmup.enabled=false} the node is ready immediately.
+ */
+@Service
+@Slf4j
+public class RuleWarmupService {
+
+    public enum State { PENDING, COMPILING, READY, FAILED }
+
+    /**
+     * Warm-up outcome of a single tenant.
+     *
+     * @param durationMs Compile time in milliseconds; null until the tenant was attempted.
+     * @param error      Failure message when the state is FAILED.
+     */
+    public record TenantWarmupStatus(State state, Long durationMs, String error) {
+    }
+
+    private final KieContainerReloadService reloadService;
+    private final BankConfigurationRepository bankConfigurationRepository;
+    private final Map<String, TenantWarmupStatus> tenantStatuses = new ConcurrentSkipListMap<>();
+
+    @Value("${app.rules.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.rules.warmup.threads:2}")
+    private int threads;
+
+    private volatile boolean complete;
+    private volatile ExecutorService executor;
+
+    public RuleWarmupService(KieContainerReloadService reloadService,
+                             BankConfigurationRepository bankConfigurationRepository) {
+        this.reloadService = reloadService;
+        this.bankConfigurationRepository = bankConfigurationRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        warmUp();
+    }
+
+    /**
+     * Starts compiling the rule bases of all active tenants without blocking the caller.
+     * The returned future completes once every tenant was attempted.
+     */
+    public CompletableFuture<Void> warmUp() {
+        if (!enabled) {
+            complete = true;
+            return CompletableFuture.completedFuture(null);
+        }
+
+        List<String> bankIds;
+        try {
+            bankIds = bankConfigurationRepository.findActiveBankIdsUnfiltered();
+        } catch (RuntimeException e) {
+            log.warn("Could not list tenants for rule warm-up. Rule bases compile on first use.", e);
+            complete = true;
+            return CompletableFuture.completedFuture(null);
+        }
+        bankIds.forEach(bankId -> tenantStatuses.put(bankId, new TenantWarmupStatus(State.PENDING, null, null)));
+        log.info("Warming up rule bases of {} tenant(s) on {} thread(s).", bankIds.size(), threads);
+
+        long started = System.nanoTime();
+        executor = newExecutor();
+        CompletableFuture<?>[] warmups = bankIds.stream()
+                .map(bankId -> CompletableFuture.runAsync(() -> warmUp(bankId), executor))
+                .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(warmups).whenComplete((result, error) -> {
+            complete = true;
+            executor.shutdown();
+            log.info("✅ Rule warm-up finished in {} ms.", (System.nanoTime() - started) / 1_000_000);
+        });
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Warm-up status per tenant, ordered by bankId.
+     */
+    public Map<String, TenantWarmupStatus> getTenantStatuses() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(tenantStatuses));
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void warmUp(String bankId) {
+        tenantStatuses.put(bankId, new TenantWarmupStatus(State.COMPILING, null, null));
+        long started = System.nanoTime();
+        try {
+            reloadService.warmUp(bankId);
+            tenantStatuses.put(bankId, new TenantWarmupStatus(State.READY, elapsedMs(started), null));
+        } catch (RuntimeException e) {
+            log.error("Rule warm-up failed for tenant '{}'. Its rules compile on first use.", bankId, e);
+            tenantStatuses.put(bankId, new TenantWarmupStatus(State.FAILED, elapsedMs(started), e.getMessage()));
+        }
+    }
+
+    private ExecutorService newExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "rule-warmup-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static long elapsedMs(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1 @@
+alter table if exists bank_configuration add column if not exists pricing_arithmetic varchar(20) default 'DECIMAL' not null check (pricing_arithmetic in ('DECIMAL','MINOR_UNITS'));
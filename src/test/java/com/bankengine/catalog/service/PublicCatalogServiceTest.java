@@ -20,6 +20,7 @@ import com.bankengine.pricing.model.PriceValue;
 import com.bankengine.pricing.model.PricingComponent;
 import com.bankengine.pricing.model.ProductPricingLink;
 import com.bankengine.pricing.service.BundlePricingService;
+import com.bankengine.pricing.service.PricingExecutor;
 import com.bankengine.pricing.service.ProductPricingService;
 import com.bankengine.test.config.BaseServiceTest;
 import com.bankengine.web.exception.NotFoundException;
@@ -29,6 +30,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -36,6 +38,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -64,6 +67,8 @@ public class PublicCatalogServiceTest extends BaseServiceTest {
     private BundlePricingService bundlePricingService;
     @Mock
     private BankConfigurationRepository bankConfigurationRepository;
+    @Spy
+    private PricingExecutor pricingExecutor = new PricingExecutor(mock(PlatformTransactionManager.class), 4);
 
     @InjectMocks
     private PublicCatalogService publicCatalogService;
@@ -86,6 +91,7 @@ public class PublicCatalogServiceTest extends BaseServiceTest {
 
         when(productRepository.findAll(any(Specification.class))).thenReturn(List.of(p1, p2));
         when(productMapper.toCatalogCard(any())).thenAnswer(inv -> ProductCatalogCard.builder()
+                .productId(((Product) inv.getArgument(0)).getId())
                 .pricingSummary(ProductCatalogCard.PricingSummary.builder().build()).build());
 
         when(productPricingService.getProductPricing(any())).thenAnswer(inv -> {
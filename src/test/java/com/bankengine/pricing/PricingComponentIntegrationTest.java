@@ -1,5 +1,6 @@
 package com.bankengine.pricing;
 
+import com.bankengine.auth.security.TenantContextHolder;
 import com.bankengine.catalog.model.Product;
 import com.bankengine.pricing.dto.PriceValueRequest;
 import com.bankengine.pricing.dto.PricingComponentRequest;
@@ -11,6 +12,8 @@ import com.bankengine.pricing.model.PricingTier;
 import com.bankengine.pricing.model.TierCondition;
 import com.bankengine.pricing.repository.*;
 import com.bankengine.pricing.service.PricingAttributeKeys;
+import com.bankengine.pricing.service.PricingLinkSnapshot;
+import com.bankengine.pricing.service.PricingLinkSnapshotService;
 import com.bankengine.test.config.AbstractIntegrationTest;
 import com.bankengine.test.config.WithMockRole;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -55,6 +58,8 @@ public class PricingComponentIntegrationTest extends AbstractIntegrationTest {
     private ProductPricingLinkRepository productPricingLinkRepository;
     @Autowired
     private TestTransactionHelper txHelper;
+    @Autowired
+    private PricingLinkSnapshotService linkSnapshotService;
 
     private static final String ADMIN_ROLE = "PCIT_TEST_ADMIN";
     private static final String READER_ROLE = "PCIT_TEST_READER";
@@ -297,6 +302,28 @@ public class PricingComponentIntegrationTest extends AbstractIntegrationTest {
         });
     }
 
+    @Test
+    @WithMockRole(roles = {ADMIN_ROLE})
+    void shouldInvalidateLinkSnapshotWhenOnlyAConditionOrValueChanges() throws Exception {
+        PricingComponent component = createComponent("CondSnapshotComp");
+        mockMvc.perform(postWithCsrf(BASE_URL + "/{id}/tiers", component.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(getValidTierDto())))
+                .andExpect(status().isCreated());
+        TenantContextHolder.setBankId(TEST_BANK_ID);
+
+        // Neither edit touches the tier row itself
+        PricingLinkSnapshot beforeConditionEdit = linkSnapshotService.current().orElseThrow();
+        txHelper.doInTransaction(() -> tierConditionRepository.findAll().getFirst().setAttributeValue("OTHER_SEGMENT"));
+        TenantContextHolder.setBankId(TEST_BANK_ID);
+        PricingLinkSnapshot beforeValueEdit = linkSnapshotService.current().orElseThrow();
+        txHelper.doInTransaction(() -> valueRepository.findAll().getFirst().setRawValue(new BigDecimal("7.00")));
+        TenantContextHolder.setBankId(TEST_BANK_ID);
+
+        assertThat(beforeValueEdit).isNotSameAs(beforeConditionEdit);
+        assertThat(linkSnapshotService.current().orElseThrow()).isNotSameAs(beforeValueEdit);
+    }
+
     @Test
     @WithMockRole(roles = {ADMIN_ROLE})
     void shouldReturn400WhenAddingTierWithInvalidPriceValueType() throws Exception {
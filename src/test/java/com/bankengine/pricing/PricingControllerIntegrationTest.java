@@ -565,6 +565,89 @@ public class PricingControllerIntegrationTest extends AbstractIntegrationTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @WithMockRole(roles = {PRICING_READER_ROLE})
+    void projectProductPrice_ShouldReturnOneResultPerCycle() throws Exception {
+        Long productId = txHelper.doInTransaction(() -> {
+            ProductType type = txHelper.getOrCreateProductType("Projection Type");
+            Long pId = txHelper.createProductInDb("Projected Account", type.getId(), "RETAIL");
+            PricingComponent component = txHelper.createPricingComponentInDb("Projected Fee");
+            txHelper.linkProductToPricingComponent(pId, component.getId(), new BigDecimal("10.00"));
+            return pId;
+        });
+        LocalDate today = LocalDate.now();
+
+        ProductPriceRequest request = new ProductPriceRequest();
+        request.setProductId(productId);
+        request.setCustomAttributes(Map.of(PricingAttributeKeys.EFFECTIVE_DATE, today));
+
+        mockMvc.perform(postWithCsrf(BASE_URL + "/project/product")
+                        .param("cycles", "3")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productId").value(productId))
+                .andExpect(jsonPath("$.cycles.length()").value(3))
+                .andExpect(jsonPath("$.cycles[0].effectiveDate").value(today.toString()))
+                .andExpect(jsonPath("$.cycles[2].effectiveDate").value(today.plusMonths(2).toString()))
+                .andExpect(jsonPath("$.cycles[2].cycleStart").value(today.plusMonths(2).withDayOfMonth(1).toString()))
+                .andExpect(jsonPath("$.cycles[2].result.finalChargeablePrice").value(10.00))
+                .andExpect(jsonPath("$.totalChargeablePrice").value(30.00));
+    }
+
+    @Test
+    @WithMockRole(roles = {PRICING_READER_ROLE})
+    void projectBundlePrice_ShouldReturnOneResponsePerCycle() throws Exception {
+        Map<String, Long> ids = txHelper.doInTransaction(() -> {
+            ProductType type = txHelper.getOrCreateProductType("Bundle Projection Type");
+            Long p1Id = txHelper.createProductInDb("Projected Product 1", type.getId(), "RETAIL");
+            Long p2Id = txHelper.createProductInDb("Projected Product 2", type.getId(), "RETAIL");
+
+            PricingComponent component = txHelper.createPricingComponentInDb("Projected Standard Fee");
+            txHelper.linkProductToPricingComponent(p1Id, component.getId(), new BigDecimal("10.00"));
+            txHelper.linkProductToPricingComponent(p2Id, component.getId(), new BigDecimal("5.00"));
+
+            ProductBundle bundle = txHelper.createBundleInDb("Projected Salary Package", VersionableEntity.EntityStatus.ACTIVE);
+            return Map.of("p1", p1Id, "p2", p2Id, "bundle", bundle.getId());
+        });
+        LocalDate today = LocalDate.now();
+
+        BundlePriceRequest request = new BundlePriceRequest();
+        request.setProductBundleId(ids.get("bundle"));
+        request.setCustomAttributes(Map.of(PricingAttributeKeys.EFFECTIVE_DATE, today));
+        request.setProducts(List.of(
+                new BundlePriceRequest.BundleProductItem(ids.get("p1"), BigDecimal.valueOf(1000)),
+                new BundlePriceRequest.BundleProductItem(ids.get("p2"), BigDecimal.valueOf(1000))));
+
+        mockMvc.perform(postWithCsrf(BASE_URL + "/project/bundle")
+                        .param("cycles", "2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productBundleId").value(ids.get("bundle")))
+                .andExpect(jsonPath("$.cycles.length()").value(2))
+                .andExpect(jsonPath("$.cycles[1].effectiveDate").value(today.plusMonths(1).toString()))
+                .andExpect(jsonPath("$.cycles[1].result.netTotalAmount").value(15.00))
+                .andExpect(jsonPath("$.totalNetAmount").value(30.00));
+    }
+
+    @Test
+    @WithMockRole(roles = {PRICING_READER_ROLE})
+    void projectProductPrice_ShouldReturn422_WhenCyclesAreOutOfRange() throws Exception {
+        ProductPriceRequest request = new ProductPriceRequest();
+        request.setProductId(1L);
+        request.setCustomAttributes(Map.of());
+
+        for (String cycles : List.of("0", "37")) {
+            mockMvc.perform(postWithCsrf(BASE_URL + "/project/product")
+                            .param("cycles", cycles)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isUnprocessableEntity())
+                    .andExpect(jsonPath("$.message").value("A projection must cover between 1 and 36 billing cycles."));
+        }
+    }
+
     private Long seedAdvancedRuledMixProduct() {
         return txHelper.doInTransaction(() -> {
             txHelper.createAndSaveMetadata(PricingAttributeKeys.EFFECTIVE_DATE, "DATE");
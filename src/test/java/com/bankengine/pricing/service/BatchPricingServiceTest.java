@@ -0,0 +1,129 @@
+package com.bankengine.pricing.service;
+
+import com.bankengine.auth.security.TenantContextHolder;
+import com.bankengine.pricing.dto.BatchPriceResponse;
+import com.bankengine.pricing.dto.BatchPriceResponse.BatchPriceItemResult;
+import com.bankengine.pricing.dto.ProductPriceRequest;
+import com.bankengine.pricing.dto.ProductPricingCalculationResult;
+import com.bankengine.test.config.BaseServiceTest;
+import com.bankengine.web.exception.NotFoundException;
+import com.bankengine.web.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchPricingServiceTest extends BaseServiceTest {
+
+    private static final LocalDate CYCLE_START = LocalDate.of(2026, 1, 1);
+
+    @Mock private ProductPricingService productPricingService;
+
+    private BatchPricingService batchPricingService;
+
+    @BeforeEach
+    void setUp() {
+        PricingExecutor pricingExecutor = new PricingExecutor(mock(PlatformTransactionManager.class), 2);
+        batchPricingService = new BatchPricingService(productPricingService, pricingExecutor);
+        ReflectionTestUtils.setField(batchPricingService, "maxBatchSize", 100);
+        lenient().when(productPricingService.resolveCycleStart(any())).thenReturn(CYCLE_START);
+    }
+
+    @Test
+    @DisplayName("Should price each product/cycle group in one call under the caller's tenant and keep request order")
+    void calculateBatch_shouldGroupByProductAndCycle() {
+        Set<String> tenants = ConcurrentHashMap.newKeySet();
+        when(productPricingService.getProductPricingBatch(anyList())).thenAnswer(invocation -> {
+            tenants.add(TenantContextHolder.getBankId());
+            List<ProductPriceRequest> group = invocation.getArgument(0);
+            return group.stream().map(request -> priced(request.getCustomAttributes().get("amount").toString())).toList();
+        });
+
+        BatchPriceResponse response = batchPricingService.calculateBatch(List.of(
+                request(1L, "10"), request(2L, "20"), request(1L, "30")));
+
+        assertEquals(3, response.getSuccessCount());
+        assertEquals(0, response.getFailureCount());
+        assertEquals(List.of("10", "20", "30"), response.getResults().stream()
+                .map(item -> item.getResult().getFinalChargeablePrice().toPlainString()).toList());
+        assertEquals(List.of(0, 1, 2), response.getResults().stream().map(BatchPriceItemResult::getIndex).toList());
+        verify(productPricingService, times(2)).getProductPricingBatch(anyList());
+        assertEquals(Set.of(TEST_BANK_ID), tenants);
+    }
+
+    @Test
+    @DisplayName("A failing item should carry its own error without failing the rest of the batch")
+    void calculateBatch_shouldReportPerItemErrors() {
+        when(productPricingService.getProductPricingBatch(anyList())).thenAnswer(invocation -> {
+            List<ProductPriceRequest> group = invocation.getArgument(0);
+            if (group.getFirst().getProductId() == 404L) {
+                throw new NotFoundException("Product not found with ID: 404");
+            }
+            if (group.size() > 1) {
+                throw new ValidationException("Custom attributes are required");
+            }
+            return List.of(priced("5"));
+        });
+        when(productPricingService.getProductPricing(any())).thenAnswer(invocation -> {
+            ProductPriceRequest request = invocation.getArgument(0);
+            if (request.getCustomAttributes() == null) {
+                throw new ValidationException("Custom attributes are required");
+            }
+            return priced("5");
+        });
+
+        ProductPriceRequest missingAttributes = ProductPriceRequest.builder().productId(1L).build();
+        ProductPriceRequest missingProduct = ProductPriceRequest.builder().customAttributes(Map.of()).build();
+        BatchPriceResponse response = batchPricingService.calculateBatch(List.of(
+                request(1L, "5"), missingAttributes, request(404L, "5"), missingProduct, request(404L, "6")));
+
+        assertEquals(5, response.getTotalCount());
+        assertEquals(1, response.getSuccessCount());
+        assertEquals(4, response.getFailureCount());
+        List<BatchPriceItemResult> results = response.getResults();
+        assertNotNull(results.get(0).getResult());
+        assertEquals(422, results.get(1).getStatus());
+        assertEquals("BUSINESS_RULE_VIOLATION", results.get(1).getCode());
+        assertEquals(404, results.get(2).getStatus());
+        assertEquals("RESOURCE_NOT_FOUND", results.get(4).getCode());
+        assertEquals(400, results.get(3).getStatus());
+        assertEquals("VALIDATION_ERROR", results.get(3).getCode());
+        verify(productPricingService, never()).getProductPricing(argThat(r -> r.getProductId() == 404L));
+    }
+
+    @Test
+    @DisplayName("Should reject a batch larger than the configured maximum")
+    void calculateBatch_shouldRejectOversizedBatch() {
+        ReflectionTestUtils.setField(batchPricingService, "maxBatchSize", 2);
+
+        List<ProductPriceRequest> requests = List.of(request(1L, "1"), request(1L, "2"), request(1L, "3"));
+        assertThrows(ValidationException.class, () -> batchPricingService.calculateBatch(requests));
+        verifyNoInteractions(productPricingService);
+    }
+
+    private static ProductPriceRequest request(Long productId, String amount) {
+        return ProductPriceRequest.builder()
+                .productId(productId)
+                .customAttributes(Map.of("amount", amount))
+                .build();
+    }
+
+    private static ProductPricingCalculationResult priced(String amount) {
+        return ProductPricingCalculationResult.builder().finalChargeablePrice(new BigDecimal(amount)).build();
+    }
+}
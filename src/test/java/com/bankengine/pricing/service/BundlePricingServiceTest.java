@@ -2,18 +2,22 @@ package com.bankengine.pricing.service;
 
 import com.bankengine.catalog.model.ProductBundle;
 import com.bankengine.catalog.repository.ProductBundleRepository;
+import com.bankengine.common.repository.BankConfigurationRepository;
 import com.bankengine.pricing.dto.BundlePriceRequest;
 import com.bankengine.pricing.dto.BundlePriceResponse;
+import com.bankengine.pricing.dto.ProductPriceRequest;
 import com.bankengine.pricing.dto.ProductPricingCalculationResult;
 import com.bankengine.pricing.model.BundlePricingLink;
 import com.bankengine.pricing.model.PriceValue;
 import com.bankengine.pricing.model.PricingComponent;
 import com.bankengine.pricing.model.PricingTier;
+import com.bankengine.pricing.model.TierCondition;
 import com.bankengine.pricing.repository.BundlePricingLinkRepository;
 import com.bankengine.rules.model.BundlePricingInput;
 import com.bankengine.rules.service.BundleRulesEngineService;
 import com.bankengine.test.config.BaseServiceTest;
 import com.bankengine.web.exception.ValidationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,6 +25,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -29,6 +34,11 @@ import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,8 +48,13 @@ class BundlePricingServiceTest extends BaseServiceTest {
     @Mock private BundleRulesEngineService bundleRulesEngineService;
     @Mock private ProductBundleRepository productBundleRepository;
     @Mock private BundlePricingLinkRepository bundlePricingLinkRepository;
+    @Mock private PricingLinkSnapshotService pricingLinkSnapshotService;
 
-    @Spy private PriceAggregator priceAggregator = new PriceAggregator();
+    @Spy private PriceAggregator priceAggregator =
+            new PriceAggregator(new PricingArithmeticResolver(mock(BankConfigurationRepository.class)));
+    @Spy private PricingExecutor pricingExecutor = new PricingExecutor(mock(PlatformTransactionManager.class), 4);
+    @Spy private PricingRequestCoalescer pricingRequestCoalescer =
+            new PricingRequestCoalescer(new SimpleMeterRegistry());
     @InjectMocks private BundlePricingService bundlePricingService;
 
     // -----------------------------------------------------------------------------------
@@ -72,7 +87,7 @@ class BundlePricingServiceTest extends BaseServiceTest {
                 .build();
 
         // Each product returns $100.00
-        when(productPricingService.getProductPricing(any())).thenReturn(
+        stubProductPricing(
                 ProductPricingCalculationResult.builder().finalChargeablePrice(new BigDecimal("100.00")).build()
         );
 
@@ -123,7 +138,7 @@ class BundlePricingServiceTest extends BaseServiceTest {
                 .build();
 
         // Product Base Fee is $1000
-        when(productPricingService.getProductPricing(any())).thenReturn(
+        stubProductPricing(
                 ProductPricingCalculationResult.builder().finalChargeablePrice(new BigDecimal("1000.00")).build());
 
         // Setup two different Bundle Fees: Service Fee($100) and Tech Fee($50)
@@ -162,7 +177,7 @@ class BundlePricingServiceTest extends BaseServiceTest {
                 .products(List.of(BundlePriceRequest.BundleProductItem.builder().productId(10L).transactionAmount(BigDecimal.ZERO).build()))
                 .build();
 
-        when(productPricingService.getProductPricing(any())).thenReturn(
+        stubProductPricing(
                 ProductPricingCalculationResult.builder().finalChargeablePrice(new BigDecimal("50.00")).build());
         when(productBundleRepository.findById(any())).thenReturn(Optional.of(new ProductBundle()));
         when(bundlePricingLinkRepository.findByBundleIdOverlappingCycle(any(), any(LocalDate.class), any(LocalDate.class))).thenReturn(new ArrayList<>());
@@ -188,7 +203,7 @@ class BundlePricingServiceTest extends BaseServiceTest {
                 .products(List.of(BundlePriceRequest.BundleProductItem.builder().productId(10L).transactionAmount(BigDecimal.ZERO).build()))
                 .build();
 
-        when(productPricingService.getProductPricing(any())).thenReturn(
+        stubProductPricing(
                 ProductPricingCalculationResult.builder().finalChargeablePrice(new BigDecimal("100.00")).build());
 
         PricingTier tier = PricingTier.builder().build();
@@ -229,7 +244,7 @@ class BundlePricingServiceTest extends BaseServiceTest {
                 ))
                 .build();
 
-        when(productPricingService.getProductPricing(any())).thenReturn(
+        stubProductPricing(
                 ProductPricingCalculationResult.builder().finalChargeablePrice(BigDecimal.ZERO).build());
 
         PricingTier breachTier = PricingTier.builder()
@@ -268,7 +283,7 @@ class BundlePricingServiceTest extends BaseServiceTest {
                 ))
                 .build();
 
-        when(productPricingService.getProductPricing(any())).thenReturn(
+        stubProductPricing(
                 ProductPricingCalculationResult.builder().finalChargeablePrice(new BigDecimal("50.00")).build());
         when(productBundleRepository.findById(any())).thenReturn(Optional.of(new ProductBundle()));
         when(bundlePricingLinkRepository.findByBundleIdOverlappingCycle(any(), any(LocalDate.class), any(LocalDate.class))).thenReturn(new ArrayList<>());
@@ -289,7 +304,7 @@ class BundlePricingServiceTest extends BaseServiceTest {
                 .customAttributes(Map.of("loyalty_score", 95))
                 .build();
 
-        when(productPricingService.getProductPricing(any())).thenReturn(
+        stubProductPricing(
                 ProductPricingCalculationResult.builder().finalChargeablePrice(new BigDecimal("100.00")).build());
         when(productBundleRepository.findById(any())).thenReturn(Optional.of(new ProductBundle()));
         when(bundlePricingLinkRepository.findByBundleIdOverlappingCycle(any(), any(LocalDate.class), any(LocalDate.class))).thenReturn(new ArrayList<>());
@@ -312,7 +327,7 @@ class BundlePricingServiceTest extends BaseServiceTest {
                 .build();
 
         // calcResult with null finalChargeablePrice
-        when(productPricingService.getProductPricing(any())).thenReturn(
+        stubProductPricing(
                 ProductPricingCalculationResult.builder().finalChargeablePrice(null).build());
         when(productBundleRepository.findById(any())).thenReturn(Optional.of(new ProductBundle()));
         when(bundlePricingLinkRepository.findByBundleIdOverlappingCycle(any(), any(LocalDate.class), any(LocalDate.class))).thenReturn(List.of());
@@ -331,7 +346,8 @@ class BundlePricingServiceTest extends BaseServiceTest {
                 .products(List.of(new BundlePriceRequest.BundleProductItem(10L, BigDecimal.ZERO)))
                 .build();
 
-        when(productPricingService.getProductPricing(any())).thenReturn(null);
+        stubProductPricing(null);
+        when(productBundleRepository.findById(any())).thenReturn(Optional.of(new ProductBundle()));
 
         assertThrows(IllegalStateException.class, () -> bundlePricingService.calculateTotalBundlePrice(request));
     }
@@ -344,7 +360,7 @@ class BundlePricingServiceTest extends BaseServiceTest {
                 .products(List.of(new BundlePriceRequest.BundleProductItem(10L, BigDecimal.ZERO)))
                 .build();
 
-        when(productPricingService.getProductPricing(any())).thenReturn(
+        stubProductPricing(
                 ProductPricingCalculationResult.builder().finalChargeablePrice(new BigDecimal("100.00")).build());
         when(productBundleRepository.findById(any())).thenReturn(Optional.of(new ProductBundle()));
         when(bundlePricingLinkRepository.findByBundleIdOverlappingCycle(any(), any(LocalDate.class), any(LocalDate.class))).thenReturn(List.of());
@@ -368,7 +384,7 @@ class BundlePricingServiceTest extends BaseServiceTest {
                 .customAttributes(java.util.Map.of("isNewCustomer", true))
                 .build();
 
-        when(productPricingService.getProductPricing(any())).thenReturn(
+        stubProductPricing(
                 ProductPricingCalculationResult.builder().finalChargeablePrice(new BigDecimal("100.00")).build());
         when(productBundleRepository.findById(any())).thenReturn(Optional.of(new ProductBundle()));
         when(bundlePricingLinkRepository.findByBundleIdOverlappingCycle(any(), any(LocalDate.class), any(LocalDate.class))).thenReturn(List.of());
@@ -391,7 +407,7 @@ class BundlePricingServiceTest extends BaseServiceTest {
                 .products(List.of(new BundlePriceRequest.BundleProductItem(10L, BigDecimal.ZERO)))
                 .build();
 
-        when(productPricingService.getProductPricing(any())).thenReturn(
+        stubProductPricing(
                 ProductPricingCalculationResult.builder().finalChargeablePrice(new BigDecimal("100.00")).build());
         when(productBundleRepository.findById(any())).thenReturn(Optional.of(new ProductBundle()));
 
@@ -418,7 +434,7 @@ class BundlePricingServiceTest extends BaseServiceTest {
                 .products(List.of(new BundlePriceRequest.BundleProductItem(10L, BigDecimal.ZERO)))
                 .build();
 
-        when(productPricingService.getProductPricing(any())).thenReturn(
+        stubProductPricing(
                 ProductPricingCalculationResult.builder().finalChargeablePrice(new BigDecimal("100.00")).build());
         when(productBundleRepository.findById(any())).thenReturn(Optional.of(new ProductBundle()));
 
@@ -450,7 +466,7 @@ class BundlePricingServiceTest extends BaseServiceTest {
                 .products(List.of(new BundlePriceRequest.BundleProductItem(10L, BigDecimal.ZERO)))
                 .build();
 
-        when(productPricingService.getProductPricing(any())).thenReturn(
+        stubProductPricing(
                 ProductPricingCalculationResult.builder().finalChargeablePrice(null).build());
         when(productBundleRepository.findById(any())).thenReturn(Optional.of(new ProductBundle()));
         when(bundlePricingLinkRepository.findByBundleIdOverlappingCycle(any(), any(LocalDate.class), any(LocalDate.class))).thenReturn(List.of());
@@ -461,10 +477,109 @@ class BundlePricingServiceTest extends BaseServiceTest {
         assertScaledBigDecimal("0.00", response.getNetTotalAmount());
     }
 
+    @Test
+    @DisplayName("Projection: bundle rules should fire once per distinct fee pool and links should be loaded once")
+    void projectTotalBundlePrice_shouldReuseRuleOutcomesAcrossCycles() {
+        Long bundleId = 500L;
+        BundlePriceRequest request = BundlePriceRequest.builder()
+                .productBundleId(bundleId)
+                .products(List.of(
+                        BundlePriceRequest.BundleProductItem.builder().productId(10L).transactionAmount(BigDecimal.ZERO).build(),
+                        BundlePriceRequest.BundleProductItem.builder().productId(11L).transactionAmount(BigDecimal.ZERO).build()))
+                .customAttributes(Map.of(PricingAttributeKeys.EFFECTIVE_DATE, "2026-01-15"))
+                .build();
+
+        // Product 11 gets dearer in the third cycle
+        when(productPricingService.getProductPricingProjection(any(), eq(3))).thenAnswer(invocation -> {
+            boolean dearer = invocation.<ProductPriceRequest>getArgument(0).getProductId() == 11L;
+            return projected("100.00", "100.00", dearer ? "120.00" : "100.00");
+        });
+        when(bundlePricingLinkRepository.findByBundleIdOverlappingCycle(any(), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(List.of(createLink("BUNDLE_ADMIN_FEE", "5.00")));
+        when(productBundleRepository.findById(bundleId)).thenReturn(Optional.of(ProductBundle.builder().id(bundleId).build()));
+        BundlePricingInput rulesOutput = new BundlePricingInput();
+        rulesOutput.addAdjustment("BUNDLE_DISCOUNT", new BigDecimal("10.00"), "DISCOUNT_PERCENTAGE");
+        when(bundleRulesEngineService.determineBundleAdjustments(any())).thenReturn(rulesOutput);
+
+        List<PricedCycle<BundlePriceResponse>> responses = bundlePricingService.projectTotalBundlePrice(request, 3);
+
+        assertEquals(3, responses.size());
+        assertEquals(LocalDate.of(2026, 3, 15), responses.get(2).effectiveDate());
+        assertScaledBigDecimal("184.50", responses.get(0).result().getNetTotalAmount());
+        assertScaledBigDecimal("184.50", responses.get(1).result().getNetTotalAmount());
+        assertScaledBigDecimal("202.50", responses.get(2).result().getNetTotalAmount());
+        verify(bundleRulesEngineService, times(2)).determineBundleAdjustments(any());
+        verify(bundlePricingLinkRepository).findByBundleIdOverlappingCycle(
+                bundleId, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 3, 31));
+    }
+
+    @Test
+    @DisplayName("Projection: bundle rules with a date-conditioned tier should fire for every cycle")
+    void projectTotalBundlePrice_shouldEvaluateDateConditionedTiersPerCycle() {
+        Long bundleId = 500L;
+        LocalDate loyaltyStart = LocalDate.of(2026, 3, 1);
+        BundlePriceRequest request = BundlePriceRequest.builder()
+                .productBundleId(bundleId)
+                .products(List.of(BundlePriceRequest.BundleProductItem.builder().productId(10L).transactionAmount(BigDecimal.ZERO).build()))
+                .customAttributes(Map.of(PricingAttributeKeys.EFFECTIVE_DATE, "2026-01-15"))
+                .build();
+        when(productPricingService.getProductPricingProjection(any(), eq(3)))
+                .thenReturn(projected("200.00", "200.00", "200.00"));
+
+        TierCondition fromLoyaltyStart = new TierCondition();
+        fromLoyaltyStart.setAttributeName(PricingAttributeKeys.EFFECTIVE_DATE);
+        fromLoyaltyStart.setOperator(TierCondition.Operator.GE);
+        fromLoyaltyStart.setAttributeValue(loyaltyStart.toString());
+        PricingTier loyaltyTier = PricingTier.builder().code("LOYALTY").conditions(Set.of(fromLoyaltyStart)).build();
+        BundlePricingLink rulesLink = BundlePricingLink.builder()
+                .pricingComponent(PricingComponent.builder().name("LOYALTY_DISCOUNT").code("LOYALTY_DISCOUNT")
+                        .pricingTiers(Set.of(loyaltyTier)).build())
+                .useRulesEngine(true)
+                .build();
+        when(bundlePricingLinkRepository.findByBundleIdOverlappingCycle(any(), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(List.of(rulesLink));
+        when(productBundleRepository.findById(bundleId)).thenReturn(Optional.of(ProductBundle.builder().id(bundleId).build()));
+        // The rules see the effective date of the cycle: the discount applies from March on
+        when(bundleRulesEngineService.determineBundleAdjustments(any())).thenAnswer(invocation -> {
+            BundlePricingInput input = invocation.getArgument(0);
+            BundlePricingInput output = new BundlePricingInput();
+            if (!((LocalDate) input.getCustomAttributes().get(PricingAttributeKeys.EFFECTIVE_DATE)).isBefore(loyaltyStart)) {
+                output.addAdjustment("LOYALTY_DISCOUNT", new BigDecimal("10.00"), "DISCOUNT_PERCENTAGE");
+            }
+            return output;
+        });
+
+        List<PricedCycle<BundlePriceResponse>> responses = bundlePricingService.projectTotalBundlePrice(request, 3);
+
+        assertScaledBigDecimal("200.00", responses.get(0).result().getNetTotalAmount());
+        assertScaledBigDecimal("200.00", responses.get(1).result().getNetTotalAmount());
+        assertScaledBigDecimal("180.00", responses.get(2).result().getNetTotalAmount());
+        verify(bundleRulesEngineService, times(3)).determineBundleAdjustments(any());
+    }
+
     // -----------------------------------------------------------------------------------
     // HELPERS
     // -----------------------------------------------------------------------------------
 
+    private void stubProductPricing(ProductPricingCalculationResult result) {
+        // Every product of the batch is priced the same
+        when(productPricingService.getProductPricingBatch(anyList())).thenAnswer(invocation ->
+                Collections.nCopies(invocation.<List<?>>getArgument(0).size(), result));
+    }
+
+    /**
+     * A product projection from 2026-01-15 with one price per cycle.
+     */
+    private static List<PricedCycle<ProductPricingCalculationResult>> projected(String... prices) {
+        List<LocalDate> dates = PricedCycle.effectiveDates(LocalDate.of(2026, 1, 15), prices.length);
+        List<PricedCycle<ProductPricingCalculationResult>> cycles = new ArrayList<>();
+        for (int i = 0; i < prices.length; i++) {
+            cycles.add(new PricedCycle<>(dates.get(i),
+                    ProductPricingCalculationResult.builder().finalChargeablePrice(new BigDecimal(prices[i])).build()));
+        }
+        return cycles;
+    }
+
     private void assertScaledBigDecimal(String expected, BigDecimal actual) {
         assertScaledBigDecimal(expected, actual, null);
     }
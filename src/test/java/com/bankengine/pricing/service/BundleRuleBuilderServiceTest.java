@@ -16,8 +16,10 @@ import org.mockito.MockitoAnnotations;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -70,8 +72,11 @@ class BundleRuleBuilderServiceTest extends BaseServiceTest {
         assertTrue(drl.contains("import com.bankengine.rules.model.BundlePricingInput"), "Missing import");
         assertTrue(drl.contains("$input.addAdjustment(\"STAFF_WAIVER_01\", new BigDecimal(\"100.00\"), \"DISCOUNT_PERCENTAGE\", \"TIER-999\")"),
                 "RHS should call addAdjustment with the component code and tier code.");
-        assertTrue(drl.contains("Rule Fired: BUNDLE_TEST_BANK_STAFF_WAIVER_01"), "Log message missing component code");
-        assertTrue(drl.contains("Tier_TIER-999"), "Log message missing tier code");
+        assertTrue(drl.contains("rule \"BUNDLE_TEST_BANK_STAFF_WAIVER_01"), "Rule name missing component code");
+        assertTrue(drl.contains("Tier_TIER-999"), "Rule name missing tier code");
+        assertTrue(drl.contains("@component(\"STAFF_WAIVER_01\")"), "Rule metadata missing component code");
+        assertTrue(drl.contains("@tier(\"TIER-999\")"), "Rule metadata missing tier code");
+        assertFalse(drl.contains("log.info"), "Rule consequences must not log");
     }
 
     @Test
@@ -107,4 +112,25 @@ class BundleRuleBuilderServiceTest extends BaseServiceTest {
         assertTrue(drl.contains("// No adjustment defined"), "Should contain the empty adjustment comment");
         assertFalse(drl.contains("addAdjustment"), "Should not attempt to add an adjustment");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Per-component resources should only include WAIVER/DISCOUNT components, each with its own header")
+    void testBuildComponentRules_shouldSkipNonBundleComponents() {
+        PricingTier tier = PricingTier.builder().id(5L).code("T1").priceValues(Set.of()).build();
+        PricingComponent discount = PricingComponent.builder()
+                .id(1L).code("LOYALTY").version(1)
+                .type(PricingComponent.ComponentType.DISCOUNT)
+                .pricingTiers(Set.of(tier)).build();
+        PricingComponent fee = PricingComponent.builder()
+                .id(2L).code("MONTHLY_FEE").version(1)
+                .type(PricingComponent.ComponentType.FEE)
+                .pricingTiers(Set.of()).build();
+        when(componentRepository.findAllWithDetailsByIdIn(List.of(1L, 2L))).thenReturn(List.of(discount, fee));
+
+        Map<Long, String> resources = bundleRuleBuilderService.buildComponentRulesForCompilation(List.of(1L, 2L));
+
+        assertEquals(Set.of(1L), resources.keySet());
+        assertTrue(resources.get(1L).startsWith("package bankengine.bundle.rules.testbank;"));
+        assertTrue(resources.get(1L).contains("BUNDLE_TEST_BANK_LOYALTY_V1_Tier_T1"));
+    }
+}
@@ -0,0 +1,164 @@
+package com.bankengine.pricing.service;
+
+import com.bankengine.common.model.BankConfiguration;
+import com.bankengine.common.model.PricingArithmetic;
+import com.bankengine.common.repository.BankConfigurationRepository;
+import com.bankengine.pricing.dto.ProductPricingCalculationResult.PriceComponentDetail;
+import com.bankengine.pricing.model.PriceValue.ValueType;
+import com.bankengine.test.config.BaseServiceTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MinorUnitPriceAggregatorTest extends BaseServiceTest {
+
+    private static final int CASES = 5_000;
+    private static final String[] FEE_CODES = {"MONTHLY_FEE", "ATM_FEE", "FX_FEE"};
+    private static final ValueType[] TYPES = {
+            ValueType.FEE_ABSOLUTE, ValueType.FEE_PERCENTAGE,
+            ValueType.DISCOUNT_ABSOLUTE, ValueType.DISCOUNT_PERCENTAGE, ValueType.FREE_COUNT};
+
+    private final BankConfigurationRepository bankConfigurationRepository = mock(BankConfigurationRepository.class);
+    private final PriceAggregator aggregator =
+            new PriceAggregator(new PricingArithmeticResolver(bankConfigurationRepository));
+    private final MinorUnitPriceAggregator minorUnitAggregator = new MinorUnitPriceAggregator();
+
+    @Test
+    @DisplayName("Property: minor-unit aggregation should match BigDecimal aggregation for two-decimal currencies")
+    void shouldMatchDecimalAggregationOnRandomBundles() {
+        for (long seed = 1; seed <= CASES; seed++) {
+            Scenario decimalScenario = Scenario.random(new Random(seed));
+            Scenario minorUnitScenario = Scenario.random(new Random(seed));
+
+            BigDecimal expected = aggregator.calculateDecimalBundleImpact(decimalScenario.components(),
+                    decimalScenario.principal(), decimalScenario.feePool(),
+                    decimalScenario.enrollmentDate(), decimalScenario.effectiveDate());
+            BigDecimal actual = minorUnitAggregator.calculateBundleImpact(minorUnitScenario.components(),
+                    minorUnitScenario.principal(), minorUnitScenario.feePool(),
+                    minorUnitScenario.enrollmentDate(), minorUnitScenario.effectiveDate(), 2);
+
+            String context = "seed " + seed + ": " + decimalScenario;
+            assertEquals(expected, actual, context);
+            for (int i = 0; i < decimalScenario.components().size(); i++) {
+                PriceComponentDetail decimal = decimalScenario.components().get(i);
+                PriceComponentDetail minorUnit = minorUnitScenario.components().get(i);
+                assertEquals(decimal.getCalculatedAmount(), minorUnit.getCalculatedAmount(), context + " component " + i);
+                assertEquals(decimal.getActiveDays(), minorUnit.getActiveDays(), context + " component " + i);
+                assertEquals(decimal.getBillingCycleDays(), minorUnit.getBillingCycleDays(), context + " component " + i);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Half-up division should round ties away from zero like RoundingMode.HALF_UP")
+    void divideHalfUp_shouldRoundTiesAwayFromZero() {
+        assertEquals(3, MinorUnitPriceAggregator.divideHalfUp(25, 10));
+        assertEquals(-3, MinorUnitPriceAggregator.divideHalfUp(-25, 10));
+        assertEquals(2, MinorUnitPriceAggregator.divideHalfUp(24, 10));
+        assertEquals(-2, MinorUnitPriceAggregator.divideHalfUp(-24, 10));
+        assertEquals(0, MinorUnitPriceAggregator.divideHalfUp(0, 10));
+    }
+
+    @Test
+    @DisplayName("A zero-decimal currency should be aggregated in whole units")
+    void shouldRoundToTheCurrencyMinorUnit() {
+        useTenantArithmetic(PricingArithmetic.MINOR_UNITS, "JPY");
+        // 1% of 1,250 yen = 12.5 yen, charged as 13
+        List<PriceComponentDetail> components = List.of(component("FX_FEE", "1", ValueType.FEE_PERCENTAGE));
+
+        BigDecimal netImpact = aggregator.calculateBundleImpact(components, new BigDecimal("1250"), BigDecimal.ZERO,
+                null, LocalDate.of(2026, 3, 15));
+
+        assertEquals(new BigDecimal("13"), netImpact);
+        assertEquals(new BigDecimal("13"), components.getFirst().getCalculatedAmount());
+    }
+
+    @Test
+    @DisplayName("Inputs the minor-unit engine cannot hold exactly should be priced with BigDecimal")
+    void shouldFallBackToDecimalForInexactInputs() {
+        useTenantArithmetic(PricingArithmetic.MINOR_UNITS, "USD");
+        // A principal with seven decimals has no exact value in internal units
+        List<PriceComponentDetail> components = List.of(component("FX_FEE", "1.5", ValueType.FEE_PERCENTAGE));
+
+        BigDecimal netImpact = aggregator.calculateBundleImpact(components, new BigDecimal("1000.0000001"), BigDecimal.ZERO,
+                null, LocalDate.of(2026, 3, 15));
+
+        assertEquals(new BigDecimal("15.00"), netImpact);
+    }
+
+    @Test
+    @DisplayName("Unknown or placeholder currency codes should use two decimals")
+    void minorUnitScale_shouldDefaultToTwoDecimals() {
+        assertEquals(2, PricingArithmeticResolver.minorUnitScale("usd"));
+        assertEquals(0, PricingArithmeticResolver.minorUnitScale("JPY"));
+        assertEquals(3, PricingArithmeticResolver.minorUnitScale("KWD"));
+        assertEquals(2, PricingArithmeticResolver.minorUnitScale("NO_CURR"));
+        assertEquals(2, PricingArithmeticResolver.minorUnitScale(null));
+    }
+
+    private void useTenantArithmetic(PricingArithmetic arithmetic, String currencyCode) {
+        BankConfiguration config = new BankConfiguration();
+        config.setPricingArithmetic(arithmetic);
+        config.setCurrencyCode(currencyCode);
+        when(bankConfigurationRepository.findByBankIdUnfiltered(TEST_BANK_ID)).thenReturn(Optional.of(config));
+    }
+
+    private static PriceComponentDetail component(String code, String amount, ValueType type) {
+        return PriceComponentDetail.builder()
+                .componentCode(code)
+                .rawValue(new BigDecimal(amount))
+                .valueType(type)
+                .build();
+    }
+
+    private record Scenario(List<PriceComponentDetail> components, BigDecimal principal, BigDecimal feePool,
+                            LocalDate enrollmentDate, LocalDate effectiveDate) {
+
+        private static Scenario random(Random random) {
+            LocalDate effectiveDate = LocalDate.of(2024, 1, 1).plusDays(random.nextInt(1100));
+            LocalDate cycleStart = effectiveDate.withDayOfMonth(1);
+            LocalDate enrollmentDate = random.nextInt(3) == 0 ? null : cycleStart.plusDays(random.nextInt(40) - 5);
+
+            List<PriceComponentDetail> components = new ArrayList<>();
+            int count = 1 + random.nextInt(6);
+            for (int i = 0; i < count; i++) {
+                ValueType type = TYPES[random.nextInt(TYPES.length)];
+                boolean percentage = type == ValueType.FEE_PERCENTAGE || type == ValueType.DISCOUNT_PERCENTAGE;
+                boolean discount = type == ValueType.DISCOUNT_ABSOLUTE || type == ValueType.DISCOUNT_PERCENTAGE;
+                components.add(PriceComponentDetail.builder()
+                        .componentCode(discount ? "DISCOUNT_" + i : FEE_CODES[random.nextInt(FEE_CODES.length)])
+                        .targetComponentCode(discount && random.nextBoolean() ? FEE_CODES[random.nextInt(FEE_CODES.length)] : null)
+                        .rawValue(percentage ? decimal(random, 100, 4) : decimal(random, 5_000, 2))
+                        .valueType(type)
+                        .proRataApplicable(random.nextBoolean())
+                        .effectiveDate(random.nextBoolean() ? cycleStart.plusDays(random.nextInt(45) - 10) : null)
+                        .expiryDate(random.nextBoolean() ? cycleStart.plusDays(random.nextInt(45) - 5) : null)
+                        .build());
+            }
+            BigDecimal feePool = random.nextInt(5) == 0 ? null : decimal(random, 1_000_000, 2);
+            return new Scenario(components, decimal(random, 1_000_000, 2), feePool, enrollmentDate, effectiveDate);
+        }
+
+        /**
+         * A value below {@code bound} with up to {@code maxScale} decimals, occasionally negative.
+         */
+        private static BigDecimal decimal(Random random, int bound, int maxScale) {
+            int scale = random.nextInt(maxScale + 1);
+            long unscaled = random.nextLong(BigDecimal.valueOf(bound).movePointRight(scale).longValueExact());
+            if (random.nextInt(10) == 0) {
+                unscaled = -unscaled;
+            }
+            return BigDecimal.valueOf(unscaled, scale);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.bankengine.pricing.service;
 
+import com.bankengine.common.repository.BankConfigurationRepository;
 import com.bankengine.pricing.dto.ProductPricingCalculationResult.PriceComponentDetail;
 import com.bankengine.pricing.model.PriceValue.ValueType;
 import org.junit.jupiter.api.DisplayName;
@@ -11,10 +12,12 @@ import java.time.LocalDate;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
 
 class PriceAggregatorTest {
 
-    private final PriceAggregator aggregator = new PriceAggregator();
+    private final PriceAggregator aggregator =
+            new PriceAggregator(new PricingArithmeticResolver(mock(BankConfigurationRepository.class)));
     private static final int SCALE = 2;
 
     @Test
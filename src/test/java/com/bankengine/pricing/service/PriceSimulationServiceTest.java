@@ -0,0 +1,94 @@
+package com.bankengine.pricing.service;
+
+import com.bankengine.pricing.dto.PriceSimulationRequest;
+import com.bankengine.pricing.dto.PriceSimulationRequest.AmountRange;
+import com.bankengine.pricing.dto.PriceSimulationResponse;
+import com.bankengine.pricing.dto.ProductPriceRequest;
+import com.bankengine.pricing.dto.ProductPricingCalculationResult;
+import com.bankengine.pricing.service.ProductPricingService.PricedInterval;
+import com.bankengine.test.config.BaseServiceTest;
+import com.bankengine.web.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PriceSimulationServiceTest extends BaseServiceTest {
+
+    @Mock private ProductPricingService productPricingService;
+
+    private PriceSimulationService priceSimulationService;
+
+    @BeforeEach
+    void setUp() {
+        PricingExecutor pricingExecutor = new PricingExecutor(mock(PlatformTransactionManager.class), 2);
+        priceSimulationService = new PriceSimulationService(productPricingService, pricingExecutor);
+        ReflectionTestUtils.setField(priceSimulationService, "maxPoints", 100);
+    }
+
+    @Test
+    @DisplayName("Should sweep the amount grid once per segment and return each sweep's intervals as curve pieces")
+    void simulate_shouldReturnOnePiecewiseCurvePerSegment() {
+        when(productPricingService.getProductPricingSweep(any(), anyList())).thenAnswer(invocation -> {
+            ProductPriceRequest request = invocation.getArgument(0);
+            List<BigDecimal> amounts = invocation.getArgument(1);
+            BigDecimal fee = "PREMIUM".equals(request.getCustomAttributes().get(PricingAttributeKeys.CUSTOMER_SEGMENT))
+                    ? BigDecimal.ZERO : BigDecimal.TEN;
+            return List.of(
+                    new PricedInterval(amounts.subList(0, 2), List.of(priced(fee), priced(fee))),
+                    new PricedInterval(amounts.subList(2, amounts.size()),
+                            amounts.subList(2, amounts.size()).stream().map(amount -> priced(fee.add(BigDecimal.ONE))).toList()));
+        });
+
+        PriceSimulationResponse response = priceSimulationService.simulate(PriceSimulationRequest.builder()
+                .productId(1L)
+                .customAttributes(Map.of(PricingAttributeKeys.EFFECTIVE_DATE, "2026-03-01"))
+                .amountRange(new AmountRange(new BigDecimal("0"), new BigDecimal("1000"), new BigDecimal("250")))
+                .segments(List.of("RETAIL", "PREMIUM"))
+                .build());
+
+        assertEquals(10, response.getPointCount());
+        assertEquals(4, response.getEvaluationCount());
+        assertEquals(PricingAttributeKeys.CUSTOMER_SEGMENT, response.getSegmentAttribute());
+        PriceSimulationResponse.SegmentCurve retail = response.getCurves().getFirst();
+        assertEquals("RETAIL", retail.getSegment());
+        assertEquals(new BigDecimal("500"), retail.getPieces().get(1).getFromAmount());
+        assertEquals(new BigDecimal("1000"), retail.getPieces().get(1).getToAmount());
+        assertEquals(new BigDecimal("11"), retail.getPieces().get(1).getPoints().get(2).getFinalChargeablePrice());
+        assertEquals(BigDecimal.ONE, response.getCurves().get(1).getPieces().get(1).getPoints().getFirst().getFinalChargeablePrice());
+        verify(productPricingService).getProductPricingSweep(
+                argThat(request -> "2026-03-01".equals(request.getCustomAttributes().get(PricingAttributeKeys.EFFECTIVE_DATE))
+                        && "PREMIUM".equals(request.getCustomAttributes().get(PricingAttributeKeys.CUSTOMER_SEGMENT))),
+                eq(List.of(new BigDecimal("0"), new BigDecimal("250"), new BigDecimal("500"), new BigDecimal("750"), new BigDecimal("1000"))));
+    }
+
+    @Test
+    @DisplayName("Should reject a grid larger than the configured maximum before pricing anything")
+    void simulate_shouldRejectOversizedGrid() {
+        PriceSimulationRequest request = PriceSimulationRequest.builder()
+                .productId(1L)
+                .amountRange(new AmountRange(BigDecimal.ZERO, new BigDecimal("100"), BigDecimal.ONE))
+                .build();
+
+        assertThrows(ValidationException.class, () -> priceSimulationService.simulate(request));
+        verifyNoInteractions(productPricingService);
+    }
+
+    private static ProductPricingCalculationResult priced(BigDecimal price) {
+        return ProductPricingCalculationResult.builder().finalChargeablePrice(price).componentBreakdown(List.of()).build();
+    }
+}
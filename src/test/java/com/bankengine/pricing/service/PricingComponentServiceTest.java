@@ -14,7 +14,7 @@ import com.bankengine.pricing.model.TierCondition;
 import com.bankengine.pricing.repository.PricingComponentRepository;
 import com.bankengine.pricing.repository.PricingTierRepository;
 import com.bankengine.pricing.repository.ProductPricingLinkRepository;
-import com.bankengine.rules.service.KieContainerReloadService;
+import com.bankengine.rules.service.RuleReloadScheduler;
 import com.bankengine.test.config.BaseServiceTest;
 import com.bankengine.web.exception.DependencyViolationException;
 import com.bankengine.web.exception.NotFoundException;
@@ -43,7 +43,7 @@ class PricingComponentServiceTest extends BaseServiceTest {
     @Mock private PricingTierMapper pricingTierMapper;
     @Mock private PriceValueMapper priceValueMapper;
     @Mock private TierConditionMapper tierConditionMapper;
-    @Mock private KieContainerReloadService reloadService;
+    @Mock private RuleReloadScheduler reloadScheduler;
 
     @InjectMocks
     private PricingComponentService componentService;
@@ -81,6 +81,7 @@ class PricingComponentServiceTest extends BaseServiceTest {
         request.setType("FEE");
 
         PricingComponent entity = new PricingComponent();
+        entity.setId(10L);
         entity.setBankId(TEST_BANK_ID);
         entity.setCode("MTH-FEE");
         entity.setType(PricingComponent.ComponentType.FEE);
@@ -93,7 +94,7 @@ class PricingComponentServiceTest extends BaseServiceTest {
         componentService.createComponent(request);
 
         verify(componentRepository).save(entity);
-        verify(reloadService).reloadKieContainer();
+        verify(reloadScheduler).requestComponentReload(List.of(10L));
     }
 
     @Test
@@ -130,7 +131,7 @@ class PricingComponentServiceTest extends BaseServiceTest {
 
         assertTrue(tier.getConditions().isEmpty());
         verify(tierRepository).save(tier);
-        verify(reloadService).reloadKieContainer();
+        verify(reloadScheduler).requestComponentReload(List.of(cId));
     }
 
     @Test
@@ -316,7 +317,7 @@ class PricingComponentServiceTest extends BaseServiceTest {
         assertEquals("PREMIUM_WAIVER", synchronizedTier.getCode());
         assertEquals(1, synchronizedTier.getConditions().size());
         assertEquals(1, synchronizedTier.getPriceValues().size());
-        verify(reloadService).reloadKieContainer();
+        verify(reloadScheduler).requestComponentReload(List.of(id));
     }
 
     @Test
@@ -340,7 +341,7 @@ class PricingComponentServiceTest extends BaseServiceTest {
         componentService.updateComponent(id, request);
 
         assertTrue(component.getPricingTiers().isEmpty());
-        verify(reloadService).reloadKieContainer();
+        verify(reloadScheduler).requestComponentReload(List.of(id));
     }
 
     @Test
@@ -426,6 +427,7 @@ class PricingComponentServiceTest extends BaseServiceTest {
         source.setPricingTiers(Set.of(oldTier));
 
         PricingComponent newVersion = getValidPricingComponent(VersionableEntity.EntityStatus.DRAFT);
+        newVersion.setId(2L);
         newVersion.setVersion(2);
 
         VersionRequest request = new VersionRequest("New Version Name", null, null, null);
@@ -441,7 +443,7 @@ class PricingComponentServiceTest extends BaseServiceTest {
         verify(pricingComponentMapper).clone(source);
         verify(pricingTierMapper, atLeastOnce()).clone(any(PricingTier.class));
         verify(componentRepository).save(newVersion);
-        verify(reloadService).reloadKieContainer();
+        verify(reloadScheduler).requestComponentReload(List.of(2L));
     }
 
     @Test
@@ -458,7 +460,7 @@ class PricingComponentServiceTest extends BaseServiceTest {
         // Assert
         assertEquals(VersionableEntity.EntityStatus.ACTIVE, draft.getStatus());
         verify(componentRepository).save(draft);
-        verify(reloadService).reloadKieContainer();
+        verify(reloadScheduler).requestComponentReload(List.of(id));
     }
 
     @Test
@@ -616,7 +618,7 @@ class PricingComponentServiceTest extends BaseServiceTest {
         componentService.deleteTierAndValue(cId, tId);
 
         verify(tierRepository).delete(tier);
-        verify(reloadService).reloadKieContainer();
+        verify(reloadScheduler).requestComponentReload(List.of(cId));
     }
 
     @Test
@@ -0,0 +1,98 @@
+package com.bankengine.pricing.service;
+
+import com.bankengine.auth.security.TenantContextHolder;
+import com.bankengine.test.config.BaseServiceTest;
+import com.bankengine.web.exception.NotFoundException;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PricingExecutorTest extends BaseServiceTest {
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private PricingExecutor pricingExecutor;
+
+    @BeforeEach
+    void setUp() {
+        pricingExecutor = new PricingExecutor(transactionManager, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pricingExecutor.shutdown();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Tasks should run on virtual threads with the caller's tenant, authentication and a read-only transaction")
+    void submit_shouldPropagateRequestContext() {
+        Authentication authentication = new UsernamePasswordAuthenticationToken("analyst", null, List.of());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        String observed = pricingExecutor.join(pricingExecutor.submit(() -> {
+            assertTrue(Thread.currentThread().isVirtual());
+            assertSame(authentication, SecurityContextHolder.getContext().getAuthentication());
+            return TenantContextHolder.getBankId();
+        }));
+
+        assertEquals(TEST_BANK_ID, observed);
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertTrue(definition.getValue().isReadOnly());
+    }
+
+    @Test
+    @DisplayName("map should keep item order, cap concurrency and rethrow the task's own exception")
+    void map_shouldKeepOrderAndCapConcurrency() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        List<Integer> doubled = pricingExecutor.map(List.of(1, 2, 3, 4, 5, 6), item -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return item * 2;
+        });
+
+        assertEquals(List.of(2, 4, 6, 8, 10, 12), doubled);
+        assertTrue(peak.get() <= 2, "No more tasks than max-concurrency should run at once");
+        assertThrows(NotFoundException.class, () -> pricingExecutor.map(List.of(1), item -> {
+            throw new NotFoundException("Product not found with ID: " + item);
+        }));
+    }
+
+    @Test
+    @DisplayName("Concurrency should be capped at half of the Hikari pool, or the configured limit if lower")
+    void constructor_shouldCapConcurrencyBelowThePoolSize() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(10);
+
+        PricingExecutor poolBound = new PricingExecutor(transactionManager, dataSource, 16);
+        PricingExecutor configBound = new PricingExecutor(transactionManager, dataSource, 3);
+        try {
+            assertEquals(5, poolBound.getMaxConcurrency());
+            assertEquals(3, configBound.getMaxConcurrency());
+        } finally {
+            poolBound.shutdown();
+            configBound.shutdown();
+        }
+    }
+}
@@ -5,7 +5,7 @@ import com.bankengine.pricing.dto.PricingMetadataRequest;
 import com.bankengine.pricing.model.PricingInputMetadata;
 import com.bankengine.pricing.repository.PricingInputMetadataRepository;
 import com.bankengine.pricing.repository.TierConditionRepository;
-import com.bankengine.rules.service.KieContainerReloadService;
+import com.bankengine.rules.service.RuleReloadScheduler;
 import com.bankengine.test.config.BaseServiceTest;
 import com.bankengine.web.exception.DependencyViolationException;
 import com.bankengine.web.exception.NotFoundException;
@@ -30,7 +30,7 @@ class PricingInputMetadataServiceTest extends BaseServiceTest {
     @Mock private PricingInputMetadataRepository pricingInputMetadataRepository;
     @Mock private TierConditionRepository tierConditionRepository;
     @Mock private PricingInputMetadataMapper mapper;
-    @Mock private KieContainerReloadService reloadService;
+    @Mock private RuleReloadScheduler reloadScheduler;
 
     @InjectMocks
     private PricingInputMetadataService metadataService;
@@ -80,7 +80,7 @@ class PricingInputMetadataServiceTest extends BaseServiceTest {
         assertThat(dto.getSourceType()).isEqualTo("FACT_FIELD");
         assertThat(dto.getSourceField()).isEqualTo("transactionAmount");
         verify(pricingInputMetadataRepository).save(entity);
-        verify(reloadService).reloadKieContainer();
+        verify(reloadScheduler).requestFullReload();
         verify(mapper).toResponse(any());
     }
 
@@ -105,7 +105,7 @@ class PricingInputMetadataServiceTest extends BaseServiceTest {
         assertThat(dto.getDataType()).isEqualTo("STRING");
         assertThat(dto.getSourceType()).isEqualTo("CUSTOM_ATTRIBUTE");
         verify(pricingInputMetadataRepository).save(entity);
-        verify(reloadService).reloadKieContainer();
+        verify(reloadScheduler).requestFullReload();
     }
 
     @Test
@@ -119,7 +119,7 @@ class PricingInputMetadataServiceTest extends BaseServiceTest {
                 .isInstanceOf(DependencyViolationException.class)
                 .hasMessageContaining("already exists");
 
-        verify(reloadService, never()).reloadKieContainer();
+        verify(reloadScheduler, never()).requestFullReload();
     }
 
     @Test
@@ -142,7 +142,7 @@ class PricingInputMetadataServiceTest extends BaseServiceTest {
         assertThat(existing.getDisplayName()).isEqualTo("New Display");
         assertThat(existing.getDataType()).isEqualTo("BOOLEAN");
         assertThat(existing.getSourceField()).isEqualTo("customerSegment");
-        verify(reloadService).reloadKieContainer();
+        verify(reloadScheduler).requestFullReload();
     }
 
     @Test
@@ -157,7 +157,7 @@ class PricingInputMetadataServiceTest extends BaseServiceTest {
         metadataService.deleteMetadata(key);
 
         verify(pricingInputMetadataRepository).deleteByBankIdAndAttributeKey(TEST_BANK_ID, key);
-        verify(reloadService).reloadKieContainer();
+        verify(reloadScheduler).requestFullReload();
     }
 
     @Test
@@ -176,7 +176,7 @@ class PricingInputMetadataServiceTest extends BaseServiceTest {
                 .hasMessageContaining("used in one or more active tier conditions");
 
         verify(pricingInputMetadataRepository, never()).deleteByBankIdAndAttributeKey(any(), any());
-        verify(reloadService, never()).reloadKieContainer();
+        verify(reloadScheduler, never()).requestFullReload();
     }
 
     @Test
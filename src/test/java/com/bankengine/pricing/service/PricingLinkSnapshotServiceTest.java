@@ -0,0 +1,144 @@
+package com.bankengine.pricing.service;
+
+import com.bankengine.auth.security.TenantContextHolder;
+import com.bankengine.catalog.model.Product;
+import com.bankengine.catalog.model.ProductBundle;
+import com.bankengine.catalog.repository.ProductBundleRepository;
+import com.bankengine.catalog.repository.ProductRepository;
+import com.bankengine.pricing.model.BundlePricingLink;
+import com.bankengine.pricing.model.PricingComponent;
+import com.bankengine.pricing.model.PricingTier;
+import com.bankengine.pricing.model.ProductPricingLink;
+import com.bankengine.pricing.repository.BundlePricingLinkRepository;
+import com.bankengine.pricing.repository.ProductPricingLinkRepository;
+import com.bankengine.test.config.BaseServiceTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PricingLinkSnapshotServiceTest extends BaseServiceTest {
+
+    private static final LocalDate MARCH = LocalDate.of(2026, 3, 1);
+
+    @Mock private ProductRepository productRepository;
+    @Mock private ProductBundleRepository productBundleRepository;
+    @Mock private ProductPricingLinkRepository productPricingLinkRepository;
+    @Mock private BundlePricingLinkRepository bundlePricingLinkRepository;
+
+    private PricingLinkSnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        snapshotService = new PricingLinkSnapshotService(productRepository, productBundleRepository,
+                productPricingLinkRepository, bundlePricingLinkRepository);
+        ReflectionTestUtils.setField(snapshotService, "enabled", true);
+        lenient().when(productRepository.findIdsByBankIdIn(any())).thenReturn(List.of(1L));
+        lenient().when(productBundleRepository.findIdsByBankIdIn(any())).thenReturn(List.of(7L));
+    }
+
+    @Test
+    @DisplayName("Should build the tenant snapshot once and answer cycle lookups from it")
+    void current_shouldBuildOnceAndFilterByCycle() {
+        when(productPricingLinkRepository.findAllWithComponentsByBankId(TEST_BANK_ID)).thenReturn(List.of(
+                productLink("MONTHLY_FEE", MARCH, MARCH.plusDays(30)),
+                productLink("OLD_FEE", MARCH.minusMonths(6), MARCH.minusDays(1))));
+        when(bundlePricingLinkRepository.findAllWithComponentsByBankId(TEST_BANK_ID)).thenReturn(List.of(bundleLink()));
+
+        PricingLinkSnapshot snapshot = snapshotService.current().orElseThrow();
+        assertSame(snapshot, snapshotService.current().orElseThrow());
+
+        List<PricingLinkSnapshot.Link> march = snapshot.productLinksOverlapping(1L, MARCH, MARCH.withDayOfMonth(31));
+        assertEquals(List.of("MONTHLY_FEE"), march.stream().map(PricingLinkSnapshot.Link::componentCode).toList());
+        PricingLinkSnapshot.Link link = march.getFirst();
+        assertEquals("MONTHLY_FEE:2", link.componentKey());
+        assertEquals(Set.of("MONTHLY_FEE_T1"), link.tierCodes());
+        assertTrue(link.applyChargeOnFullBreach());
+        assertEquals(1, snapshot.bundleLinksOverlapping(7L, MARCH, MARCH.withDayOfMonth(31)).size());
+        assertTrue(snapshot.containsProduct(1L));
+        assertFalse(snapshot.containsProduct(2L));
+        assertTrue(snapshot.containsBundle(7L));
+        verify(productPricingLinkRepository, times(1)).findAllWithComponentsByBankId(TEST_BANK_ID);
+    }
+
+    @Test
+    @DisplayName("Invalidation should make the next quote rebuild; a build that raced it should not be kept")
+    void invalidate_shouldDropSnapshotAndDiscardRacedBuild() {
+        when(productPricingLinkRepository.findAllWithComponentsByBankId(TEST_BANK_ID))
+                .thenAnswer(invocation -> {
+                    // A change committed while the first snapshot was being built
+                    if (mockingDetails(productPricingLinkRepository).getInvocations().size() == 1) {
+                        snapshotService.invalidate(TEST_BANK_ID);
+                    }
+                    return List.of();
+                });
+
+        PricingLinkSnapshot raced = snapshotService.current().orElseThrow();
+        PricingLinkSnapshot rebuilt = snapshotService.current().orElseThrow();
+        assertNotSame(raced, rebuilt);
+        assertSame(rebuilt, snapshotService.current().orElseThrow());
+
+        snapshotService.invalidate(TEST_BANK_ID);
+        assertNotSame(rebuilt, snapshotService.current().orElseThrow());
+        verify(productPricingLinkRepository, times(3)).findAllWithComponentsByBankId(TEST_BANK_ID);
+    }
+
+    @Test
+    @DisplayName("System mode or a disabled snapshot should fall back to the database")
+    void current_shouldBeEmptyInSystemModeOrWhenDisabled() {
+        TenantContextHolder.setSystemMode(true);
+        assertTrue(snapshotService.current().isEmpty());
+
+        TenantContextHolder.setSystemMode(false);
+        ReflectionTestUtils.setField(snapshotService, "enabled", false);
+        assertTrue(snapshotService.current().isEmpty());
+        verifyNoInteractions(productPricingLinkRepository, productRepository);
+    }
+
+    private static ProductPricingLink productLink(String code, LocalDate effectiveDate, LocalDate expiryDate) {
+        Product product = new Product();
+        product.setId(1L);
+        ProductPricingLink link = new ProductPricingLink();
+        link.setProduct(product);
+        link.setPricingComponent(component(code));
+        link.setUseRulesEngine(true);
+        link.setEffectiveDate(effectiveDate);
+        link.setExpiryDate(expiryDate);
+        return link;
+    }
+
+    private static BundlePricingLink bundleLink() {
+        ProductBundle bundle = new ProductBundle();
+        bundle.setId(7L);
+        BundlePricingLink link = new BundlePricingLink();
+        link.setProductBundle(bundle);
+        link.setPricingComponent(component("BUNDLE_FEE"));
+        link.setFixedValue(new BigDecimal("5.00"));
+        link.setEffectiveDate(MARCH.minusMonths(1));
+        return link;
+    }
+
+    private static PricingComponent component(String code) {
+        PricingComponent component = new PricingComponent();
+        component.setCode(code);
+        component.setVersion(2);
+        PricingTier tier = new PricingTier();
+        tier.setCode(code + "_T1");
+        tier.setApplyChargeOnFullBreach(true);
+        component.getPricingTiers().add(tier);
+        return component;
+    }
+}
@@ -0,0 +1,133 @@
+package com.bankengine.pricing.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PricingRequestCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+    private PricingRequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new PricingRequestCoalescer(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Map order and number scale should not change the key; tenant, values and list order should")
+    void keyFor_shouldHashCanonicalParts() {
+        LocalDate enrollment = LocalDate.of(2026, 3, 1);
+        PricingRequestCoalescer.Key key = coalescer.keyFor("BANK_A", "bundle", 1L, enrollment,
+                Map.of("segment", "GOLD", "amount", new BigDecimal("10.00")), List.of(10L, 11L));
+
+        assertEquals(key, coalescer.keyFor("BANK_A", "bundle", 1L, enrollment,
+                Map.of("amount", 10, "segment", "GOLD"), List.of(10L, 11L)));
+        assertNotEquals(key, coalescer.keyFor("BANK_B", "bundle", 1L, enrollment,
+                Map.of("segment", "GOLD", "amount", new BigDecimal("10.00")), List.of(10L, 11L)));
+        assertNotEquals(key, coalescer.keyFor("BANK_A", "bundle", 1L, enrollment,
+                Map.of("segment", "GOLD", "amount", new BigDecimal("10.00")), List.of(11L, 10L)));
+        assertNotEquals(key, coalescer.keyFor("BANK_A", "bundle", 1L, null,
+                Map.of("segment", "GOLD", "amount", new BigDecimal("10.00")), List.of(10L, 11L)));
+    }
+
+    @Test
+    @DisplayName("Concurrent identical requests should share one computation and its result")
+    void execute_shouldCoalesceConcurrentIdenticalRequests() throws Exception {
+        PricingRequestCoalescer.Key key = coalescer.keyFor("BANK_A", "bundle", 1L);
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Object result = new Object();
+
+        List<Future<Object>> futures = new ArrayList<>();
+        futures.add(callers.submit(() -> coalescer.execute(key, () -> {
+            computations.incrementAndGet();
+            started.countDown();
+            await(release);
+            return result;
+        })));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 7; i++) {
+            futures.add(callers.submit(() -> coalescer.execute(key, () -> {
+                computations.incrementAndGet();
+                return new Object();
+            })));
+        }
+        awaitCount("coalesced", 7);
+        release.countDown();
+
+        for (Future<Object> future : futures) {
+            assertSame(result, future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, computations.get());
+        assertEquals(1, count("computed"));
+        assertEquals(0, coalescer.inFlightCount());
+
+        assertNotSame(result, coalescer.execute(key, Object::new));
+        assertEquals(2, count("computed"));
+    }
+
+    @Test
+    @DisplayName("A failed computation should fail every caller that shared it and not be reused afterwards")
+    void execute_shouldPropagateFailureToEveryWaiter() throws Exception {
+        PricingRequestCoalescer.Key key = coalescer.keyFor("BANK_A", "bundle", 1L);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Object> leader = callers.submit(() -> coalescer.execute(key, () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalStateException("Rules unavailable");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<Object> follower = callers.submit(() -> coalescer.execute(key, Object::new));
+        awaitCount("coalesced", 1);
+        release.countDown();
+
+        for (Future<Object> future : List.of(leader, follower)) {
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+            assertEquals("Rules unavailable", failure.getCause().getMessage());
+        }
+        assertEquals(0, coalescer.inFlightCount());
+        assertNotNull(coalescer.execute(key, Object::new));
+    }
+
+    private double count(String result) {
+        return meterRegistry.get(PricingRequestCoalescer.COALESCING_METRIC).tag("result", result).counter().count();
+    }
+
+    private void awaitCount(String result, int expected) throws InterruptedException {
+        for (int attempt = 0; attempt < 500 && count(result) < expected; attempt++) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, count(result));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.bankengine.pricing.service;
+
+import com.bankengine.pricing.dto.ProductPricingCalculationResult;
+import com.bankengine.rules.service.KieContainerReloadService;
+import com.bankengine.test.config.BaseServiceTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PricingResultCacheTest extends BaseServiceTest {
+
+    private static final LocalDate CYCLE = LocalDate.of(2026, 3, 1);
+
+    @Mock private KieContainerReloadService kieContainerReloadService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PricingResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PricingResultCache(kieContainerReloadService, meterRegistry, 2);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+    }
+
+    @Test
+    @DisplayName("Attribute order and number scale should not change the key; values and types should")
+    void keyFor_shouldHashNormalizedAttributes() {
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("transactionAmount", new BigDecimal("100.00"));
+        first.put("customerSegment", "GOLD");
+        Map<String, Object> reordered = new LinkedHashMap<>();
+        reordered.put("customerSegment", "GOLD");
+        reordered.put("transactionAmount", 100);
+
+        PricingResultCache.Key key = cache.keyFor("BANK_A", 1L, CYCLE, null, first);
+
+        assertEquals(key, cache.keyFor("BANK_A", 1L, CYCLE, null, reordered));
+        assertNotEquals(key, cache.keyFor("BANK_A", 1L, CYCLE, null, Map.of("customerSegment", "GOLD", "transactionAmount", "100")));
+        assertNotEquals(key, cache.keyFor("BANK_A", 1L, CYCLE, CYCLE, first));
+        assertNotEquals(key, cache.keyFor("BANK_B", 1L, CYCLE, null, first));
+    }
+
+    @Test
+    @DisplayName("A rule base swap or a pricing data change should stop serving earlier results")
+    void computeIfAbsent_shouldMissAfterSwapOrInvalidation() {
+        AtomicInteger computations = new AtomicInteger();
+        when(kieContainerReloadService.getRulesVersion("BANK_A")).thenReturn(1L, 1L, 2L, 2L);
+
+        price(computations);
+        price(computations);
+        assertEquals(1, computations.get(), "Second identical quote should be a hit");
+
+        price(computations);
+        assertEquals(2, computations.get(), "A new rules version should miss");
+
+        cache.invalidate("BANK_A");
+        assertEquals(0, cache.size());
+        price(computations);
+        assertEquals(3, computations.get(), "Invalidated results should be recomputed");
+
+        assertEquals(1.0, meterRegistry.find(PricingResultCache.CACHE_METRIC).tag("result", "hit").counter().count());
+        assertEquals(3.0, meterRegistry.find(PricingResultCache.CACHE_METRIC).tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("A result computed while the tenant's pricing data changed should not be cached")
+    void computeIfAbsent_shouldNotStoreResultThatRacedInvalidation() {
+        PricingResultCache.Key key = cache.keyFor("BANK_A", 1L, CYCLE, null, Map.of());
+
+        cache.computeIfAbsent(key, () -> {
+            cache.invalidate("BANK_A");
+            return result("5");
+        });
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("A system bank change should drop the cached results of every tenant")
+    void invalidate_shouldDropEveryTenantOnSystemBankChange() {
+        PricingResultCache.Key key = cache.keyFor("BANK_A", 1L, CYCLE, null, Map.of());
+        cache.computeIfAbsent(key, () -> result("5"));
+
+        cache.invalidate("SYSTEM");
+
+        assertEquals(0, cache.size());
+        AtomicInteger computations = new AtomicInteger();
+        cache.computeIfAbsent(cache.keyFor("BANK_A", 1L, CYCLE, null, Map.of()), () -> {
+            computations.incrementAndGet();
+            return result("5");
+        });
+        assertEquals(1, computations.get(), "Results cached before the system change should be recomputed");
+        assertEquals(1, cache.size());
+
+        cache.computeIfAbsent(key, () -> {
+            cache.invalidate("SYSTEM");
+            return result("5");
+        });
+        assertEquals(0, cache.size(), "A result that raced a system change should not be cached");
+    }
+
+    @Test
+    @DisplayName("Modifying a returned result should not change later hits")
+    void computeIfAbsent_shouldReturnCopies() {
+        PricingResultCache.Key key = cache.keyFor("BANK_A", 1L, CYCLE, null, Map.of());
+        ProductPricingCalculationResult.PriceComponentDetail detail = ProductPricingCalculationResult.PriceComponentDetail.builder()
+                .componentCode("FEE").calculatedAmount(BigDecimal.TEN).build();
+        ProductPricingCalculationResult computed = cache.computeIfAbsent(key, () -> ProductPricingCalculationResult.builder()
+                .finalChargeablePrice(BigDecimal.TEN).componentBreakdown(new ArrayList<>(List.of(detail))).build());
+
+        computed.setFinalChargeablePrice(BigDecimal.ZERO);
+        computed.getComponentBreakdown().getFirst().setCalculatedAmount(BigDecimal.ZERO);
+        ProductPricingCalculationResult hit = cache.computeIfAbsent(key, () -> fail("Should be a hit"));
+        hit.getComponentBreakdown().clear();
+
+        ProductPricingCalculationResult nextHit = cache.computeIfAbsent(key, () -> fail("Should be a hit"));
+        assertEquals(BigDecimal.TEN, nextHit.getFinalChargeablePrice());
+        assertEquals(BigDecimal.TEN, nextHit.getComponentBreakdown().getFirst().getCalculatedAmount());
+    }
+
+    @Test
+    @DisplayName("The cache should hold at most max-entries results")
+    void computeIfAbsent_shouldBeBounded() {
+        for (long productId = 1; productId <= 5; productId++) {
+            cache.computeIfAbsent(cache.keyFor("BANK_A", productId, CYCLE, null, Map.of()), () -> result("5"));
+        }
+
+        assertEquals(2, cache.size());
+    }
+
+    private void price(AtomicInteger computations) {
+        PricingResultCache.Key key = cache.keyFor("BANK_A", 1L, CYCLE, null, Map.of("customerSegment", "GOLD"));
+        cache.computeIfAbsent(key, () -> {
+            computations.incrementAndGet();
+            return result("10");
+        });
+    }
+
+    private static ProductPricingCalculationResult result(String amount) {
+        return ProductPricingCalculationResult.builder().finalChargeablePrice(new BigDecimal(amount)).build();
+    }
+}
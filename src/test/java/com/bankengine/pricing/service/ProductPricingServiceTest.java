@@ -3,15 +3,19 @@ package com.bankengine.pricing.service;
 import com.bankengine.auth.security.TenantContextHolder;
 import com.bankengine.catalog.model.Product;
 import com.bankengine.catalog.repository.ProductRepository;
+import com.bankengine.config.drools.RulePackage;
 import com.bankengine.pricing.dto.ProductPriceRequest;
 import com.bankengine.pricing.dto.ProductPricingCalculationResult;
 import com.bankengine.pricing.model.PriceValue;
 import com.bankengine.pricing.model.PricingComponent;
 import com.bankengine.pricing.model.PricingTier;
 import com.bankengine.pricing.model.ProductPricingLink;
+import com.bankengine.pricing.model.TierCondition;
 import com.bankengine.pricing.repository.ProductPricingLinkRepository;
 import com.bankengine.rules.model.PricingInput;
 import com.bankengine.rules.service.KieContainerReloadService;
+import com.bankengine.rules.service.RuleBaseLease;
+import com.bankengine.rules.service.RuleReplayGate;
 import com.bankengine.test.config.BaseServiceTest;
 import com.bankengine.web.exception.NotFoundException;
 import com.bankengine.web.exception.ValidationException;
@@ -20,11 +24,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.kie.api.KieBase;
 import org.kie.api.runtime.ClassObjectFilter;
-import org.kie.api.runtime.KieContainer;
 import org.kie.api.runtime.KieSession;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -41,6 +46,9 @@ class ProductPricingServiceTest extends BaseServiceTest {
     @Mock private ProductPricingLinkRepository productPricingLinkRepository;
     @Mock private PriceAggregator priceAggregator;
     @Mock private KieContainerReloadService kieContainerReloadService;
+    @Mock private RuleReplayGate ruleReplayGate;
+    @Mock private PricingResultCache pricingResultCache;
+    @Mock private PricingLinkSnapshotService pricingLinkSnapshotService;
 
     @InjectMocks private ProductPricingService productPricingService;
 
@@ -381,14 +389,207 @@ class ProductPricingServiceTest extends BaseServiceTest {
         assertThrows(ValidationException.class, () -> productPricingService.getProductPricing(request));
     }
 
+    @Test
+    @DisplayName("Batch: Should price every product in one session and correlate facts by productId")
+    void getProductPricingBatch_shouldShareOneSessionAcrossProducts() {
+        Product secondProduct = new Product();
+        secondProduct.setId(2L);
+        when(productRepository.findById(2L)).thenReturn(Optional.of(secondProduct));
+        ProductPriceRequest secondRequest = ProductPriceRequest.builder()
+                .productId(2L)
+                .customAttributes(new HashMap<>(Map.of(PricingAttributeKeys.TRANSACTION_AMOUNT, new BigDecimal("50.00"))))
+                .build();
+
+        when(productPricingLinkRepository.findByProductIdOverlappingCycle(eq(1L), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(List.of(createPricingLink(1L, "FEE_A", null, null, true)));
+        when(productPricingLinkRepository.findByProductIdOverlappingCycle(eq(2L), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(List.of(createPricingLink(2L, "FEE_B", null, null, true)));
+
+        KieSession mockSession = setupMockDrools();
+        PriceValue firstFact = createFact("FEE_A", "10.00", PriceValue.ValueType.FEE_ABSOLUTE);
+        firstFact.setProductId(1L);
+        PriceValue secondFact = createFact("FEE_B", "20.00", PriceValue.ValueType.FEE_ABSOLUTE);
+        secondFact.setProductId(2L);
+        when(mockSession.getObjects(any())).thenReturn((Collection) List.of(secondFact, firstFact));
+        when(priceAggregator.calculateBundleImpact(anyList(), any(), any(), any(), any())).thenReturn(BigDecimal.ZERO);
+
+        List<ProductPricingCalculationResult> results = productPricingService.getProductPricingBatch(List.of(request, secondRequest));
+
+        ArgumentCaptor<PricingInput> inputCaptor = ArgumentCaptor.forClass(PricingInput.class);
+        verify(mockSession, times(2)).insert(inputCaptor.capture());
+        verify(mockSession, times(1)).fireAllRules();
+        assertEquals(List.of(1L, 2L), inputCaptor.getAllValues().stream().map(PricingInput::getProductId).toList());
+        assertEquals(Set.of("FEE_B:1"), inputCaptor.getAllValues().get(1).getTargetPricingComponentCodes());
+
+        assertEquals(2, results.size());
+        assertEquals("FEE_A", results.get(0).getComponentBreakdown().getFirst().getComponentCode());
+        assertEquals(1, results.get(0).getComponentBreakdown().size());
+        assertEquals("FEE_B", results.get(1).getComponentBreakdown().getFirst().getComponentCode());
+        assertEquals(1, results.get(1).getComponentBreakdown().size());
+    }
+
     private KieSession setupMockDrools() {
-        KieContainer mockContainer = mock(KieContainer.class);
+        KieBase mockKieBase = mock(KieBase.class);
         KieSession mockSession = mock(KieSession.class);
-        when(kieContainerReloadService.getKieContainer()).thenReturn(mockContainer);
-        when(mockContainer.newKieSession()).thenReturn(mockSession);
+        when(kieContainerReloadService.acquire("TEST_BANK", RulePackage.PRICING)).thenReturn(new RuleBaseLease(mockKieBase, () -> { }));
+        when(mockKieBase.newKieSession()).thenReturn(mockSession);
         return mockSession;
     }
 
+    @Test
+    @DisplayName("With a pricing link snapshot the quote should not query products or links")
+    void getProductPricing_shouldServeLinksFromSnapshot() {
+        ProductPricingLink fixedLink = createPricingLink(101L, "FixedFee", new BigDecimal("10.00"), PriceValue.ValueType.FEE_ABSOLUTE, false);
+        PricingLinkSnapshot snapshot = new PricingLinkSnapshot(List.of(1L), List.of(),
+                Map.of(1L, List.of(PricingLinkSnapshot.Link.of(fixedLink))), Map.of());
+        when(pricingLinkSnapshotService.current()).thenReturn(Optional.of(snapshot));
+        when(priceAggregator.calculateBundleImpact(anyList(), any(BigDecimal.class), any(BigDecimal.class), any(), any()))
+                .thenReturn(new BigDecimal("10.00"));
+
+        ProductPricingCalculationResult result = productPricingService.getProductPricing(request);
+
+        assertEquals(new BigDecimal("10.00"), result.getFinalChargeablePrice());
+        assertEquals("FixedFee", result.getComponentBreakdown().getFirst().getComponentCode());
+        verifyNoInteractions(productRepository, productPricingLinkRepository);
+
+        request.setProductId(2L);
+        assertThrows(NotFoundException.class, () -> productPricingService.getProductPricing(request));
+    }
+
+    @Test
+    @DisplayName("A product of another tenant should be denied, not reported missing, when served from a snapshot")
+    void getProductPricing_shouldDenyOtherTenantsProductWithSnapshot() {
+        PricingLinkSnapshot snapshot = new PricingLinkSnapshot(List.of(1L), List.of(), Map.of(), Map.of());
+        when(pricingLinkSnapshotService.current()).thenReturn(Optional.of(snapshot));
+        Product foreignProduct = new Product();
+        foreignProduct.setId(3L);
+        foreignProduct.setBankId("OTHER_BANK");
+        when(productRepository.findById(3L)).thenReturn(Optional.of(foreignProduct));
+
+        request.setProductId(3L);
+        assertThrows(AccessDeniedException.class, () -> productPricingService.getProductPricing(request));
+        verifyNoInteractions(productPricingLinkRepository);
+    }
+
+    @Test
+    @DisplayName("An amount sweep should evaluate the rules once per tier interval and aggregate every amount")
+    void getProductPricingSweep_shouldEvaluateOncePerInterval() {
+        ProductPricingLink rulesLink = createPricingLink(202L, "TieredFee", null, null, true);
+        rulesLink.getPricingComponent().setPricingTiers(new LinkedHashSet<>(List.of(
+                createTier("LOW", "0", "1000"), createTier("HIGH", "1000.01", null))));
+        when(productPricingLinkRepository.findByProductIdOverlappingCycle(eq(1L), any(LocalDate.class), any(LocalDate.class))).thenReturn(List.of(rulesLink));
+        KieSession mockSession = setupMockDrools();
+        when(mockSession.getObjects(any())).thenReturn((Collection) List.of(createFact("TieredFee", "5.00", PriceValue.ValueType.FEE_ABSOLUTE)));
+        when(priceAggregator.calculateBundleImpact(anyList(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+
+        List<BigDecimal> amounts = new ArrayList<>();
+        for (int amount = 0; amount <= 2000; amount += 250) {
+            amounts.add(BigDecimal.valueOf(amount));
+        }
+        List<ProductPricingService.PricedInterval> intervals = productPricingService.getProductPricingSweep(request, amounts);
+
+        // [0], (0, 1000), [1000] and above 1000.01
+        assertEquals(List.of(1, 3, 1, 4), intervals.stream().map(interval -> interval.amounts().size()).toList());
+        verify(mockSession, times(4)).fireAllRules();
+        assertEquals(new BigDecimal("750"), intervals.get(1).results().get(2).getFinalChargeablePrice());
+        assertEquals(amounts, intervals.stream().flatMap(interval -> interval.amounts().stream()).toList());
+    }
+
+    @Test
+    @DisplayName("Drools and the replay capture should only be offered the tiers whose threshold range contains the amount")
+    void getProductPricing_shouldOfferOnlyCandidateTiersToDrools() {
+        PricingTier anyAmount = new PricingTier();
+        anyAmount.setCode("ANY");
+        ProductPricingLink rulesLink = createPricingLink(202L, "TieredFee", null, null, true);
+        rulesLink.getPricingComponent().setPricingTiers(new LinkedHashSet<>(List.of(
+                createTier("LOW", "0", "1000"), createTier("HIGH", "1000.01", null), anyAmount)));
+        when(productPricingLinkRepository.findByProductIdOverlappingCycle(eq(1L), any(LocalDate.class), any(LocalDate.class))).thenReturn(List.of(rulesLink));
+        KieSession mockSession = setupMockDrools();
+        when(priceAggregator.calculateBundleImpact(anyList(), any(), any(), any(), any())).thenReturn(BigDecimal.ZERO);
+
+        productPricingService.getProductPricing(request);
+
+        ArgumentCaptor<PricingInput> inputCaptor = ArgumentCaptor.forClass(PricingInput.class);
+        verify(mockSession).insert(inputCaptor.capture());
+        assertEquals(Set.of("LOW", "ANY"), inputCaptor.getValue().getActivePricingTierCodes());
+        verify(ruleReplayGate).capture(eq("TEST_BANK"), eq(1L), any(), eq(Set.of("LOW", "ANY")), any());
+    }
+
+    @Test
+    @DisplayName("A projection should load links once and evaluate rules once per configuration window")
+    void getProductPricingProjection_shouldReuseRuleOutcomesPerWindow() {
+        LocalDate firstDate = LocalDate.of(2026, 1, 15);
+        request.getCustomAttributes().put(PricingAttributeKeys.EFFECTIVE_DATE, firstDate);
+        ProductPricingLink steadyLink = createPricingLink(202L, "MonthlyFee", null, null, true);
+        steadyLink.setEffectiveDate(LocalDate.of(2025, 1, 1));
+        ProductPricingLink promoLink = createPricingLink(203L, "PromoFee", null, null, true);
+        promoLink.setEffectiveDate(LocalDate.of(2025, 1, 1));
+        promoLink.setExpiryDate(LocalDate.of(2026, 3, 31));
+        when(productPricingLinkRepository.findByProductIdOverlappingCycle(1L, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31)))
+                .thenReturn(List.of(steadyLink, promoLink));
+        KieSession mockSession = setupMockDrools();
+        when(mockSession.getObjects(any())).thenReturn((Collection) List.of(createFact("MonthlyFee", "5.00", PriceValue.ValueType.FEE_ABSOLUTE)));
+        when(priceAggregator.calculateBundleImpact(anyList(), any(), any(), any(), any())).thenReturn(new BigDecimal("5.00"));
+
+        List<PricedCycle<ProductPricingCalculationResult>> results = productPricingService.getProductPricingProjection(request, 12);
+
+        assertEquals(12, results.size());
+        assertEquals(LocalDate.of(2026, 12, 15), results.getLast().effectiveDate());
+        // January to March with the promotion, April to December without it
+        verify(mockSession, times(2)).fireAllRules();
+        verify(productPricingLinkRepository, times(1)).findByProductIdOverlappingCycle(any(), any(), any());
+        ArgumentCaptor<LocalDate> cycleDates = ArgumentCaptor.forClass(LocalDate.class);
+        verify(priceAggregator, times(12)).calculateBundleImpact(anyList(), any(), any(), any(), cycleDates.capture());
+        assertEquals(LocalDate.of(2026, 12, 15), cycleDates.getAllValues().getLast());
+    }
+
+    @Test
+    @DisplayName("A projection should evaluate a component with a date-conditioned tier for every cycle")
+    void getProductPricingProjection_shouldEvaluateDateConditionedTiersPerCycle() {
+        LocalDate firstDate = LocalDate.of(2026, 1, 15);
+        LocalDate promoEnd = LocalDate.of(2026, 7, 1);
+        request.getCustomAttributes().put(PricingAttributeKeys.EFFECTIVE_DATE, firstDate);
+        ProductPricingLink rulesLink = createPricingLink(202L, "MonthlyFee", null, null, true);
+        rulesLink.setEffectiveDate(LocalDate.of(2025, 1, 1));
+        PricingTier promoTier = createTier("PROMO", "0", null);
+        TierCondition beforePromoEnd = new TierCondition();
+        beforePromoEnd.setAttributeName(PricingAttributeKeys.EFFECTIVE_DATE);
+        beforePromoEnd.setOperator(TierCondition.Operator.LT);
+        beforePromoEnd.setAttributeValue(promoEnd.toString());
+        promoTier.setConditions(new LinkedHashSet<>(List.of(beforePromoEnd)));
+        rulesLink.getPricingComponent().setPricingTiers(new LinkedHashSet<>(List.of(promoTier, createTier("STANDARD", "0", null))));
+        when(productPricingLinkRepository.findByProductIdOverlappingCycle(1L, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31)))
+                .thenReturn(List.of(rulesLink));
+        KieSession mockSession = setupMockDrools();
+        List<PricingInput> inputs = new ArrayList<>();
+        doAnswer(invocation -> {
+            inputs.add(invocation.getArgument(0));
+            return null;
+        }).when(mockSession).insert(any());
+        // The rules see the effective date of the input: the promotion price until it ends
+        when(mockSession.getObjects(any())).thenAnswer(invocation -> {
+            LocalDate date = (LocalDate) inputs.getLast().getCustomAttributes().get(PricingAttributeKeys.EFFECTIVE_DATE);
+            return List.of(createFact("MonthlyFee", date.isBefore(promoEnd) ? "5.00" : "8.00", PriceValue.ValueType.FEE_ABSOLUTE));
+        });
+        when(priceAggregator.calculateBundleImpact(anyList(), any(), any(), any(), any())).thenReturn(BigDecimal.ZERO);
+
+        List<PricedCycle<ProductPricingCalculationResult>> results = productPricingService.getProductPricingProjection(request, 12);
+
+        verify(mockSession, times(12)).fireAllRules();
+        assertEquals(new BigDecimal("5.00"), results.get(5).result().getComponentBreakdown().getFirst().getRawValue());
+        assertEquals(new BigDecimal("8.00"), results.get(6).result().getComponentBreakdown().getFirst().getRawValue());
+        assertEquals(new BigDecimal("8.00"), results.get(11).result().getComponentBreakdown().getFirst().getRawValue());
+    }
+
+    private PricingTier createTier(String code, String minThreshold, String maxThreshold) {
+        PricingTier tier = new PricingTier();
+        tier.setCode(code);
+        tier.setMinThreshold(new BigDecimal(minThreshold));
+        tier.setMaxThreshold(maxThreshold != null ? new BigDecimal(maxThreshold) : null);
+        return tier;
+    }
+
     private ProductPricingLink createPricingLink(Long componentId, String componentName, BigDecimal fixedValue,
                                                  PriceValue.ValueType valueType, boolean useRulesEngine) {
         PricingComponent comp = new PricingComponent();
@@ -4,21 +4,29 @@ import com.bankengine.pricing.model.*;
 import com.bankengine.pricing.model.PriceValue.ValueType;
 import com.bankengine.pricing.repository.PricingComponentRepository;
 import com.bankengine.pricing.service.drl.DroolsExpressionBuilder;
+import com.bankengine.rules.model.PricingInput;
 import com.bankengine.test.config.BaseServiceTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.kie.api.KieBase;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.ClassObjectFilter;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.utils.KieHelper;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -244,6 +252,79 @@ public class ProductRuleBuilderServiceTest extends BaseServiceTest {
         assertTrue(drl.contains(" || "), "DRL should contain OR connector");
     }
 
+    @Test
+    @DisplayName("Typed attributes should compile into a declared fact that tier conditions match against")
+    void buildRules_shouldMatchTierConditionsOnTypedAttributeFact() {
+        ProductRuleBuilderService typedService =
+                new ProductRuleBuilderService(pricingComponentRepository, metadataService, new DroolsExpressionBuilder());
+        ReflectionTestUtils.setField(typedService, "typedAttributesEnabled", true);
+        when(metadataService.getCustomAttributeMetadata(TEST_BANK_ID)).thenReturn(List.of(
+                typedMetadata("customerSegment", "STRING"), typedMetadata("averageBalance", "DECIMAL")));
+
+        TierCondition segment = new TierCondition();
+        segment.setAttributeName("customerSegment");
+        segment.setOperator(TierCondition.Operator.EQ);
+        segment.setAttributeValue("PREMIUM");
+        TierCondition balance = new TierCondition();
+        balance.setAttributeName("averageBalance");
+        balance.setOperator(TierCondition.Operator.GE);
+        balance.setAttributeValue("1000");
+
+        PriceValue priceValue = new PriceValue();
+        priceValue.setRawValue(new BigDecimal("10.00"));
+        priceValue.setValueType(ValueType.FEE_ABSOLUTE);
+
+        PricingTier tier = mock(PricingTier.class);
+        when(tier.getId()).thenReturn(700L);
+        when(tier.getCode()).thenReturn("TIER_700");
+        when(tier.getConditions()).thenReturn(Set.of(segment, balance));
+        when(tier.getPriceValues()).thenReturn(Set.of(priceValue));
+
+        PricingComponent component = mock(PricingComponent.class);
+        when(component.getId()).thenReturn(700L);
+        when(component.getCode()).thenReturn("FEE_700");
+        when(component.getVersion()).thenReturn(1);
+        when(component.getPricingTiers()).thenReturn(Set.of(tier));
+        when(pricingComponentRepository.findAllWithDetailsBy()).thenReturn(List.of(component));
+
+        String drl = typedService.buildAllRulesForCompilation();
+
+        assertTrue(drl.contains("declare PricingInputAttributes"));
+        assertTrue(drl.contains("PricingInputAttributes ( input == $input, "));
+        assertFalse(drl.contains("customAttributes[\"customerSegment\"]"), "Conditions must not read the attribute map");
+
+        KieBase kieBase = new KieHelper().addContent(drl, ResourceType.DRL).build();
+        assertEquals(1, priceFacts(kieBase, Map.of("customerSegment", "PREMIUM", "averageBalance", 1500)));
+        assertEquals(0, priceFacts(kieBase, Map.of("customerSegment", "STANDARD", "averageBalance", 1500)));
+        assertEquals(0, priceFacts(kieBase, Map.of("customerSegment", "PREMIUM")), "A missing attribute must not match");
+    }
+
+    private static PricingInputMetadata typedMetadata(String key, String dataType) {
+        PricingInputMetadata metadata = new PricingInputMetadata();
+        metadata.setAttributeKey(key);
+        metadata.setDataType(dataType);
+        metadata.setSourceField(key);
+        return metadata;
+    }
+
+    private static int priceFacts(KieBase kieBase, Map<String, Object> attributes) {
+        PricingInput input = new PricingInput();
+        input.setBankId(TEST_BANK_ID);
+        input.setTargetPricingComponentCodes(Set.of("FEE_700:1"));
+        input.setActivePricingTierCodes(Set.of("TIER_700"));
+        input.getCustomAttributes().putAll(attributes);
+
+        KieSession session = kieBase.newKieSession();
+        try {
+            session.setGlobal("log", LoggerFactory.getLogger(ProductRuleBuilderServiceTest.class));
+            session.insert(input);
+            session.fireAllRules();
+            return session.getObjects(new ClassObjectFilter(PriceValue.class)).size();
+        } finally {
+            session.dispose();
+        }
+    }
+
     @Test
     @DisplayName("Should throw IllegalStateException if bankId is missing and not in system mode")
     void testGetSafeBankId_missingBankId() {
@@ -284,6 +284,45 @@ class DroolsExpressionBuilderTest {
         assertEquals("((java.lang.Long) customAttributes[\"age\"]) " + expectedSymbol + " " + value, result);
     }
 
+    @Test
+    @DisplayName("Typed fields - Should constrain the declared field without map lookup or cast")
+    void testBuildTypedExpression_UsesDeclaredField() {
+        PricingInputMetadata segment = createTypedMetadata("customerSegment", "STRING");
+        assertEquals("attr_customerSegment == \"RETAIL\"",
+                builder.buildTypedExpression(createCondition("customerSegment", Operator.EQ, "RETAIL"), segment));
+        assertEquals("attr_customerSegment in ( \"RETAIL\", \"PREMIUM\" )",
+                builder.buildTypedExpression(createCondition("customerSegment", Operator.IN, "RETAIL, PREMIUM"), segment));
+
+        PricingInputMetadata age = createTypedMetadata("age", "INTEGER");
+        assertEquals("attr_age >= 18", builder.buildTypedExpression(createCondition("age", Operator.GE, "18"), age));
+    }
+
+    @Test
+    @DisplayName("Typed fields - Decimal ranges use BigDecimal literals, equality stays scale-insensitive")
+    void testBuildTypedExpression_Decimal() {
+        PricingInputMetadata balance = createTypedMetadata("average-balance", "DECIMAL");
+
+        assertEquals("attr_average_balance > 500.00B",
+                builder.buildTypedExpression(createCondition("average-balance", Operator.GT, "500.00"), balance));
+        assertEquals("(attr_average_balance != null && attr_average_balance.compareTo(new java.math.BigDecimal(\"500\")) == 0)",
+                builder.buildTypedExpression(createCondition("average-balance", Operator.EQ, "500"), balance));
+    }
+
+    @Test
+    @DisplayName("Typed fields - Date comparisons are null-guarded")
+    void testBuildTypedExpression_Date() {
+        PricingInputMetadata opened = createTypedMetadata("openedOn", "DATE");
+
+        assertEquals("(attr_openedOn != null && attr_openedOn.isBefore(java.time.LocalDate.parse(\"2020-01-01\")))",
+                builder.buildTypedExpression(createCondition("openedOn", Operator.LT, "2020-01-01"), opened));
+    }
+
+    private PricingInputMetadata createTypedMetadata(String key, String type) {
+        PricingInputMetadata m = createMetadata(type);
+        m.setAttributeKey(key);
+        return m;
+    }
+
     private TierCondition createCondition(String name, Operator op, String val) {
         TierCondition c = new TierCondition();
         c.setAttributeName(name);
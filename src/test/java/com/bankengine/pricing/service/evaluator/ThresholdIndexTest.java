@@ -0,0 +1,72 @@
+package com.bankengine.pricing.service.evaluator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ThresholdIndexTest {
+
+    private record Range(String name, BigDecimal min, BigDecimal max) {
+        boolean contains(BigDecimal amount) {
+            return (min == null || amount.compareTo(min) >= 0) && (max == null || amount.compareTo(max) <= 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Lookups on and between breakpoints should return the covering ranges in input order")
+    void candidates_shouldResolveBoundsInclusively() {
+        Range low = new Range("LOW", null, new BigDecimal("100"));
+        Range mid = new Range("MID", new BigDecimal("100.00"), new BigDecimal("500"));
+        Range high = new Range("HIGH", new BigDecimal("500.01"), null);
+        ThresholdIndex<Range> index = new ThresholdIndex<>(List.of(low, mid, high), Range::min, Range::max);
+
+        assertEquals(List.of(low), index.candidates(new BigDecimal("-5")));
+        assertEquals(List.of(low, mid), index.candidates(new BigDecimal("100")));
+        assertEquals(List.of(mid), index.candidates(new BigDecimal("100.001")));
+        assertEquals(List.of(mid), index.candidates(new BigDecimal("500.00")));
+        assertEquals(List.of(), index.candidates(new BigDecimal("500.005")));
+        assertEquals(List.of(high), index.candidates(new BigDecimal("1000000")));
+    }
+
+    @Test
+    @DisplayName("Random ranges should index exactly like a linear scan")
+    void candidates_shouldMatchLinearScan() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            List<Range> ranges = random.ints(1 + random.nextInt(6), 0, 1000)
+                    .mapToObj(i -> new Range("R" + i, randomBound(random), randomBound(random)))
+                    .toList();
+            ThresholdIndex<Range> index = new ThresholdIndex<>(ranges, Range::min, Range::max);
+
+            for (int probe = -2; probe <= 22; probe++) {
+                BigDecimal amount = BigDecimal.valueOf(probe * 25L, 2);
+                List<Range> expected = ranges.stream().filter(range -> range.contains(amount)).toList();
+                assertEquals(expected, index.candidates(amount), "Amount " + amount + " in " + ranges);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Heavily overlapping ranges should be indexed without copying them per breakpoint")
+    void candidates_shouldHandleNestedRanges() {
+        List<Range> nested = IntStream.range(0, 20_000)
+                .mapToObj(i -> new Range("N" + i, BigDecimal.valueOf(-i), BigDecimal.valueOf(i)))
+                .toList();
+        ThresholdIndex<Range> index = new ThresholdIndex<>(nested, Range::min, Range::max);
+
+        assertEquals(nested, index.candidates(BigDecimal.ZERO));
+        assertEquals(nested.subList(15_000, 20_000), index.candidates(new BigDecimal("-15000")));
+        assertEquals(List.of(nested.getLast()), index.candidates(new BigDecimal("19999")));
+        assertEquals(List.of(), index.candidates(new BigDecimal("20000")));
+    }
+
+    private static BigDecimal randomBound(Random random) {
+        return random.nextInt(4) == 0 ? null : BigDecimal.valueOf(random.nextInt(11) * 5L, 1);
+    }
+}
@@ -0,0 +1,323 @@
+package com.bankengine.pricing.service.evaluator;
+
+import com.bankengine.pricing.model.*;
+import com.bankengine.pricing.model.PriceValue.ValueType;
+import com.bankengine.pricing.model.TierCondition.LogicalConnector;
+import com.bankengine.pricing.model.TierCondition.Operator;
+import com.bankengine.pricing.repository.PricingComponentRepository;
+import com.bankengine.pricing.service.PricingAttributeKeys;
+import com.bankengine.pricing.service.PricingInputMetadataService;
+import com.bankengine.pricing.service.ProductRuleBuilderService;
+import com.bankengine.pricing.service.drl.DroolsExpressionBuilder;
+import com.bankengine.rules.model.PricingInput;
+import com.bankengine.test.config.BaseServiceTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieBase;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.ClassObjectFilter;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.utils.KieHelper;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Generates random tier configurations and requests from fixed seeds and checks that pricing through the
+ * decision table (with Drools for whatever it leaves unresolved) yields exactly the facts the generated
+ * rules insert on their own.
+ */
+class TierDecisionTableParityTest extends BaseServiceTest {
+
+    private static final List<String> SEGMENTS = List.of("RETAIL", "PREMIUM", "CORPORATE");
+    private static final List<BigDecimal> THRESHOLDS = List.of(
+            new BigDecimal("0"), new BigDecimal("100"), new BigDecimal("250.50"), new BigDecimal("1000"));
+    private static final List<BigDecimal> AMOUNTS = List.of(
+            new BigDecimal("0"), new BigDecimal("50"), new BigDecimal("100.00"), new BigDecimal("100.01"),
+            new BigDecimal("250.50"), new BigDecimal("999.99"), new BigDecimal("1000"), new BigDecimal("25000"));
+
+    private final Map<String, PricingInputMetadata> metadataByKey = new LinkedHashMap<>();
+    private PricingComponentRepository pricingComponentRepository;
+    private PricingInputMetadataService metadataService;
+
+    private long nextId;
+
+    @BeforeEach
+    void setUp() {
+        metadataByKey.put("segment", metadata("segment", "STRING"));
+        metadataByKey.put("channelCount", metadata("channelCount", "LONG"));
+        metadataByKey.put("vip", metadata("vip", "BOOLEAN"));
+        metadataByKey.put("balance", metadata("balance", "DECIMAL"));
+
+        pricingComponentRepository = mock(PricingComponentRepository.class);
+        metadataService = mock(PricingInputMetadataService.class);
+        when(metadataService.getMetadataEntityByKey(anyString(), anyString()))
+                .thenAnswer(invocation -> metadataByKey.get(invocation.<String>getArgument(0)));
+        when(metadataService.getCustomAttributeMetadata(TEST_BANK_ID)).thenReturn(List.copyOf(metadataByKey.values()));
+    }
+
+    @Test
+    @DisplayName("One session with an input per product should price each product like its own session")
+    void batchedSession_shouldMatchSessionPerProduct() {
+        for (long seed = 1; seed <= 20; seed++) {
+            Random random = new Random(seed);
+            List<PricingComponent> components = randomComponents(random);
+            when(pricingComponentRepository.findAllWithDetailsBy()).thenReturn(components);
+
+            ProductRuleBuilderService ruleBuilder = new ProductRuleBuilderService(
+                    pricingComponentRepository, metadataService, new DroolsExpressionBuilder());
+            ReflectionTestUtils.setField(ruleBuilder, "typedAttributesEnabled", random.nextBoolean());
+            KieBase kieBase = new KieHelper().addContent(ruleBuilder.buildAllRulesForCompilation(), ResourceType.DRL).build();
+
+            List<PricingInput> inputs = new ArrayList<>();
+            for (long productId = 1; productId <= 6; productId++) {
+                PricingInput input = new PricingInput();
+                input.setBankId(TEST_BANK_ID);
+                input.setProductId(productId);
+                input.setTargetPricingComponentCodes(randomSubset(random, components.stream()
+                        .map(c -> c.getCode() + ":" + c.getVersion()).toList()));
+                input.setActivePricingTierCodes(randomSubset(random, components.stream()
+                        .flatMap(c -> c.getPricingTiers().stream()).map(PricingTier::getCode).toList()));
+                input.getCustomAttributes().putAll(randomAttributes(random));
+                inputs.add(input);
+            }
+
+            Map<Long, List<PriceValue>> batched = new HashMap<>();
+            KieSession session = kieBase.newKieSession();
+            try {
+                session.setGlobal("log", LoggerFactory.getLogger(TierDecisionTableParityTest.class));
+                inputs.forEach(session::insert);
+                session.fireAllRules();
+                session.getObjects(new ClassObjectFilter(PriceValue.class)).stream()
+                        .map(PriceValue.class::cast)
+                        .forEach(pv -> batched.computeIfAbsent(pv.getProductId(), key -> new ArrayList<>()).add(pv));
+            } finally {
+                session.dispose();
+            }
+
+            for (PricingInput input : inputs) {
+                assertEquals(describe(fire(kieBase, input.getTargetPricingComponentCodes(), input.getActivePricingTierCodes(),
+                                input.getCustomAttributes())),
+                        describe(batched.getOrDefault(input.getProductId(), List.of())),
+                        "Seed " + seed + ", product " + input.getProductId());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Decision table plus Drools fallback should price exactly like the generated rules")
+    void evaluate_shouldMatchGeneratedRules() {
+        int nativelyResolved = 0;
+        for (long seed = 1; seed <= 40; seed++) {
+            Random random = new Random(seed);
+            List<PricingComponent> components = randomComponents(random);
+            when(pricingComponentRepository.findAllWithDetailsBy()).thenReturn(components);
+
+            ProductRuleBuilderService ruleBuilder = new ProductRuleBuilderService(
+                    pricingComponentRepository, metadataService, new DroolsExpressionBuilder());
+            ReflectionTestUtils.setField(ruleBuilder, "typedAttributesEnabled", random.nextBoolean());
+            KieBase kieBase = new KieHelper().addContent(ruleBuilder.buildAllRulesForCompilation(), ResourceType.DRL).build();
+
+            TierDecisionTable table = new TierDecisionTableCompiler(pricingComponentRepository, metadataService)
+                    .compileAll(TEST_BANK_ID);
+
+            for (int request = 0; request < 25; request++) {
+                Set<String> targets = randomSubset(random, components.stream()
+                        .map(c -> c.getCode() + ":" + c.getVersion()).toList());
+                Set<String> activeTiers = randomSubset(random, components.stream()
+                        .flatMap(c -> c.getPricingTiers().stream()).map(PricingTier::getCode).toList());
+                Map<String, Object> attributes = randomAttributes(random);
+
+                TierDecisionTable.Evaluation evaluation = table.evaluate(TEST_BANK_ID, targets, activeTiers, attributes);
+                List<PriceValue> combined = new ArrayList<>(evaluation.priceValues());
+                if (!evaluation.unresolvedComponentKeys().isEmpty()) {
+                    combined.addAll(fire(kieBase, evaluation.unresolvedComponentKeys(), activeTiers, attributes));
+                }
+                nativelyResolved += targets.size() - evaluation.unresolvedComponentKeys().size();
+
+                assertEquals(describe(fire(kieBase, targets, activeTiers, attributes)), describe(combined),
+                        "Seed " + seed + ", request " + request + ", attributes " + attributes);
+            }
+        }
+        assertTrue(nativelyResolved > 0, "The generated configurations must exercise the native path");
+    }
+
+    @Test
+    @DisplayName("Components with OR connectors or range operators should be left to Drools")
+    void compile_shouldSkipUnsupportedComponents() {
+        PricingTier orTier = tier("OR_TIER", 10, null, null, price("5.00"),
+                condition("segment", Operator.EQ, "RETAIL", LogicalConnector.OR),
+                condition("vip", Operator.EQ, "true", null));
+        PricingTier rangeTier = tier("RANGE_TIER", 10, null, null, price("5.00"),
+                condition("balance", Operator.GT, "100", null));
+        PricingTier simpleTier = tier("SIMPLE_TIER", 10, null, new BigDecimal("100"), price("1.50"),
+                condition("segment", Operator.IN, "RETAIL, PREMIUM", null));
+        when(pricingComponentRepository.findAllWithDetailsBy()).thenReturn(List.of(
+                component("OR_FEE", orTier), component("RANGE_FEE", rangeTier), component("SIMPLE_FEE", simpleTier)));
+
+        TierDecisionTable table = new TierDecisionTableCompiler(pricingComponentRepository, metadataService)
+                .compileAll(TEST_BANK_ID);
+        TierDecisionTable.Evaluation evaluation = table.evaluate(TEST_BANK_ID,
+                Set.of("OR_FEE:1", "RANGE_FEE:1", "SIMPLE_FEE:1"),
+                Set.of("OR_TIER", "RANGE_TIER", "SIMPLE_TIER"),
+                Map.of("segment", "PREMIUM", PricingAttributeKeys.TRANSACTION_AMOUNT, new BigDecimal("100.00")));
+
+        assertEquals(1, table.size());
+        assertEquals(Set.of("OR_FEE:1", "RANGE_FEE:1"), evaluation.unresolvedComponentKeys());
+        assertEquals(1, evaluation.priceValues().size());
+        assertEquals("SIMPLE_TIER", evaluation.priceValues().get(0).getMatchedTierCode());
+    }
+
+    @Test
+    @DisplayName("Two matching tiers with the same priority should be resolved by Drools")
+    void evaluate_shouldLeaveSamePriorityMatchesUnresolved() {
+        PricingTier first = tier("FIRST", 5, null, null, price("1.00"));
+        PricingTier second = tier("SECOND", 5, null, null, price("2.00"));
+        when(pricingComponentRepository.findAllWithDetailsBy()).thenReturn(List.of(component("FEE", first, second)));
+
+        TierDecisionTable table = new TierDecisionTableCompiler(pricingComponentRepository, metadataService)
+                .compileAll(TEST_BANK_ID);
+
+        assertEquals(Set.of("FEE:1"), table.evaluate(TEST_BANK_ID, Set.of("FEE:1"), Set.of("FIRST", "SECOND"), Map.of())
+                .unresolvedComponentKeys());
+        assertTrue(table.evaluate(TEST_BANK_ID, Set.of("FEE:1"), Set.of("SECOND"), Map.of())
+                .unresolvedComponentKeys().isEmpty());
+    }
+
+    private List<PricingComponent> randomComponents(Random random) {
+        List<PricingComponent> components = new ArrayList<>();
+        int componentCount = 2 + random.nextInt(3);
+        for (int c = 0; c < componentCount; c++) {
+            int tierCount = 1 + random.nextInt(4);
+            PricingTier[] tiers = new PricingTier[tierCount];
+            for (int t = 0; t < tierCount; t++) {
+                BigDecimal min = random.nextInt(3) == 0 ? null : THRESHOLDS.get(random.nextInt(THRESHOLDS.size()));
+                BigDecimal max = random.nextInt(3) == 0 ? null : THRESHOLDS.get(random.nextInt(THRESHOLDS.size()));
+                PriceValue priceValue = random.nextInt(6) == 0 ? null
+                        : price(BigDecimal.valueOf(random.nextInt(5000), 2).toPlainString());
+                tiers[t] = tier("C" + c + "_T" + t, random.nextInt(4), min, max, priceValue,
+                        randomConditions(random));
+            }
+            components.add(component("FEE_" + c, tiers));
+        }
+        return components;
+    }
+
+    private TierCondition[] randomConditions(Random random) {
+        int count = random.nextInt(3);
+        TierCondition[] conditions = new TierCondition[count];
+        for (int i = 0; i < count; i++) {
+            LogicalConnector connector = random.nextInt(8) == 0 ? LogicalConnector.OR : LogicalConnector.AND;
+            conditions[i] = switch (random.nextInt(5)) {
+                case 0 -> condition("segment", Operator.EQ, SEGMENTS.get(random.nextInt(SEGMENTS.size())), connector);
+                case 1 -> condition("segment", Operator.IN, SEGMENTS.get(random.nextInt(SEGMENTS.size())) + ", "
+                        + SEGMENTS.get(random.nextInt(SEGMENTS.size())), connector);
+                case 2 -> condition("channelCount", random.nextBoolean() ? Operator.EQ : Operator.IN,
+                        String.valueOf(1 + random.nextInt(3)), connector);
+                case 3 -> condition("vip", Operator.EQ, String.valueOf(random.nextBoolean()), connector);
+                default -> condition("balance", Operator.GE, "500", connector);
+            };
+        }
+        return conditions;
+    }
+
+    private static Map<String, Object> randomAttributes(Random random) {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(PricingAttributeKeys.TRANSACTION_AMOUNT, AMOUNTS.get(random.nextInt(AMOUNTS.size())));
+        // The legacy decimal condition dereferences the attribute, so it is always present
+        attributes.put("balance", BigDecimal.valueOf(random.nextInt(1000)));
+        if (random.nextInt(4) != 0) attributes.put("segment", SEGMENTS.get(random.nextInt(SEGMENTS.size())));
+        if (random.nextInt(4) != 0) attributes.put("channelCount", (long) (1 + random.nextInt(3)));
+        if (random.nextInt(4) != 0) attributes.put("vip", random.nextBoolean());
+        return attributes;
+    }
+
+    private static Set<String> randomSubset(Random random, List<String> values) {
+        Set<String> subset = values.stream().filter(value -> random.nextInt(5) != 0).collect(Collectors.toSet());
+        return subset.isEmpty() ? new HashSet<>(values) : subset;
+    }
+
+    private static List<PriceValue> fire(KieBase kieBase, Set<String> targets, Set<String> activeTiers,
+                                         Map<String, Object> attributes) {
+        PricingInput input = new PricingInput();
+        input.setBankId(TEST_BANK_ID);
+        input.setTargetPricingComponentCodes(targets);
+        input.setActivePricingTierCodes(activeTiers);
+        input.getCustomAttributes().putAll(attributes);
+
+        KieSession session = kieBase.newKieSession();
+        try {
+            session.setGlobal("log", LoggerFactory.getLogger(TierDecisionTableParityTest.class));
+            session.insert(input);
+            session.fireAllRules();
+            return session.getObjects(new ClassObjectFilter(PriceValue.class)).stream()
+                    .map(PriceValue.class::cast).toList();
+        } finally {
+            session.dispose();
+        }
+    }
+
+    private static Set<String> describe(Collection<PriceValue> priceValues) {
+        return priceValues.stream()
+                .map(pv -> String.join("|", pv.getComponentCode(), String.valueOf(pv.getMatchedTierId()),
+                        pv.getMatchedTierCode(), pv.getRawValue().toPlainString(), pv.getValueType().name(), pv.getBankId()))
+                .collect(Collectors.toSet());
+    }
+
+    private PricingComponent component(String code, PricingTier... tiers) {
+        PricingComponent component = new PricingComponent();
+        component.setId(++nextId);
+        component.setCode(code);
+        component.setVersion(1);
+        component.setBankId(TEST_BANK_ID);
+        component.setPricingTiers(new LinkedHashSet<>(Arrays.asList(tiers)));
+        return component;
+    }
+
+    private PricingTier tier(String code, int priority, BigDecimal min, BigDecimal max, PriceValue priceValue,
+                             TierCondition... conditions) {
+        PricingTier tier = new PricingTier();
+        tier.setId(++nextId);
+        tier.setCode(code);
+        tier.setName(code);
+        tier.setPriority(priority);
+        tier.setMinThreshold(min);
+        tier.setMaxThreshold(max);
+        tier.setBankId(TEST_BANK_ID);
+        tier.setPriceValues(priceValue == null ? new HashSet<>() : new HashSet<>(Set.of(priceValue)));
+        tier.setConditions(new LinkedHashSet<>(Arrays.asList(conditions)));
+        return tier;
+    }
+
+    private static PriceValue price(String rawValue) {
+        PriceValue priceValue = new PriceValue();
+        priceValue.setRawValue(new BigDecimal(rawValue));
+        priceValue.setValueType(ValueType.FEE_ABSOLUTE);
+        return priceValue;
+    }
+
+    private static TierCondition condition(String attribute, Operator operator, String value, LogicalConnector connector) {
+        TierCondition condition = new TierCondition();
+        condition.setAttributeName(attribute);
+        condition.setOperator(operator);
+        condition.setAttributeValue(value);
+        condition.setConnector(connector);
+        return condition;
+    }
+
+    private static PricingInputMetadata metadata(String key, String dataType) {
+        PricingInputMetadata metadata = new PricingInputMetadata();
+        metadata.setAttributeKey(key);
+        metadata.setDataType(dataType);
+        metadata.setSourceField(key);
+        return metadata;
+    }
+}
@@ -0,0 +1,181 @@
+package com.bankengine.pricing.service.repricing;
+
+import com.bankengine.auth.security.TenantContextHolder;
+import com.bankengine.pricing.dto.BatchPriceResponse;
+import com.bankengine.pricing.dto.BatchPriceResponse.BatchPriceItemResult;
+import com.bankengine.pricing.dto.ProductPriceRequest;
+import com.bankengine.pricing.dto.ProductPricingCalculationResult;
+import com.bankengine.pricing.dto.RepricingJobRequest;
+import com.bankengine.pricing.dto.RepricingJobResponse;
+import com.bankengine.pricing.dto.RepricingJobResponse.Status;
+import com.bankengine.pricing.service.BatchPricingService;
+import com.bankengine.pricing.service.PricingExecutor;
+import com.bankengine.test.config.BaseServiceTest;
+import com.bankengine.web.exception.NotFoundException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RepricingJobServiceTest extends BaseServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final BatchPricingService batchPricingService = mock(BatchPricingService.class);
+    private final Set<String> tenants = ConcurrentHashMap.newKeySet();
+
+    private RepricingJobService repricingJobService;
+
+    @BeforeEach
+    void setUp() {
+        PricingExecutor pricingExecutor = new PricingExecutor(mock(PlatformTransactionManager.class), 4);
+        repricingJobService = new RepricingJobService(batchPricingService, pricingExecutor, objectMapper,
+                directory.toString(), 2, 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repricingJobService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should write one result per CSV row in input order, failing unreadable rows on their own")
+    void startJob_shouldRepriceCsvInInputOrder() throws Exception {
+        when(batchPricingService.calculateBatch(anyList())).thenAnswer(invocation -> priced(invocation.getArgument(0)));
+        writeInput("accounts.csv",
+                "productId,enrollmentDate,balance",
+                "1,2026-01-10,100",
+                "2,,200",
+                "",
+                "x,,300",
+                "3,2026-02-01,400",
+                "4,,500");
+
+        RepricingJobResponse job = awaitCompletion(repricingJobService.startJob(new RepricingJobRequest("accounts.csv", null)));
+
+        assertEquals(Status.COMPLETED, job.getStatus());
+        assertEquals(100, job.getPercentComplete());
+        assertEquals(5, job.getRowsWritten());
+        assertEquals(1, job.getRowsFailed());
+        assertEquals(Set.of(TEST_BANK_ID), tenants);
+
+        List<JsonNode> results = readOutput(job);
+        assertEquals(List.of(2, 3, 5, 6, 7), results.stream().map(result -> result.get("index").asInt()).toList());
+        assertEquals("100", results.get(0).get("result").get("finalChargeablePrice").asText());
+        assertEquals("VALIDATION_ERROR", results.get(2).get("code").asText());
+        assertEquals("500", results.get(4).get("result").get("finalChargeablePrice").asText());
+    }
+
+    @Test
+    @DisplayName("A resumed job should continue after its checkpoint and write every row exactly once")
+    void resumeJob_shouldContinueFromCheckpoint() throws Exception {
+        AtomicBoolean failOnce = new AtomicBoolean(true);
+        when(batchPricingService.calculateBatch(anyList())).thenAnswer(invocation -> {
+            List<ProductPriceRequest> requests = invocation.getArgument(0);
+            if (requests.stream().anyMatch(request -> request.getProductId() == 5L) && failOnce.getAndSet(false)) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            return priced(requests);
+        });
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= 8; i++) {
+            lines.add("{\"productId\": " + i + ", \"customAttributes\": {\"balance\": " + (i * 10) + "}}");
+        }
+        writeInput("accounts.ndjson", lines.toArray(String[]::new));
+
+        RepricingJobResponse failed = awaitCompletion(repricingJobService.startJob(new RepricingJobRequest("accounts.ndjson", null)));
+        assertEquals(Status.FAILED, failed.getStatus());
+        assertEquals("Database unavailable", failed.getError());
+        assertEquals(4, failed.getRowsWritten());
+
+        RepricingJobResponse resumed = awaitCompletion(repricingJobService.resumeJob(failed.getJobId()));
+
+        assertEquals(Status.COMPLETED, resumed.getStatus());
+        assertEquals(8, resumed.getRowsWritten());
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8),
+                readOutput(resumed).stream().map(result -> result.get("index").asInt()).toList());
+        assertThrows(IllegalStateException.class, () -> repricingJobService.resumeJob(failed.getJobId()));
+    }
+
+    @Test
+    @DisplayName("Should reject input files outside the tenant's directory and jobs of other tenants")
+    void shouldConfineJobsToTheTenantDirectory() throws Exception {
+        when(batchPricingService.calculateBatch(anyList())).thenAnswer(invocation -> priced(invocation.getArgument(0)));
+        writeInput("accounts.csv", "productId,balance", "1,10");
+        Files.writeString(directory.resolve("outside.csv"), "productId,balance\n1,10\n");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> repricingJobService.startJob(new RepricingJobRequest("../outside.csv", null)));
+
+        RepricingJobResponse job = awaitCompletion(repricingJobService.startJob(new RepricingJobRequest("accounts.csv", null)));
+        TenantContextHolder.setBankId("OTHER_BANK");
+        assertThrows(NotFoundException.class, () -> repricingJobService.getJob(job.getJobId()));
+    }
+
+    private BatchPriceResponse priced(List<ProductPriceRequest> requests) {
+        tenants.add(TenantContextHolder.getBankId());
+        List<BatchPriceItemResult> results = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ProductPriceRequest request = requests.get(i);
+            Object balance = request.getCustomAttributes().get("balance");
+            results.add(BatchPriceItemResult.builder()
+                    .index(i)
+                    .productId(request.getProductId())
+                    .result(ProductPricingCalculationResult.builder()
+                            .finalChargeablePrice(new BigDecimal(balance.toString()))
+                            .build())
+                    .status(200)
+                    .build());
+        }
+        return BatchPriceResponse.builder().results(results).build();
+    }
+
+    private void writeInput(String fileName, String... lines) throws IOException {
+        Path tenantDirectory = Files.createDirectories(directory.resolve(TEST_BANK_ID));
+        Files.writeString(tenantDirectory.resolve(fileName), String.join("\n", lines) + "\n");
+    }
+
+    private List<JsonNode> readOutput(RepricingJobResponse job) throws IOException {
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : Files.readAllLines(directory.resolve(TEST_BANK_ID).resolve(job.getOutputFile()))) {
+            results.add(objectMapper.readTree(line));
+        }
+        return results;
+    }
+
+    private RepricingJobResponse awaitCompletion(RepricingJobResponse job) throws InterruptedException {
+        for (int attempt = 0; attempt < 500 && job.getStatus() == Status.RUNNING; attempt++) {
+            Thread.sleep(10);
+            job = repricingJobService.getJob(job.getJobId());
+        }
+        return job;
+    }
+}
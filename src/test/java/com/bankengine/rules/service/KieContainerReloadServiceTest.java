@@ -0,0 +1,462 @@
+package com.bankengine.rules.service;
+
+import com.bankengine.auth.security.TenantContextHolder;
+import com.bankengine.config.drools.CompiledRuleCache;
+import com.bankengine.config.drools.DroolsKieModuleBuilder;
+import com.bankengine.config.drools.RuleBases;
+import com.bankengine.config.drools.RulePackage;
+import com.bankengine.config.drools.SystemRuleModule;
+import com.bankengine.pricing.service.BundleRuleBuilderService;
+import com.bankengine.pricing.service.ProductRuleBuilderService;
+import com.bankengine.pricing.service.evaluator.TierDecisionTable;
+import com.bankengine.pricing.service.evaluator.TierDecisionTableCompiler;
+import com.bankengine.test.config.BaseServiceTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieRepository;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.runtime.KieContainer;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KieContainerReloadServiceTest extends BaseServiceTest {
+
+    @Mock private ProductRuleBuilderService productRuleBuilderService;
+    @Mock private BundleRuleBuilderService bundleRuleBuilderService;
+    @Mock private KieBase systemKieBase;
+    @Mock private KieBase systemBundleKieBase;
+    @Mock private TierDecisionTableCompiler decisionTableCompiler;
+    @Mock private RuleReplayGate replayGate;
+
+    private KieContainerReloadService reloadService;
+
+    @BeforeEach
+    void setUp() {
+        reloadService = newReloadService(new CompiledRuleCache("", 200, new DroolsKieModuleBuilder()));
+
+        lenient().when(productRuleBuilderService.buildAllRulesForCompilation())
+                .thenAnswer(invocation -> placeholderDrl("pricing", "PricingInput"));
+        lenient().when(bundleRuleBuilderService.buildAllRulesForCompilation())
+                .thenAnswer(invocation -> placeholderDrl("bundle", "BundlePricingInput"));
+    }
+
+    @Test
+    @DisplayName("Should serve the system rule base when no tenant is bound")
+    void getKieBase_shouldReturnSystemRuleBaseWithoutTenant() {
+        assertSame(systemKieBase, reloadService.getKieBase(null, RulePackage.PRICING));
+        verifyNoInteractions(productRuleBuilderService, bundleRuleBuilderService);
+    }
+
+    @Test
+    @DisplayName("Should compile a tenant on first access and reuse it afterwards")
+    void getKieBase_shouldCompileTenantOnDemandOnce() {
+        KieBase first = reloadService.getKieBase("BANK_A", RulePackage.PRICING);
+        KieBase second = reloadService.getKieBase("BANK_A", RulePackage.PRICING);
+
+        assertNotNull(first);
+        assertNotSame(systemKieBase, first);
+        assertSame(first, second);
+        verify(productRuleBuilderService, times(1)).buildAllRulesForCompilation();
+        assertEquals(TEST_BANK_ID, TenantContextHolder.getBankId(), "Caller tenant context must be restored");
+    }
+
+    @Test
+    @DisplayName("Reloading one tenant must not swap the rule base of another tenant")
+    void reloadKieContainer_shouldIsolateTenants() {
+        KieBase bankA = reloadService.getKieBase("BANK_A", RulePackage.PRICING);
+        KieBase bankB = reloadService.getKieBase("BANK_B", RulePackage.PRICING);
+
+        editProductRules();
+        reloadService.reloadKieContainer("BANK_A");
+
+        assertNotSame(bankA, reloadService.getKieBase("BANK_A", RulePackage.PRICING));
+        assertSame(bankB, reloadService.getKieBase("BANK_B", RulePackage.PRICING));
+        assertSame(systemKieBase, reloadService.getKieBase(null, RulePackage.PRICING));
+        assertNotEquals(reloadService.getReleaseId("BANK_A").orElseThrow().getArtifactId(),
+                reloadService.getReleaseId("BANK_B").orElseThrow().getArtifactId());
+    }
+
+    @Test
+    @DisplayName("Pricing and bundle rules should be compiled into separate KieBases")
+    void getKieBase_shouldSeparatePricingAndBundlePackages() {
+        KieBase pricing = reloadService.getKieBase("BANK_A", RulePackage.PRICING);
+        KieBase bundle = reloadService.getKieBase("BANK_A", RulePackage.BUNDLE);
+
+        assertNotSame(pricing, bundle);
+        assertNotNull(pricing.getRule("bankengine.pricing.rules.banka", "Placeholder_pricing"));
+        assertNull(pricing.getKiePackage("bankengine.bundle.rules.banka"));
+        assertNotNull(bundle.getRule("bankengine.bundle.rules.banka", "Placeholder_bundle"));
+        assertNull(bundle.getKiePackage("bankengine.pricing.rules.banka"));
+        assertSame(systemBundleKieBase, reloadService.getKieBase(null, RulePackage.BUNDLE));
+
+        try (RuleBaseLease lease = reloadService.acquire("BANK_A", RulePackage.BUNDLE)) {
+            assertSame(bundle, lease.getKieBase());
+            assertNull(lease.getDecisionTable());
+        }
+    }
+
+    @Test
+    @DisplayName("Should resolve the rule base of the current tenant context")
+    void getKieBase_shouldUseTenantContext() {
+        KieBase tenantKieBase = reloadService.getKieBase(TEST_BANK_ID, RulePackage.PRICING);
+
+        assertSame(tenantKieBase, reloadService.getKieBase(RulePackage.PRICING));
+    }
+
+    @Test
+    @DisplayName("Incremental mode should patch the live rule base with only the edited component")
+    void reloadComponents_shouldRecompileOnlyChangedComponentInPlace() {
+        enableIncrementalBuild();
+        when(productRuleBuilderService.buildComponentRulesForCompilation())
+                .thenAnswer(invocation -> Map.of(1L, componentDrl("pricing", "PricingInput", "RULE_ONE")));
+        when(productRuleBuilderService.buildComponentRulesForCompilation(List.of(2L)))
+                .thenAnswer(invocation -> Map.of(2L, componentDrl("pricing", "PricingInput", "RULE_TWO")));
+
+        KieBase kieBase = reloadService.getKieBase("BANK_A", RulePackage.PRICING);
+        assertNotNull(kieBase.getRule("bankengine.pricing.rules.banka", "RULE_ONE"));
+
+        reloadService.reloadComponents("BANK_A", List.of(2L));
+
+        assertSame(kieBase, reloadService.getKieBase("BANK_A", RulePackage.PRICING), "Incremental reload must not swap the rule base");
+        assertNotNull(kieBase.getRule("bankengine.pricing.rules.banka", "RULE_ONE"));
+        assertNotNull(kieBase.getRule("bankengine.pricing.rules.banka", "RULE_TWO"));
+        verify(productRuleBuilderService, times(1)).buildComponentRulesForCompilation();
+        verify(productRuleBuilderService, never()).buildAllRulesForCompilation();
+        assertEquals(TEST_BANK_ID, TenantContextHolder.getBankId());
+    }
+
+    @Test
+    @DisplayName("A component edit refused by the replay gate should not leak into later incremental builds")
+    void reloadComponents_shouldKeepRejectedEditOutOfTheSharedBuild() {
+        enableIncrementalBuild();
+        when(productRuleBuilderService.buildComponentRulesForCompilation())
+                .thenAnswer(invocation -> Map.of(1L, componentDrl("pricing", "PricingInput", "RULE_ONE")));
+        when(productRuleBuilderService.buildComponentRulesForCompilation(List.of(2L)))
+                .thenAnswer(invocation -> Map.of(2L, componentDrl("pricing", "PricingInput", "RULE_TWO")));
+        when(productRuleBuilderService.buildComponentRulesForCompilation(List.of(3L)))
+                .thenAnswer(invocation -> Map.of(3L, componentDrl("pricing", "PricingInput", "RULE_THREE")));
+        KieBase live = reloadService.getKieBase("BANK_A", RulePackage.PRICING);
+        when(replayGate.isArmed("BANK_A")).thenReturn(true);
+        when(replayGate.verify(eq("BANK_A"), same(live), any()))
+                .thenThrow(new RuleReplayRejectedException("p99 regressed", null))
+                .thenReturn(Optional.empty());
+
+        assertThrows(RuleReplayRejectedException.class, () -> reloadService.reloadComponents("BANK_A", List.of(2L)));
+        assertNull(live.getRule("bankengine.pricing.rules.banka", "RULE_TWO"));
+
+        reloadService.reloadComponents("BANK_A", List.of(3L));
+
+        assertSame(live, reloadService.getKieBase("BANK_A", RulePackage.PRICING), "The accepted edit is still applied in place");
+        assertNotNull(live.getRule("bankengine.pricing.rules.banka", "RULE_THREE"));
+        assertNull(live.getRule("bankengine.pricing.rules.banka", "RULE_TWO"), "The refused edit must not come back");
+        verify(productRuleBuilderService, never()).buildAllRulesForCompilation();
+    }
+
+    @Test
+    @DisplayName("Incremental mode should drop the rules of a component that no longer exists")
+    void reloadComponents_shouldRemoveRulesOfDeletedComponent() {
+        enableIncrementalBuild();
+        when(productRuleBuilderService.buildComponentRulesForCompilation())
+                .thenAnswer(invocation -> Map.of(1L, componentDrl("pricing", "PricingInput", "RULE_ONE")));
+        when(productRuleBuilderService.buildComponentRulesForCompilation(List.of(1L))).thenReturn(Map.of());
+
+        KieBase kieBase = reloadService.getKieBase("BANK_A", RulePackage.PRICING);
+        reloadService.reloadComponents("BANK_A", List.of(1L));
+
+        assertSame(kieBase, reloadService.getKieBase("BANK_A", RulePackage.PRICING));
+        assertNull(kieBase.getRule("bankengine.pricing.rules.banka", "RULE_ONE"));
+    }
+
+    @Test
+    @DisplayName("Incremental reload of a tenant without build state should fall back to a full build")
+    void reloadComponents_shouldFallBackToFullBuildWhenTenantNotCompiled() {
+        enableIncrementalBuild();
+
+        reloadService.reloadComponents("BANK_A", List.of(1L));
+
+        verify(productRuleBuilderService).buildComponentRulesForCompilation();
+        verify(productRuleBuilderService, never()).buildComponentRulesForCompilation(anyCollection());
+        assertNotNull(reloadService.getKieBase("BANK_A", RulePackage.PRICING));
+    }
+
+    @Test
+    @DisplayName("With incremental builds disabled a component edit triggers a full rebuild")
+    void reloadComponents_shouldRebuildEverythingWhenIncrementalDisabled() {
+        KieBase before = reloadService.getKieBase("BANK_A", RulePackage.PRICING);
+
+        editProductRules();
+        reloadService.reloadComponents("BANK_A", List.of(1L));
+
+        assertNotSame(before, reloadService.getKieBase("BANK_A", RulePackage.PRICING));
+        verify(productRuleBuilderService, times(2)).buildAllRulesForCompilation();
+        verify(productRuleBuilderService, never()).buildComponentRulesForCompilation(anyCollection());
+    }
+
+    @Test
+    @DisplayName("A superseded module should stay installed until the last lease on it is closed")
+    void reloadKieContainer_shouldEvictSupersededModuleAfterLastLease() {
+        KieRepository repository = KieServices.Factory.get().getRepository();
+        ReleaseId originalReleaseId = reloadService.getReleaseId("BANK_A").orElseThrow();
+        int retainedBefore = reloadService.getRetainedModuleCount();
+
+        RuleBaseLease lease = reloadService.acquire("BANK_A", RulePackage.PRICING);
+        editProductRules();
+        reloadService.reloadKieContainer("BANK_A");
+
+        ReleaseId newReleaseId = reloadService.getReleaseId("BANK_A").orElseThrow();
+        assertNotEquals(originalReleaseId.getVersion(), newReleaseId.getVersion(), "Every build must get its own version");
+        assertNotNull(repository.getKieModule(originalReleaseId), "Module must survive while a session may still use it");
+        assertEquals(retainedBefore + 1, reloadService.getRetainedModuleCount());
+
+        lease.close();
+
+        assertNull(repository.getKieModule(originalReleaseId));
+        assertNotNull(repository.getKieModule(newReleaseId));
+        assertEquals(retainedBefore, reloadService.getRetainedModuleCount());
+    }
+
+    @Test
+    @DisplayName("Only superseded modules still leased should count as retained; shutdown should release every module")
+    void shutdown_shouldDisposeEveryContainerIncludingTheSystemOne() {
+        KieContainer systemContainer = mock(KieContainer.class);
+        reloadService = newReloadService(new SystemRuleModule(systemContainer, new RuleBases(systemKieBase, systemBundleKieBase)),
+                new DroolsKieModuleBuilder(), new CompiledRuleCache("", 200, new DroolsKieModuleBuilder()));
+        reloadService.warmUp("BANK_A");
+        ReleaseId tenantReleaseId = reloadService.getReleaseId("BANK_A").orElseThrow();
+
+        assertEquals(2, reloadService.getLiveModuleCount());
+        assertEquals(0, reloadService.getRetainedModuleCount(), "Live modules are not retained ones");
+
+        reloadService.shutdown();
+
+        verify(systemContainer).dispose();
+        assertNull(KieServices.Factory.get().getRepository().getKieModule(tenantReleaseId));
+    }
+
+    @Test
+    @DisplayName("Leases should always be served from the live module")
+    void acquire_shouldReturnCurrentRuleBase() {
+        reloadService.reloadKieContainer("BANK_A");
+
+        try (RuleBaseLease lease = reloadService.acquire("BANK_A", RulePackage.PRICING)) {
+            assertSame(reloadService.getKieBase("BANK_A", RulePackage.PRICING), lease.getKieBase());
+        }
+    }
+
+    @Test
+    @DisplayName("A rule base compiled before should be loaded from the cache instead of recompiled")
+    void reloadKieContainer_shouldReuseCachedRuleBase(@TempDir Path cacheDirectory) {
+        CompiledRuleCache cache = new CompiledRuleCache(cacheDirectory.toString(), 200, new DroolsKieModuleBuilder());
+        reloadService = newReloadService(cache);
+        reloadService.getKieBase("BANK_A", RulePackage.PRICING);
+        assertTrue(reloadService.getReleaseId("BANK_A").isPresent(), "First build must compile");
+
+        KieContainerReloadService restarted = newReloadService(cache);
+        KieBase cached = restarted.getKieBase("BANK_A", RulePackage.PRICING);
+
+        assertTrue(restarted.getReleaseId("BANK_A").isEmpty(), "Cached rule base must not be compiled into a KieModule");
+        assertNotNull(cached.getRule("bankengine.pricing.rules.banka", "Placeholder_pricing"));
+        assertNotNull(cached.newKieSession(), "Cached rule base must be usable");
+    }
+
+    @Test
+    @DisplayName("Changed DRL must miss the cache and compile")
+    void reloadKieContainer_shouldCompileWhenDrlChanged(@TempDir Path cacheDirectory) {
+        CompiledRuleCache cache = new CompiledRuleCache(cacheDirectory.toString(), 200, new DroolsKieModuleBuilder());
+        reloadService = newReloadService(cache);
+        reloadService.getKieBase("BANK_A", RulePackage.PRICING);
+
+        editProductRules();
+        reloadService.reloadKieContainer("BANK_A");
+
+        assertTrue(reloadService.getReleaseId("BANK_A").isPresent());
+    }
+
+    @Test
+    @DisplayName("A reload that generates identical DRL should neither compile nor swap")
+    void reloadKieContainer_shouldSkipWhenDrlUnchanged() {
+        KieBase before = reloadService.getKieBase("BANK_A", RulePackage.PRICING);
+        ReleaseId releaseId = reloadService.getReleaseId("BANK_A").orElseThrow();
+
+        reloadService.reloadKieContainer("BANK_A");
+
+        assertSame(before, reloadService.getKieBase("BANK_A", RulePackage.PRICING));
+        assertEquals(releaseId, reloadService.getReleaseId("BANK_A").orElseThrow());
+        assertEquals(1, reloadService.getExecutedReloadCount());
+        assertEquals(1, reloadService.getSkippedReloadCount());
+    }
+
+    @Test
+    @DisplayName("An incremental reload whose component DRL is unchanged should be counted as skipped")
+    void reloadComponents_shouldCountUnchangedComponentsAsSkipped() {
+        enableIncrementalBuild();
+        when(productRuleBuilderService.buildComponentRulesForCompilation())
+                .thenAnswer(invocation -> Map.of(1L, componentDrl("pricing", "PricingInput", "RULE_ONE")));
+        when(productRuleBuilderService.buildComponentRulesForCompilation(List.of(1L)))
+                .thenAnswer(invocation -> Map.of(1L, componentDrl("pricing", "PricingInput", "RULE_ONE")));
+
+        reloadService.getKieBase("BANK_A", RulePackage.PRICING);
+        reloadService.reloadComponents("BANK_A", List.of(1L));
+
+        assertEquals(1, reloadService.getExecutedReloadCount());
+        assertEquals(1, reloadService.getSkippedReloadCount());
+    }
+
+    @Test
+    @DisplayName("The decision table should be leased with its rule base and patched by incremental reloads")
+    void acquire_shouldExposeDecisionTableOfRuleBase() {
+        ReflectionTestUtils.setField(reloadService, "nativeEvaluatorEnabled", true);
+        enableIncrementalBuild();
+        when(productRuleBuilderService.buildComponentRulesForCompilation())
+                .thenAnswer(invocation -> Map.of(1L, componentDrl("pricing", "PricingInput", "RULE_ONE")));
+        when(productRuleBuilderService.buildComponentRulesForCompilation(List.of(2L)))
+                .thenAnswer(invocation -> Map.of(2L, componentDrl("pricing", "PricingInput", "RULE_TWO")));
+        when(decisionTableCompiler.compileAll("BANK_A")).thenReturn(TierDecisionTable.EMPTY);
+        when(decisionTableCompiler.compile("BANK_A", List.of(2L))).thenReturn(TierDecisionTable.EMPTY);
+
+        try (RuleBaseLease lease = reloadService.acquire("BANK_A", RulePackage.PRICING)) {
+            assertSame(TierDecisionTable.EMPTY, lease.getDecisionTable());
+        }
+
+        reloadService.reloadComponents("BANK_A", List.of(2L));
+
+        try (RuleBaseLease lease = reloadService.acquire("BANK_A", RulePackage.PRICING)) {
+            assertNotNull(lease.getDecisionTable());
+            assertNotSame(TierDecisionTable.EMPTY, lease.getDecisionTable());
+        }
+        try (RuleBaseLease lease = reloadService.acquire(null, RulePackage.PRICING)) {
+            assertNull(lease.getDecisionTable(), "The system rule base has no decision table");
+        }
+        verify(decisionTableCompiler, times(1)).compileAll("BANK_A");
+    }
+
+    @Test
+    @DisplayName("The executable model should build a usable rule base and rebuild it whole on component edits")
+    void reloadComponents_shouldRebuildFullyWithExecutableModel() {
+        DroolsKieModuleBuilder moduleBuilder = new DroolsKieModuleBuilder();
+        ReflectionTestUtils.setField(moduleBuilder, "ruleCompiler", DroolsKieModuleBuilder.RuleCompiler.EXECUTABLE_MODEL);
+        reloadService = newReloadService(moduleBuilder, new CompiledRuleCache("", 200, moduleBuilder));
+        enableIncrementalBuild();
+        when(productRuleBuilderService.buildComponentRulesForCompilation())
+                .thenAnswer(invocation -> Map.of(1L, componentDrl("pricing", "PricingInput", "RULE_ONE")))
+                .thenAnswer(invocation -> Map.of(1L, componentDrl("pricing", "PricingInput", "RULE_ONE"),
+                        2L, componentDrl("pricing", "PricingInput", "RULE_TWO")));
+
+        KieBase before = reloadService.getKieBase("BANK_A", RulePackage.PRICING);
+        assertNotNull(before.getRule("bankengine.pricing.rules.banka", "RULE_ONE"));
+
+        reloadService.reloadComponents("BANK_A", List.of(2L));
+
+        KieBase after = reloadService.getKieBase("BANK_A", RulePackage.PRICING);
+        assertNotSame(before, after);
+        assertNotNull(after.getRule("bankengine.pricing.rules.banka", "RULE_TWO"));
+        verify(productRuleBuilderService, never()).buildComponentRulesForCompilation(anyCollection());
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        moduleBuilder.bindTo(meterRegistry);
+        assertEquals(0.0, meterRegistry.get(DroolsKieModuleBuilder.COMPILER_FALLBACK_METRIC).functionCounter().count(),
+                "Generated rules should build with the executable model without falling back to DRL");
+        assertNull(moduleBuilder.getLastFallbackError());
+    }
+
+    @Test
+    @DisplayName("A rebuild refused by the replay gate should leave the live rule base in place")
+    void reloadKieContainer_shouldKeepLiveRuleBaseWhenReplayRejects() {
+        reloadService.reloadKieContainer(TEST_BANK_ID);
+        KieBase live = reloadService.getKieBase(TEST_BANK_ID, RulePackage.PRICING);
+        int retainedModules = reloadService.getRetainedModuleCount();
+
+        editProductRules();
+        when(replayGate.verify(eq(TEST_BANK_ID), same(live), any()))
+                .thenThrow(new RuleReplayRejectedException("p99 regressed", null));
+
+        assertThrows(RuleReplayRejectedException.class, () -> reloadService.reloadKieContainer(TEST_BANK_ID));
+        assertSame(live, reloadService.getKieBase(TEST_BANK_ID, RulePackage.PRICING));
+        assertEquals(retainedModules, reloadService.getRetainedModuleCount());
+    }
+
+    private void editProductRules() {
+        when(productRuleBuilderService.buildAllRulesForCompilation())
+                .thenAnswer(invocation -> placeholderDrl("pricing", "PricingInput") + "\n// edited " + System.nanoTime() + "\n");
+    }
+
+    private KieContainerReloadService newReloadService(CompiledRuleCache cache) {
+        return newReloadService(new DroolsKieModuleBuilder(), cache);
+    }
+
+    private KieContainerReloadService newReloadService(DroolsKieModuleBuilder moduleBuilder, CompiledRuleCache cache) {
+        return newReloadService(new SystemRuleModule(null, new RuleBases(systemKieBase, systemBundleKieBase)), moduleBuilder, cache);
+    }
+
+    private KieContainerReloadService newReloadService(SystemRuleModule systemRuleModule, DroolsKieModuleBuilder moduleBuilder,
+                                                       CompiledRuleCache cache) {
+        KieContainerReloadService service = new KieContainerReloadService(systemRuleModule,
+                productRuleBuilderService, bundleRuleBuilderService, moduleBuilder, cache, decisionTableCompiler,
+                new RuleExecutionTelemetry(new SimpleMeterRegistry()), replayGate);
+        ReflectionTestUtils.setField(service, "self", service);
+        return service;
+    }
+
+    private void enableIncrementalBuild() {
+        ReflectionTestUtils.setField(reloadService, "incrementalBuildEnabled", true);
+        when(productRuleBuilderService.buildPackageHeaderForCompilation())
+                .thenAnswer(invocation -> headerDrl("pricing", "PricingInput"));
+        when(bundleRuleBuilderService.buildPackageHeaderForCompilation())
+                .thenAnswer(invocation -> headerDrl("bundle", "BundlePricingInput"));
+    }
+
+    private static String headerDrl(String packageSubPath, String factName) {
+        String safeBankId = DroolsKieModuleBuilder.toSafePathId(TenantContextHolder.getBankId());
+        return String.format("""
+                package bankengine.%s.rules.%s;
+
+                import com.bankengine.rules.model.%s;
+
+                global org.slf4j.Logger log;
+
+                """, packageSubPath, safeBankId, factName);
+    }
+
+    private static String componentDrl(String packageSubPath, String factName, String ruleName) {
+        return headerDrl(packageSubPath, factName) + String.format("""
+                rule "%s"
+                    when
+                        $input : %s ( )
+                    then
+                end
+                """, ruleName, factName);
+    }
+
+    private static String placeholderDrl(String packageSubPath, String factName) {
+        String safeBankId = DroolsKieModuleBuilder.toSafePathId(TenantContextHolder.getBankId());
+        return String.format("""
+                package bankengine.%s.rules.%s;
+
+                import com.bankengine.rules.model.%s;
+
+                global org.slf4j.Logger log;
+
+                rule "Placeholder_%s"
+                    when
+                        $input : %s ( )
+                    then
+                end
+                """, packageSubPath, safeBankId, factName, packageSubPath, factName);
+    }
+}
@@ -0,0 +1,138 @@
+package com.bankengine.rules.service;
+
+import com.bankengine.config.drools.RulePackage;
+import com.bankengine.rules.model.PricingInput;
+import com.bankengine.test.config.BaseServiceTest;
+import com.bankengine.web.exception.ValidationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieBase;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.utils.KieHelper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleExecutionTelemetryTest extends BaseServiceTest {
+
+    private static final String DRL = """
+            package bankengine.pricing.rules.testbank;
+
+            import com.bankengine.rules.model.PricingInput;
+
+            rule "PRICING_TEST_BANK_FEE_V1_Tier_GOLD"
+                @component("FEE")
+                @tier("GOLD")
+                when
+                    $input : PricingInput ( )
+                then
+            end
+
+            rule "Unannotated"
+                when
+                    $input : PricingInput ( )
+                then
+            end
+            """;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RuleExecutionTelemetry telemetry;
+    private KieBase kieBase;
+
+    @BeforeEach
+    void setUp() {
+        telemetry = new RuleExecutionTelemetry(meterRegistry);
+        kieBase = new KieHelper().addContent(DRL, ResourceType.DRL).build();
+    }
+
+    @Test
+    @DisplayName("Sampled sessions should count firings of tier rules by bank, package and component only")
+    void openSession_shouldRecordFiringsWhenSampled() {
+        telemetry.configure(true, 1.0);
+
+        fire();
+        fire();
+
+        Counter counter = meterRegistry.find(RuleExecutionTelemetry.RULES_FIRED_METRIC)
+                .tags("bankId", TEST_BANK_ID, "package", "pricing", "component", "FEE")
+                .counter();
+        assertNotNull(counter);
+        assertEquals(2.0, counter.count());
+        assertEquals(Set.of("bankId", "package", "component"), tagKeys(counter));
+        assertEquals(Set.of("bankId", "package", "component"),
+                tagKeys(meterRegistry.find(RuleExecutionTelemetry.MATCH_LATENCY_METRIC).timer()));
+        assertEquals(2, meterRegistry.find(RuleExecutionTelemetry.MATCH_LATENCY_METRIC).timer().count());
+        assertEquals(1, meterRegistry.find(RuleExecutionTelemetry.RULES_FIRED_METRIC).counters().size(),
+                "Rules without component metadata are not recorded");
+    }
+
+    @Test
+    @DisplayName("The tier tag should only be added when explicitly enabled")
+    void openSession_shouldTagTierWhenOptedIn() {
+        ReflectionTestUtils.setField(telemetry, "tierTagEnabled", true);
+        telemetry.configure(true, 1.0);
+
+        fire();
+
+        Counter counter = meterRegistry.find(RuleExecutionTelemetry.RULES_FIRED_METRIC).counter();
+        assertNotNull(counter);
+        assertEquals(Set.of("bankId", "package", "component", "tier"), tagKeys(counter));
+        assertEquals("GOLD", counter.getId().getTag("tier"));
+    }
+
+    @Test
+    @DisplayName("Disabled or unsampled telemetry should leave sessions without a listener")
+    void openSession_shouldNotAttachWhenDisabledOrUnsampled() {
+        fire();
+        telemetry.configure(true, 0.0);
+        fire();
+
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Released sessions should not keep the telemetry listener")
+    void releaseSession_shouldDetachListener() {
+        telemetry.configure(true, 1.0);
+        RuleSessionPool pool = new RuleSessionPool(kieBase, 1);
+        RuleBaseLease lease = new RuleBaseLease(kieBase, pool, null, telemetry, RulePackage.PRICING, () -> { });
+
+        KieSession session = lease.openSession();
+        int attached = session.getAgendaEventListeners().size();
+        lease.releaseSession(session);
+
+        assertEquals(attached - 1, session.getAgendaEventListeners().size());
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("Sample rates outside [0, 1] should be rejected")
+    void configure_shouldRejectInvalidSampleRate() {
+        assertThrows(ValidationException.class, () -> telemetry.configure(true, 1.5));
+        assertFalse(telemetry.isEnabled());
+    }
+
+    private static Set<String> tagKeys(Meter meter) {
+        return meter.getId().getTags().stream().map(Tag::getKey).collect(Collectors.toSet());
+    }
+
+    private void fire() {
+        RuleBaseLease lease = new RuleBaseLease(kieBase, null, null, telemetry, RulePackage.PRICING, () -> { });
+        KieSession session = lease.openSession();
+        try {
+            session.insert(new PricingInput());
+            session.fireAllRules();
+        } finally {
+            lease.releaseSession(session);
+        }
+    }
+}
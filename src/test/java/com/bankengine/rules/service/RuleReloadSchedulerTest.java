@@ -0,0 +1,164 @@
+package com.bankengine.rules.service;
+
+import com.bankengine.rules.dto.RuleReloadStatusResponse;
+import com.bankengine.test.config.BaseServiceTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RuleReloadSchedulerTest extends BaseServiceTest {
+
+    @Mock private KieContainerReloadService reloadService;
+
+    private RuleReloadScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new RuleReloadScheduler(reloadService);
+        ReflectionTestUtils.setField(scheduler, "asyncEnabled", true);
+        ReflectionTestUtils.setField(scheduler, "debounceMs", 50L);
+        ReflectionTestUtils.setField(scheduler, "workerThreads", 1);
+        scheduler.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("A burst of component edits should be compiled in a single incremental pass")
+    void requestComponentReload_shouldCoalesceBurst() throws InterruptedException {
+        scheduler.requestComponentReload(List.of(1L));
+        scheduler.requestComponentReload(List.of(2L));
+        scheduler.requestComponentReload(List.of(1L, 3L));
+
+        RuleReloadStatusResponse status = scheduler.awaitVersion(TEST_BANK_ID, 3, 5_000);
+
+        assertEquals(3, status.getRulesVersion());
+        assertEquals(RuleReloadStatusResponse.State.IDLE, status.getState());
+        verify(reloadService, times(1)).reloadComponents(TEST_BANK_ID, Set.of(1L, 2L, 3L));
+        verify(reloadService, never()).reloadKieContainer(any());
+    }
+
+    @Test
+    @DisplayName("A full reload request should absorb pending component edits")
+    void requestFullReload_shouldSupersedeComponentEdits() throws InterruptedException {
+        scheduler.requestComponentReload(List.of(1L));
+        scheduler.requestFullReload();
+
+        scheduler.awaitVersion(TEST_BANK_ID, 2, 5_000);
+
+        verify(reloadService, times(1)).reloadKieContainer(TEST_BANK_ID);
+        verify(reloadService, never()).reloadComponents(any(), anyCollection());
+    }
+
+    @Test
+    @DisplayName("Inside a transaction the reload must wait for commit")
+    void requestComponentReload_shouldDeferUntilAfterCommit() throws InterruptedException {
+        TransactionSynchronizationManager.initSynchronization();
+
+        scheduler.requestComponentReload(List.of(7L));
+        assertEquals(0, scheduler.getStatus().getRequestedVersion(), "Nothing is queued before commit");
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(1, scheduler.awaitVersion(TEST_BANK_ID, 1, 5_000).getRulesVersion());
+        verify(reloadService).reloadComponents(TEST_BANK_ID, Set.of(7L));
+    }
+
+    @Test
+    @DisplayName("A failed compile should be reported and force a full rebuild on the next change")
+    void drain_shouldReportFailureAndRebuildNextTime() throws InterruptedException {
+        doThrow(new RuntimeException("boom")).when(reloadService).reloadComponents(eq(TEST_BANK_ID), anyCollection());
+
+        scheduler.requestComponentReload(List.of(1L));
+        RuleReloadStatusResponse failed = scheduler.awaitVersion(TEST_BANK_ID, 1, 5_000);
+
+        assertEquals(RuleReloadStatusResponse.State.FAILED, failed.getState());
+        assertEquals(0, failed.getRulesVersion());
+        assertEquals("boom", failed.getLastError());
+
+        scheduler.requestComponentReload(List.of(2L));
+        RuleReloadStatusResponse recovered = scheduler.awaitVersion(TEST_BANK_ID, 2, 5_000);
+
+        assertEquals(2, recovered.getRulesVersion());
+        assertEquals(RuleReloadStatusResponse.State.IDLE, recovered.getState());
+        verify(reloadService).reloadKieContainer(TEST_BANK_ID);
+    }
+
+    @Test
+    @DisplayName("With async disabled requests compile in the caller and bump the version immediately")
+    void request_shouldCompileSynchronouslyWhenAsyncDisabled() {
+        ReflectionTestUtils.setField(scheduler, "asyncEnabled", false);
+
+        scheduler.requestComponentReload(List.of(4L));
+
+        verify(reloadService).reloadComponents(TEST_BANK_ID, List.of(4L));
+        assertEquals(1, scheduler.getStatus().getRulesVersion());
+    }
+
+    @Test
+    @DisplayName("A failed synchronous reload should report FAILED at once and rebuild fully on the next change")
+    void request_shouldReportSynchronousFailure() throws InterruptedException {
+        ReflectionTestUtils.setField(scheduler, "asyncEnabled", false);
+        doThrow(new RuntimeException("boom")).when(reloadService).reloadComponents(eq(TEST_BANK_ID), anyCollection());
+
+        assertThrows(RuntimeException.class, () -> scheduler.requestComponentReload(List.of(4L)));
+
+        long started = System.currentTimeMillis();
+        RuleReloadStatusResponse failed = scheduler.awaitVersion(TEST_BANK_ID, 1, 5_000);
+        assertTrue(System.currentTimeMillis() - started < 1_000, "Waiting for a failed version should not time out");
+        assertEquals(RuleReloadStatusResponse.State.FAILED, failed.getState());
+        assertEquals(1, failed.getRequestedVersion());
+        assertEquals("boom", failed.getLastError());
+
+        scheduler.requestComponentReload(List.of(5L));
+
+        verify(reloadService).reloadKieContainer(TEST_BANK_ID);
+        assertEquals(RuleReloadStatusResponse.State.IDLE, scheduler.getStatus().getState());
+        assertEquals(2, scheduler.getStatus().getRulesVersion());
+    }
+
+    @Test
+    @DisplayName("A failed manual reload should be reported instead of staying pending")
+    void reloadNow_shouldReportFailure() throws InterruptedException {
+        doThrow(new IllegalStateException("compile error")).when(reloadService).reloadKieContainer(TEST_BANK_ID);
+
+        assertThrows(IllegalStateException.class, () -> scheduler.reloadNow());
+
+        RuleReloadStatusResponse status = scheduler.awaitVersion(TEST_BANK_ID, 1, 5_000);
+        assertEquals(RuleReloadStatusResponse.State.FAILED, status.getState());
+        assertEquals("compile error", status.getLastError());
+    }
+
+    @Test
+    @DisplayName("Versions should be tracked per tenant")
+    void getStatus_shouldIsolateTenants() {
+        ReflectionTestUtils.setField(scheduler, "asyncEnabled", false);
+
+        scheduler.requestFullReload("BANK_A");
+
+        assertEquals(1, scheduler.getStatus("BANK_A").getRulesVersion());
+        assertEquals(0, scheduler.getStatus("BANK_B").getRulesVersion());
+    }
+}
@@ -0,0 +1,136 @@
+package com.bankengine.rules.service;
+
+import com.bankengine.pricing.service.PricingAttributeKeys;
+import com.bankengine.test.config.BaseServiceTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieBase;
+import org.kie.api.io.ResourceType;
+import org.kie.internal.utils.KieHelper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleReplayGateTest extends BaseServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RuleReplayGate gate;
+
+    @BeforeEach
+    void setUp() {
+        gate = new RuleReplayGate(meterRegistry);
+        ReflectionTestUtils.setField(gate, "mode", RuleReplayGate.Mode.FLAG);
+        ReflectionTestUtils.setField(gate, "captureRate", 1.0);
+        ReflectionTestUtils.setField(gate, "sampleSize", 20);
+        ReflectionTestUtils.setField(gate, "maxP99RegressionPercent", 50);
+        ReflectionTestUtils.setField(gate, "latencyNoiseFloorMicros", 500L);
+    }
+
+    @Test
+    @DisplayName("Should compare results of the live and candidate rule bases on captured samples")
+    void verify_shouldReportChangedResults() {
+        captureSamples(30);
+
+        RuleReplayGate.Report report = gate.verify(TEST_BANK_ID, feeRuleBase("5.00", ""), feeRuleBase("7.50", ""))
+                .orElseThrow();
+
+        assertEquals(20, report.samples(), "Only the most recent samples are kept");
+        assertEquals(20, report.changedResults());
+        assertFalse(report.regressed());
+        assertEquals(1.0, meterRegistry.find(RuleReplayGate.REPLAY_METRIC).tag("outcome", "passed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Equal prices at a different scale should not count as changed results")
+    void verify_shouldIgnoreScaleOfEqualPrices() {
+        captureSamples(5);
+
+        RuleReplayGate.Report report = gate.verify(TEST_BANK_ID, feeRuleBase("5.00", ""), feeRuleBase("5", ""))
+                .orElseThrow();
+
+        assertEquals(0, report.changedResults());
+    }
+
+    @Test
+    @DisplayName("A p99 regression past the budget should be flagged in FLAG mode")
+    void verify_shouldFlagLatencyRegression() {
+        captureSamples(5);
+
+        RuleReplayGate.Report report = gate.verify(TEST_BANK_ID, feeRuleBase("5.00", ""), slowFeeRuleBase())
+                .orElseThrow();
+
+        assertTrue(report.regressed());
+        assertTrue(report.candidateP99Micros() >= 2_000);
+        assertEquals(1.0, meterRegistry.find(RuleReplayGate.REPLAY_METRIC).tag("outcome", "flagged").counter().count());
+    }
+
+    @Test
+    @DisplayName("A p99 regression past the budget should refuse the swap in ENFORCE mode")
+    void verify_shouldRejectLatencyRegression() {
+        ReflectionTestUtils.setField(gate, "mode", RuleReplayGate.Mode.ENFORCE);
+        captureSamples(5);
+        KieBase live = feeRuleBase("5.00", "");
+        KieBase slow = slowFeeRuleBase();
+
+        RuleReplayRejectedException e = assertThrows(RuleReplayRejectedException.class,
+                () -> gate.verify(TEST_BANK_ID, live, slow));
+
+        assertTrue(e.getReport().regressed());
+        assertEquals(1.0, meterRegistry.find(RuleReplayGate.REPLAY_METRIC).tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Without captured samples or with the gate off nothing should be replayed")
+    void verify_shouldSkipWithoutSamples() {
+        KieBase live = feeRuleBase("5.00", "");
+        assertFalse(gate.isArmed(TEST_BANK_ID));
+        assertTrue(gate.verify(TEST_BANK_ID, live, slowFeeRuleBase()).isEmpty());
+
+        captureSamples(1);
+        assertTrue(gate.isArmed(TEST_BANK_ID));
+        ReflectionTestUtils.setField(gate, "mode", RuleReplayGate.Mode.OFF);
+        assertFalse(gate.isArmed(TEST_BANK_ID));
+        assertTrue(gate.verify(TEST_BANK_ID, live, slowFeeRuleBase()).isEmpty());
+    }
+
+    private void captureSamples(int count) {
+        for (int i = 0; i < count; i++) {
+            gate.capture(TEST_BANK_ID, 1L, Set.of("FEE:1"), Set.of("DEFAULT"),
+                    Map.of(PricingAttributeKeys.TRANSACTION_AMOUNT, BigDecimal.valueOf(i)));
+        }
+    }
+
+    private static KieBase slowFeeRuleBase() {
+        return feeRuleBase("5.00", "try { Thread.sleep(2); } catch (InterruptedException e) { }");
+    }
+
+    private static KieBase feeRuleBase(String amount, String extraAction) {
+        String drl = String.format("""
+                package bankengine.pricing.rules.testbank;
+
+                import com.bankengine.rules.model.PricingInput;
+                import com.bankengine.pricing.model.PriceValue;
+
+                global org.slf4j.Logger log;
+
+                rule "Fee"
+                    when
+                        $input : PricingInput ( )
+                    then
+                        %s
+                        PriceValue value = new PriceValue();
+                        value.setComponentCode("FEE");
+                        value.setMatchedTierCode("DEFAULT");
+                        value.setRawValue(new java.math.BigDecimal("%s"));
+                        insert(value);
+                end
+                """, extraAction, amount);
+        return new KieHelper().addContent(drl, ResourceType.DRL).build();
+    }
+}
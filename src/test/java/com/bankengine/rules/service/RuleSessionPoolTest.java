@@ -0,0 +1,81 @@
+package com.bankengine.rules.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieBase;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.utils.KieHelper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleSessionPoolTest {
+
+    private static final String DRL = """
+            package bankengine.test.pool;
+
+            rule "Echo"
+                when
+                    $value : String ( )
+                then
+                    insert(Integer.valueOf($value.length()));
+            end
+            """;
+
+    private KieBase kieBase;
+
+    @BeforeEach
+    void setUp() {
+        kieBase = new KieHelper().addContent(DRL, ResourceType.DRL).build();
+    }
+
+    @Test
+    @DisplayName("A released session should be reused empty by the next caller")
+    void release_shouldResetAndReuseSession() {
+        RuleSessionPool pool = new RuleSessionPool(kieBase, 2);
+
+        KieSession first = pool.borrow();
+        first.insert("abc");
+        assertEquals(1, first.fireAllRules());
+        pool.release(first);
+
+        KieSession second = pool.borrow();
+        assertSame(first, second);
+        assertEquals(0, second.getFactCount(), "Facts of the previous caller must be gone");
+
+        second.insert("de");
+        assertEquals(1, second.fireAllRules(), "Rules must fire again on a reused session");
+        pool.release(second);
+    }
+
+    @Test
+    @DisplayName("Sessions beyond the idle capacity should be disposed on release")
+    void release_shouldDisposeSessionsBeyondCapacity() {
+        RuleSessionPool pool = new RuleSessionPool(kieBase, 1);
+        KieSession first = pool.borrow();
+        KieSession second = pool.borrow();
+
+        pool.release(first);
+        pool.release(second);
+
+        assertEquals(1, pool.getIdleCount());
+        assertThrows(IllegalStateException.class, second::fireAllRules);
+    }
+
+    @Test
+    @DisplayName("Closing the pool should dispose idle sessions and refuse returns")
+    void close_shouldDisposeIdleSessions() {
+        RuleSessionPool pool = new RuleSessionPool(kieBase, 2);
+        KieSession idle = pool.borrow();
+        KieSession borrowed = pool.borrow();
+        pool.release(idle);
+
+        pool.close();
+        pool.release(borrowed);
+
+        assertEquals(0, pool.getIdleCount());
+        assertThrows(IllegalStateException.class, idle::fireAllRules);
+        assertThrows(IllegalStateException.class, borrowed::fireAllRules);
+    }
+}
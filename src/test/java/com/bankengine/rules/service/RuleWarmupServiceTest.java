@@ -0,0 +1,94 @@
+package com.bankengine.rules.service;
+
+import com.bankengine.common.repository.BankConfigurationRepository;
+import com.bankengine.rules.service.RuleWarmupService.State;
+import com.bankengine.rules.service.RuleWarmupService.TenantWarmupStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RuleWarmupServiceTest {
+
+    @Mock private KieContainerReloadService reloadService;
+    @Mock private BankConfigurationRepository bankConfigurationRepository;
+
+    private RuleWarmupService warmupService;
+
+    @BeforeEach
+    void setUp() {
+        warmupService = new RuleWarmupService(reloadService, bankConfigurationRepository);
+        ReflectionTestUtils.setField(warmupService, "enabled", true);
+        ReflectionTestUtils.setField(warmupService, "threads", 2);
+    }
+
+    @Test
+    @DisplayName("Should compile active tenants in parallel and only then report completion")
+    void warmUp_shouldCompileTenantsInParallel() throws Exception {
+        when(bankConfigurationRepository.findActiveBankIdsUnfiltered()).thenReturn(List.of("BANK_A", "BANK_B"));
+        CountDownLatch bothCompiling = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            bothCompiling.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(reloadService).warmUp(anyString());
+
+        var warmup = warmupService.warmUp();
+
+        assertTrue(bothCompiling.await(5, TimeUnit.SECONDS), "Both tenants should compile concurrently");
+        assertFalse(warmupService.isComplete());
+        assertEquals(State.COMPILING, warmupService.getTenantStatuses().get("BANK_A").state());
+
+        release.countDown();
+        warmup.get(5, TimeUnit.SECONDS);
+
+        assertTrue(warmupService.isComplete());
+        assertEquals(2, threads.size());
+        Map<String, TenantWarmupStatus> statuses = warmupService.getTenantStatuses();
+        assertEquals(List.of("BANK_A", "BANK_B"), List.copyOf(statuses.keySet()));
+        assertTrue(statuses.values().stream().allMatch(s -> s.state() == State.READY && s.durationMs() != null));
+    }
+
+    @Test
+    @DisplayName("A tenant that fails to compile should be reported without blocking readiness")
+    void warmUp_shouldRecordFailuresAndComplete() throws Exception {
+        when(bankConfigurationRepository.findActiveBankIdsUnfiltered()).thenReturn(List.of("BANK_A", "BROKEN"));
+        doThrow(new RuntimeException("Drools errors")).when(reloadService).warmUp("BROKEN");
+
+        warmupService.warmUp().get(5, TimeUnit.SECONDS);
+
+        assertTrue(warmupService.isComplete());
+        assertEquals(State.READY, warmupService.getTenantStatuses().get("BANK_A").state());
+        TenantWarmupStatus broken = warmupService.getTenantStatuses().get("BROKEN");
+        assertEquals(State.FAILED, broken.state());
+        assertEquals("Drools errors", broken.error());
+    }
+
+    @Test
+    @DisplayName("Disabled warm-up should report completion without compiling anything")
+    void warmUp_shouldBeCompleteWhenDisabled() {
+        ReflectionTestUtils.setField(warmupService, "enabled", false);
+
+        assertTrue(warmupService.warmUp().isDone());
+
+        assertTrue(warmupService.isComplete());
+        verifyNoInteractions(reloadService, bankConfigurationRepository);
+    }
+}